@@ -1,3 +1,5 @@
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 
 /**
@@ -44,12 +46,27 @@ import java.io.Serializable;
  * - CardSide currentCardSide: Stores the current side of the card
  *  non-final chose for:
  *   * Mutability: allows the card side to be changed (flipped) during gameplay
+ * - transient int FACE_ID: Index of the card's light/dark pairing in the standard deck (0 to NUM_FACES - 1)
+ *   int chose for:
+ *   * Compact: lets AI simulations store cards as plain ints instead of objects
+ *   * Cards that do not exist in the standard deck have face id -1
+ *   * Not saved, it is found again from the two sides when a card is loaded, so saves
+ *     made before face ids existed load with the right ids
+ * - static arrays FACE_VALUES, FACE_COLOURS, FACE_COPIES: face id lookup tables
+ *   arrays chose for:
+ *   * Constant time lookup of a face's value and colour on either side
+ * - static arrays VALUE_SCORES, WILD_VALUES, ACTION_VALUES, SIDE_COLOURS, FACE_SCORES, WILD_FACES:
+ *   attribute tables indexed by enum ordinal or face id, filled once when the class loads
+ *   arrays chose for:
+ *   * Scores and the wild, action and side checks used by the AI on every card become one array load
  * 
  * @author Lasya Erukulla
  * @version 3.0 - Milestone 3
  */
 
 public class Card_Model implements Serializable {
+    private static final long serialVersionUID = 6649148508948194870L;
+
     /**
      * Enum for the different colours of Uno cards
      */
@@ -86,11 +103,83 @@ public class Card_Model implements Serializable {
      */
     public enum CardSide{ LIGHT_SIDE, DARK_SIDE}
 
+    /**
+     * Number of distinct light/dark pairings in the standard deck:
+     * 13 per colour (9 numbers, REVERSE, DRAW_ONE, SKIP, FLIP) plus WILD and WILD_DRAW_TWO
+     */
+    public static final int NUM_FACES = 54;
+
+    private static final CardColour[] LIGHT_COLOURS = {CardColour.RED, CardColour.BLUE, CardColour.GREEN, CardColour.YELLOW};
+    private static final CardColour[] DARK_COLOURS = {CardColour.TEAL, CardColour.PURPLE, CardColour.ORANGE, CardColour.PINK};
+    private static final CardValue[] LIGHT_FACE_VALUES = {
+        CardValue.ONE, CardValue.TWO, CardValue.THREE, CardValue.FOUR, CardValue.FIVE, CardValue.SIX,
+        CardValue.SEVEN, CardValue.EIGHT, CardValue.NINE,
+        CardValue.REVERSE, CardValue.DRAW_ONE, CardValue.SKIP, CardValue.FLIP
+    };
+    private static final CardValue[] DARK_FACE_VALUES = {
+        CardValue.ONE, CardValue.TWO, CardValue.THREE, CardValue.FOUR, CardValue.FIVE, CardValue.SIX,
+        CardValue.SEVEN, CardValue.EIGHT, CardValue.NINE,
+        CardValue.REVERSE, CardValue.DRAW_FIVE, CardValue.SKIP_EVERYONE, CardValue.FLIP
+    };
+    // [0] = light side, [1] = dark side
+    private static final CardValue[][] FACE_VALUES = new CardValue[2][NUM_FACES];
+    private static final CardColour[][] FACE_COLOURS = new CardColour[2][NUM_FACES];
+    private static final int[] FACE_COPIES = new int[NUM_FACES];
+    private static final CardValue[] VALUES = CardValue.values();
+    private static final int[][] VALUE_SCORES = new int[2][VALUES.length];
+    private static final boolean[] WILD_VALUES = new boolean[VALUES.length];
+    private static final boolean[] ACTION_VALUES = new boolean[VALUES.length];
+    private static final boolean[][] SIDE_COLOURS = new boolean[2][CardColour.values().length];
+    private static final int[][] FACE_SCORES = new int[2][NUM_FACES];
+    private static final boolean[][] WILD_FACES = new boolean[2][NUM_FACES];
+
+    static {
+        int perColour = LIGHT_FACE_VALUES.length;
+        for (int c = 0; c < LIGHT_COLOURS.length; c++) {
+            for (int v = 0; v < perColour; v++) {
+                int face = c * perColour + v;
+                FACE_VALUES[0][face] = LIGHT_FACE_VALUES[v];
+                FACE_VALUES[1][face] = DARK_FACE_VALUES[v];
+                FACE_COLOURS[0][face] = LIGHT_COLOURS[c];
+                FACE_COLOURS[1][face] = DARK_COLOURS[c];
+                FACE_COPIES[face] = 2;
+            }
+        }
+        FACE_VALUES[0][52] = CardValue.WILD;
+        FACE_VALUES[1][52] = CardValue.WILD;
+        FACE_VALUES[0][53] = CardValue.WILD_DRAW_TWO;
+        FACE_VALUES[1][53] = CardValue.WILD_DRAW_COLOUR;
+        for (int face = 52; face < NUM_FACES; face++) {
+            FACE_COLOURS[0][face] = CardColour.WILD;
+            FACE_COLOURS[1][face] = CardColour.WILD;
+            FACE_COPIES[face] = 4;
+        }
+
+        for (CardValue value : VALUES) {
+            VALUE_SCORES[0][value.ordinal()] = value.getCardScore(false);
+            VALUE_SCORES[1][value.ordinal()] = value.getCardScore(true);
+            WILD_VALUES[value.ordinal()] = value == CardValue.WILD || value == CardValue.WILD_DRAW_TWO
+                    || value == CardValue.WILD_DRAW_COLOUR;
+            ACTION_VALUES[value.ordinal()] = value.ordinal() > CardValue.NINE.ordinal() && !WILD_VALUES[value.ordinal()];
+        }
+        for (CardColour colour : LIGHT_COLOURS) SIDE_COLOURS[0][colour.ordinal()] = true;
+        for (CardColour colour : DARK_COLOURS) SIDE_COLOURS[1][colour.ordinal()] = true;
+        SIDE_COLOURS[0][CardColour.WILD.ordinal()] = true;
+        SIDE_COLOURS[1][CardColour.WILD.ordinal()] = true;
+        for (int side = 0; side < 2; side++) {
+            for (int face = 0; face < NUM_FACES; face++) {
+                FACE_SCORES[side][face] = VALUE_SCORES[side][FACE_VALUES[side][face].ordinal()];
+                WILD_FACES[side][face] = WILD_VALUES[FACE_VALUES[side][face].ordinal()];
+            }
+        }
+    }
+
     private final CardValue LIGHT_SIDE_VALUE;
     private final CardColour LIGHT_SIDE_COLOUR;
     private final CardValue DARK_SIDE_VALUE;
     private final CardColour DARK_SIDE_COLOUR;
     private CardSide currentCardSide;
+    private transient int FACE_ID;
 
     /**
      * Creates a new Uno card with the specified card value and color, LIGHT SIDE ONLY.
@@ -104,6 +193,7 @@ public class Card_Model implements Serializable {
         this.DARK_SIDE_VALUE = cardValue;
         this.DARK_SIDE_COLOUR = cardColour;
         this.currentCardSide = CardSide.LIGHT_SIDE;
+        this.FACE_ID = findFaceId(cardValue, cardColour, cardValue, cardColour);
     }
 
     /**
@@ -118,6 +208,7 @@ public class Card_Model implements Serializable {
         this.DARK_SIDE_VALUE = darkCardValue;
         this.DARK_SIDE_COLOUR = darkCardColour;
         this.currentCardSide = CardSide.LIGHT_SIDE;
+        this.FACE_ID = findFaceId(lightCardValue, lightCardColour, darkCardValue, darkCardColour);
     }
 
 
@@ -156,8 +247,115 @@ public class Card_Model implements Serializable {
      * @return the score of the card
      */
     public int getCardScore(boolean isDarkSide){
-        CardValue value = isDarkSide ? this.DARK_SIDE_VALUE : this.LIGHT_SIDE_VALUE;
-        return value.getCardScore(isDarkSide);
+        return isDarkSide ? VALUE_SCORES[1][DARK_SIDE_VALUE.ordinal()] : VALUE_SCORES[0][LIGHT_SIDE_VALUE.ordinal()];
+    }
+
+    /**
+     * Gets the face id of the card, identifying its light/dark pairing in the standard deck
+     *
+     * @return the face id, or -1 if the card is not part of the standard deck
+     */
+    public int getFaceId(){
+        return FACE_ID;
+    }
+
+    /**
+     * Restores a saved card and finds its face id again
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        FACE_ID = findFaceId(LIGHT_SIDE_VALUE, LIGHT_SIDE_COLOUR, DARK_SIDE_VALUE, DARK_SIDE_COLOUR);
+    }
+
+    /**
+     * Finds the face id matching both sides of a card
+     * @return the face id, or -1 if no face in the standard deck matches
+     */
+    private static int findFaceId(CardValue lightValue, CardColour lightColour, CardValue darkValue, CardColour darkColour) {
+        for (int face = 0; face < NUM_FACES; face++) {
+            if (FACE_VALUES[0][face] == lightValue && FACE_COLOURS[0][face] == lightColour
+                    && FACE_VALUES[1][face] == darkValue && FACE_COLOURS[1][face] == darkColour) {
+                return face;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the value shown by a face on the given side
+     * @param faceId the face id
+     * @param isDarkSide true for the dark side
+     * @return the value of the face on that side
+     */
+    public static CardValue getFaceValue(int faceId, boolean isDarkSide) {
+        return FACE_VALUES[isDarkSide ? 1 : 0][faceId];
+    }
+
+    /**
+     * Gets the colour shown by a face on the given side
+     * @param faceId the face id
+     * @param isDarkSide true for the dark side
+     * @return the colour of the face on that side
+     */
+    public static CardColour getFaceColour(int faceId, boolean isDarkSide) {
+        return FACE_COLOURS[isDarkSide ? 1 : 0][faceId];
+    }
+
+    /**
+     * Gets the points a face is worth at the end of a round
+     * @param faceId the face id
+     * @param isDarkSide true for the dark side
+     * @return the score of the face on that side
+     */
+    public static int getFaceScore(int faceId, boolean isDarkSide) {
+        return FACE_SCORES[isDarkSide ? 1 : 0][faceId];
+    }
+
+    /**
+     * Checks if a face is a wild card on the given side
+     * @param faceId the face id
+     * @param isDarkSide true for the dark side
+     * @return true for WILD, WILD_DRAW_TWO and WILD_DRAW_COLOUR
+     */
+    public static boolean isWildFace(int faceId, boolean isDarkSide) {
+        return WILD_FACES[isDarkSide ? 1 : 0][faceId];
+    }
+
+    /**
+     * Gets the points a card value is worth at the end of a round
+     * @param value the card value
+     * @param isDarkSide true for the dark side
+     * @return the score
+     */
+    public static int getValueScore(CardValue value, boolean isDarkSide) {
+        return VALUE_SCORES[isDarkSide ? 1 : 0][value.ordinal()];
+    }
+
+    /**
+     * Checks if a card value is a wild card
+     * @param value the card value
+     * @return true for WILD, WILD_DRAW_TWO and WILD_DRAW_COLOUR
+     */
+    public static boolean isWildValue(CardValue value) {
+        return WILD_VALUES[value.ordinal()];
+    }
+
+    /**
+     * Checks if a card value is a coloured action card
+     * @param value the card value
+     * @return true for SKIP, SKIP_EVERYONE, REVERSE, DRAW_ONE, DRAW_FIVE and FLIP
+     */
+    public static boolean isActionValue(CardValue value) {
+        return ACTION_VALUES[value.ordinal()];
+    }
+
+    /**
+     * Gets how many copies of a face are in the standard deck
+     * @param faceId the face id
+     * @return the number of copies
+     */
+    public static int getFaceCopies(int faceId) {
+        return FACE_COPIES[faceId];
     }
 
     /**
@@ -188,7 +386,15 @@ public class Card_Model implements Serializable {
      * @return boolean indicating if the card is a wild card
      */
     public boolean isWildCard() {
-        return getCardValue() == CardValue.WILD || getCardValue() == CardValue.WILD_DRAW_COLOUR || getCardValue() == CardValue.WILD_DRAW_TWO;
+        return WILD_VALUES[getCardValue().ordinal()];
+    }
+
+    /**
+     * Checks if the card is a coloured action card (not a number or wild card)
+     * @return boolean indicating if the card is an action card
+     */
+    public boolean isActionCard() {
+        return ACTION_VALUES[getCardValue().ordinal()];
     }
 
     /**
@@ -197,7 +403,7 @@ public class Card_Model implements Serializable {
      * @return boolean indicaitng if the colour is a light side colour
      */
     public static boolean isLightSideColour(CardColour colour) {
-        return colour == CardColour.RED || colour == CardColour.BLUE || colour == CardColour.GREEN || colour == CardColour.YELLOW || colour == CardColour.WILD;
+        return colour != null && SIDE_COLOURS[0][colour.ordinal()];
     }
 
     /**
@@ -206,7 +412,7 @@ public class Card_Model implements Serializable {
      * @return boolean indicaitng if the colour is a dark side colour
      */
     public static boolean isDarkSideColour(CardColour colour) {
-        return colour == CardColour.TEAL || colour == CardColour.PURPLE || colour == CardColour.PINK || colour == CardColour.ORANGE || colour == CardColour.WILD;
+        return colour != null && SIDE_COLOURS[1][colour.ordinal()];
     }
 
     /**
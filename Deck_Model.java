@@ -1,6 +1,7 @@
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Random;
 
 /**
  * Represents a deck of Uno cards which is the draw pile in the game that the users draw from.
@@ -36,26 +37,44 @@ import java.util.Collections;
  * - boolean isDarkSide: keeps track of whether the deck is on the dark side or light side
  *   boolean chose for:
  *   * simple state tracking: represents a binary state (dark or light side)
+ * - Random random: shuffles the piles, null shuffles with a new generator every time
+ *   * a seeded generator makes the deal reproducible (headless self-play and benchmarks)
+ * - ArrayList of Card_Model allCards: every card of the deck in the order it was built
+ *   * lets reset gather the cards back for a new round instead of building 112 new ones
+ *   * rebuilt piles are shuffled from the same order, so a reset deck deals exactly like a new one
  * 
  * 
  * @author Lasya Erukulla
  * @version 4.0 - Milestone 4
  */
 public class Deck_Model implements Serializable {
-    private static final long SERIAL_VERSION_UID = 1L;
+    private static final long serialVersionUID = -2617690435503395535L;
 
     private ArrayList<Card_Model> drawPile;
     private ArrayList<Card_Model> discardPile;
     private boolean isDarkSide;
     private int numDrawCards;
+    private Random random;
+    private ArrayList<Card_Model> allCards;
 
     /**
      * Constructs a new Uno drawPile by creating and populating it with Uno cards.
      */
     public Deck_Model() {
+        this((Random) null);
+    }
+
+    /**
+     * Constructs a new Uno drawPile whose shuffles are drawn from the given generator.
+     * Two decks built with generators of the same seed deal the same cards.
+     *
+     * @param random the generator used for every shuffle, or null for an unseeded deck
+     */
+    public Deck_Model(Random random) {
         drawPile = new ArrayList<Card_Model>();
         discardPile = new ArrayList<Card_Model>();
         isDarkSide = false;
+        this.random = random;
         makePile();
     }
 
@@ -66,6 +85,7 @@ public class Deck_Model implements Serializable {
      */
     public Deck_Model(ArrayList<Card_Model> cards) {
         this.drawPile = cards;
+        this.allCards = new ArrayList<>(cards);
         numDrawCards = cards.size();
         discardPile = new ArrayList<Card_Model>();
         isDarkSide = false;
@@ -136,7 +156,51 @@ public class Deck_Model implements Serializable {
             drawPile.add(new Card_Model(Card_Model.CardValue.WILD_DRAW_TWO, Card_Model.CardColour.WILD, Card_Model.CardValue.WILD_DRAW_COLOUR, Card_Model.CardColour.WILD));
             numDrawCards +=2;
         }
-        Collections.shuffle(drawPile);
+        allCards = new ArrayList<>(drawPile);
+        shuffle();
+    }
+
+    /**
+     * Puts every card of the deck back into a freshly shuffled drawPile, light side up, and
+     * empties the discard pile. Used to start a new round without allocating new cards.
+     * Any hand still holding cards of this deck must be cleared by the caller.
+     */
+    public void reset() {
+        drawPile.clear();
+        discardPile.clear();
+        isDarkSide = false;
+        if (allCards == null) {
+            // Decks saved before allCards existed are rebuilt once
+            numDrawCards = 0;
+            makePile();
+            return;
+        }
+        for (Card_Model card : allCards) {
+            card.setCurrentCardSide(Card_Model.CardSide.LIGHT_SIDE);
+            drawPile.add(card);
+        }
+        numDrawCards = drawPile.size();
+        shuffle();
+    }
+
+    /**
+     * Sets the generator used by the following shuffles.
+     *
+     * @param random the generator, or null for unseeded shuffles
+     */
+    public void setRandom(Random random) {
+        this.random = random;
+    }
+
+    /**
+     * Shuffles the drawPile with the deck's generator, if it has one.
+     */
+    private void shuffle() {
+        if (random != null) {
+            Collections.shuffle(drawPile, random);
+        } else {
+            Collections.shuffle(drawPile);
+        }
     }
 
     /**
@@ -222,7 +286,6 @@ public class Deck_Model implements Serializable {
         while (!isEmpty()) {
             card = draw();
             if (card == null) break;
-            numDrawCards--;
             if (card.getColour() == colour || card.getColour() == Card_Model.CardColour.WILD) {
                 break;
             }
@@ -243,7 +306,6 @@ public class Deck_Model implements Serializable {
             Card_Model card = draw();
             if (card == null) break;
             drawnCards.add(card);
-            numDrawCards--;
             if (card.getColour() == colour || card.getColour() == Card_Model.CardColour.WILD) {
                 break;
             }
@@ -269,6 +331,6 @@ public class Deck_Model implements Serializable {
         discardPile.clear();
         discardPile.add(topCard);
         numDrawCards = drawPile.size();
-        Collections.shuffle(drawPile);
+        shuffle();
     }
 }
\ No newline at end of file
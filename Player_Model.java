@@ -1,6 +1,12 @@
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * This class represents a player in Uno Flip. Each player has a name, a hand of cards,
@@ -13,33 +19,86 @@ import java.util.List;
  *   ArrayList choosen for:
  *      * structure allows for efficient indexed access (for playing cards by index)
  *      * easy addition/removal as the hand changes during play
+ *   * Held in a Hand, which keeps the score of the cards on both sides and a multiset of their
+ *     face ids up to date as cards are added and removed, so the points at risk and the playable
+ *     faces (see Uno_MatchEngine) are known in constant time. Scores are kept per
+ *     side, so flipping the cards changes nothing; changes made to the list by other means
+ *     (addAll, iterators, sorting) are noticed through the list's modification count and the
+ *     scores are recounted on the next query
  * - int score: Tracks the player's total score in the game
  * - int numCards: Keeps track of the number of cards in player's hand
  * - boolean isAI: Keeps track of if it is the AI's turn to play
  * - AIStrategy aiStrategy: Stores which strategy the AI will use
+ * - String strategyName: Name of the Uno_AIStrategy used when aiStrategy is CUSTOM
+ * - Uno_AIStrategy strategy: Card selection strategy, created from the registry on first use
+ *   * A Uno_SearchStrategy (MCTS, PARALLEL_MCTS, EXPECTIMAX) also searches ahead and keeps
+ *     its search between turns; it is given the budgets below
+ * - Uno_GameView view: Read-only view handed to the strategy, rebound before every decision
+ * - int searchTimeMillis, searchIterations: Per turn budget for search based strategies (MCTS)
+ * - ForkJoinPool searchPool: The pool the PARALLEL_MCTS search runs on
+ * - int lookaheadDepth, lookaheadNodes: Depth and per turn node budget of the EXPECTIMAX strategy
+ * - CardColour plannedWildColour: Colour picked by the search together with a wild card,
+ *   returned by the following call to selectWildColour
+ * - Uno_SimState searchRoot, int searchObserver: Copy of the round taken by captureSearch,
+ *   searched by searchCaptured so a search does not need the game to stay locked
  *
  * @author Lucas Baker
  * @version 4.0 - Milestone 4
  */
 public class Player_Model implements Serializable {
+    private static final long serialVersionUID = -4892292137915837962L;
+
+    /**
+     * The saved fields. The hand is saved as a plain ArrayList, as it was before Hand existed,
+     * so old and new saves read the same way; the counts of the Hand are rebuilt on load.
+     */
+    private static final ObjectStreamField[] serialPersistentFields = {
+        new ObjectStreamField("name", String.class),
+        new ObjectStreamField("hand", ArrayList.class),
+        new ObjectStreamField("score", int.class),
+        new ObjectStreamField("numCards", int.class),
+        new ObjectStreamField("isAI", boolean.class),
+        new ObjectStreamField("aiStrategy", AIStrategy.class),
+        new ObjectStreamField("strategyName", String.class),
+        new ObjectStreamField("searchTimeMillis", int.class),
+        new ObjectStreamField("searchIterations", int.class),
+        new ObjectStreamField("lookaheadDepth", int.class),
+        new ObjectStreamField("lookaheadNodes", int.class)
+    };
+
     private String name;
-    private ArrayList<Card_Model> hand;
+    private Hand hand;
     private int score;
     private int numCards;
     private boolean isAI;
     private AIStrategy aiStrategy;
+    private String strategyName;
+    private transient Uno_AIStrategy strategy;
+    private transient Uno_GameView view;
+    private int searchTimeMillis = Uno_MCTS.DEFAULT_TIME_BUDGET_MILLIS;
+    private int searchIterations = Uno_MCTS.DEFAULT_MAX_ITERATIONS;
+    private transient ForkJoinPool searchPool;
+    private int lookaheadDepth = Uno_Expectimax.DEFAULT_MAX_DEPTH;
+    private int lookaheadNodes = Uno_Expectimax.DEFAULT_NODE_BUDGET;
+    private transient Card_Model.CardColour plannedWildColour;
+    private transient Uno_SimState searchRoot;
+    private transient int searchObserver;
 
     public enum AIStrategy {
         FIRST_VALID,      // Play first valid card found
         HIGHEST_SCORE,    // Play card worth most points
-        STRATEGIC         // Consider game state for best move
+        STRATEGIC,        // Consider game state for best move
+        MCTS,             // Monte Carlo tree search over sampled hidden cards
+        PARALLEL_MCTS,    // MCTS with one independent tree per core, merged at the root
+        EXPECTIMAX,       // Depth-limited expectimax with draws as chance nodes
+        CUSTOM            // Strategy loaded by name, see setStrategy(String)
     }
 
     /**
      * Constructs a new player with an empty card list and a score of 0.
      */
     public Player_Model() {
-        hand = new ArrayList<>();
+        hand = new Hand();
         numCards = 0;
         score = 0;
         isAI = false;
@@ -51,7 +110,7 @@ public class Player_Model implements Serializable {
      */
     public Player_Model(String name) {
         this.name = name;
-        hand = new ArrayList<>();
+        hand = new Hand();
         numCards = 0;
         score = 0;
         isAI = false;
@@ -63,7 +122,7 @@ public class Player_Model implements Serializable {
      */
     public Player_Model(String name, boolean isAI) {
         this.name = name;
-        hand = new ArrayList<>();
+        hand = new Hand();
         numCards = 0;
         score = 0;
         this.isAI = isAI;
@@ -75,7 +134,7 @@ public class Player_Model implements Serializable {
      */
     public Player_Model(String name, boolean isAI, AIStrategy strategy) {
         this.name = name;
-        hand = new ArrayList<>();
+        hand = new Hand();
         numCards = 0;
         score = 0;
         this.isAI = isAI;
@@ -94,6 +153,27 @@ public class Player_Model implements Serializable {
      */
     public int getNumCards() { return numCards; }
 
+    /**
+     * Gets the points the cards in the player's hand are worth, as counted at the end of a round.
+     * @param isDarkSide true to count the dark sides of the cards
+     * @return the hand score
+     */
+    public int getHandScore(boolean isDarkSide) { return hand.getScore(isDarkSide); }
+
+    /**
+     * Gets the face ids in the player's hand as a bit mask, for Uno_MatchEngine.
+     * Cards that are not part of the standard deck have no bit.
+     * @return the mask, bit f set if the hand holds a card with face id f
+     */
+    public long getHandFaceMask() { return hand.getFaceMask(); }
+
+    /**
+     * Gets how many cards of a face the player holds.
+     * @param faceId the face id
+     * @return the number of copies in the hand
+     */
+    public int getHandFaceCount(int faceId) { return hand.getFaceCount(faceId); }
+
     /**
      * Gets the player's score.
      * @return the player's score.
@@ -130,6 +210,23 @@ public class Player_Model implements Serializable {
      */
     public void resetScore() { score = 0; }
 
+    /**
+     * Resets the player in place for a new game, keeping the hand's storage and any search
+     * buffers so a pooled player costs no allocations when it is seated again.
+     * @param name the name of the player
+     * @param isAI whether the player is an AI
+     * @param strategy the AI strategy
+     */
+    public void reset(String name, boolean isAI, AIStrategy strategy) {
+        this.name = name;
+        hand.clear();
+        numCards = 0;
+        score = 0;
+        this.isAI = isAI;
+        if (strategy != aiStrategy) setAIStrategy(strategy);
+        plannedWildColour = null;
+    }
+
     /**
      * Sets name of the player.
      * @param name
@@ -156,7 +253,135 @@ public class Player_Model implements Serializable {
      * @param strategy
      * The strategy of the AI player.
      */
-    public void setAIStrategy(AIStrategy strategy) { this.aiStrategy = strategy; }
+    public void setAIStrategy(AIStrategy strategy) {
+        this.aiStrategy = strategy;
+        this.strategy = null;
+    }
+
+    /**
+     * Sets the AI strategy by name, see Uno_StrategyRegistry for how names are resolved.
+     * Names of built-in strategies also set the matching AIStrategy, any other name sets CUSTOM.
+     * @param name
+     * the name of the strategy
+     * @throws IllegalArgumentException if no strategy with that name can be found
+     */
+    public void setStrategy(String name) {
+        Uno_AIStrategy created = Uno_StrategyRegistry.create(name);
+        AIStrategy type = AIStrategy.CUSTOM;
+        for (AIStrategy value : AIStrategy.values()) {
+            if (value.name().equals(name)) type = value;
+        }
+        this.aiStrategy = type;
+        this.strategyName = name;
+        this.strategy = created;
+        configureSearch();
+    }
+
+    /**
+     * Sets a strategy instance, e.g. one built with trained weights that the registry cannot create.
+     * The strategy is not saved with the player, a loaded player recreates it by name.
+     * @param strategy
+     * the strategy to select cards with
+     */
+    public void setStrategy(Uno_AIStrategy strategy) {
+        this.aiStrategy = AIStrategy.CUSTOM;
+        this.strategyName = strategy.getName();
+        this.strategy = strategy;
+        configureSearch();
+    }
+
+    /**
+     * Gets the name of the strategy used to select cards.
+     * A CUSTOM strategy without a name uses STRATEGIC.
+     * @return the strategy name
+     */
+    public String getStrategyName() {
+        if (aiStrategy != AIStrategy.CUSTOM) return aiStrategy.name();
+        return strategyName != null ? strategyName : Uno_StrategicStrategy.NAME;
+    }
+
+    /**
+     * Gets the strategy used to select cards, creating it on first use.
+     * @return the strategy
+     */
+    public Uno_AIStrategy getStrategy() {
+        if (strategy == null) {
+            strategy = Uno_StrategyRegistry.create(getStrategyName());
+            configureSearch();
+        }
+        return strategy;
+    }
+
+    /**
+     * Passes the budgets on to the strategy if it searches.
+     */
+    private void configureSearch() {
+        if (!(strategy instanceof Uno_SearchStrategy)) return;
+        Uno_SearchStrategy searching = (Uno_SearchStrategy) strategy;
+        searching.setSearchBudget(searchTimeMillis, searchIterations);
+        searching.setLookaheadBudget(lookaheadDepth, lookaheadNodes);
+        searching.setSearchPool(searchPool);
+    }
+
+    /**
+     * Sets the per turn budget used by search based strategies.
+     * @param timeMillis
+     * the maximum thinking time per turn in milliseconds
+     * @param maxIterations
+     * the maximum number of search iterations per turn
+     */
+    public void setSearchBudget(int timeMillis, int maxIterations) {
+        this.searchTimeMillis = timeMillis;
+        this.searchIterations = maxIterations;
+        configureSearch();
+    }
+
+    /**
+     * Sets the limits of the EXPECTIMAX strategy.
+     * @param depth
+     * the number of own decisions to look ahead
+     * @param nodeBudget
+     * the maximum number of positions searched per turn
+     */
+    public void setLookaheadBudget(int depth, int nodeBudget) {
+        this.lookaheadDepth = depth;
+        this.lookaheadNodes = nodeBudget;
+        configureSearch();
+    }
+
+    /**
+     * Gets the lookahead depth of the EXPECTIMAX strategy.
+     * @return the depth in own decisions
+     */
+    public int getLookaheadDepth() { return lookaheadDepth; }
+
+    /**
+     * Gets the per turn node budget of the EXPECTIMAX strategy.
+     * @return the node budget
+     */
+    public int getLookaheadNodes() { return lookaheadNodes; }
+
+    /**
+     * Sets the pool used by the PARALLEL_MCTS strategy.
+     * @param pool
+     * the pool the search workers run on, null for Uno_ParallelMCTS.getSharedPool()
+     */
+    public void setSearchPool(ForkJoinPool pool) {
+        this.searchPool = pool;
+        configureSearch();
+    }
+
+    /**
+     * Gets the maximum thinking time per turn of search based strategies.
+     * @return the time budget in milliseconds
+     */
+    public int getSearchTimeMillis() { return searchTimeMillis; }
+
+    /**
+     * Gets the maximum number of iterations per turn of search based strategies.
+     * @return the iteration budget
+     */
+    public int getSearchIterations() { return searchIterations; }
 
     /**
      * Adds a card to the player's hand, increases card count.
@@ -170,11 +395,14 @@ public class Player_Model implements Serializable {
 
     /**
      * Draws card from the deck, adds it to the player's hand, increases card count.
+     * Nothing is drawn when the draw and discard piles are both used up.
      * @param deck
      * The Uno deck to draw a card.
      */
     public void drawCard(Deck_Model deck) {
-        hand.add(deck.draw());
+        Card_Model card = deck.draw();
+        if (card == null) return;
+        hand.add(card);
         numCards++;
     }
 
@@ -209,6 +437,8 @@ public class Player_Model implements Serializable {
 
     /**
      * Finds all cards in the player's hand that are valid.
+     * The hand's face mask is ANDed with the faces playable on the match, see Uno_MatchEngine,
+     * so each card is one bit test.
      * @param activeCard
      * the currently active card on the pile
      * @param matchColour
@@ -219,31 +449,22 @@ public class Player_Model implements Serializable {
      */
     public List<Integer> getValidCardIndices(Card_Model activeCard, Card_Model.CardColour matchColour, Card_Model.CardValue matchType) {
         List<Integer> valid = new ArrayList<>();
+        long handMask = getHandFaceMask();
+        long lightPlayable = handMask & Uno_MatchEngine.compile(matchColour, matchType, false);
+        long darkPlayable = handMask & Uno_MatchEngine.compile(matchColour, matchType, true);
         for (int i = 0; i < hand.size(); i++) {
             Card_Model card = hand.get(i);
-            if (isValidPlay(card, matchColour, matchType)) {
-                valid.add(i);
-            }
+            if (card == null) continue;
+            int face = card.getFaceId();
+            boolean playable = face < 0
+                ? Uno_MatchEngine.isValidPlay(card, matchColour, matchType)
+                : Uno_MatchEngine.matches(card.getCurrentCardSide() == Card_Model.CardSide.DARK_SIDE
+                    ? darkPlayable : lightPlayable, face);
+            if (playable) valid.add(i);
         }
         return valid;
     }
 
-    /**
-     * Determines whether a card is valid.
-     * @param card
-     * card being tested
-     * @param matchColour
-     * colour to match
-     * @param matchType
-     * value to match
-     * @return true if the card is a valid play
-     */
-    private boolean isValidPlay(Card_Model card, Card_Model.CardColour matchColour, Card_Model.CardValue matchType) {
-        if (card == null) return false;
-        if (card.isWildCard()) return true;
-        return card.getColour() == matchColour || card.getCardValue() == matchType;
-    }
-
     /**
      * Selects the best card to play according to the AI's strategy.
      * @param activeCard
@@ -259,94 +480,113 @@ public class Player_Model implements Serializable {
     public int selectCardToPlay(Card_Model activeCard, Card_Model.CardColour matchColour,
             Card_Model.CardValue matchType, boolean isDarkSide) {
         if (!isAI) return -1;
-        
-        List<Integer> validIndices = getValidCardIndices(activeCard, matchColour, matchType);
-        if (validIndices.isEmpty()) return -1;
-
-        switch (aiStrategy) {
-            case FIRST_VALID:
-                return validIndices.get(0);
-            case HIGHEST_SCORE:
-                return selectHighestScoreCard(validIndices, isDarkSide);
-            case STRATEGIC:
-                return selectStrategicCard(validIndices, isDarkSide);
-            default:
-                return validIndices.get(0);
-        }
+        if (view == null) view = new Uno_GameView();
+        view.bind(this, activeCard, matchColour, matchType, isDarkSide);
+        return selectWithStrategy();
     }
 
     /**
-     * Selects the valid card with the highest point value.
-     * @param validIndices
-     * list of valid card indices
-     * @param isDarkSide
-     * whether dark side scoring applies
-     * @return index of selected card
-     */
-    private int selectHighestScoreCard(List<Integer> validIndices, boolean isDarkSide) {
-        int bestIdx = validIndices.get(0);
-        int bestScore = 0;
-        for (int idx : validIndices) {
-            int cardScore = hand.get(idx).getCardScore(isDarkSide);
-            if (cardScore > bestScore) {
-                bestScore = cardScore;
-                bestIdx = idx;
-            }
-        }
-        return bestIdx;
+     * Selects the best card to play with access to the whole game.
+     * Search based strategies look ahead using the game, the others are given
+     * a view of the game that includes the opponents' card counts and the play direction.
+     * @param game
+     * the game being played, this player must be one of its participants
+     * @return index of chosen card, or -1 if none
+     */
+    public int selectCardToPlay(Uno_Model game) {
+        if (!isAI) return -1;
+        return selectSearchedCard(game, captureSearch(game) ? searchCaptured() : Uno_MCTS.NO_MOVE);
     }
 
     /**
-     * Selects the card with the highest calculated priority.
-     * @param validIndices
-     * valid card indices
-     * @param isDarkSide
-     * whether dark side rules apply
-     * @return index of strategic choice
+     * Selects the card of a move found by searchCaptured, or asks the strategy with a view of
+     * the game when no move was found.
+     * @param game
+     * the game being played, this player must be one of its participants
+     * @param move
+     * the encoded move (see Uno_SimState), or Uno_MCTS.NO_MOVE
+     * @return index of chosen card, or -1 if none
      */
-    private int selectStrategicCard(List<Integer> validIndices, boolean isDarkSide) {
-        int bestIdx = validIndices.get(0);
-        int bestPriority = -1;
-        
-        for (int idx : validIndices) {
-            Card_Model card = hand.get(idx);
-            int priority = getCardPriority(card, isDarkSide);
-            if (priority > bestPriority) {
-                bestPriority = priority;
-                bestIdx = idx;
-            }
+    public int selectSearchedCard(Uno_Model game, int move) {
+        if (!isAI) return -1;
+        plannedWildColour = null;
+        if (move != Uno_MCTS.NO_MOVE) return applySearchMove(move, game.isDarkSide());
+        if (view == null) view = new Uno_GameView();
+        view.bind(game, this);
+        return selectWithStrategy();
+    }
+
+    /**
+     * Checks if the AI's strategy searches ahead, see captureSearch.
+     * @return true if the strategy is a Uno_SearchStrategy
+     */
+    public boolean isSearchStrategy() {
+        return isAI && getStrategy() instanceof Uno_SearchStrategy;
+    }
+
+    /**
+     * Copies the round into the state searched by the next call to searchCaptured. The copy
+     * is quick, so it can be taken while the game is locked and the search run after the
+     * game is unlocked.
+     * @param game
+     * the game being played, this player must be one of its participants
+     * @return true if the round was copied, false if the strategy does not search or the
+     * round cannot be simulated
+     */
+    public boolean captureSearch(Uno_Model game) {
+        if (!isSearchStrategy()) return false;
+        int observer = game.getParticipants().indexOf(this);
+        if (observer < 0) return false;
+        if (searchRoot == null) searchRoot = new Uno_SimState();
+        if (!searchRoot.loadFrom(game)) return false;
+        searchObserver = observer;
+        return true;
+    }
+
+    /**
+     * Searches the round copied by captureSearch. Neither the game nor this player's hand is
+     * read, so the game may change meanwhile; the move must then be checked against the game.
+     * @return the encoded move (see Uno_SimState), or Uno_MCTS.NO_MOVE if none was found
+     */
+    public int searchCaptured() {
+        Uno_AIStrategy current = strategy;
+        if (searchRoot == null || !(current instanceof Uno_SearchStrategy)) return Uno_MCTS.NO_MOVE;
+        return ((Uno_SearchStrategy) current).search(searchRoot, searchObserver);
+    }
+
+    /**
+     * Asks the strategy for a card using the bound view.
+     * A card the strategy should not have picked is replaced by the first valid card.
+     * @return index of the chosen card, or -1 to draw
+     */
+    private int selectWithStrategy() {
+        int index = getStrategy().selectCard(view);
+        if (index < 0 || (index < hand.size() && view.isPlayable(index))) return index;
+        for (int i = 0; i < hand.size(); i++) {
+            if (view.isPlayable(i)) return i;
         }
-        return bestIdx;
+        return -1;
     }
 
     /**
-     * Computes the priority of a card for AI strategy.
-     * @param card
-     * card to evaluate
+     * Converts a move found by a search into a hand index and remembers its wild colour.
+     * @param move
+     * the encoded move (see Uno_SimState)
      * @param isDarkSide
-     * whether dark side scoring applies
-     * @return calculated priority value
+     * whether the game is on the dark side
+     * @return index of the card to play, or -1 to draw
      */
-    private int getCardPriority(Card_Model card, boolean isDarkSide) {
-        int priority = card.getCardScore(isDarkSide);
-        Card_Model.CardValue val = card.getCardValue();
-        
-        // Prioritize action cards when hand is small
-        if (numCards <= 3) {
-            if (val == Card_Model.CardValue.SKIP || 
-                val == Card_Model.CardValue.SKIP_EVERYONE) priority += 25;
-            if (val == Card_Model.CardValue.REVERSE) priority += 20;
-            if (val == Card_Model.CardValue.DRAW_ONE || 
-                val == Card_Model.CardValue.DRAW_FIVE) priority += 30;
+    private int applySearchMove(int move, boolean isDarkSide) {
+        int face = Uno_SimState.getMoveFace(move);
+        if (face < 0) return -1;
+        for (int i = 0; i < hand.size(); i++) {
+            Card_Model card = hand.get(i);
+            if (card != null && card.getFaceId() == face) {
+                if (card.isWildCard()) plannedWildColour = Uno_SimState.getMoveColour(move, isDarkSide);
+                return i;
+            }
         }
-        
-        // Save wild cards unless necessary
-        if (card.isWildCard() && numCards > 1) priority -= 40;
-        
-        // Prefer flip cards in strategic situations
-        if (val == Card_Model.CardValue.FLIP && numCards > 4) priority += 15;
-        
-        return priority;
+        return -1;
     }
 
     /**
@@ -355,36 +595,17 @@ public class Player_Model implements Serializable {
      */
     public Card_Model.CardColour selectWildColour() {
         if (!isAI) return null;
-        
-        int[] colourCounts = new int[4];
-        Card_Model.CardColour[] colours;
-        Card_Model.CardSide side = hand.isEmpty() ? Card_Model.CardSide.LIGHT_SIDE
-            : hand.get(0).getCurrentCardSide();
-        
-        if (side == Card_Model.CardSide.LIGHT_SIDE) {
-            colours = new Card_Model.CardColour[]{
-                Card_Model.CardColour.RED, Card_Model.CardColour.BLUE,
-                Card_Model.CardColour.GREEN, Card_Model.CardColour.YELLOW
-            };
-        } else {
-            colours = new Card_Model.CardColour[]{
-                Card_Model.CardColour.TEAL, Card_Model.CardColour.PURPLE,
-                Card_Model.CardColour.PINK, Card_Model.CardColour.ORANGE
-            };
-        }
-        
-        for (Card_Model card : hand) {
-            Card_Model.CardColour c = card.getColour();
-            for (int i = 0; i < colours.length; i++) {
-                if (c == colours[i]) colourCounts[i]++;
-            }
+        if (plannedWildColour != null) {
+            Card_Model.CardColour planned = plannedWildColour;
+            plannedWildColour = null;
+            return planned;
         }
         
-        int maxIdx = 0;
-        for (int i = 1; i < 4; i++) {
-            if (colourCounts[i] > colourCounts[maxIdx]) maxIdx = i;
-        }
-        return colours[maxIdx];
+        boolean isDarkSide = !hand.isEmpty() && hand.get(0) != null
+            && hand.get(0).getCurrentCardSide() == Card_Model.CardSide.DARK_SIDE;
+        if (view == null) view = new Uno_GameView();
+        view.bind(this, null, null, null, isDarkSide);
+        return getStrategy().selectWildColour(view);
     }
 
     /**
@@ -396,4 +617,158 @@ public class Player_Model implements Serializable {
             System.out.println((i + 1) + "." + hand.get(i).toString());
         }
     }
+
+    /**
+     * Saves the player, with the hand as a plain ArrayList.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("name", name);
+        fields.put("hand", new ArrayList<>(hand));
+        fields.put("score", score);
+        fields.put("numCards", numCards);
+        fields.put("isAI", isAI);
+        fields.put("aiStrategy", aiStrategy);
+        fields.put("strategyName", strategyName);
+        fields.put("searchTimeMillis", searchTimeMillis);
+        fields.put("searchIterations", searchIterations);
+        fields.put("lookaheadDepth", lookaheadDepth);
+        fields.put("lookaheadNodes", lookaheadNodes);
+        out.writeFields();
+    }
+
+    /**
+     * Restores a saved player and rebuilds the hand's counts. Saves made before the search
+     * budgets existed hold none, so they get the defaults.
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        name = (String) fields.get("name", null);
+        hand = new Hand();
+        ArrayList<Card_Model> cards = (ArrayList<Card_Model>) fields.get("hand", null);
+        if (cards != null) hand.addAll(cards);
+        score = fields.get("score", 0);
+        numCards = fields.get("numCards", 0);
+        isAI = fields.get("isAI", false);
+        aiStrategy = (AIStrategy) fields.get("aiStrategy", AIStrategy.FIRST_VALID);
+        strategyName = (String) fields.get("strategyName", null);
+        searchTimeMillis = fields.get("searchTimeMillis", Uno_MCTS.DEFAULT_TIME_BUDGET_MILLIS);
+        searchIterations = fields.get("searchIterations", Uno_MCTS.DEFAULT_MAX_ITERATIONS);
+        lookaheadDepth = fields.get("lookaheadDepth", Uno_Expectimax.DEFAULT_MAX_DEPTH);
+        lookaheadNodes = fields.get("lookaheadNodes", Uno_Expectimax.DEFAULT_NODE_BUDGET);
+    }
+
+    /**
+     * The cards of a hand together with their score on each side and the number of copies of
+     * every face. Adding, removing, replacing and clearing cards update the counts; any other
+     * change is detected through modCount and the counts are redone on the next query.
+     * A player saves its hand as a plain ArrayList, see serialPersistentFields.
+     */
+    static final class Hand extends ArrayList<Card_Model> {
+        private static final long serialVersionUID = 1L;
+
+        private int lightScore;
+        private int darkScore;
+        private final int[] faceCounts = new int[Card_Model.NUM_FACES];
+        private long faceMask;
+        private int scoredModCount;
+
+        @Override
+        public boolean add(Card_Model card) {
+            boolean scored = scoredModCount == modCount;
+            super.add(card);
+            if (scored) {
+                score(card, 1);
+                scoredModCount = modCount;
+            }
+            return true;
+        }
+
+        @Override
+        public Card_Model remove(int index) {
+            boolean scored = scoredModCount == modCount;
+            Card_Model card = super.remove(index);
+            if (scored) {
+                score(card, -1);
+                scoredModCount = modCount;
+            }
+            return card;
+        }
+
+        @Override
+        public Card_Model set(int index, Card_Model card) {
+            Card_Model old = super.set(index, card);
+            if (scoredModCount == modCount) {
+                score(old, -1);
+                score(card, 1);
+            }
+            return old;
+        }
+
+        @Override
+        public void clear() {
+            super.clear();
+            lightScore = 0;
+            darkScore = 0;
+            Arrays.fill(faceCounts, 0);
+            faceMask = 0;
+            scoredModCount = modCount;
+        }
+
+        /**
+         * Gets the score of the cards.
+         * @param isDarkSide true for the dark side
+         * @return the score
+         */
+        int getScore(boolean isDarkSide) {
+            recount();
+            return isDarkSide ? darkScore : lightScore;
+        }
+
+        /**
+         * Gets the faces held.
+         * @return the mask, bit f set if a card with face id f is held
+         */
+        long getFaceMask() {
+            recount();
+            return faceMask;
+        }
+
+        /**
+         * Gets the copies held of a face.
+         * @param faceId the face id
+         * @return the number of copies
+         */
+        int getFaceCount(int faceId) {
+            recount();
+            return faceCounts[faceId];
+        }
+
+        private void recount() {
+            if (scoredModCount == modCount) return;
+            lightScore = 0;
+            darkScore = 0;
+            Arrays.fill(faceCounts, 0);
+            faceMask = 0;
+            for (Card_Model card : this) score(card, 1);
+            scoredModCount = modCount;
+        }
+
+        private void score(Card_Model card, int sign) {
+            if (card == null) return;
+            lightScore += sign * card.getCardScore(false);
+            darkScore += sign * card.getCardScore(true);
+            int face = card.getFaceId();
+            if (face < 0) return;
+            faceCounts[face] += sign;
+            if (faceCounts[face] == 0) faceMask &= ~(1L << face);
+            else faceMask |= 1L << face;
+        }
+
+        private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+            in.defaultReadObject();
+            scoredModCount = modCount - 1;
+        }
+    }
 }
@@ -219,4 +219,36 @@ public class Card_ModelTest {
         assertTrue(Card_Model.isLightSideColour(Card_Model.CardColour.YELLOW));
         assertTrue(Card_Model.isLightSideColour(Card_Model.CardColour.WILD));
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests the lookup tables of the Card_Model class
+     * - verifies that scores, wild and action checks agree with the card values on both sides
+     * - verifies that colours belong to exactly one side, except WILD which belongs to both
+     */
+    @Test
+    public void test_lookupTables() {
+        System.out.println("Testing Lookup Tables...");
+        for (Card_Model.CardValue value : Card_Model.CardValue.values()) {
+            boolean wild = value == Card_Model.CardValue.WILD || value == Card_Model.CardValue.WILD_DRAW_TWO
+                    || value == Card_Model.CardValue.WILD_DRAW_COLOUR;
+            assertEquals(wild, Card_Model.isWildValue(value));
+            assertEquals(!wild && value.ordinal() > Card_Model.CardValue.NINE.ordinal(), Card_Model.isActionValue(value));
+            assertEquals(value.getCardScore(false), Card_Model.getValueScore(value, false));
+            assertEquals(value.getCardScore(true), Card_Model.getValueScore(value, true));
+        }
+        for (int face = 0; face < Card_Model.NUM_FACES; face++) {
+            card = new Card_Model(Card_Model.getFaceValue(face, false), Card_Model.getFaceColour(face, false),
+                    Card_Model.getFaceValue(face, true), Card_Model.getFaceColour(face, true));
+            assertEquals(card.getCardScore(true), Card_Model.getFaceScore(face, true));
+            assertEquals(card.getCardScore(false), Card_Model.getFaceScore(face, false));
+            assertEquals(card.isWildCard(), Card_Model.isWildFace(face, false));
+        }
+        for (Card_Model.CardColour colour : Card_Model.CardColour.values()) {
+            boolean light = Card_Model.isLightSideColour(colour);
+            boolean dark = Card_Model.isDarkSideColour(colour);
+            assertEquals(colour == Card_Model.CardColour.WILD, light && dark);
+            assertTrue(light || dark);
+        }
+        assertFalse(Card_Model.isLightSideColour(null));
+    }
+}
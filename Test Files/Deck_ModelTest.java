@@ -261,6 +261,58 @@ public class Deck_ModelTest {
         assertEquals(Card_Model.CardColour.GREEN, drawnCards.get(1).getColour());
     }
 
+    /**
+     * Tests the draw pile count after drawUntilColour
+     * - verifies that each card drawn lowers the count by one
+     * - verifies that drawing without a match empties the pile without going below zero
+     */
+    @Test
+    public void test_drawUntilColourCount() {
+        System.out.println("Testing Method drawUntilColour count...");
+        ArrayList<Card_Model> test_pile = new ArrayList<>();
+        test_pile.add(new Card_Model(Card_Model.CardValue.THREE, Card_Model.CardColour.RED));
+        test_pile.add(new Card_Model(Card_Model.CardValue.REVERSE, Card_Model.CardColour.GREEN));
+        test_pile.add(new Card_Model(Card_Model.CardValue.FIVE, Card_Model.CardColour.BLUE));
+        test_pile.add(new Card_Model(Card_Model.CardValue.SEVEN, Card_Model.CardColour.YELLOW));
+        pile = new Deck_Model(test_pile);
+
+        pile.drawUntilColour(Card_Model.CardColour.GREEN);
+        assertEquals(2, pile.getNumDrawCards());
+        assertEquals(2, pile.getCards().size());
+
+        Card_Model drawnCard = pile.drawUntilColour(Card_Model.CardColour.PURPLE);
+        assertEquals(Card_Model.CardColour.YELLOW, drawnCard.getColour());
+        assertEquals(0, pile.getNumDrawCards());
+        assertTrue(pile.isEmpty());
+    }
+
+    /**
+     * Tests the draw pile count after drawCardsUntilColour
+     * - verifies that the count drops by the number of cards returned
+     * - verifies that drawing without a match empties the pile without going below zero
+     */
+    @Test
+    public void test_drawCardsUntilColourCount() {
+        System.out.println("Testing Method drawCardsUntilColour count...");
+        ArrayList<Card_Model> test_pile = new ArrayList<>();
+        test_pile.add(new Card_Model(Card_Model.CardValue.THREE, Card_Model.CardColour.RED));
+        test_pile.add(new Card_Model(Card_Model.CardValue.ONE, Card_Model.CardColour.RED));
+        test_pile.add(new Card_Model(Card_Model.CardValue.REVERSE, Card_Model.CardColour.GREEN));
+        test_pile.add(new Card_Model(Card_Model.CardValue.FIVE, Card_Model.CardColour.BLUE));
+        test_pile.add(new Card_Model(Card_Model.CardValue.SEVEN, Card_Model.CardColour.YELLOW));
+        pile = new Deck_Model(test_pile);
+
+        ArrayList<Card_Model> drawnCards = pile.drawCardsUntilColour(Card_Model.CardColour.GREEN);
+        assertEquals(3, drawnCards.size());
+        assertEquals(2, pile.getNumDrawCards());
+        assertEquals(2, pile.getCards().size());
+
+        drawnCards = pile.drawCardsUntilColour(Card_Model.CardColour.PURPLE);
+        assertEquals(2, drawnCards.size());
+        assertEquals(0, pile.getNumDrawCards());
+        assertTrue(pile.isEmpty());
+    }
+
     /**
      * Test the reshuffleFromDiscard method of the Deck_Model class
      * - verifies that all cards except the latest are moved from the discard pile to the draw pile
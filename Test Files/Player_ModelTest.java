@@ -189,6 +189,27 @@ public class Player_ModelTest
         count = 4;
     }
 
+    /**
+     * Tests the drawCard method of the Player_Model Class with a used up deck
+     * Asserts nothing is added to the hand once the draw and discard piles are empty
+     */
+    @Test
+    public void test_drawCardFromEmptyDeck()
+    {
+        System.out.println("Testing the drawCard() method with an empty deck");
+        Deck_Model deck = new Deck_Model(new ArrayList<>());
+        player = new Player_Model();
+        player.drawCard(deck);
+        assertEquals(0, player.getNumCards());
+        assertTrue(player.getHand().isEmpty());
+        player.addCard(new Card_Model(Card_Model.CardValue.SEVEN, Card_Model.CardColour.RED));
+        player.drawCard(deck);
+        assertEquals(1, player.getNumCards());
+        assertEquals(1, player.getHand().size());
+        assertFalse(player.getHand().contains(null));
+        count = 5;
+    }
+
     /**
      * Tests the removeCard method of the Player_Model Class
      * Asserts the method removes the proper card from the player's hand
@@ -352,4 +373,57 @@ public class Player_ModelTest
         assertEquals(Card_Model.CardColour.RED, selected);
         count = 3;
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests the getHandScore method of the Player_Model Class
+     * Asserts the running score of each side matches a full count as cards are added and removed
+     */
+    @Test
+    public void test_getHandScore() {
+        System.out.println("Testing the getHandScore() method");
+        player = new Player_Model();
+        assertEquals(0, player.getHandScore(false));
+        player.addCard(new Card_Model(Card_Model.CardValue.SEVEN, Card_Model.CardColour.RED,
+                Card_Model.CardValue.SKIP_EVERYONE, Card_Model.CardColour.TEAL));
+        player.addCard(new Card_Model(Card_Model.CardValue.WILD_DRAW_TWO, Card_Model.CardColour.WILD,
+                Card_Model.CardValue.WILD_DRAW_COLOUR, Card_Model.CardColour.WILD));
+        player.addCard(new Card_Model(Card_Model.CardValue.FLIP, Card_Model.CardColour.BLUE,
+                Card_Model.CardValue.ONE, Card_Model.CardColour.PURPLE));
+        assertEquals(fullCount(player, false), player.getHandScore(false));
+        assertEquals(fullCount(player, true), player.getHandScore(true));
+
+        player.removeCard(1);
+        assertEquals(fullCount(player, false), player.getHandScore(false));
+        assertEquals(fullCount(player, true), player.getHandScore(true));
+
+        player.flipAllCards();
+        assertEquals(fullCount(player, true), player.getHandScore(true));
+        count = 5;
+    }
+
+    /**
+     * Tests that the hand score follows changes made straight to the list returned by getHand
+     */
+    @Test
+    public void test_getHandScoreAfterListChanges() {
+        System.out.println("Testing getHandScore() after changes to the hand list");
+        player = new Player_Model();
+        Deck_Model deck = new Deck_Model();
+        player.getHand().addAll(deck.getCards().subList(0, 20));
+        assertEquals(fullCount(player, false), player.getHandScore(false));
+        player.getHand().removeIf(card -> card.getCardScore(false) > 20);
+        assertEquals(fullCount(player, true), player.getHandScore(true));
+        player.getHand().set(0, deck.getCards().get(30));
+        player.addCard(deck.getCards().get(31));
+        assertEquals(fullCount(player, false), player.getHandScore(false));
+        player.getHand().clear();
+        assertEquals(0, player.getHandScore(true));
+        count = 4;
+    }
+
+    private static int fullCount(Player_Model player, boolean isDarkSide) {
+        int score = 0;
+        for (Card_Model card : player.getHand()) score += card.getCardScore(isDarkSide);
+        return score;
+    }
+}
@@ -336,4 +336,67 @@ public class SerializationTest
         assertFalse(controller.canRedo());
     }
 
-}
\ No newline at end of file
+    /**
+     * Tests that the model classes keep the serial versions of earlier releases
+     * - verifies games saved before face ids, seeded decks and search budgets still load
+     */
+    @Test
+    public void testSerialVersionsMatchEarlierSaves(){
+        assertEquals(6649148508948194870L, ObjectStreamClass.lookup(Card_Model.class).getSerialVersionUID());
+        assertEquals(-2617690435503395535L, ObjectStreamClass.lookup(Deck_Model.class).getSerialVersionUID());
+        assertEquals(-4892292137915837962L, ObjectStreamClass.lookup(Player_Model.class).getSerialVersionUID());
+        assertEquals(2L, ObjectStreamClass.lookup(Uno_Model.class).getSerialVersionUID());
+    }
+
+    /**
+     * Tests that loaded cards find their face id again, since it is not saved
+     * - verifies every card of a loaded deck has the face id of the card that was saved
+     */
+    @Test
+    public void testLoadedCardsKeepFaceIds() throws Exception {
+        Deck_Model deck = new Deck_Model();
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(stream)) {
+            out.writeObject(deck);
+        }
+        Deck_Model loadedDeck;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(stream.toByteArray()))) {
+            loadedDeck = (Deck_Model) in.readObject();
+        }
+        assertEquals(deck.getNumDrawCards(), loadedDeck.getNumDrawCards());
+        for (int i = 0; i < deck.getNumDrawCards(); i++) {
+            assertTrue(loadedDeck.getCard(i).getFaceId() >= 0);
+            assertEquals(deck.getCard(i).getFaceId(), loadedDeck.getCard(i).getFaceId());
+        }
+    }
+
+    /**
+     * Tests that a player saves its hand as a plain ArrayList and rebuilds the hand's counts
+     * - verifies the saved field type is the one of earlier saves
+     * - verifies the loaded hand has the same cards, score and faces
+     */
+    @Test
+    public void testPlayerHandSavedAsArrayList() throws Exception {
+        assertEquals(java.util.ArrayList.class, ObjectStreamClass.lookup(Player_Model.class).getField("hand").getType());
+        Player_Model player = new Player_Model("Saved");
+        player.addCard(new Card_Model(Card_Model.CardValue.SKIP, Card_Model.CardColour.RED,
+            Card_Model.CardValue.SKIP_EVERYONE, Card_Model.CardColour.TEAL));
+        player.addCard(new Card_Model(Card_Model.CardValue.WILD, Card_Model.CardColour.WILD,
+            Card_Model.CardValue.WILD, Card_Model.CardColour.WILD));
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(stream)) {
+            out.writeObject(player);
+        }
+        Player_Model loaded;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(stream.toByteArray()))) {
+            loaded = (Player_Model) in.readObject();
+        }
+        assertEquals("Saved", loaded.getName());
+        assertEquals(2, loaded.getHand().size());
+        assertEquals(player.getHandScore(false), loaded.getHandScore(false));
+        assertEquals(player.getHandScore(true), loaded.getHandScore(true));
+        assertEquals(player.getHandFaceMask(), loaded.getHandFaceMask());
+        assertEquals(player.getLookaheadDepth(), loaded.getLookaheadDepth());
+    }
+
+}
@@ -0,0 +1,85 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import javax.swing.SwingUtilities;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test suite for running AI turns off the event dispatch thread.
+ * Validates that every requested move ends in a call to the listener, also when the AI
+ * chooses no move or applying the move fails.
+ *
+ * @author Lucas Baker
+ * @version 5.0
+ */
+public class Uno_AIPipelineTest {
+
+    /**
+     * Records the outcome of one request.
+     */
+    private static final class Outcome implements Uno_AIPipeline.MoveListener {
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        @Override
+        public void moveApplied(Player_Model player, Uno_AIMove move, boolean success) {
+            result.complete(success);
+        }
+
+        @Override
+        public void moveFailed(Exception error) {
+            result.complete(error);
+        }
+    }
+
+    private static Object request(Uno_Controller controller) throws Exception {
+        controller.createPlayers(0, 2);
+        controller.initializeGame();
+        controller.setAIPacing(Uno_Controller.AIPacing.INSTANT);
+        Uno_AIPipeline pipeline = new Uno_AIPipeline(controller);
+        Outcome outcome = new Outcome();
+        try {
+            SwingUtilities.invokeAndWait(() -> assertTrue(pipeline.requestMove(outcome)));
+            return outcome.result.get(10, TimeUnit.SECONDS);
+        } finally {
+            SwingUtilities.invokeAndWait(pipeline::shutdown);
+        }
+    }
+
+    /**
+     * Tests that a computed move is applied and reported
+     */
+    @Test
+    void testMoveIsApplied() throws Exception {
+        assertEquals(Boolean.TRUE, request(new Uno_Controller(new Uno_Model())));
+    }
+
+    /**
+     * Tests that an error while applying the move is reported instead of escaping on the EDT
+     */
+    @Test
+    void testApplyErrorIsReported() throws Exception {
+        RuntimeException error = new IllegalStateException("apply failed");
+        Uno_Controller controller = new Uno_Controller(new Uno_Model()) {
+            @Override
+            public boolean applyAIMove(Uno_AIMove move) {
+                throw error;
+            }
+        };
+        assertSame(error, request(controller));
+    }
+
+    /**
+     * Tests that an AI choosing no move on its turn is reported rather than stalling the turn
+     */
+    @Test
+    void testNoMoveIsReported() throws Exception {
+        Uno_Controller controller = new Uno_Controller(new Uno_Model()) {
+            @Override
+            public Uno_AIMove computeAIMove() {
+                return null;
+            }
+        };
+        assertTrue(request(controller) instanceof IllegalStateException);
+    }
+}
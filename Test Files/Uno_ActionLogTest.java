@@ -0,0 +1,162 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+
+/**
+ * Test suite for the bounded action log used by the view.
+ * Validates ring buffer ordering, eviction, clearing and spilling to disk.
+ *
+ * @author Lucas Baker
+ * @version 5.0
+ */
+public class Uno_ActionLogTest {
+    private static final String TEST_SPILL_FILE = "test_action_log.txt";
+    private Uno_ActionLog log;
+
+    @BeforeEach
+    void setUp() {
+        log = new Uno_ActionLog(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        log.disableSpill();
+        for (String name : new String[]{TEST_SPILL_FILE, TEST_SPILL_FILE + ".1", TEST_SPILL_FILE + ".2"}) {
+            File file = new File(name);
+            if (file.exists()) file.delete();
+        }
+    }
+
+    /**
+     * Tests that entries are kept in insertion order while under capacity
+     */
+    @Test
+    void testAppendUnderCapacity() {
+        log.append("a");
+        log.append("b");
+        assertEquals(2, log.getSize());
+        assertEquals("a", log.getElementAt(0));
+        assertEquals("b", log.getElementAt(1));
+    }
+
+    /**
+     * Tests that the oldest entry is evicted once the log is full
+     */
+    @Test
+    void testEvictsOldestWhenFull() {
+        for (String s : new String[]{"a", "b", "c", "d", "e"}) log.append(s);
+        assertEquals(3, log.getSize());
+        assertEquals("c", log.getElementAt(0));
+        assertEquals("e", log.getElementAt(2));
+    }
+
+    /**
+     * Tests that clearing empties the log and it can be reused
+     */
+    @Test
+    void testClear() {
+        log.append("a");
+        log.append("b");
+        log.clear();
+        assertEquals(0, log.getSize());
+        log.append("c");
+        assertEquals("c", log.getElementAt(0));
+    }
+
+    /**
+     * Tests that invalid indices and capacities are rejected
+     */
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IndexOutOfBoundsException.class, () -> log.getElementAt(0));
+        assertThrows(IllegalArgumentException.class, () -> new Uno_ActionLog(0));
+    }
+
+    /**
+     * Tests that evicted entries are written to the spill file
+     */
+    @Test
+    void testSpillEvictedEntries() throws IOException {
+        log.enableSpill(new File(TEST_SPILL_FILE), 1024, 1);
+        for (String s : new String[]{"a", "b", "c", "d", "e"}) log.append(s);
+        log.flushSpill();
+        List<String> lines = Files.readAllLines(new File(TEST_SPILL_FILE).toPath());
+        assertEquals(List.of("a", "b"), lines);
+    }
+
+    /**
+     * Tests that the spill file is rolled once it reaches its size limit
+     */
+    @Test
+    void testSpillRollsFiles() {
+        log.enableSpill(new File(TEST_SPILL_FILE), 4, 2);
+        for (int i = 0; i < 10; i++) log.append("entry" + i);
+        log.flushSpill();
+        assertTrue(new File(TEST_SPILL_FILE).exists());
+        assertTrue(new File(TEST_SPILL_FILE + ".1").exists());
+        assertTrue(new File(TEST_SPILL_FILE + ".2").exists());
+    }
+
+    /**
+     * Tests that appending to a full log reports the rows as changed, not removed, since the
+     * size stays the same
+     */
+    @Test
+    void testFullLogFiresContentsChanged() {
+        List<Integer> events = new ArrayList<>();
+        log.addListDataListener(new ListDataListener() {
+            public void intervalAdded(ListDataEvent e) { events.add(e.getType()); }
+            public void intervalRemoved(ListDataEvent e) { events.add(e.getType()); }
+            public void contentsChanged(ListDataEvent e) {
+                events.add(e.getType());
+                assertEquals(0, e.getIndex0());
+                assertEquals(log.getSize() - 1, e.getIndex1());
+            }
+        });
+        for (String s : new String[]{"a", "b", "c", "d"}) log.append(s);
+        assertEquals(List.of(ListDataEvent.INTERVAL_ADDED, ListDataEvent.INTERVAL_ADDED,
+                ListDataEvent.INTERVAL_ADDED, ListDataEvent.CONTENTS_CHANGED), events);
+    }
+
+    /**
+     * Tests that the spill size limit counts encoded bytes, so multi-byte entries roll the file
+     */
+    @Test
+    void testSpillCountsEncodedBytes() throws IOException {
+        String entry = "\u00e9\u00e9\u00e9\u00e9";
+        int lineBytes = entry.getBytes(StandardCharsets.UTF_8).length + System.lineSeparator().length();
+        log.enableSpill(new File(TEST_SPILL_FILE), lineBytes + 1, 1);
+        for (int i = 0; i < 5; i++) log.append(entry);
+        log.flushSpill();
+        assertEquals(2L * lineBytes, new File(TEST_SPILL_FILE).length());
+        assertFalse(new File(TEST_SPILL_FILE + ".1").exists());
+        log.append(entry);
+        log.flushSpill();
+        assertEquals(lineBytes, new File(TEST_SPILL_FILE).length());
+        assertEquals(2L * lineBytes, new File(TEST_SPILL_FILE + ".1").length());
+    }
+
+    /**
+     * Tests that a spill file that cannot be written disables spilling and reports the error
+     * instead of failing the append
+     */
+    @Test
+    void testSpillErrorIsReported() throws IOException {
+        File directory = Files.createTempDirectory("uno-log").toFile();
+        try {
+            log.enableSpill(new File(directory, "missing/log.txt"), 1024, 1);
+            for (String s : new String[]{"a", "b", "c", "d"}) log.append(s);
+            assertNotNull(log.getSpillError());
+            assertEquals(3, log.getSize());
+            assertTrue(log.flushSpill());
+        } finally {
+            directory.delete();
+        }
+    }
+}
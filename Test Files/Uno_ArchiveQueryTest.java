@@ -0,0 +1,94 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * Test suite for the parallel aggregation queries over the game archive.
+ * Validates that the statistics match the rounds that were played and that splitting the
+ * scan into chunks on several threads gives the same result as one sequential chunk.
+ *
+ * @author Lucas Baker
+ * @version 5.0
+ */
+public class Uno_ArchiveQueryTest {
+    private static final int ROUNDS = 120;
+
+    private Path directory;
+    private Uno_GameArchive archive;
+    private int[] winsBySeat;
+    private long totalTurns;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("uno-query");
+        archive = new Uno_GameArchive(directory, 1 << 20);
+        Uno_HeadlessRunner runner = new Uno_HeadlessRunner();
+        runner.setArchive(archive);
+        Player_Model[] seats = {
+            new Player_Model("A", true, Player_Model.AIStrategy.STRATEGIC),
+            new Player_Model("B", true, Player_Model.AIStrategy.FIRST_VALID)
+        };
+        winsBySeat = new int[2];
+        for (long seed = 0; seed < ROUNDS; seed++) {
+            int winner = runner.playRound(seed, seats);
+            if (winner >= 0) winsBySeat[winner]++;
+            totalTurns += runner.getLastTurns();
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        archive.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * Tests that win rates and round lengths match the rounds the runner played
+     */
+    @Test
+    void testStatsMatchPlayedRounds() {
+        Uno_ArchiveQuery.Stats stats = new Uno_ArchiveQuery(archive).run();
+        assertEquals(ROUNDS, stats.getGames());
+        assertEquals(ROUNDS, stats.getRounds());
+        assertEquals((double) totalTurns / ROUNDS, stats.getAverageRoundLength(), 1e-9);
+        assertEquals((double) winsBySeat[0] / ROUNDS, stats.getWinRate("STRATEGIC", 0), 1e-9);
+        assertEquals((double) winsBySeat[1] / ROUNDS, stats.getWinRate("FIRST_VALID"), 1e-9);
+        assertEquals(0.0, stats.getWinRate("FIRST_VALID", 0));
+        assertEquals((double) winsBySeat[1] / ROUNDS, stats.getSeatWinRate(1), 1e-9);
+        assertTrue(stats.getFlips() > 0);
+        assertTrue(stats.getFlipFrequency() > 0 && stats.getFlipFrequency() < 1);
+        if (stats.getWildDrawColours() > 0) assertTrue(stats.getAverageWildDrawColourCards() >= 1);
+        assertTrue(stats.getGamesPerSecond() > 0);
+    }
+
+    /**
+     * Tests that small chunks merged across threads give the same statistics as one chunk
+     */
+    @Test
+    void testParallelChunksMatchSequentialScan() {
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            Uno_ArchiveQuery.Stats parallel = new Uno_ArchiveQuery(archive, pool, 7).run();
+            Uno_ArchiveQuery.Stats sequential = new Uno_ArchiveQuery(archive, pool, ROUNDS).run();
+            assertEquals(sequential.getRounds(), parallel.getRounds());
+            assertEquals(sequential.getAverageRoundLength(), parallel.getAverageRoundLength(), 1e-12);
+            assertEquals(sequential.getFlips(), parallel.getFlips());
+            assertEquals(sequential.getAverageWildDrawColourCards(), parallel.getAverageWildDrawColourCards(), 1e-12);
+            assertEquals(sequential.getStrategies(), parallel.getStrategies());
+            assertEquals(sequential.getWinRate("STRATEGIC", 0), parallel.getWinRate("STRATEGIC", 0), 1e-12);
+
+            Uno_ArchiveQuery.Stats range = new Uno_ArchiveQuery(archive, pool, 7).run(10, 30);
+            assertEquals(20, range.getGames());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
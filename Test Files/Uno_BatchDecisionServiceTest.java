@@ -0,0 +1,138 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test suite for the batched AI decision service and the linear strategy it shares its evaluation with.
+ *
+ * @author Saan John
+ * @version 5.0
+ */
+public class Uno_BatchDecisionServiceTest {
+    private ForkJoinPool pool;
+    private Uno_BatchDecisionService service;
+    private List<Uno_Controller> controllers;
+    private List<Uno_Model> tables;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(2);
+        service = new Uno_BatchDecisionService(pool, 64, 20);
+        controllers = new ArrayList<>();
+        tables = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            Uno_Model model = new Uno_Model();
+            Uno_Controller controller = new Uno_Controller(model);
+            controller.createPlayers(0, 2 + i % 3);
+            controller.initializeGame();
+            controllers.add(controller);
+            tables.add(model);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.close();
+        pool.shutdown();
+    }
+
+    /**
+     * Tests that every move of a batch is legal for its table
+     */
+    @Test
+    void testDecideAllReturnsLegalMoves() {
+        Uno_AIMove[] moves = service.decideAll(tables);
+        assertEquals(tables.size(), moves.length);
+        for (int t = 0; t < tables.size(); t++) {
+            assertLegal(tables.get(t), moves[t]);
+        }
+        assertEquals(1, service.getBatchCount());
+        assertEquals(tables.size(), service.getDecisionCount());
+    }
+
+    /**
+     * Tests that submitted decisions are collected into fewer batches and can be applied
+     */
+    @Test
+    void testSubmittedDecisionsAreBatched() throws Exception {
+        List<CompletableFuture<Uno_AIMove>> futures = new ArrayList<>();
+        for (Uno_Model table : tables) futures.add(service.submit(table));
+        for (int t = 0; t < tables.size(); t++) {
+            Uno_AIMove move = futures.get(t).get(5, TimeUnit.SECONDS);
+            assertLegal(tables.get(t), move);
+            assertTrue(controllers.get(t).applyAIMove(move));
+        }
+        assertTrue(service.getBatchCount() < tables.size());
+    }
+
+    /**
+     * Tests that the service makes the same choice as the LINEAR strategy for LINEAR seats
+     */
+    @Test
+    void testMatchesLinearStrategy() {
+        for (Uno_Model table : tables) table.getCurrentPlayer().setStrategy(Uno_LinearStrategy.NAME);
+        Uno_AIMove[] moves = service.decideAll(tables);
+        for (int t = 0; t < tables.size(); t++) {
+            Player_Model current = tables.get(t).getCurrentPlayer();
+            int index = current.selectCardToPlay(tables.get(t));
+            if (index < 0) {
+                assertEquals(Uno_AIMove.MoveType.DRAW, moves[t].getType());
+            } else {
+                assertEquals(index, moves[t].getCardIndex());
+            }
+        }
+    }
+
+    /**
+     * Tests that every seat is decided by its own strategy: LEARNED seats with their own weights,
+     * other seats through Player_Model
+     */
+    @Test
+    void testRespectsEachSeatsStrategy() {
+        float[] weights = {-1f, 2f, -3f, 4f, -5f, 6f, -7f, 8f, -9f};
+        for (int t = 0; t < tables.size(); t++) {
+            Player_Model current = tables.get(t).getCurrentPlayer();
+            if (t % 2 == 0) {
+                current.setStrategy(new Uno_LearnedStrategy(weights));
+            } else {
+                current.setAIStrategy(Player_Model.AIStrategy.FIRST_VALID);
+            }
+        }
+        Uno_AIMove[] moves = service.decideAll(tables);
+        for (int t = 0; t < tables.size(); t++) {
+            assertLegal(tables.get(t), moves[t]);
+            int index = tables.get(t).getCurrentPlayer().selectCardToPlay(tables.get(t));
+            if (index < 0) {
+                assertEquals(Uno_AIMove.MoveType.DRAW, moves[t].getType());
+            } else {
+                assertEquals(index, moves[t].getCardIndex());
+            }
+        }
+    }
+
+    /**
+     * Tests that a closed service rejects new decisions
+     */
+    @Test
+    void testClosedServiceRejectsRequests() {
+        service.close();
+        assertTrue(service.submit(tables.get(0)).isCompletedExceptionally());
+    }
+
+    private void assertLegal(Uno_Model table, Uno_AIMove move) {
+        assertNotNull(move);
+        List<Card_Model> hand = table.getCurrentPlayer().getHand();
+        if (move.getType() == Uno_AIMove.MoveType.DRAW) {
+            for (Card_Model card : hand) assertFalse(table.isValidPlay(card));
+            return;
+        }
+        assertEquals(Uno_AIMove.MoveType.PLAY_CARD, move.getType());
+        assertTrue(table.isValidPlay(hand.get(move.getCardIndex())));
+        assertEquals(hand.get(move.getCardIndex()).isWildCard(), move.getColour() != null);
+    }
+}
@@ -0,0 +1,129 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the AI turn handling in Uno_Controller.
+ * Validates that AI moves can be computed without changing the game and applied afterwards.
+ *
+ * @author Lasya Erukulla
+ * @version 5.0
+ */
+public class Uno_ControllerAITest {
+    private Uno_Model model;
+    private Uno_Controller controller;
+
+    @BeforeEach
+    void setUp() {
+        model = new Uno_Model();
+        controller = new Uno_Controller(model);
+        controller.createPlayers(0, 2);
+        controller.initializeGame();
+    }
+
+    /**
+     * Tests that computing a move does not change the game state
+     */
+    @Test
+    void testComputeAIMoveDoesNotChangeGame() {
+        Player_Model current = controller.getCurrentPlayer();
+        int cards = current.getNumCards();
+        Card_Model active = controller.getActiveCard();
+        long version = controller.getStateVersion();
+
+        Uno_AIMove move = controller.computeAIMove();
+
+        assertNotNull(move);
+        assertSame(current, controller.getCurrentPlayer());
+        assertEquals(cards, current.getNumCards());
+        assertSame(active, controller.getActiveCard());
+        assertEquals(version, controller.getStateVersion());
+    }
+
+    /**
+     * Tests that no move is computed when a human player is up
+     */
+    @Test
+    void testComputeAIMoveForHuman() {
+        Uno_Model humanModel = new Uno_Model();
+        Uno_Controller humanController = new Uno_Controller(humanModel);
+        humanController.createPlayers(2, 0);
+        humanController.initializeGame();
+        assertNull(humanController.computeAIMove());
+    }
+
+    /**
+     * Tests that a computed move is applied and notifies the views
+     */
+    @Test
+    void testApplyAIMove() {
+        Player_Model current = controller.getCurrentPlayer();
+        int cards = current.getNumCards();
+        long version = controller.getStateVersion();
+        Uno_AIMove move = controller.computeAIMove();
+
+        assertTrue(controller.applyAIMove(move));
+        assertTrue(controller.getStateVersion() > version);
+        if (move.getType() == Uno_AIMove.MoveType.PLAY_CARD) {
+            assertSame(move.getCard(), controller.getActiveCard());
+            assertEquals(cards - 1, current.getNumCards());
+        } else if (move.getType() == Uno_AIMove.MoveType.DRAW) {
+            assertEquals(cards + 1, current.getNumCards());
+        }
+    }
+
+    /**
+     * Tests that the AI delay follows the pacing policy
+     */
+    @Test
+    void testAIDelayFollowsPacing() {
+        assertEquals(Uno_Controller.AIPacing.REALISTIC, controller.getAIPacing());
+        assertEquals(Uno_Controller.DEFAULT_AI_DELAY_MILLIS, controller.getAIDelayMillis());
+        controller.setRealisticDelayMillis(250);
+        assertEquals(250, controller.getAIDelayMillis());
+        controller.setAIPacing(Uno_Controller.AIPacing.INSTANT);
+        assertEquals(0, controller.getAIDelayMillis());
+        controller.setAIPacing(Uno_Controller.AIPacing.FAST_FORWARD);
+        assertEquals(0, controller.getAIDelayMillis());
+    }
+
+    /**
+     * Tests that fast forwarding an all-AI table plays to the end of the round
+     * and only notifies views once
+     */
+    @Test
+    void testFastForwardNotifiesOnce() {
+        int[] counts = new int[3];
+        controller.addViewHandler(new Uno_ViewHandler() {
+            public void handleGameUpdate(Uno_Event event) { counts[0]++; }
+            public void handleRoundEnd(Uno_Event event) { counts[1]++; }
+            public void handleGameOver(Uno_Event event) { counts[2]++; }
+        });
+        controller.setAIPacing(Uno_Controller.AIPacing.FAST_FORWARD);
+
+        controller.processAITurnsUntilHuman();
+
+        assertTrue(controller.isRoundOver());
+        assertFalse(controller.isNotificationsSuspended());
+        assertEquals(1, counts[0]);
+        assertEquals(1, counts[1] + counts[2]);
+    }
+
+    /**
+     * Tests that suspended notifications are delivered once when resumed
+     */
+    @Test
+    void testSuspendAndResumeNotifications() {
+        int[] updates = new int[1];
+        controller.addViewHandler(new Uno_ViewHandler() {
+            public void handleGameUpdate(Uno_Event event) { updates[0]++; }
+            public void handleRoundEnd(Uno_Event event) { }
+            public void handleGameOver(Uno_Event event) { }
+        });
+        controller.suspendNotifications();
+        controller.notifyGameUpdate();
+        controller.notifyGameUpdate();
+        assertEquals(0, updates[0]);
+        controller.resumeNotifications();
+        assertEquals(1, updates[0]);
+    }
+}
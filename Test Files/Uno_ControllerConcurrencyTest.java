@@ -0,0 +1,167 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Test suite for using one Uno_Controller from several threads.
+ * Validates that moves are serialized by the game's lock and that readers of the
+ * published snapshot always see a whole, consistent game without blocking.
+ *
+ * @author Saan John
+ * @version 5.0
+ */
+public class Uno_ControllerConcurrencyTest {
+    private Uno_Model model;
+    private Uno_Controller controller;
+
+    @BeforeEach
+    void setUp() {
+        model = new Uno_Model();
+        model.setRandom(new Random(42L));
+        controller = new Uno_Controller(model);
+        controller.setAIPacing(Uno_Controller.AIPacing.INSTANT);
+        controller.createPlayers(0, 4);
+        controller.initializeGame();
+    }
+
+    /**
+     * Tests that the snapshot matches the game and that changing the game replaces it
+     */
+    @Test
+    void testSnapshotMatchesGame() {
+        Uno_GameSnapshot before = controller.getSnapshot();
+        assertEquals(controller.getStateVersion(), before.getVersion());
+        assertEquals(Uno_Model.GameStatus.IN_PROGRESS, before.getGameStatus());
+        assertEquals(model.getCurrentTurnIndex(), before.getCurrentTurnIndex());
+        assertEquals(model.getActiveCard().getFaceId(), before.getActiveFace());
+        assertEquals(4, before.getNumPlayers());
+        for (int seat = 0; seat < 4; seat++) {
+            Player_Model player = model.getParticipants().get(seat);
+            assertEquals(player.getHand().size(), before.getHandSize(seat));
+            for (int i = 0; i < before.getHandSize(seat); i++) {
+                assertEquals(player.getHand().get(i).getFaceId(), before.getHandFace(seat, i));
+            }
+        }
+
+        assertTrue(controller.processAITurn());
+        Uno_GameSnapshot after = controller.getSnapshot();
+        assertNotSame(before, after);
+        assertTrue(after.getVersion() > before.getVersion());
+        assertEquals(model.getCurrentTurnIndex(), after.getCurrentTurnIndex());
+    }
+
+    /**
+     * Tests that a reader gets the snapshot while another thread holds the game's lock
+     */
+    @Test
+    void testSnapshotDoesNotBlockOnMove() throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread writer = new Thread(() -> controller.callLocked(() -> {
+            locked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        writer.start();
+        assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+        AtomicReference<Uno_GameSnapshot> read = new AtomicReference<>();
+        Thread reader = new Thread(() -> read.set(controller.getSnapshot()));
+        reader.start();
+        reader.join(5000);
+        assertFalse(reader.isAlive());
+        assertNotNull(read.get());
+        assertFalse(controller.handleTurnTimeout());
+
+        release.countDown();
+        writer.join(5000);
+    }
+
+    /**
+     * Tests that moves from several threads never corrupt the game and that
+     * concurrent readers only ever see consistent snapshots in version order
+     */
+    @Test
+    void testConcurrentMovesAndReaders() throws Exception {
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] writers = new Thread[3];
+        for (int w = 0; w < writers.length; w++) {
+            writers[w] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 300; i++) {
+                        controller.callLocked(() -> {
+                            if (controller.getGameStatus() == Uno_Model.GameStatus.IN_PROGRESS) {
+                                controller.processAITurn();
+                            } else if (controller.getGameStatus() == Uno_Model.GameStatus.ROUND_ENDED) {
+                                controller.startNewRound();
+                            }
+                            return null;
+                        });
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                }
+            });
+        }
+        Thread reader = new Thread(() -> {
+            try {
+                long last = -1;
+                while (!done.get()) {
+                    Uno_GameSnapshot game = controller.getSnapshot();
+                    assertTrue(game.getVersion() >= last);
+                    last = game.getVersion();
+                    for (int seat = 0; seat < game.getNumPlayers(); seat++) {
+                        assertEquals(game.getCardCount(seat), game.getHandSize(seat));
+                    }
+                }
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            }
+        });
+        reader.start();
+        for (Thread writer : writers) writer.start();
+        for (Thread writer : writers) writer.join(60000);
+        done.set(true);
+        reader.join(5000);
+
+        assertNull(failure.get());
+        for (Player_Model player : model.getParticipants()) {
+            assertEquals(player.getNumCards(), player.getHand().size());
+        }
+        assertEquals(controller.getStateVersion(), controller.getSnapshot().getVersion());
+    }
+
+    /**
+     * Tests that another thread can take the game's lock while an AI searches for its move,
+     * and that the move found is still a legal one for the player to move
+     */
+    @Test
+    void testAISearchDoesNotHoldLock() throws Exception {
+        Player_Model player = controller.callLocked(() -> model.getCurrentPlayer());
+        player.setAIStrategy(Player_Model.AIStrategy.MCTS);
+        player.setSearchBudget(2000, Integer.MAX_VALUE);
+        AtomicReference<Uno_AIMove> move = new AtomicReference<>();
+        Thread searcher = new Thread(() -> move.set(controller.computeAIMove()));
+        searcher.start();
+        Thread.sleep(300);
+
+        long start = System.nanoTime();
+        assertTrue(searcher.isAlive());
+        controller.callLocked(() -> null);
+        long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(waited < 1000, "the lock was held for " + waited + " ms of the search");
+
+        searcher.join(10000);
+        assertNotNull(move.get());
+    }
+}
@@ -0,0 +1,148 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test suite for the delta events published by the controller.
+ * Validates that applying the deltas in order reproduces the game exactly.
+ *
+ * @author Lasya Erukulla
+ * @version 5.0
+ */
+public class Uno_DeltaBroadcasterTest {
+    private Uno_Model model;
+    private Uno_Controller controller;
+    private Mirror mirror;
+
+    @BeforeEach
+    void setUp() {
+        model = new Uno_Model();
+        model.setRandom(new Random(21L));
+        controller = new Uno_Controller(model);
+        controller.setAIPacing(Uno_Controller.AIPacing.INSTANT);
+        controller.createPlayers(0, 3);
+        mirror = new Mirror();
+        controller.addDeltaListener(mirror);
+    }
+
+    /**
+     * Tests that a mirror patched only by deltas matches the game after every AI move
+     */
+    @Test
+    void testMirrorFollowsWholeRound() {
+        controller.initializeGame();
+        mirror.assertMatches(model);
+        int moves = 0;
+        while (controller.getGameStatus() == Uno_Model.GameStatus.IN_PROGRESS && moves < 2000) {
+            assertTrue(controller.processAITurn());
+            mirror.assertMatches(model);
+            moves++;
+        }
+        assertNotEquals(Uno_Model.GameStatus.IN_PROGRESS, controller.getGameStatus());
+        assertTrue(mirror.played > 0);
+    }
+
+    /**
+     * Tests that undo and redo are published as deltas that keep the mirror exact
+     */
+    @Test
+    void testUndoRedoDeltas() {
+        controller.initializeGame();
+        for (int i = 0; i < 10 && controller.getGameStatus() == Uno_Model.GameStatus.IN_PROGRESS; i++) {
+            controller.processAITurn();
+        }
+        while (controller.undoGameState()) {
+            mirror.assertMatches(model);
+        }
+        while (controller.redoGameState()) {
+            mirror.assertMatches(model);
+        }
+    }
+
+    /**
+     * Tests that a late observer catches up from describeState or from the history
+     */
+    @Test
+    void testLateObserverCatchesUp() {
+        controller.initializeGame();
+        for (int i = 0; i < 5; i++) controller.processAITurn();
+        Uno_DeltaBroadcaster deltas = controller.getDeltaBroadcaster();
+
+        Mirror late = new Mirror();
+        late.handleDeltas(deltas.describeState(model));
+        late.assertMatches(model);
+        assertEquals(deltas.getSequence(), late.sequence);
+
+        Mirror replay = new Mirror();
+        replay.handleDeltas(deltas.getDeltasSince(0));
+        replay.assertMatches(model);
+        assertTrue(deltas.getDeltasSince(deltas.getSequence()).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> deltas.getDeltasSince(deltas.getSequence() + 1));
+    }
+
+    /**
+     * A copy of the game kept up to date only by applying deltas.
+     */
+    private static class Mirror implements Uno_DeltaListener {
+        final List<List<Integer>> hands = new ArrayList<>();
+        int active = Uno_DeltaEvent.NONE;
+        int colour = Uno_DeltaEvent.NONE;
+        int turn;
+        int direction = 1;
+        boolean dark;
+        int pending;
+        int status;
+        long sequence;
+        int played;
+
+        @Override
+        public void handleDeltas(List<Uno_DeltaEvent> deltas) {
+            for (Uno_DeltaEvent delta : deltas) {
+                // Live deltas count up by one, a described state repeats the current number
+                assertTrue(sequence == 0 || delta.getSequence() == sequence + 1 || delta.getSequence() == sequence);
+                sequence = delta.getSequence();
+                while (delta.getSeat() >= hands.size()) hands.add(new ArrayList<>());
+                switch (delta.getKind()) {
+                    case CARD_PLAYED:
+                        assertEquals(delta.getValue(), (int) hands.get(delta.getSeat()).remove(delta.getIndex()));
+                        active = delta.getValue();
+                        played++;
+                        break;
+                    case CARD_DRAWN:
+                        hands.get(delta.getSeat()).add(delta.getIndex(), delta.getValue());
+                        break;
+                    case HAND_RESET:
+                        hands.get(delta.getSeat()).clear();
+                        break;
+                    case ACTIVE_CARD: active = delta.getValue(); break;
+                    case COLOUR_CHOSEN: colour = delta.getValue(); break;
+                    case SIDE_FLIPPED: dark = delta.getValue() == 1; break;
+                    case DIRECTION_CHANGED: direction = delta.getValue(); break;
+                    case PENDING_COLOUR: pending = delta.getValue(); break;
+                    case TURN_CHANGED: turn = delta.getValue(); break;
+                    case STATUS_CHANGED: status = delta.getValue(); break;
+                    default: fail("Unknown delta " + delta);
+                }
+            }
+        }
+
+        void assertMatches(Uno_Model model) {
+            List<Player_Model> players = model.getParticipants();
+            for (int seat = 0; seat < players.size(); seat++) {
+                List<Integer> faces = new ArrayList<>();
+                for (Card_Model card : players.get(seat).getHand()) faces.add(card.getFaceId());
+                assertEquals(faces, seat < hands.size() ? hands.get(seat) : List.of());
+            }
+            assertEquals(model.getActiveCard().getFaceId(), active);
+            assertEquals(model.getMatchColour() == null ? Uno_DeltaEvent.NONE : model.getMatchColour().ordinal(), colour);
+            assertEquals(model.getCurrentTurnIndex(), turn);
+            assertEquals(model.getPlayDirection(), direction);
+            assertEquals(model.isDarkSide(), dark);
+            assertEquals(model.isPendingColourSelection() || model.isPendingDrawColourSelection(), pending != 0);
+            assertEquals(model.getGameStatus().ordinal(), status);
+        }
+    }
+}
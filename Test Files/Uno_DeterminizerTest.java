@@ -0,0 +1,97 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.SplittableRandom;
+
+/**
+ * Test suite for the Uno_Determinizer class.
+ * Validates that samples only use cards the observer has not seen and keep every card count.
+ *
+ * @author Saan John
+ * @version 5.0
+ */
+public class Uno_DeterminizerTest {
+    private Uno_Model model;
+    private Uno_Determinizer sampler;
+
+    @BeforeEach
+    void setUp() {
+        model = new Uno_Model();
+        Uno_Controller controller = new Uno_Controller(model);
+        controller.createPlayers(0, 3);
+        controller.initializeGame();
+        sampler = new Uno_Determinizer();
+    }
+
+    /**
+     * Tests that the unseen cards are the deck minus the observer's hand and the discard pile,
+     * and that there are enough of them to fill the hidden hands and the draw pile
+     */
+    @Test
+    void testObserveCountsUnseenCards() {
+        assertTrue(sampler.observe(model, 0));
+        int hidden = model.getDeck().getNumDrawCards();
+        for (int p = 1; p < 3; p++) hidden += model.getParticipants().get(p).getNumCards();
+        assertEquals(hidden, sampler.getHiddenCount());
+        assertTrue(sampler.getUnseenCount() >= hidden);
+
+        int total = 0;
+        for (int face = 0; face < Card_Model.NUM_FACES; face++) total += sampler.getUnseenCopies(face);
+        assertEquals(sampler.getUnseenCount(), total);
+    }
+
+    /**
+     * Tests that observing the model and the simulation of the same round agree
+     */
+    @Test
+    void testObserveModelMatchesSimState() {
+        Uno_SimState state = new Uno_SimState();
+        assertTrue(state.loadFrom(model));
+        Uno_Determinizer fromState = new Uno_Determinizer();
+        assertTrue(sampler.observe(model, 1));
+        assertTrue(fromState.observe(state, 1));
+        for (int face = 0; face < Card_Model.NUM_FACES; face++) {
+            assertEquals(sampler.getUnseenCopies(face), fromState.getUnseenCopies(face));
+        }
+    }
+
+    /**
+     * Tests that a sample keeps the observer's hand and all hand and pile sizes,
+     * and only deals unseen cards
+     */
+    @Test
+    void testSampleKeepsObservedInformation() {
+        Uno_SimState root = new Uno_SimState();
+        root.loadFrom(model);
+        assertTrue(sampler.observe(root, 0));
+        Uno_SimState sample = new Uno_SimState();
+        SplittableRandom rng = new SplittableRandom(3);
+
+        for (int n = 0; n < 50; n++) {
+            sample.copyFrom(root);
+            sampler.sample(sample, rng);
+            for (int i = 0; i < root.getHandSize(0); i++) {
+                assertEquals(root.getHandCard(0, i), sample.getHandCard(0, i));
+            }
+            int[] dealt = new int[Card_Model.NUM_FACES];
+            for (int p = 1; p < 3; p++) {
+                assertEquals(root.getHandSize(p), sample.getHandSize(p));
+                for (int i = 0; i < sample.getHandSize(p); i++) dealt[sample.getHandCard(p, i)]++;
+            }
+            for (int face = 0; face < Card_Model.NUM_FACES; face++) {
+                assertTrue(dealt[face] <= sampler.getUnseenCopies(face));
+            }
+            assertEquals(root.getDrawCount(), sample.getDrawCount());
+        }
+    }
+
+    /**
+     * Tests that a deck which is not the standard deck cannot be observed
+     */
+    @Test
+    void testNonStandardDeckIsRejected() {
+        model.getCurrentPlayer().addCard(new Card_Model(Card_Model.CardValue.THREE, Card_Model.CardColour.RED));
+        assertFalse(sampler.observe(model, model.getCurrentTurnIndex()));
+        assertEquals(0, sampler.getUnseenCount());
+    }
+}
@@ -0,0 +1,159 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+/**
+ * Test suite for the expectimax AI strategy.
+ * Validates that the search returns legal moves, respects its node budget and finds short wins.
+ *
+ * @author Lasya Erukulla
+ * @version 5.0
+ */
+public class Uno_ExpectimaxTest {
+    private Uno_Model model;
+    private Player_Model current;
+
+    @BeforeEach
+    void setUp() {
+        model = new Uno_Model();
+        Uno_Controller controller = new Uno_Controller(model);
+        controller.createPlayers(0, 2);
+        controller.initializeGame();
+        current = model.getCurrentPlayer();
+    }
+
+    /**
+     * Tests that the search returns a card that can be played, or draws when none can
+     */
+    @Test
+    void testSearchReturnsLegalMove() {
+        Uno_Expectimax search = new Uno_Expectimax(2, 10_000, 10);
+        int move = search.search(model, model.getCurrentTurnIndex());
+        assertNotEquals(Uno_MCTS.NO_MOVE, move);
+
+        boolean anyValid = false;
+        for (Card_Model card : current.getHand()) {
+            if (model.isValidPlay(card)) anyValid = true;
+        }
+        if (move == Uno_SimState.DRAW_MOVE) {
+            assertFalse(anyValid);
+            return;
+        }
+        boolean found = false;
+        for (Card_Model card : current.getHand()) {
+            if (card.getFaceId() == Uno_SimState.getMoveFace(move) && model.isValidPlay(card)) found = true;
+        }
+        assertTrue(found);
+    }
+
+    /**
+     * Tests that the node budget limits the search, while depth 1 always finishes
+     */
+    @Test
+    void testNodeBudgetIsRespected() {
+        setHand(current, 1, 2, 3);
+        model.setMatchColour(Card_Model.CardColour.RED);
+        model.setIsDarkSide(false);
+        Uno_Expectimax search = new Uno_Expectimax(6, 500, 10);
+        search.search(model, model.getCurrentTurnIndex());
+        assertTrue(search.getLastNodes() <= 500 + 1);
+        assertTrue(search.getLastDepth() >= 1);
+        assertTrue(search.getLastDepth() < 6);
+    }
+
+    /**
+     * Tests that the search plays a Skip before its last card in a two player game,
+     * since the Skip keeps the turn and wins straight away
+     */
+    @Test
+    void testFindsWinningSkip() {
+        int redTwo = 1;
+        int redSkip = 11;
+        setHand(current, redTwo, redSkip);
+        model.setMatchColour(Card_Model.CardColour.RED);
+        model.setIsDarkSide(false);
+
+        Uno_Expectimax search = new Uno_Expectimax(2, 100_000, 12);
+        assertEquals(redSkip * 4, search.search(model, model.getCurrentTurnIndex()));
+    }
+
+    /**
+     * Tests that the EXPECTIMAX strategy plays a valid card through Player_Model
+     */
+    @Test
+    void testPlayerUsesExpectimax() {
+        current.setAIStrategy(Player_Model.AIStrategy.EXPECTIMAX);
+        current.setLookaheadBudget(2, 5_000);
+        int index = current.selectCardToPlay(model);
+        if (index >= 0) assertTrue(model.isValidPlay(current.getHand().get(index)));
+    }
+
+    /**
+     * Tests that a deep lookahead keeps drawing the last two unseen cards without drawing one
+     * twice, so a drawn copy leaves the unseen cards and the hand never holds more copies of a
+     * face than the deck has
+     */
+    @Test
+    void testDeepLookaheadDrawsEachCopyOnce() {
+        int blueTwo = 14;
+        int greenNine = 34;
+        setHand(current, blueTwo, greenNine);
+        model.setMatchColour(Card_Model.CardColour.GREEN);
+        model.setIsDarkSide(false);
+
+        // The opponent and the draw pile hold one copy each of a face neither player can play
+        List<Card_Model> pile = model.getDeck().getCards();
+        int unseen = -1;
+        for (int face = 0; face < 52 && unseen < 0; face++) {
+            if (Card_Model.getFaceColour(face, false) == Card_Model.CardColour.GREEN
+                    || Card_Model.getFaceValue(face, false) == Card_Model.CardValue.NINE) continue;
+            int copies = 0;
+            for (Card_Model card : pile) if (card.getFaceId() == face) copies++;
+            if (copies == 2) unseen = face;
+        }
+        int face = unseen;
+        setHand(model.getParticipants().get(1 - model.getCurrentTurnIndex()), face);
+        pile.sort((x, y) -> Boolean.compare(x.getFaceId() == face, y.getFaceId() == face));
+        while (model.getDeck().getNumDrawCards() > 1) model.getDeck().addToDiscardPile(model.getDeck().draw());
+
+        Uno_Expectimax search = new Uno_Expectimax(6, 100_000, 12);
+        assertEquals(greenNine * 4, search.search(model, model.getCurrentTurnIndex()));
+        assertEquals(6, search.getLastDepth());
+    }
+
+    /**
+     * Gives a player exactly the given faces, keeping every card in the game.
+     * Extra cards go to the discard pile, the wanted cards are swapped in from the
+     * other hands or the draw pile.
+     */
+    private void setHand(Player_Model player, int... faces) {
+        while (player.getNumCards() > faces.length) {
+            model.getDeck().addToDiscardPile(player.playCard(player.getNumCards() - 1));
+            player.removeCard(player.getNumCards() - 1);
+        }
+        for (int i = 0; i < faces.length; i++) {
+            if (player.getHand().get(i).getFaceId() != faces[i]) swapIn(player, i, faces[i]);
+        }
+    }
+
+    private void swapIn(Player_Model player, int index, int face) {
+        for (Player_Model other : model.getParticipants()) {
+            if (other != player && swapFrom(other.getHand(), player, index, face)) return;
+        }
+        if (swapFrom(model.getDeck().getCards(), player, index, face)) return;
+        fail("No free copy of face " + face);
+    }
+
+    private boolean swapFrom(List<Card_Model> source, Player_Model player, int index, int face) {
+        for (int j = 0; j < source.size(); j++) {
+            if (source.get(j).getFaceId() == face) {
+                Card_Model card = source.get(j);
+                source.set(j, player.getHand().get(index));
+                player.getHand().set(index, card);
+                return true;
+            }
+        }
+        return false;
+    }
+}
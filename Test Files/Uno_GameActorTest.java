@@ -0,0 +1,174 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test suite for running games as Uno_GameActors on a shared executor.
+ * Validates that commands are applied in order, that AI turns are played by the actor's own
+ * timed waits, and that a full or closed mailbox rejects commands.
+ *
+ * @author Saan John
+ * @version 5.0
+ */
+public class Uno_GameActorTest {
+    private ScheduledExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newScheduledThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private Uno_Controller newGame(int humans, int ai, long seed) {
+        Uno_Model model = new Uno_Model();
+        model.setRandom(new Random(seed));
+        Uno_Controller controller = new Uno_Controller(model);
+        controller.setAIPacing(Uno_Controller.AIPacing.INSTANT);
+        controller.createPlayers(humans, ai);
+        return controller;
+    }
+
+    /**
+     * Tests that an all-AI game plays a round on its own once started
+     */
+    @Test
+    void testAIGamePlaysRoundWithoutCaller() throws Exception {
+        Uno_Controller controller = newGame(0, 3, 5L);
+        CountDownLatch roundOver = new CountDownLatch(1);
+        controller.addViewHandler(new Uno_ViewHandler() {
+            public void handleGameUpdate(Uno_Event event) { }
+            public void handleRoundEnd(Uno_Event event) { roundOver.countDown(); }
+            public void handleGameOver(Uno_Event event) { roundOver.countDown(); }
+        });
+        Uno_GameActor actor = new Uno_GameActor(controller, executor);
+
+        assertTrue(actor.start().get(5, TimeUnit.SECONDS));
+        assertTrue(roundOver.await(30, TimeUnit.SECONDS));
+        assertTrue(controller.isRoundOver());
+        actor.close();
+    }
+
+    /**
+     * Tests that many games share a two thread executor and all finish their round
+     */
+    @Test
+    void testManyActorsShareExecutor() throws Exception {
+        List<Uno_GameActor> actors = new ArrayList<>();
+        CountDownLatch finished = new CountDownLatch(100);
+        for (int i = 0; i < 100; i++) {
+            Uno_Controller controller = newGame(0, 2 + i % 3, i);
+            controller.addViewHandler(new Uno_ViewHandler() {
+                public void handleGameUpdate(Uno_Event event) { }
+                public void handleRoundEnd(Uno_Event event) { finished.countDown(); }
+                public void handleGameOver(Uno_Event event) { finished.countDown(); }
+            });
+            Uno_GameActor actor = new Uno_GameActor(controller, executor);
+            actors.add(actor);
+            actor.start();
+        }
+        assertTrue(finished.await(60, TimeUnit.SECONDS));
+        for (Uno_GameActor actor : actors) {
+            assertTrue(actor.getController().isRoundOver());
+            actor.close();
+        }
+    }
+
+    /**
+     * Tests that a human's commands are applied and the AI answers before the human is up again
+     */
+    @Test
+    void testHumanCommandsApplied() throws Exception {
+        Uno_Controller controller = newGame(1, 1, 9L);
+        Uno_GameActor actor = new Uno_GameActor(controller, executor);
+        assertTrue(actor.start().get(5, TimeUnit.SECONDS));
+
+        for (int turn = 0; turn < 20 && !controller.isRoundOver(); turn++) {
+            awaitHumanTurn(controller);
+            if (controller.isRoundOver()) break;
+            int before = controller.getSnapshot().getCardCount(0);
+            assertTrue(actor.handleDrawCard().get(5, TimeUnit.SECONDS));
+            assertTrue(actor.handleNextPlayer().get(5, TimeUnit.SECONDS));
+            assertTrue(controller.getSnapshot().getCardCount(0) >= before);
+        }
+        assertTrue(actor.undo().get(5, TimeUnit.SECONDS) || controller.isRoundOver());
+        actor.close();
+    }
+
+    /**
+     * Tests that a full mailbox and a closed actor reject commands instead of blocking
+     */
+    @Test
+    void testRejectsWhenFullOrClosed() throws Exception {
+        Uno_Controller controller = newGame(1, 1, 3L);
+        ScheduledExecutorService blocked = Executors.newSingleThreadScheduledExecutor();
+        CountDownLatch release = new CountDownLatch(1);
+        blocked.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Uno_GameActor actor = new Uno_GameActor(controller, blocked, 2);
+        CompletableFuture<Boolean> first = actor.start();
+        actor.undo();
+        CompletableFuture<Boolean> third = actor.redo();
+        ExecutionException full = assertThrows(ExecutionException.class, () -> third.get(1, TimeUnit.SECONDS));
+        assertTrue(full.getCause() instanceof RejectedExecutionException);
+
+        release.countDown();
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        actor.close();
+        ExecutionException closed = assertThrows(ExecutionException.class,
+            () -> actor.undo().get(1, TimeUnit.SECONDS));
+        assertTrue(closed.getCause() instanceof RejectedExecutionException);
+        assertTrue(actor.isClosed());
+        blocked.shutdownNow();
+    }
+
+    /**
+     * Tests that changing the pacing ends a realistic AI delay early
+     */
+    @Test
+    void testPacingChangeEndsAIDelay() throws Exception {
+        Uno_Controller controller = newGame(0, 2, 11L);
+        controller.setAIPacing(Uno_Controller.AIPacing.REALISTIC);
+        controller.setRealisticDelayMillis(60000);
+        controller.initializeGame();
+        Thread player = new Thread(controller::processAITurnsUntilHuman);
+        player.start();
+        Thread.sleep(100);
+        long start = System.nanoTime();
+        controller.setAIPacing(Uno_Controller.AIPacing.INSTANT);
+        player.join(30000);
+        assertFalse(player.isAlive());
+        assertTrue(controller.isRoundOver());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(30));
+    }
+
+    private static void awaitHumanTurn(Uno_Controller controller) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            Uno_GameSnapshot game = controller.getSnapshot();
+            if (game.getGameStatus() != Uno_Model.GameStatus.IN_PROGRESS) return;
+            if (!game.isAI(game.getCurrentTurnIndex()) && !game.isPendingColourSelection()
+                    && !game.isPendingDrawColourSelection()) return;
+            Thread.sleep(1);
+        }
+        fail("The AI did not finish its turn");
+    }
+}
@@ -0,0 +1,175 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Test suite for the memory-mapped game archive and the game recorder.
+ * Validates appending, random access by id, sequential scans across segments, reopening
+ * an archive, and that recorded actions account for every card of a round.
+ *
+ * @author Lucas Baker
+ * @version 5.0
+ */
+public class Uno_GameArchiveTest {
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("uno-archive");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private static Uno_GameRecord sampleRecord(long seed, int actions) {
+        short[] packed = new short[actions];
+        for (int i = 0; i < actions; i++) {
+            packed[i] = Uno_GameRecord.action(Uno_GameRecord.ACTION_PLAY, i % 3, (int) ((seed + i) % 54));
+        }
+        return new Uno_GameRecord(0, seed, new String[] {"Ann", "Bo", "Cy"},
+            new String[] {"HUMAN", "STRATEGIC", "FIRST_VALID"}, packed, new int[] {0, 12, 0});
+    }
+
+    /**
+     * Tests that packed actions keep their type, seat and argument
+     */
+    @Test
+    void testActionPacking() {
+        short action = Uno_GameRecord.action(Uno_GameRecord.ACTION_PENALTY, 3, 17);
+        assertEquals(Uno_GameRecord.ACTION_PENALTY, Uno_GameRecord.actionType(action));
+        assertEquals(3, Uno_GameRecord.actionSeat(action));
+        assertEquals(17, Uno_GameRecord.actionArg(action));
+        short end = Uno_GameRecord.action(Uno_GameRecord.ACTION_ROUND_END, 0, Uno_GameRecord.NO_SEAT);
+        assertEquals(Uno_GameRecord.ACTION_ROUND_END, Uno_GameRecord.actionType(end));
+        assertEquals(Uno_GameRecord.NO_SEAT, Uno_GameRecord.actionArg(end));
+    }
+
+    /**
+     * Tests that the in-place accessors read the same seats, strategies and actions as decode,
+     * also when the record does not start at the beginning of the buffer
+     */
+    @Test
+    void testEncodedAccessorsMatchDecode() {
+        Uno_GameRecord record = sampleRecord(5, 40);
+        ByteBuffer buffer = ByteBuffer.allocate(7 + record.encodedSize());
+        buffer.position(7);
+        record.encode(buffer);
+        buffer.position(7);
+
+        assertEquals(3, Uno_GameRecord.encodedSeats(buffer));
+        for (int seat = 0; seat < 3; seat++) {
+            assertEquals(record.getStrategy(seat), Uno_GameRecord.encodedStrategy(buffer, seat));
+        }
+        assertEquals(record.getActionCount(), Uno_GameRecord.encodedActionCount(buffer));
+        int start = Uno_GameRecord.encodedActionsStart(buffer);
+        for (int i = 0; i < record.getActionCount(); i++) {
+            assertEquals(record.getAction(i), buffer.getShort(start + i * Uno_GameRecord.ACTION_BYTES));
+        }
+        assertEquals(7, buffer.position());
+    }
+
+    /**
+     * Tests that games are read back by id, also after reopening the archive
+     */
+    @Test
+    void testAppendReadAndReopen() throws IOException {
+        try (Uno_GameArchive archive = new Uno_GameArchive(directory, 4096)) {
+            for (int i = 0; i < 50; i++) {
+                assertEquals(i, archive.append(sampleRecord(i, 10 + i)));
+            }
+            assertEquals(sampleRecord(7, 17).withId(7), archive.read(7));
+        }
+        try (Uno_GameArchive archive = new Uno_GameArchive(directory, 4096)) {
+            assertEquals(50, archive.getGameCount());
+            assertTrue(archive.getSegmentCount() > 1);
+            assertEquals(sampleRecord(49, 59).withId(49), archive.read(49));
+            assertEquals(50, archive.append(sampleRecord(50, 3)));
+            assertEquals(sampleRecord(0, 10).withId(0), archive.read(0));
+            assertThrows(IndexOutOfBoundsException.class, () -> archive.read(51));
+        }
+    }
+
+    /**
+     * Tests that a scan visits every game in id order across segments
+     */
+    @Test
+    void testScanAcrossSegments() throws IOException {
+        try (Uno_GameArchive archive = new Uno_GameArchive(directory, 2048)) {
+            for (int i = 0; i < 200; i++) archive.append(sampleRecord(i, i % 40));
+            List<Long> ids = new ArrayList<>();
+            archive.scan((id, record) -> {
+                Uno_GameRecord game = Uno_GameRecord.decode(record);
+                assertEquals(id, game.getId());
+                assertEquals(id, game.getSeed());
+                ids.add(id);
+            });
+            assertEquals(200, ids.size());
+            assertEquals(199L, (long) ids.get(199));
+
+            int[] count = new int[1];
+            archive.scan(120, 130, (id, record) -> count[0]++);
+            assertEquals(10, count[0]);
+            assertThrows(IllegalArgumentException.class, () -> archive.append(sampleRecord(0, 2000)));
+        }
+    }
+
+    /**
+     * Tests that the headless runner archives every round and that the recorded moves
+     * account for every card in the final hands
+     */
+    @Test
+    void testRecordedRoundsAccountForEveryCard() throws IOException {
+        try (Uno_GameArchive archive = new Uno_GameArchive(directory, 1 << 20)) {
+            Uno_HeadlessRunner runner = new Uno_HeadlessRunner();
+            runner.setArchive(archive);
+            Player_Model[] seats = {
+                new Player_Model("A", true, Player_Model.AIStrategy.STRATEGIC),
+                new Player_Model("B", true, Player_Model.AIStrategy.FIRST_VALID),
+                new Player_Model("C", true, Player_Model.AIStrategy.HIGHEST_SCORE)
+            };
+            for (long seed = 0; seed < 20; seed++) {
+                int winner = runner.playRound(seed, seats);
+                Uno_GameRecord record = archive.read(seed);
+                assertEquals(seed, record.getSeed());
+                assertEquals("FIRST_VALID", record.getStrategy(1));
+                assertEquals(1, record.getRounds());
+
+                int[] hands = new int[3];
+                List<Player_Model> players = runner.getLastGame().getParticipants();
+                for (int i = 0; i < record.getActionCount(); i++) {
+                    short action = record.getAction(i);
+                    int seat = Uno_GameRecord.actionSeat(action);
+                    switch (Uno_GameRecord.actionType(action)) {
+                        case Uno_GameRecord.ACTION_ROUND_START:
+                            for (int s = 0; s < 3; s++) hands[s] = Uno_Model.CARDS_PER_PLAYER;
+                            break;
+                        case Uno_GameRecord.ACTION_PLAY: hands[seat]--; break;
+                        case Uno_GameRecord.ACTION_DRAW:
+                        case Uno_GameRecord.ACTION_PENALTY: hands[seat] += Uno_GameRecord.actionArg(action); break;
+                        case Uno_GameRecord.ACTION_ROUND_END:
+                            assertEquals(winner < 0 ? Uno_GameRecord.NO_SEAT : winner, Uno_GameRecord.actionArg(action));
+                            break;
+                        default: break;
+                    }
+                }
+                for (int s = 0; s < 3; s++) {
+                    assertEquals(players.get(s).getHand().size(), hands[s]);
+                    assertEquals(players.get(s).getScore(), record.getScore(0, s));
+                }
+            }
+            assertEquals(20, archive.getGameCount());
+        }
+    }
+}
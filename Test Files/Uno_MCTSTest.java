@@ -0,0 +1,150 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Test suite for the Monte Carlo tree search AI and its simulation state.
+ * Validates that the simulation agrees with the game rules and that searches stay within budget.
+ *
+ * @author Saan John
+ * @version 5.0
+ */
+public class Uno_MCTSTest {
+    private Uno_Model model;
+    private Uno_Controller controller;
+
+    @BeforeEach
+    void setUp() {
+        model = new Uno_Model();
+        controller = new Uno_Controller(model);
+        controller.createPlayers(0, 3);
+        controller.initializeGame();
+    }
+
+    /**
+     * Tests that a new game can be loaded into a simulation state
+     */
+    @Test
+    void testLoadFromGame() {
+        Uno_SimState state = new Uno_SimState();
+        assertTrue(state.loadFrom(model));
+        assertEquals(3, state.getNumPlayers());
+        assertEquals(model.getParticipants().indexOf(model.getCurrentPlayer()), state.getCurrentPlayer());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(model.getParticipants().get(i).getNumCards(), state.getHandSize(i));
+        }
+        assertFalse(state.isRoundOver());
+    }
+
+    /**
+     * Tests that every card move in the simulation is a valid play in the game
+     */
+    @Test
+    void testLegalMovesMatchGameRules() {
+        Uno_SimState state = new Uno_SimState();
+        state.loadFrom(model);
+        int[] moves = new int[Uno_SimState.MAX_MOVES];
+        int count = state.getLegalMoves(moves);
+        assertTrue(count > 0);
+
+        boolean anyValid = false;
+        for (Card_Model card : model.getCurrentPlayer().getHand()) {
+            if (model.isValidPlay(card)) anyValid = true;
+        }
+        for (int i = 0; i < count; i++) {
+            if (moves[i] == Uno_SimState.DRAW_MOVE) {
+                assertFalse(anyValid);
+                continue;
+            }
+            int face = Uno_SimState.getMoveFace(moves[i]);
+            boolean found = false;
+            for (Card_Model card : model.getCurrentPlayer().getHand()) {
+                if (card.getFaceId() == face && model.isValidPlay(card)) found = true;
+            }
+            assertTrue(found);
+        }
+    }
+
+    /**
+     * Tests that random rollouts always finish the round or stop at the turn limit
+     */
+    @Test
+    void testRolloutFinishes() {
+        Uno_SimState state = new Uno_SimState();
+        state.loadFrom(model);
+        SplittableRandom rng = new SplittableRandom(7);
+        state.setShuffleRandom(rng);
+        state.determinize(0, rng);
+        state.rollout(rng, 10000);
+        assertTrue(state.isRoundOver());
+        assertEquals(1.0, state.getReward(state.getWinner()));
+    }
+
+    /**
+     * Tests that a search returns a legal move and respects the iteration budget
+     */
+    @Test
+    void testSearchReturnsLegalMove() {
+        Uno_MCTS search = new Uno_MCTS(10_000, 200, new SplittableRandom(1));
+        int observer = model.getParticipants().indexOf(model.getCurrentPlayer());
+        int move = search.search(model, observer);
+
+        Uno_SimState state = new Uno_SimState();
+        state.loadFrom(model);
+        int[] moves = new int[Uno_SimState.MAX_MOVES];
+        int count = state.getLegalMoves(moves);
+        boolean legal = false;
+        for (int i = 0; i < count; i++) {
+            if (moves[i] == move) legal = true;
+        }
+        assertTrue(legal);
+        assertTrue(search.getLastIterations() <= 200);
+    }
+
+    /**
+     * Tests that an MCTS player picks a valid card and a colour for the wild cards it plays
+     */
+    @Test
+    void testMCTSPlayerSelectsValidCard() {
+        Player_Model current = model.getCurrentPlayer();
+        current.setAIStrategy(Player_Model.AIStrategy.MCTS);
+        current.setSearchBudget(50, 100);
+
+        int index = current.selectCardToPlay(model);
+        if (index < 0) return;
+        Card_Model card = current.getHand().get(index);
+        assertTrue(model.isValidPlay(card));
+        if (card.isWildCard()) {
+            assertNotNull(current.selectWildColour());
+        }
+    }
+
+    /**
+     * Tests that the root parallel search merges the workers and returns a legal move
+     */
+    @Test
+    void testParallelSearchReturnsLegalMove() {
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            Uno_ParallelMCTS search = new Uno_ParallelMCTS(pool, 10_000, 100, new SplittableRandom(2));
+            assertEquals(3, search.getNumWorkers());
+            int observer = model.getParticipants().indexOf(model.getCurrentPlayer());
+            int move = search.search(model, observer);
+
+            Uno_SimState state = new Uno_SimState();
+            state.loadFrom(model);
+            int[] moves = new int[Uno_SimState.MAX_MOVES];
+            int count = state.getLegalMoves(moves);
+            boolean legal = false;
+            for (int i = 0; i < count; i++) {
+                if (moves[i] == move) legal = true;
+            }
+            assertTrue(legal);
+            assertTrue(count == 1 || search.getLastIterations() == 300);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+/**
+ * Test suite for the bit mask match engine.
+ * Validates that compiled masks give the same answer as comparing colours and values for every
+ * face, side and match, and that hands keep an exact multiset of their faces.
+ *
+ * @author Lasya Erukulla
+ * @version 5.0
+ */
+public class Uno_MatchEngineTest {
+
+    private static boolean byComparison(Card_Model card, Card_Model.CardColour colour, Card_Model.CardValue value) {
+        if (card.isWildCard()) return true;
+        return card.getColour() == colour || card.getCardValue() == value;
+    }
+
+    private static Card_Model faceCard(int face) {
+        return new Card_Model(Card_Model.getFaceValue(face, false), Card_Model.getFaceColour(face, false),
+                Card_Model.getFaceValue(face, true), Card_Model.getFaceColour(face, true));
+    }
+
+    /**
+     * Tests that every face on both sides matches exactly when the comparison rule says so
+     */
+    @Test
+    void testMasksAgreeWithComparisons() {
+        long[] masks = new long[2];
+        for (Card_Model.CardColour colour : Card_Model.CardColour.values()) {
+            for (Card_Model.CardValue value : Card_Model.CardValue.values()) {
+                Uno_MatchEngine.compileBothSides(masks, colour, value);
+                for (int face = 0; face < Card_Model.NUM_FACES; face++) {
+                    Card_Model card = faceCard(face);
+                    for (int side = 0; side < 2; side++) {
+                        boolean expected = byComparison(card, colour, value);
+                        assertEquals(expected, Uno_MatchEngine.isValidPlay(card, masks, colour, value));
+                        assertEquals(expected, Uno_MatchEngine.isValidPlay(card, colour, value));
+                        assertEquals(expected, Uno_MatchEngine.matches(masks[side], face));
+                        card.flipCardSide();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests that cards outside the standard deck are still checked by colour and value
+     */
+    @Test
+    void testNonStandardCardsFallBack() {
+        Card_Model lightOnly = new Card_Model(Card_Model.CardValue.SEVEN, Card_Model.CardColour.RED);
+        assertEquals(-1, lightOnly.getFaceId());
+        assertTrue(Uno_MatchEngine.isValidPlay(lightOnly, Card_Model.CardColour.RED, Card_Model.CardValue.ONE));
+        assertFalse(Uno_MatchEngine.isValidPlay(lightOnly, Card_Model.CardColour.BLUE, Card_Model.CardValue.ONE));
+        assertFalse(Uno_MatchEngine.isValidPlay(null, Card_Model.CardColour.RED, Card_Model.CardValue.ONE));
+    }
+
+    /**
+     * Tests that the hand's face mask and counts follow duplicate cards added and removed
+     */
+    @Test
+    void testHandFaceMultiset() {
+        Player_Model player = new Player_Model("AI", true);
+        player.addCard(faceCard(5));
+        player.addCard(faceCard(5));
+        player.addCard(faceCard(52));
+        assertEquals((1L << 5) | (1L << 52), player.getHandFaceMask());
+        assertEquals(2, player.getHandFaceCount(5));
+        player.removeCard(0);
+        assertEquals((1L << 5) | (1L << 52), player.getHandFaceMask());
+        player.removeCard(0);
+        assertEquals(1L << 52, player.getHandFaceMask());
+        player.getHand().add(0, faceCard(7));
+        assertEquals((1L << 7) | (1L << 52), player.getHandFaceMask());
+    }
+
+    /**
+     * Tests that the view finds the playable faces of a hand with one AND
+     */
+    @Test
+    void testViewPlayableFaces() {
+        Player_Model player = new Player_Model("AI", true);
+        int redOne = 0;
+        int blueTwo = 14;
+        player.addCard(faceCard(redOne));
+        player.addCard(faceCard(blueTwo));
+        Uno_GameView view = new Uno_GameView();
+        view.bind(player, faceCard(redOne), Card_Model.CardColour.RED, Card_Model.CardValue.NINE, false);
+        assertEquals(1L << redOne, view.getPlayableFaces());
+        assertTrue(view.isPlayable(0));
+        assertFalse(view.isPlayable(1));
+        view.bind(player, faceCard(redOne), Card_Model.CardColour.GREEN, Card_Model.CardValue.NINE, false);
+        assertFalse(view.hasPlayableCard());
+    }
+
+    /**
+     * Tests that the masks cached by the model follow every change of the match, including the
+     * colour and value set back by undo, and that the valid indices of a hand agree with it
+     */
+    @Test
+    void testModelMasksFollowMatch() {
+        Uno_Model model = new Uno_Model();
+        Player_Model player = new Player_Model("AI", true);
+        Card_Model lightOnly = new Card_Model(Card_Model.CardValue.SEVEN, Card_Model.CardColour.RED);
+        for (int face = 0; face < Card_Model.NUM_FACES; face += 3) player.addCard(faceCard(face));
+        player.addCard(lightOnly);
+        for (Card_Model.CardColour colour : Card_Model.CardColour.values()) {
+            for (Card_Model.CardValue value : Card_Model.CardValue.values()) {
+                model.setMatchColour(colour);
+                model.setMatchType(value);
+                assertEquals(Uno_MatchEngine.compile(colour, value, true), model.getPlayableMask(true));
+                List<Integer> valid = player.getValidCardIndices(null, colour, value);
+                for (int i = 0; i < player.getHand().size(); i++) {
+                    Card_Model card = player.getHand().get(i);
+                    assertEquals(byComparison(card, colour, value), model.isValidPlay(card));
+                    assertEquals(model.isValidPlay(card), valid.contains(i));
+                }
+            }
+        }
+    }
+}
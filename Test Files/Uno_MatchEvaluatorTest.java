@@ -0,0 +1,67 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for mirrored-deal strategy matches and the sequential test.
+ *
+ * @author Lasya Erukulla
+ * @version 5.0
+ */
+public class Uno_MatchEvaluatorTest {
+    private Uno_MatchEvaluator evaluator;
+
+    @BeforeEach
+    void setUp() {
+        evaluator = new Uno_MatchEvaluator(2, 1500, 50, 0.1, 0.05, 0.05);
+    }
+
+    @AfterEach
+    void tearDown() {
+        evaluator.shutdown();
+    }
+
+    /**
+     * Tests that a strategy against itself splits every mirrored pair
+     */
+    @Test
+    void testMirroredDealsCancelOut() {
+        Uno_MatchEvaluator.PairStats stats = Uno_MatchEvaluator.playPairs(
+                Uno_StrategicStrategy::new, Uno_StrategicStrategy::new, 3L, 0, 30);
+        assertEquals(30, stats.getPairs());
+        assertEquals(0, stats.getDecisivePairs());
+        assertEquals(0.5, stats.getMean(), 1e-9);
+    }
+
+    /**
+     * Tests that the sequential test names the clearly stronger strategy before the budget runs out
+     */
+    @Test
+    void testSequentialTestStopsEarly() {
+        Uno_MatchEvaluator.Report report = evaluator.compare(Uno_StrategicStrategy::new, Uno_FirstValidStrategy::new, 1L);
+        assertEquals(Uno_MatchEvaluator.Decision.FIRST_BETTER, report.getDecision());
+        assertTrue(report.getRoundsPlayed() < 3000);
+        assertTrue(report.getStats().getMean() > 0.5);
+        assertTrue(report.getLowerBound() <= report.getStats().getMean() && report.getStats().getMean() <= report.getUpperBound());
+        assertTrue(report.getFixedBudgetRounds() > 0);
+    }
+
+    /**
+     * Tests that a fixed-budget run plays every pair
+     */
+    @Test
+    void testFixedBudgetPlaysAllPairs() {
+        Uno_MatchEvaluator.Report report = evaluator.compareFixed(Uno_FirstValidStrategy::new, Uno_StrategicStrategy::new, 2L, 120);
+        assertEquals(240, report.getRoundsPlayed());
+        assertTrue(report.getLogLikelihoodRatio() < 0);
+    }
+
+    /**
+     * Tests the normal quantile approximation against known values
+     */
+    @Test
+    void testNormalQuantile() {
+        assertEquals(1.645, Uno_MatchEvaluator.normalQuantile(0.95), 1e-2);
+        assertEquals(-1.96, Uno_MatchEvaluator.normalQuantile(0.025), 1e-2);
+        assertEquals(0.0, Uno_MatchEvaluator.normalQuantile(0.5), 1e-2);
+    }
+}
@@ -3,6 +3,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.List;
+import java.util.Random;
+
 /**
  * Test suite for the Uno_Model class.
  * Validates core game mechanics, turn management, card validation, and game state transitions.
@@ -394,6 +397,98 @@ public class Uno_ModelTest {
         assertFalse(game.isDarkSide()); // Should reset to light
     }
 
+    /**
+     * Tests that flipping turns a played active card over exactly once.
+     * The played card is on top of the discard pile and flips with the deck, so it must
+     * not be flipped again as the active card; the starting card is flipped on its own.
+     */
+    @Test
+    @DisplayName("flipAllCards flips the active card once")
+    void testFlipAllCardsFlipsActiveCardOnce() {
+        int index = -1;
+        for (long seed = 0; index < 0; seed++) {
+            game = new Uno_Model();
+            game.setRandom(new Random(seed));
+            game.addPlayer(new Player_Model("Lasya"));
+            game.addPlayer(new Player_Model("Saan"));
+            game.initializeGame();
+            if (game.isDarkSide()) continue;
+            List<Card_Model> hand = game.getCurrentPlayer().getHand();
+            for (int i = 0; i < hand.size() && index < 0; i++) {
+                if (game.isValidPlay(hand.get(i)) && !hand.get(i).isActionCard() && !hand.get(i).isWildCard()) index = i;
+            }
+        }
+
+        Card_Model starting = game.getActiveCard();
+        game.flipAllCards();
+        assertEquals(Card_Model.CardSide.DARK_SIDE, starting.getCurrentCardSide());
+        game.flipAllCards();
+        assertEquals(Card_Model.CardSide.LIGHT_SIDE, starting.getCurrentCardSide());
+
+        game.playCard(index);
+        Card_Model played = game.getActiveCard();
+        assertNotSame(starting, played);
+        game.flipAllCards();
+        assertTrue(game.isDarkSide());
+        assertEquals(Card_Model.CardSide.DARK_SIDE, played.getCurrentCardSide());
+        assertEquals(played.getColour(), game.getMatchColour());
+        assertEquals(played.getCardValue(), game.getMatchType());
+    }
+
+    /**
+     * Tests that startNewRound deals fresh hands with matching card counts.
+     * Verifies that:
+     *   - Each player's card count equals their new hand, not the old count plus the deal
+     *   - Scores from earlier rounds are kept
+     *   - The turn timer of the new round is running in timed mode
+     */
+    @Test
+    @DisplayName("startNewRound resets card counts and starts the turn timer")
+    void testStartNewRoundResetsCardCounts() {
+        game.setTimedModeEnabled(true);
+        game.addPlayer(player1);
+        game.addPlayer(player2);
+        game.initializeGame();
+        player1.drawCard(game.getDeck());
+        player1.setScore(25);
+
+        game.startNewRound();
+        for (Player_Model player : game.getParticipants()) {
+            assertEquals(player.getHand().size(), player.getNumCards());
+        }
+        assertEquals(25, player1.getScore());
+        assertTrue(game.getTurnStartTime() > 0);
+        assertTrue(game.getRemainingTurnTime() > 0);
+    }
+
+    /**
+     * Tests that resetGame clears the players it removes and stops the turn timer.
+     * Verifies that:
+     *   - Removed players have empty hands, a card count of 0 and no score
+     *   - The turn timer is stopped and the game is NOT_STARTED
+     */
+    @Test
+    @DisplayName("resetGame resets card counts and stops the turn timer")
+    void testResetGameResetsCardCounts() {
+        game.setTimedModeEnabled(true);
+        game.addPlayer(player1);
+        game.addPlayer(player2);
+        game.initializeGame();
+        player2.setScore(40);
+        assertTrue(game.getTurnStartTime() > 0);
+
+        game.resetGame();
+        for (Player_Model player : new Player_Model[] {player1, player2}) {
+            assertTrue(player.getHand().isEmpty());
+            assertEquals(0, player.getNumCards());
+            assertEquals(0, player.getScore());
+        }
+        assertTrue(game.getParticipants().isEmpty());
+        assertEquals(0L, game.getTurnStartTime());
+        assertEquals(-1, game.getRemainingTurnTime());
+        assertEquals(Uno_Model.GameStatus.NOT_STARTED, game.getGameStatus());
+    }
+
     /**
      * Tests AI player support methods.
      * Verifies:
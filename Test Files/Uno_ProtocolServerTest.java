@@ -0,0 +1,185 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+
+/**
+ * Test suite for the binary protocol server and its local client.
+ * Validates the table actions over a socket and the streamed state deltas.
+ *
+ * @author Lasya Erukulla
+ * @version 5.0
+ */
+public class Uno_ProtocolServerTest {
+    private Uno_TableManager manager;
+    private Uno_ProtocolServer server;
+    private Uno_ProtocolClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        manager = new Uno_TableManager(2, 5);
+        server = new Uno_ProtocolServer(manager, 0);
+        client = new Uno_ProtocolClient(server.getPort());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        client.close();
+        server.close();
+        manager.close();
+    }
+
+    /**
+     * Tests that actions are refused until the client has joined a table
+     */
+    @Test
+    void testActionsNeedSeat() throws IOException {
+        assertFalse(client.playCard(0));
+        assertEquals(-1, client.joinTable(999));
+        assertEquals(-1, client.createTable(5, 0, 0));
+        int tableId = client.createTable(2, 1, 0);
+        assertTrue(tableId > 0);
+        assertEquals(0, client.joinTable(tableId));
+        assertEquals(Uno_Model.GameStatus.IN_PROGRESS, client.getStatus());
+    }
+
+    /**
+     * Tests that the hand and card counts streamed to the client match the game on the server
+     */
+    @Test
+    void testStreamedStateMatchesServer() throws IOException {
+        int tableId = client.createTable(2, 0, 0);
+        Uno_ProtocolClient other = new Uno_ProtocolClient(server.getPort());
+        try {
+            assertEquals(0, client.joinTable(tableId));
+            assertEquals(1, other.joinTable(tableId));
+            // The first client has not read the deal yet, the second got it with its join reply
+            Uno_ProtocolClient current = other.getCurrentTurn() == 0 ? client : other;
+            assertTrue(current.handleDrawCard());
+            assertTrue(current.undo());
+            assertTrue(current.redo());
+            assertFalse((current == client ? other : client).handleNextPlayer());
+
+            Uno_Table table = manager.getTable(tableId);
+            List<Card_Model> hand = table.call(() -> List.copyOf(table.getModel().getParticipants().get(current.getSeat()).getHand())).join();
+            int[] faces = current.getHand();
+            assertEquals(hand.size(), faces.length);
+            assertEquals(hand.size(), current.getCardCount(current.getSeat()));
+            for (int i = 0; i < faces.length; i++) {
+                assertEquals(hand.get(i).getFaceId(), faces[i]);
+            }
+        } finally {
+            other.close();
+        }
+    }
+
+    /**
+     * Tests that a client plays whole rounds against the AI over the socket
+     */
+    @Test
+    void testClientPlaysRoundsAgainstAI() throws IOException {
+        for (int round = 0; round < 5; round++) {
+            assertTrue(client.joinTable(client.createTable(2, 1, 0)) >= 0);
+            assertTrue(client.playRound() > 0);
+            assertNotEquals(Uno_Model.GameStatus.IN_PROGRESS, client.getStatus());
+            assertTrue(client.getCardCount(0) == 0 || client.getCardCount(1) == 0);
+            assertTrue(client.leaveTable());
+        }
+        assertEquals(0, manager.getTableCount());
+    }
+
+    /**
+     * Tests that a spectator patched only by delta frames ends the round with the server's counts
+     */
+    @Test
+    void testSpectatorFollowsDeltas() throws IOException {
+        int tableId = client.createTable(2, 1, 0);
+        assertEquals(0, client.joinTable(tableId));
+        try (Uno_ProtocolClient spectator = new Uno_ProtocolClient(server.getPort())) {
+            assertTrue(spectator.watchTable(tableId));
+            assertFalse(spectator.playCard(0));
+            client.playRound();
+            spectator.awaitRoundEnd();
+
+            Uno_Table table = manager.getTable(tableId);
+            List<Integer> counts = table.call(() -> List.of(
+                    table.getModel().getParticipants().get(0).getNumCards(),
+                    table.getModel().getParticipants().get(1).getNumCards())).join();
+            assertEquals((int) counts.get(0), spectator.getCardCount(0));
+            assertEquals((int) counts.get(1), spectator.getCardCount(1));
+            assertEquals(client.getStatus(), spectator.getStatus());
+            assertEquals((long) table.call(() -> table.getController().getDeltaBroadcaster().getSequence()).join(),
+                    spectator.getLastSequence());
+        }
+    }
+
+    /**
+     * Tests that the server drops the hub of a table once the table closes, whether its last
+     * human left or the manager closed it, and refuses to watch a closed table
+     */
+    @Test
+    void testClosedTablesDropTheirHubs() throws IOException, InterruptedException {
+        int left = client.createTable(2, 1, 0);
+        assertEquals(0, client.joinTable(left));
+        try (Uno_ProtocolClient spectator = new Uno_ProtocolClient(server.getPort())) {
+            assertTrue(spectator.watchTable(left));
+            assertTrue(client.leaveTable());
+            awaitHubCount(0);
+            assertTrue(spectator.leaveTable());
+        }
+
+        int closed = client.createTable(2, 1, 0);
+        assertEquals(0, client.joinTable(closed));
+        manager.closeTable(closed).join();
+        awaitHubCount(0);
+        try (Uno_ProtocolClient spectator = new Uno_ProtocolClient(server.getPort())) {
+            assertFalse(spectator.watchTable(closed));
+        }
+        assertEquals(0, server.getHubCount());
+    }
+
+    private void awaitHubCount(int count) throws InterruptedException {
+        for (int i = 0; i < 200 && server.getHubCount() != count; i++) Thread.sleep(10);
+        assertEquals(count, server.getHubCount());
+    }
+
+    /**
+     * Tests that a seated client sending requests but never reading the replies, which the
+     * table's loop queues, is disconnected once more than MAX_PENDING_BYTES are queued for it
+     */
+    @Test
+    void testClientThatNeverReadsIsDropped() throws IOException {
+        int tableId = client.createTable(2, 0, 0);
+        try (SocketChannel flooder = SocketChannel.open()) {
+            flooder.socket().setReceiveBufferSize(4096);
+            flooder.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()));
+            ByteBuffer join = ByteBuffer.allocate(Uno_Protocol.REQUEST_BYTES);
+            Uno_Protocol.putRequest(join, Uno_Protocol.OP_JOIN, 0, 0, 0, tableId);
+            join.flip();
+            flooder.write(join);
+            ByteBuffer requests = ByteBuffer.allocate(Uno_Protocol.REQUEST_BYTES * 64);
+            while (requests.hasRemaining()) {
+                Uno_Protocol.putRequest(requests, Uno_Protocol.OP_NEXT_PLAYER, 0, 0, 0, 0);
+            }
+            // Every request is answered from the table's loop and never read; once the server
+            // drops the connection the next writes fail
+            boolean dropped = false;
+            long deadline = System.currentTimeMillis() + 20000;
+            while (!dropped && System.currentTimeMillis() < deadline) {
+                try {
+                    requests.rewind();
+                    while (requests.hasRemaining()) flooder.write(requests);
+                } catch (IOException e) {
+                    dropped = true;
+                }
+            }
+            assertTrue(dropped, "The server kept the connection of a client that stopped reading");
+        }
+        assertTrue(client.createTable(2, 1, 0) > 0);
+    }
+}
@@ -0,0 +1,125 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Test suite for the rating service.
+ * Validates Glicko updates from batched results, the store file and seating by rating.
+ *
+ * @author Lasya Erukulla
+ * @version 5.0
+ */
+public class Uno_RatingServiceTest {
+    private File store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = File.createTempFile("uno-ratings", ".bin");
+        store.delete();
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.delete();
+    }
+
+    /**
+     * Tests that the winner gains what the loser loses and deviations shrink
+     */
+    @Test
+    void testWinnerGainsRating() {
+        Uno_RatingService service = new Uno_RatingService();
+        service.recordResult(new String[]{"Alice", "Bob"}, new int[]{0, 1});
+
+        double alice = service.getRating("Alice");
+        double bob = service.getRating("Bob");
+        assertTrue(alice > Uno_RatingService.DEFAULT_RATING);
+        assertTrue(bob < Uno_RatingService.DEFAULT_RATING);
+        assertEquals(Uno_RatingService.DEFAULT_RATING * 2, alice + bob, 1e-6);
+        assertTrue(service.getDeviation("Alice") < Uno_RatingService.DEFAULT_DEVIATION);
+        assertEquals(1, service.getResultCount("Bob"));
+    }
+
+    /**
+     * Tests that seats rated under the same name do not play each other and count once, so two
+     * seats of one strategy beating a player move the ratings like one seat beating them
+     */
+    @Test
+    void testSameNameSeatsShareOneResult() {
+        Uno_RatingService shared = new Uno_RatingService();
+        shared.recordResult(new String[]{"AI:STRATEGIC", "AI:STRATEGIC"}, new int[]{0, 1});
+        assertEquals(Uno_RatingService.DEFAULT_RATING, shared.getRating("AI:STRATEGIC"), 1e-9);
+        assertEquals(Uno_RatingService.DEFAULT_DEVIATION, shared.getDeviation("AI:STRATEGIC"), 1e-9);
+        assertEquals(0, shared.getResultCount("AI:STRATEGIC"));
+
+        shared.recordResult(new String[]{"AI:STRATEGIC", "Alice", "AI:STRATEGIC"}, new int[]{0, 2, 1});
+        Uno_RatingService single = new Uno_RatingService();
+        single.recordResult(new String[]{"AI:STRATEGIC", "Alice"}, new int[]{0, 1});
+        assertEquals(single.getRating("AI:STRATEGIC"), shared.getRating("AI:STRATEGIC"), 1e-9);
+        assertEquals(single.getRating("Alice"), shared.getRating("Alice"), 1e-9);
+        assertEquals(1, shared.getResultCount("AI:STRATEGIC"));
+        assertEquals(1, shared.getResultCount("Alice"));
+    }
+
+    /**
+     * Tests that results wait for a full batch and that 4-player results rank every pair
+     */
+    @Test
+    void testBatchedMultiPlayerResults() {
+        Uno_RatingService service = new Uno_RatingService(null, 3, 0);
+        int[] ids = {service.getId("A"), service.getId("B"), service.getId("C"), service.getId("D")};
+        int[] places = {0, 1, 2, 2};
+        for (int i = 0; i < 30; i++) service.recordResult(ids, places, 4);
+
+        assertEquals(30, service.getTotalResults());
+        assertTrue(service.getRating("A") > service.getRating("B"));
+        assertTrue(service.getRating("B") > service.getRating("C"));
+        assertEquals(service.getRating("C"), service.getRating("D"), 1e-9);
+        assertThrows(IllegalArgumentException.class, () -> service.recordResult(ids, places, 1));
+    }
+
+    /**
+     * Tests that ratings survive a save and load
+     */
+    @Test
+    void testStoreRoundTrip() throws IOException {
+        Uno_RatingService service = Uno_RatingService.open(store);
+        service.recordResult(new String[]{"AI:STRATEGIC", "Carol"}, new int[]{1, 0});
+        service.save();
+
+        Uno_RatingService loaded = Uno_RatingService.open(store);
+        assertEquals(service.getRating("Carol"), loaded.getRating("Carol"), 1e-3);
+        assertEquals(service.getDeviation("AI:STRATEGIC"), loaded.getDeviation("AI:STRATEGIC"), 1e-3);
+        assertEquals(1, loaded.getResultCount("Carol"));
+    }
+
+    /**
+     * Tests that finished rounds are recorded under the strategy names and used for seating
+     */
+    @Test
+    void testRoundRecorderAndSeating() {
+        Uno_RatingService service = new Uno_RatingService();
+        Uno_HeadlessRunner runner = new Uno_HeadlessRunner();
+        Player_Model strategic = new Player_Model("S", true, Player_Model.AIStrategy.STRATEGIC);
+        Player_Model firstValid = new Player_Model("F", true, Player_Model.AIStrategy.FIRST_VALID);
+        Uno_ViewHandler recorder = service.roundRecorder();
+        for (long seed = 0; seed < 200; seed++) {
+            if (runner.playRound(seed, strategic, firstValid) == Uno_HeadlessRunner.NO_WINNER) continue;
+            Uno_Model game = runner.getLastGame();
+            recorder.handleRoundEnd(new Uno_Event(game, game.getGameStatus()));
+        }
+
+        assertTrue(service.getResultCount("AI:STRATEGIC") > 150);
+        assertEquals(service.getResultCount("AI:STRATEGIC"), service.getResultCount("AI:FIRST_VALID"));
+
+        service.recordResult(new String[]{"Dave", "Eve"}, new int[]{0, 1});
+        double human = service.getRating("Dave");
+        double gapStrategic = Math.abs(service.getRating("AI:STRATEGIC") - human);
+        double gapFirstValid = Math.abs(service.getRating("AI:FIRST_VALID") - human);
+        String expected = gapStrategic < gapFirstValid ? "STRATEGIC" : "FIRST_VALID";
+        assertEquals(expected, service.pickOpponent("Dave", List.of("STRATEGIC", "FIRST_VALID")));
+    }
+}
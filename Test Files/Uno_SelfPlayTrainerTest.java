@@ -0,0 +1,180 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Test suite for seeded headless play and the self-play training pipeline.
+ *
+ * @author Saan John
+ * @version 5.0
+ */
+public class Uno_SelfPlayTrainerTest {
+    private File dataset;
+    private File weightsFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dataset = File.createTempFile("uno-selfplay", ".bin");
+        weightsFile = File.createTempFile("uno-weights", ".properties");
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataset.delete();
+        weightsFile.delete();
+    }
+
+    /**
+     * Tests that decks built from generators with the same seed deal the same cards
+     */
+    @Test
+    void testSeededDeckIsReproducible() {
+        Deck_Model first = new Deck_Model(new Random(42));
+        Deck_Model second = new Deck_Model(new Random(42));
+        assertEquals(first.getNumDrawCards(), second.getNumDrawCards());
+        for (int i = 0; i < first.getNumDrawCards(); i++) {
+            assertEquals(first.getCard(i).getFaceId(), second.getCard(i).getFaceId());
+        }
+    }
+
+    /**
+     * Tests that a headless round with deterministic strategies replays the same way from its seed
+     */
+    @Test
+    void testHeadlessRoundIsReproducible() {
+        Uno_HeadlessRunner runner = new Uno_HeadlessRunner();
+        Player_Model a = new Player_Model("A", true, Player_Model.AIStrategy.STRATEGIC);
+        Player_Model b = new Player_Model("B", true, Player_Model.AIStrategy.HIGHEST_SCORE);
+
+        int winner = runner.playRound(7L, a, b);
+        int turns = runner.getLastTurns();
+        assertTrue(winner == 0 || winner == 1);
+        assertTrue(runner.getLastPoints() >= 0);
+
+        assertEquals(winner, runner.playRound(7L, a, b));
+        assertEquals(turns, runner.getLastTurns());
+    }
+
+    /**
+     * Tests that self-play writes a dataset that trains to finite weights
+     */
+    @Test
+    void testGenerateAndTrain() throws IOException {
+        long rows = Uno_SelfPlayTrainer.generate(dataset, 20, 1L, new Uno_LinearEvaluator(), 0.3f);
+        assertTrue(rows > 0);
+        assertEquals(rows, Uno_SelfPlayTrainer.countRows(dataset));
+
+        float[] weights = Uno_SelfPlayTrainer.train(dataset, 2, Uno_SelfPlayTrainer.DEFAULT_LEARNING_RATE,
+                Uno_SelfPlayTrainer.DEFAULT_L2);
+        assertEquals(Uno_LinearEvaluator.NUM_FEATURES, weights.length);
+        for (float weight : weights) assertTrue(Float.isFinite(weight));
+    }
+
+    /**
+     * Tests that a round writes the same decisions whichever rounds were played before it, so
+     * the random moves of a round come from its own seed rather than from the worker's history
+     */
+    @Test
+    void testRoundRowsDependOnlyOnRoundSeed() throws IOException {
+        File later = File.createTempFile("uno-selfplay", ".bin");
+        try {
+            Uno_SelfPlayTrainer.generate(dataset, 4, 10L, new Uno_LinearEvaluator(), 0.5f);
+            Uno_SelfPlayTrainer.generate(later, 3, 11L, new Uno_LinearEvaluator(), 0.5f);
+            Map<String, Integer> rows = readRows(dataset);
+            Map<String, Integer> laterRows = readRows(later);
+            assertFalse(laterRows.isEmpty());
+            for (Map.Entry<String, Integer> row : laterRows.entrySet()) {
+                assertTrue(rows.getOrDefault(row.getKey(), 0) >= row.getValue());
+            }
+        } finally {
+            later.delete();
+        }
+    }
+
+    private static Map<String, Integer> readRows(File file) throws IOException {
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        Map<String, Integer> rows = new HashMap<>();
+        for (int at = 3 * Integer.BYTES; at + Uno_SelfPlayTrainer.ROW_BYTES <= bytes.length; at += Uno_SelfPlayTrainer.ROW_BYTES) {
+            rows.merge(Arrays.toString(Arrays.copyOfRange(bytes, at, at + Uno_SelfPlayTrainer.ROW_BYTES)), 1, Integer::sum);
+        }
+        return rows;
+    }
+
+    /**
+     * Tests that saved weights load back and drive the LEARNED strategy
+     */
+    @Test
+    void testWeightsRoundTrip() throws IOException {
+        float[] weights = {1f, -2f, 3f, -4f, 5f, -6f, 7f, -8f, 9f};
+        Uno_SelfPlayTrainer.saveWeights(weights, weightsFile);
+        assertArrayEquals(weights, Uno_SelfPlayTrainer.loadWeights(weightsFile));
+
+        assertThrows(IOException.class, () -> Uno_SelfPlayTrainer.train(weightsFile, 1, 0.1f, 0f));
+        assertEquals(Uno_LearnedStrategy.NAME, Uno_StrategyRegistry.create(Uno_LearnedStrategy.NAME).getName());
+
+        Player_Model player = new Player_Model("L", true);
+        player.setStrategy(new Uno_LearnedStrategy(weights));
+        assertEquals(Player_Model.AIStrategy.CUSTOM, player.getAIStrategy());
+        int winner = new Uno_HeadlessRunner().playRound(3L, player, new Player_Model("S", true));
+        assertTrue(winner >= Uno_HeadlessRunner.NO_WINNER && winner <= 1);
+    }
+
+    /**
+     * Tests that the LEARNED strategy reads the weights file it is given and reports a bad file
+     * to the caller, leaving the registered strategy unchanged
+     */
+    @Test
+    void testLearnedStrategyUsesGivenWeightsFile() throws IOException {
+        float[] weights = {1f, -2f, 3f, -4f, 5f, -6f, 7f, -8f, 9f};
+        Uno_SelfPlayTrainer.saveWeights(weights, weightsFile);
+        assertEquals(Uno_LearnedStrategy.NAME, Uno_LearnedStrategy.fromFile(weightsFile).getName());
+        assertThrows(IOException.class, () -> Uno_LearnedStrategy.fromFile(dataset));
+        assertThrows(IOException.class, () -> Uno_LearnedStrategy.useWeightsFile(dataset));
+
+        try {
+            Uno_LearnedStrategy.useWeightsFile(weightsFile);
+            assertTrue(weightsFile.delete());
+            Player_Model player = new Player_Model("L", true);
+            player.setStrategy(Uno_LearnedStrategy.NAME);
+            assertEquals(Uno_LearnedStrategy.NAME, player.getStrategyName());
+            int winner = new Uno_HeadlessRunner().playRound(5L, player, new Player_Model("S", true));
+            assertTrue(winner >= Uno_HeadlessRunner.NO_WINNER && winner <= 1);
+        } finally {
+            Uno_StrategyRegistry.register(Uno_LearnedStrategy.NAME, Uno_LearnedStrategy::fromConfiguredFile);
+        }
+    }
+
+    /**
+     * Tests that the registered LEARNED strategy plays with the weights file named by the
+     * weights property, with the default weights when it is not set, and is unavailable when
+     * the named file cannot be read
+     */
+    @Test
+    void testLearnedStrategyReadsWeightsProperty() throws IOException {
+        float[] weights = {1f, -2f, 3f, -4f, 5f, -6f, 7f, -8f, 9f};
+        Uno_SelfPlayTrainer.saveWeights(weights, weightsFile);
+        try {
+            System.clearProperty(Uno_LearnedStrategy.WEIGHTS_PROPERTY);
+            assertArrayEquals(Uno_LinearEvaluator.getDefaultWeights(), learnedWeights());
+
+            System.setProperty(Uno_LearnedStrategy.WEIGHTS_PROPERTY, weightsFile.getPath());
+            assertArrayEquals(weights, learnedWeights());
+
+            System.setProperty(Uno_LearnedStrategy.WEIGHTS_PROPERTY, dataset.getPath());
+            assertFalse(Uno_StrategyRegistry.isAvailable(Uno_LearnedStrategy.NAME));
+        } finally {
+            System.clearProperty(Uno_LearnedStrategy.WEIGHTS_PROPERTY);
+        }
+    }
+
+    private static float[] learnedWeights() {
+        return ((Uno_LinearStrategy) Uno_StrategyRegistry.create(Uno_LearnedStrategy.NAME)).getEvaluator().getWeights();
+    }
+}
@@ -0,0 +1,133 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test suite for recycling games through Uno_SessionPool.
+ * Validates that released sessions are reset in place, reused without new cards or players,
+ * and deal exactly like new games.
+ *
+ * @author Lucas Baker
+ * @version 5.0
+ */
+public class Uno_SessionPoolTest {
+    private static final List<String> NAMES = List.of("Ann", "AI1", "AI2");
+    private static final List<Boolean> AI = List.of(false, true, true);
+
+    private Uno_SessionPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new Uno_SessionPool(8);
+    }
+
+    /**
+     * Tests that a released session is handed out again with its cards and players
+     */
+    @Test
+    void testReleasedSessionIsReused() {
+        Uno_Model first = pool.acquire(NAMES, AI, new Random(1L));
+        List<Card_Model> cards = allCards(first);
+        first.initializeGame();
+        List<Player_Model> players = new ArrayList<>(first.getParticipants());
+        pool.release(first);
+        assertEquals(1, pool.getIdleCount());
+
+        Uno_Model second = pool.acquire(List.of("Bob", "AI"), List.of(false, true), new Random(2L));
+        assertSame(first, second);
+        assertEquals(Uno_Model.GameStatus.NOT_STARTED, second.getGameStatus());
+        assertEquals(2, second.getParticipants().size());
+        Player_Model bob = second.getParticipants().get(0);
+        assertTrue(players.contains(bob));
+        assertEquals("Bob", bob.getName());
+        assertFalse(bob.isAI());
+        assertTrue(bob.getHand().isEmpty());
+        second.initializeGame();
+        IdentityHashMap<Card_Model, Boolean> old = new IdentityHashMap<>();
+        for (Card_Model card : cards) old.put(card, true);
+        for (Card_Model card : allCards(second)) assertTrue(old.containsKey(card));
+        assertEquals(1, pool.getCreatedCount());
+        assertEquals(1, pool.getReusedCount());
+    }
+
+    /**
+     * Tests that a pooled session deals the same cards as a new model with the same seed
+     */
+    @Test
+    void testPooledSessionDealsLikeNewGame() {
+        Uno_Model used = pool.acquire(NAMES, AI, new Random(3L));
+        used.initializeGame();
+        Uno_Controller controller = new Uno_Controller(used);
+        for (int i = 0; i < 30 && used.getGameStatus() == Uno_Model.GameStatus.IN_PROGRESS; i++) {
+            if (!controller.processAITurn()) {
+                controller.handleDrawCard();
+                controller.handleNextPlayer();
+            }
+        }
+        pool.release(used);
+
+        Uno_Model pooled = pool.acquire(NAMES, AI, new Random(7L));
+        Uno_Model fresh = new Uno_Model();
+        fresh.setRandom(new Random(7L));
+        for (int i = 0; i < NAMES.size(); i++) {
+            fresh.addPlayer(new Player_Model(NAMES.get(i), AI.get(i)));
+        }
+        pooled.initializeGame();
+        fresh.initializeGame();
+
+        assertEquals(fresh.isDarkSide(), pooled.isDarkSide());
+        assertEquals(fresh.getActiveCard().getFaceId(), pooled.getActiveCard().getFaceId());
+        assertEquals(fresh.getRemainingDrawPileCards(), pooled.getRemainingDrawPileCards());
+        for (int seat = 0; seat < NAMES.size(); seat++) {
+            assertEquals(faces(fresh.getParticipants().get(seat)), faces(pooled.getParticipants().get(seat)));
+            assertEquals(0, pooled.getParticipants().get(seat).getScore());
+        }
+    }
+
+    /**
+     * Tests that a new round resets the deck in place and brings every card back
+     */
+    @Test
+    void testNewRoundKeepsDeckCards() {
+        Uno_Model model = pool.acquire(NAMES, AI, new Random(4L));
+        Deck_Model deck = model.getDeck();
+        List<Card_Model> before = allCards(model);
+        model.initializeGame();
+        model.startNewRound();
+        assertSame(deck, model.getDeck());
+        List<Card_Model> after = allCards(model);
+        IdentityHashMap<Card_Model, Boolean> old = new IdentityHashMap<>();
+        for (Card_Model card : before) old.put(card, true);
+        for (Card_Model card : after) assertTrue(old.containsKey(card));
+    }
+
+    /**
+     * Tests that the pool keeps at most maxIdle sessions
+     */
+    @Test
+    void testIdleSessionsAreBounded() {
+        List<Uno_Model> models = new ArrayList<>();
+        for (int i = 0; i < 12; i++) models.add(pool.acquire(NAMES, AI, new Random(i)));
+        for (Uno_Model model : models) pool.release(model);
+        assertEquals(8, pool.getIdleCount());
+        assertThrows(IllegalArgumentException.class, () -> pool.acquire(NAMES, List.of(true), null));
+    }
+
+    private static List<Card_Model> allCards(Uno_Model model) {
+        List<Card_Model> cards = new ArrayList<>(model.getDeck().getCards());
+        cards.addAll(model.getDeck().getDiscardPile());
+        for (Player_Model player : model.getParticipants()) cards.addAll(player.getHand());
+        if (model.getActiveCard() != null && !cards.contains(model.getActiveCard())) cards.add(model.getActiveCard());
+        return cards;
+    }
+
+    private static List<Integer> faces(Player_Model player) {
+        List<Integer> faces = new ArrayList<>();
+        for (Card_Model card : player.getHand()) faces.add(card.getFaceId());
+        return faces;
+    }
+}
@@ -0,0 +1,144 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the pluggable AI strategies.
+ * Validates loading strategies by name and the view they are given.
+ *
+ * @author Lucas Baker
+ * @version 5.0
+ */
+public class Uno_StrategyRegistryTest {
+    private Uno_Model model;
+
+    @BeforeEach
+    void setUp() {
+        model = new Uno_Model();
+        Uno_Controller controller = new Uno_Controller(model);
+        controller.createPlayers(0, 3);
+        controller.initializeGame();
+    }
+
+    /**
+     * Tests that the built-in strategies are registered under their enum names
+     */
+    @Test
+    void testBuiltInStrategiesAreRegistered() {
+        for (String name : new String[]{"FIRST_VALID", "HIGHEST_SCORE", "STRATEGIC"}) {
+            assertTrue(Uno_StrategyRegistry.getNames().contains(name));
+            assertEquals(name, Uno_StrategyRegistry.create(name).getName());
+        }
+    }
+
+    /**
+     * Tests that the search strategies are registered under their enum names and that a
+     * player dispatches a search to any Uno_SearchStrategy, passing its budgets on
+     */
+    @Test
+    void testSearchStrategyIsDispatched() {
+        for (Player_Model.AIStrategy type : new Player_Model.AIStrategy[]{
+                Player_Model.AIStrategy.MCTS, Player_Model.AIStrategy.PARALLEL_MCTS, Player_Model.AIStrategy.EXPECTIMAX}) {
+            Uno_AIStrategy created = Uno_StrategyRegistry.create(type.name());
+            assertTrue(created instanceof Uno_SearchStrategy);
+            assertEquals(type.name(), created.getName());
+        }
+
+        int[] searches = new int[1];
+        int[] budget = new int[2];
+        Player_Model current = model.getCurrentPlayer();
+        current.setStrategy(new Uno_SearchStrategy() {
+            public String getName() { return "COUNTING"; }
+            public int selectCard(Uno_GameView view) { return -1; }
+            public int search(Uno_SimState state, int observer) {
+                searches[0]++;
+                return Uno_MCTS.NO_MOVE;
+            }
+            public void setSearchBudget(int timeMillis, int maxIterations) {
+                budget[0] = timeMillis;
+                budget[1] = maxIterations;
+            }
+        });
+        current.setSearchBudget(123, 45);
+        assertArrayEquals(new int[]{123, 45}, budget);
+        assertTrue(current.isSearchStrategy());
+        current.selectCardToPlay(model);
+        assertEquals(1, searches[0]);
+
+        current.setAIStrategy(Player_Model.AIStrategy.STRATEGIC);
+        assertFalse(current.isSearchStrategy());
+    }
+
+    /**
+     * Tests that unknown names are rejected and class names can be loaded
+     */
+    @Test
+    void testCreateByClassName() {
+        assertThrows(IllegalArgumentException.class, () -> Uno_StrategyRegistry.create("NO_SUCH_STRATEGY"));
+        assertFalse(Uno_StrategyRegistry.isAvailable("java.lang.String"));
+        assertTrue(Uno_StrategyRegistry.create("Uno_HighestScoreStrategy") instanceof Uno_HighestScoreStrategy);
+    }
+
+    /**
+     * Tests that a registered strategy is used by a player and sets the CUSTOM strategy type
+     */
+    @Test
+    void testCustomStrategyIsUsed() {
+        Uno_StrategyRegistry.register("LAST_VALID", () -> new Uno_AIStrategy() {
+            public String getName() { return "LAST_VALID"; }
+            public int selectCard(Uno_GameView view) {
+                for (int i = view.getHandSize() - 1; i >= 0; i--) {
+                    if (view.isPlayable(i)) return i;
+                }
+                return -1;
+            }
+        });
+        Player_Model current = model.getCurrentPlayer();
+        current.setStrategy("LAST_VALID");
+        assertEquals(Player_Model.AIStrategy.CUSTOM, current.getAIStrategy());
+        assertEquals("LAST_VALID", current.getStrategyName());
+
+        int expected = -1;
+        for (int i = 0; i < current.getHand().size(); i++) {
+            if (model.isValidPlay(current.getHand().get(i))) expected = i;
+        }
+        assertEquals(expected, current.selectCardToPlay(model));
+    }
+
+    /**
+     * Tests that a card the strategy should not pick is replaced by a valid card
+     */
+    @Test
+    void testInvalidChoiceFallsBack() {
+        Uno_StrategyRegistry.register("BROKEN", () -> new Uno_AIStrategy() {
+            public String getName() { return "BROKEN"; }
+            public int selectCard(Uno_GameView view) { return 1000; }
+        });
+        Player_Model current = model.getCurrentPlayer();
+        current.setStrategy("BROKEN");
+        int index = current.selectCardToPlay(model);
+        if (index >= 0) assertTrue(model.isValidPlay(current.getHand().get(index)));
+    }
+
+    /**
+     * Tests that the view shows the game as the player sees it
+     */
+    @Test
+    void testViewReflectsGame() {
+        Player_Model current = model.getCurrentPlayer();
+        Uno_GameView view = new Uno_GameView();
+        view.bind(model, current);
+
+        assertEquals(current.getHand().size(), view.getHandSize());
+        assertEquals(3, view.getNumPlayers());
+        assertEquals(model.getCurrentTurnIndex(), view.getSelfIndex());
+        assertSame(model.getActiveCard(), view.getActiveCard());
+        assertEquals(model.getMatchColour(), view.getMatchColour());
+        assertEquals(model.getPlayDirection(), view.getPlayDirection());
+        for (int p = 0; p < 3; p++) {
+            assertEquals(model.getParticipants().get(p).getNumCards(), view.getCardCount(p));
+        }
+        for (int i = 0; i < view.getHandSize(); i++) {
+            assertEquals(model.isValidPlay(current.getHand().get(i)), view.isPlayable(i));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Test suite for the parameterised STRATEGIC strategy and its tuner.
+ *
+ * @author Lucas Baker
+ * @version 5.0
+ */
+public class Uno_StrategyTunerTest {
+    private Uno_StrategyTuner tuner;
+
+    @BeforeEach
+    void setUp() {
+        tuner = new Uno_StrategyTuner(2, 5, 20, 10, 10, 11L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tuner.shutdown();
+    }
+
+    /**
+     * Tests that the default parameters play exactly like the baseline on mirrored deals
+     */
+    @Test
+    void testDefaultParamsTieBaseline() {
+        double[] fitness = tuner.evaluate(List.of(Uno_StrategicStrategy.getDefaultParams()), 5L);
+        assertEquals(0.5, fitness[0], 1e-9);
+        assertEquals(40, tuner.getRoundsPlayed());
+    }
+
+    /**
+     * Tests that a short tuning run returns parameters inside the search bounds and saves them
+     */
+    @Test
+    void testTuneStaysInBounds() throws IOException {
+        File file = File.createTempFile("uno-tuned", ".properties");
+        try {
+            int[] best = tuner.tune(1, file);
+            assertEquals(Uno_StrategicStrategy.PARAM_NAMES.length, best.length);
+            for (int i = 0; i < best.length; i++) {
+                assertTrue(best[i] >= Uno_StrategyTuner.PARAM_MIN[i] && best[i] <= Uno_StrategyTuner.PARAM_MAX[i]);
+            }
+            assertArrayEquals(best, Uno_StrategyTuner.loadParams(file));
+            assertArrayEquals(best, new Uno_TunedStrategy(best).getParams());
+        } finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * Tests that the parameter count is checked
+     */
+    @Test
+    void testWrongParamCountRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new Uno_StrategicStrategy(new int[]{1, 2}));
+        assertEquals(Uno_TunedStrategy.NAME, Uno_StrategyRegistry.create(Uno_TunedStrategy.NAME).getName());
+    }
+}
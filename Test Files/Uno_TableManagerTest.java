@@ -0,0 +1,177 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Test suite for the multi-table manager.
+ * Validates the table lifecycle and many tables playing at once on a few event loops.
+ *
+ * @author Saan John
+ * @version 5.0
+ */
+public class Uno_TableManagerTest {
+    private Uno_TableManager manager;
+
+    @BeforeEach
+    void setUp() {
+        manager = new Uno_TableManager(2, 5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.close();
+    }
+
+    /**
+     * Tests that a table waits for its humans and then deals a game with the AI seats after them
+     */
+    @Test
+    void testJoinStartsGame() {
+        Uno_Table table = manager.createTable(3, 1, 0);
+        assertEquals(0, (int) manager.joinTable(table.getId(), "Alice").join());
+        assertEquals(Uno_Table.State.WAITING, table.getState());
+        assertEquals(1, (int) manager.joinTable(table.getId(), "Bob").join());
+        assertEquals(Uno_Table.State.PLAYING, table.getState());
+
+        List<Player_Model> players = table.call(() -> new ArrayList<>(table.getModel().getParticipants())).join();
+        assertEquals(3, players.size());
+        assertEquals("Alice", players.get(0).getName());
+        assertTrue(players.get(2).isAI());
+        assertThrows(CompletionException.class, () -> manager.joinTable(table.getId(), "Carol").join());
+    }
+
+    /**
+     * Tests that leaving hands the seat to an AI and the last human leaving closes the table
+     */
+    @Test
+    void testLeaveHandsSeatToAI() {
+        Uno_Table table = manager.createTable(2, 0, 0);
+        manager.joinTable(table.getId(), "Alice").join();
+        manager.joinTable(table.getId(), "Bob").join();
+
+        assertTrue(manager.leaveTable(table.getId(), "Alice").join());
+        assertTrue(table.call(() -> table.getModel().getParticipants().get(0).isAI()).join());
+        assertEquals(1, manager.getTableCount());
+
+        assertTrue(manager.leaveTable(table.getId(), "Bob").join());
+        assertEquals(Uno_Table.State.CLOSED, table.getState());
+        assertEquals(0, manager.getTableCount());
+        assertThrows(CompletionException.class, () -> manager.closeTable(table.getId()).join());
+    }
+
+    /**
+     * Tests that actions are only accepted from the seat whose turn it is and can be undone
+     */
+    @Test
+    void testActionsCheckSeatAndUndo() {
+        Uno_Table table = manager.createTable(2, 0, 0);
+        manager.joinTable(table.getId(), "Alice").join();
+        manager.joinTable(table.getId(), "Bob").join();
+
+        int seat = table.call(() -> table.getModel().getCurrentTurnIndex()).join();
+        int before = table.call(() -> table.getModel().getCurrentPlayer().getNumCards()).join();
+        assertFalse(table.handleDrawCard(1 - seat).join());
+        assertTrue(table.handleDrawCard(seat).join());
+        assertEquals(before + 1, (int) table.call(() -> table.getModel().getParticipants().get(seat).getNumCards()).join());
+
+        assertTrue(table.undo(seat).join());
+        assertEquals(before, (int) table.call(() -> table.getModel().getParticipants().get(seat).getNumCards()).join());
+        assertTrue(table.redo(seat).join());
+        assertEquals(5, (int) table.call(() -> table.getController().getUndoLimit()).join());
+    }
+
+    /**
+     * Tests that hundreds of tables play rounds to the end at the same time on two loops
+     */
+    @Test
+    void testManyTablesPlayRounds() {
+        List<Uno_Table> tables = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Uno_Table table = manager.createTable(2, 1, 0);
+            manager.joinTable(table.getId(), "Player" + i).join();
+            tables.add(table);
+        }
+        assertEquals(200, manager.getTableCount());
+
+        for (int step = 0; step < 2000; step++) {
+            boolean playing = false;
+            for (Uno_Table table : tables) {
+                if (table.getState() != Uno_Table.State.PLAYING) continue;
+                playing = true;
+                playFirstValidCard(table);
+            }
+            if (!playing) break;
+            tables.get(tables.size() - 1).call(() -> null).join();
+            tables.get(tables.size() - 2).call(() -> null).join();
+        }
+        for (Uno_Table table : tables) {
+            assertTrue(table.getState() == Uno_Table.State.ROUND_OVER || table.getState() == Uno_Table.State.GAME_OVER);
+            assertTrue(table.call(() -> table.getModel().getParticipants().stream().anyMatch(p -> p.getNumCards() == 0)).join());
+        }
+        Uno_Table first = tables.stream().filter(t -> t.getState() == Uno_Table.State.ROUND_OVER).findFirst().orElseThrow();
+        assertTrue(first.startNextRound().join());
+        Player_Model human = first.call(() -> first.getModel().getParticipants().get(0)).join();
+        assertEquals(human.getHand().size(), (int) first.call(human::getNumCards).join());
+        assertTrue(first.call(() -> human.getNumCards() >= 7).join());
+    }
+
+    /**
+     * Tests that tables of a manager given a decision service have their AI moves batched
+     * there and still play rounds to the end
+     */
+    @Test
+    void testAIMovesAreBatched() throws InterruptedException {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try (Uno_BatchDecisionService decisions = new Uno_BatchDecisionService(pool, 64, 2);
+             Uno_TableManager batched = new Uno_TableManager(2, 5, decisions)) {
+            List<Uno_Table> tables = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                Uno_Table table = batched.createTable(3, 2, 0);
+                batched.joinTable(table.getId(), "Player" + i).join();
+                tables.add(table);
+            }
+            for (int step = 0; step < 2000; step++) {
+                boolean playing = false;
+                for (Uno_Table table : tables) {
+                    if (table.getState() != Uno_Table.State.PLAYING) continue;
+                    playing = true;
+                    playFirstValidCard(table);
+                }
+                if (!playing) break;
+                Thread.sleep(1);
+            }
+            for (Uno_Table table : tables) {
+                assertNotEquals(Uno_Table.State.PLAYING, table.getState());
+            }
+            assertTrue(decisions.getDecisionCount() > 0);
+            assertTrue(decisions.getBatchCount() <= decisions.getDecisionCount());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Plays the human seat 0 like a simple bot: the first valid card, otherwise draw and pass.
+     * Actions sent while it is not the human's turn are rejected by the table.
+     */
+    private static void playFirstValidCard(Uno_Table table) {
+        int index = table.call(() -> {
+            Uno_Model model = table.getModel();
+            List<Integer> valid = model.getParticipants().get(0)
+                    .getValidCardIndices(model.getActiveCard(), model.getMatchColour(), model.getMatchType());
+            return valid.isEmpty() ? -1 : valid.get(0);
+        }).join();
+        if (index < 0) {
+            table.handleDrawCard(0);
+            table.handleNextPlayer(0);
+            return;
+        }
+        table.playCard(0, index).join();
+        Card_Model.CardColour colour = table.call(() -> Uno_GameView.getSideColour(table.getModel().isDarkSide(), 0)).join();
+        table.setWildCardColour(0, colour);
+    }
+}
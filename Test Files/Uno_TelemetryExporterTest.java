@@ -0,0 +1,228 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test suite for the columnar turn telemetry exporter and reader.
+ * Validates that columns read back as written, that repeated values compress to runs and
+ * dictionary codes, that recorded games are split into turns, and that live games driven by
+ * Uno_Controller are recorded move by move.
+ *
+ * @author Lucas Baker
+ * @version 5.0
+ */
+public class Uno_TelemetryExporterTest {
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("uno-telemetry");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (var files = Files.list(directory)) {
+            files.forEach(path -> path.toFile().delete());
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    private static List<Long> column(Uno_TelemetryReader reader, Uno_TelemetryExporter.Column column) throws IOException {
+        List<Long> values = new ArrayList<>();
+        reader.scanColumn(column, values::add);
+        return values;
+    }
+
+    /**
+     * Tests that every column reads back the values written, across blocks
+     */
+    @Test
+    void testColumnsRoundTrip() throws IOException {
+        Path file = directory.resolve("turns.dat");
+        int rows = Uno_TelemetryExporter.BLOCK_ROWS + 100;
+        try (Uno_TelemetryExporter exporter = new Uno_TelemetryExporter(file)) {
+            for (int i = 0; i < rows; i++) {
+                exporter.addTurn(i / 50, i % 50, i % 3, i % 3 == 0 ? "HUMAN" : "STRATEGIC", i % 11,
+                    i % 4 == 0 ? -1 : i % 54, i % 7 == 0 ? Card_Model.CardColour.TEAL : null,
+                    i % 100 < 50, i % 30 < 10, i % 4 == 0 ? 1 : 0);
+            }
+        }
+        Uno_TelemetryReader reader = new Uno_TelemetryReader(file);
+        assertEquals(rows, reader.getRowCount());
+        assertEquals(2, reader.getBlockCount());
+
+        List<Long> games = column(reader, Uno_TelemetryExporter.Column.GAME_ID);
+        List<Long> cards = column(reader, Uno_TelemetryExporter.Column.CARD);
+        List<Long> strategies = column(reader, Uno_TelemetryExporter.Column.STRATEGY);
+        List<Long> colours = column(reader, Uno_TelemetryExporter.Column.COLOUR);
+        List<Long> directions = column(reader, Uno_TelemetryExporter.Column.DIRECTION);
+        assertEquals(rows, games.size());
+        for (int i = 0; i < rows; i++) {
+            assertEquals(i / 50, (long) games.get(i));
+            assertEquals(i % 4 == 0 ? -1 : i % 54, (long) cards.get(i));
+            assertEquals(i % 3 == 0 ? "HUMAN" : "STRATEGIC",
+                reader.getDictionaryEntry(Uno_TelemetryExporter.Column.STRATEGY, strategies.get(i)));
+            assertEquals(i % 7 == 0 ? "TEAL" : Uno_TelemetryExporter.NONE,
+                reader.getDictionaryEntry(Uno_TelemetryExporter.Column.COLOUR, colours.get(i)));
+            assertEquals(i % 30 < 10 ? -1 : 1, (long) directions.get(i));
+        }
+        assertThrows(IllegalArgumentException.class, () -> reader.getDictionary(Uno_TelemetryExporter.Column.SEAT));
+    }
+
+    /**
+     * Tests that long runs of repeated values take a few bytes per block
+     */
+    @Test
+    void testRunsAndDictionariesAreCompact() throws IOException {
+        Path file = directory.resolve("runs.dat");
+        try (Uno_TelemetryExporter exporter = new Uno_TelemetryExporter(file)) {
+            for (int i = 0; i < 10000; i++) {
+                exporter.addTurn(7, i, 1, "STRATEGIC", 5, 12, null, false, false, 0);
+            }
+        }
+        assertTrue(Files.size(file) < 200, "10000 identical turns took " + Files.size(file) + " bytes");
+        Uno_TelemetryReader reader = new Uno_TelemetryReader(file);
+        assertEquals(List.of("STRATEGIC"), reader.getDictionary(Uno_TelemetryExporter.Column.STRATEGY));
+        List<Long> turns = column(reader, Uno_TelemetryExporter.Column.TURN);
+        assertEquals(9999L, (long) turns.get(9999));
+    }
+
+    /**
+     * Tests that headless rounds are exported turn by turn, with every played card and the
+     * winner's last turn emptying their hand
+     */
+    @Test
+    void testHeadlessRoundsExportEveryTurn() throws IOException {
+        Path file = directory.resolve("headless.dat");
+        Uno_HeadlessRunner runner = new Uno_HeadlessRunner();
+        List<Integer> winners = new ArrayList<>();
+        List<Integer> plays = new ArrayList<>();
+        Player_Model[] seats = {
+            new Player_Model("A", true, Player_Model.AIStrategy.STRATEGIC),
+            new Player_Model("B", true, Player_Model.AIStrategy.FIRST_VALID)
+        };
+        try (Uno_TelemetryExporter exporter = new Uno_TelemetryExporter(file)) {
+            runner.setTelemetry(exporter);
+            for (long seed = 0; seed < 10; seed++) {
+                winners.add(runner.playRound(seed, seats));
+            }
+        }
+        Uno_TelemetryReader reader = new Uno_TelemetryReader(file);
+        List<Long> games = column(reader, Uno_TelemetryExporter.Column.GAME_ID);
+        List<Long> seatColumn = column(reader, Uno_TelemetryExporter.Column.SEAT);
+        List<Long> hands = column(reader, Uno_TelemetryExporter.Column.HAND_SIZE);
+        List<Long> cards = column(reader, Uno_TelemetryExporter.Column.CARD);
+        assertTrue(reader.getRowCount() > 100);
+        for (int i = 0; i < games.size(); i++) {
+            assertTrue(hands.get(i) >= 0);
+            boolean lastOfGame = i + 1 == games.size() || !games.get(i + 1).equals(games.get(i));
+            int winner = winners.get(games.get(i).intValue());
+            if (lastOfGame && winner >= 0) {
+                assertEquals(winner, (long) seatColumn.get(i));
+                assertEquals(0L, (long) hands.get(i));
+                assertTrue(cards.get(i) >= 0);
+            }
+        }
+        assertEquals(9L, (long) games.get(games.size() - 1));
+    }
+
+    /**
+     * Tests that a live game played through the controller records every move, so the
+     * recorded draws and plays account for the cards in the final hands
+     */
+    @Test
+    void testControllerRecordsLiveGame() throws IOException {
+        Uno_Model model = new Uno_Model();
+        model.setRandom(new Random(11L));
+        model.addPlayer(new Player_Model("AI1", true));
+        model.addPlayer(new Player_Model("AI2", true));
+        model.addPlayer(new Player_Model("AI3", true));
+        Uno_Controller controller = new Uno_Controller(model);
+        Uno_GameRecorder recorder = new Uno_GameRecorder();
+        recorder.startGame(11L, model.getParticipants());
+        controller.setGameRecorder(recorder);
+        controller.initializeGame();
+        for (int i = 0; i < 500 && model.getGameStatus() == Uno_Model.GameStatus.IN_PROGRESS; i++) {
+            assertTrue(controller.processAITurn());
+        }
+        Uno_GameRecord record = recorder.finishGame();
+        assertEquals(Uno_GameRecord.ACTION_ROUND_START, Uno_GameRecord.actionType(record.getAction(0)));
+
+        int[] hands = new int[3];
+        for (int i = 0; i < record.getActionCount(); i++) {
+            short action = record.getAction(i);
+            int seat = Uno_GameRecord.actionSeat(action);
+            switch (Uno_GameRecord.actionType(action)) {
+                case Uno_GameRecord.ACTION_ROUND_START: hands[0] = hands[1] = hands[2] = Uno_Model.CARDS_PER_PLAYER; break;
+                case Uno_GameRecord.ACTION_PLAY: hands[seat]--; break;
+                case Uno_GameRecord.ACTION_DRAW:
+                case Uno_GameRecord.ACTION_PENALTY: hands[seat] += Uno_GameRecord.actionArg(action); break;
+                default: break;
+            }
+        }
+        for (int seat = 0; seat < 3; seat++) {
+            assertEquals(model.getParticipants().get(seat).getHand().size(), hands[seat]);
+        }
+        if (model.getGameStatus() != Uno_Model.GameStatus.IN_PROGRESS) {
+            assertEquals(1, record.getRounds());
+        }
+
+        Path file = directory.resolve("live.dat");
+        try (Uno_TelemetryExporter exporter = new Uno_TelemetryExporter(file)) {
+            int turns = exporter.exportGame(record);
+            assertTrue(turns > 0);
+            assertEquals(turns, exporter.getRowCount());
+        }
+    }
+
+    /**
+     * Tests that undo takes a move back out of the record and redo puts it back, so a draw
+     * after an undone play records the one card drawn
+     */
+    @Test
+    void testUndoAndRedoRewindTheRecord() {
+        Uno_Model model = null;
+        int index = -1;
+        for (long seed = 0; index < 0; seed++) {
+            model = new Uno_Model();
+            model.setRandom(new Random(seed));
+            model.addPlayer(new Player_Model("P1"));
+            model.addPlayer(new Player_Model("P2"));
+            model.initializeGame();
+            List<Card_Model> hand = model.getCurrentPlayer().getHand();
+            for (int i = 0; i < hand.size() && index < 0; i++) {
+                if (model.isValidPlay(hand.get(i)) && !hand.get(i).isActionCard()) index = i;
+            }
+        }
+        Uno_Controller controller = new Uno_Controller(model);
+        Uno_GameRecorder recorder = new Uno_GameRecorder();
+        recorder.startGame(0L, model.getParticipants());
+        recorder.startRound(model);
+        controller.setGameRecorder(recorder);
+        int seat = model.getCurrentTurnIndex();
+        int dealt = recorder.getActionCount();
+
+        assertTrue(controller.playCard(index));
+        assertEquals(dealt + 1, recorder.getActionCount());
+        assertTrue(controller.undoGameState());
+        assertEquals(dealt, recorder.getActionCount());
+        assertTrue(controller.redoGameState());
+        Uno_GameRecord record = recorder.finishGame();
+        assertEquals(Uno_GameRecord.ACTION_PLAY, Uno_GameRecord.actionType(record.getAction(dealt)));
+
+        assertTrue(controller.undoGameState());
+        controller.handleDrawCard();
+        record = recorder.finishGame();
+        assertEquals(dealt + 1, record.getActionCount());
+        short draw = record.getAction(dealt);
+        assertEquals(Uno_GameRecord.ACTION_DRAW, Uno_GameRecord.actionType(draw));
+        assertEquals(seat, Uno_GameRecord.actionSeat(draw));
+        assertEquals(1, Uno_GameRecord.actionArg(draw));
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ * This class represents a single decision made by an AI player.
+ * A move is computed from the game state without changing it, and later applied by the controller.
+ *
+ * Data Structures:
+ *     - MoveType type: Enum describing what the AI decided to do
+ *         * PLAY_CARD: play the card at cardIndex from the current hand
+ *         * CHOOSE_COLOUR: pick the colour for a pending wild card
+ *         * DRAW: draw a card and pass the turn
+ *     - int cardIndex: index of the card in the AI's hand, -1 when no card is played
+ *     - Card_Model card: the card that will be played, kept for logging
+ *     - Card_Model.CardColour colour: the chosen colour, null when no colour is chosen
+ *         * A PLAY_CARD move of a wild card may carry its colour, otherwise the AI is asked later
+ *
+ * @author Lasya Erukulla
+ * @version 5.0
+ */
+public class Uno_AIMove {
+    public enum MoveType {
+        PLAY_CARD,
+        CHOOSE_COLOUR,
+        DRAW
+    }
+
+    private final MoveType type;
+    private final int cardIndex;
+    private final Card_Model card;
+    private final Card_Model.CardColour colour;
+
+    /**
+     * Constructor for the Uno_AIMove class
+     * @param type: MoveType the kind of move
+     * @param cardIndex: int index of the card to play, -1 if none
+     * @param card: Card_Model the card to play, null if none
+     * @param colour: Card_Model.CardColour the colour to choose, null if none
+     */
+    private Uno_AIMove(MoveType type, int cardIndex, Card_Model card, Card_Model.CardColour colour) {
+        this.type = type;
+        this.cardIndex = cardIndex;
+        this.card = card;
+        this.colour = colour;
+    }
+
+    /**
+     * Creates a move that plays a card from the hand
+     * @param cardIndex: int index of the card in the hand
+     * @param card: Card_Model the card at that index
+     * @return the move
+     */
+    public static Uno_AIMove playCard(int cardIndex, Card_Model card) {
+        return new Uno_AIMove(MoveType.PLAY_CARD, cardIndex, card, null);
+    }
+
+    /**
+     * Creates a move that plays a wild card with an already chosen colour
+     * @param cardIndex: int index of the card in the hand
+     * @param card: Card_Model the wild card at that index
+     * @param colour: Card_Model.CardColour the colour to choose once the card is played
+     * @return the move
+     */
+    public static Uno_AIMove playWild(int cardIndex, Card_Model card, Card_Model.CardColour colour) {
+        return new Uno_AIMove(MoveType.PLAY_CARD, cardIndex, card, colour);
+    }
+
+    /**
+     * Creates a move that chooses the colour for a pending wild card
+     * @param colour: Card_Model.CardColour the chosen colour
+     * @return the move
+     */
+    public static Uno_AIMove chooseColour(Card_Model.CardColour colour) {
+        return new Uno_AIMove(MoveType.CHOOSE_COLOUR, -1, null, colour);
+    }
+
+    /**
+     * Creates a move that draws a card and passes the turn
+     * @return the move
+     */
+    public static Uno_AIMove draw() {
+        return new Uno_AIMove(MoveType.DRAW, -1, null, null);
+    }
+
+    /**
+     * Get the type of this move
+     * @return MoveType the kind of move
+     */
+    public MoveType getType() {
+        return type;
+    }
+
+    /**
+     * Get the index of the card to play
+     * @return int the hand index, or -1 if no card is played
+     */
+    public int getCardIndex() {
+        return cardIndex;
+    }
+
+    /**
+     * Get the card to play
+     * @return Card_Model the card, or null if no card is played
+     */
+    public Card_Model getCard() {
+        return card;
+    }
+
+    /**
+     * Get the chosen colour
+     * @return Card_Model.CardColour the colour, or null if no colour is chosen
+     */
+    public Card_Model.CardColour getColour() {
+        return colour;
+    }
+
+    @Override
+    public String toString() {
+        return switch (type) {
+            case PLAY_CARD -> colour == null ? "PLAY " + card : "PLAY " + card + " AS " + colour;
+            case CHOOSE_COLOUR -> "COLOUR " + colour;
+            case DRAW -> "DRAW";
+        };
+    }
+}
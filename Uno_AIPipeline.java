@@ -0,0 +1,196 @@
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs AI turns for the Swing view without blocking the event dispatch thread.
+ * The AI decision is computed on a worker thread, then only the resulting move is applied
+ * and rendered on the event dispatch thread.
+ *
+ * Turn flow:
+ *   1. requestMove() is called on the EDT when it is an AI player's turn
+ *   2. The worker computes the move with Uno_Controller.computeAIMove()
+ *   3. Back on the EDT, the move waits out the rest of the animation delay
+ *   4. The move is applied with Uno_Controller.applyAIMove() and the listener is told
+ *
+ * Every request ends in one call to the listener: moveApplied once the move is applied, or
+ * moveFailed if the AI raised an error, chose no move or the move could not be applied.
+ *
+ * The animation delay comes from the controller's AI pacing policy and is measured from the
+ * request, so a slow AI does not add its compute time on top of the delay, and a fast AI
+ * still appears to "think".
+ * If the game changed while the move was being computed (e.g. a turn timeout), the stale
+ * move is dropped and a new one is computed.
+ *
+ * Data Structures:
+ *   - ExecutorService worker: runs AI decisions off the EDT
+ *       * Defaults to a single daemon thread, AI decisions are never computed in parallel
+ *       * Any executor can be supplied (e.g. a virtual thread executor on newer JDKs)
+ *   - long requestId: counter used to drop results of cancelled requests
+ *   - Timer applyTimer: one-shot Swing timer that applies the move after the delay
+ *
+ * @author Lucas Baker
+ * @version 5.0
+ */
+public class Uno_AIPipeline {
+    /**
+     * Callback for the result of an AI move, always called on the EDT.
+     */
+    public interface MoveListener {
+        /**
+         * Called after a move has been applied to the game.
+         * @param player the AI player that made the move
+         * @param move the move that was applied
+         * @param success true if the controller accepted the move
+         */
+        void moveApplied(Player_Model player, Uno_AIMove move, boolean success);
+
+        /**
+         * Called when the AI failed to compute or apply a move.
+         * @param error the error raised by the AI, or an IllegalStateException if it chose no move
+         */
+        void moveFailed(Exception error);
+    }
+
+    private final Uno_Controller controller;
+    private final ExecutorService worker;
+    private long requestId;
+    private Future<?> pendingDecision;
+    private Timer applyTimer;
+
+    /**
+     * Constructs a pipeline that computes AI moves on a single background thread.
+     * @param controller the controller the moves are computed for and applied to
+     */
+    public Uno_AIPipeline(Uno_Controller controller) {
+        this(controller, Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "uno-ai-worker");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    /**
+     * Constructs a pipeline that computes AI moves on the given executor.
+     * @param controller the controller the moves are computed for and applied to
+     * @param worker the executor used to compute AI moves
+     */
+    public Uno_AIPipeline(Uno_Controller controller, ExecutorService worker) {
+        this.controller = controller;
+        this.worker = worker;
+    }
+
+    /**
+     * Starts computing the current AI player's move. Must be called on the EDT.
+     * Any move that is still pending is cancelled.
+     * @param listener notified on the EDT once the move is applied
+     * @return true if a move was requested, false if it is not an AI's turn
+     */
+    public boolean requestMove(MoveListener listener) {
+        if (!controller.isPlayerAI() || controller.getGameStatus() != Uno_Model.GameStatus.IN_PROGRESS) {
+            return false;
+        }
+        cancel();
+        final long id = requestId;
+        final long version = controller.getStateVersion();
+        final long start = System.currentTimeMillis();
+        pendingDecision = worker.submit(() -> {
+            Uno_AIMove move = null;
+            Exception error = null;
+            try {
+                move = controller.computeAIMove();
+            } catch (RuntimeException e) {
+                error = e;
+            }
+            final Uno_AIMove result = move;
+            final Exception failure = error;
+            SwingUtilities.invokeLater(() -> deliver(id, version, start, result, failure, listener));
+        });
+        return true;
+    }
+
+    /**
+     * Cancels the pending move, if any. Must be called on the EDT.
+     */
+    public void cancel() {
+        requestId++;
+        if (pendingDecision != null) {
+            pendingDecision.cancel(false);
+            pendingDecision = null;
+        }
+        if (applyTimer != null) {
+            applyTimer.stop();
+            applyTimer = null;
+        }
+    }
+
+    /**
+     * Checks if a move is currently being computed or waiting to be applied.
+     * @return true if a move is pending
+     */
+    public boolean isBusy() {
+        return pendingDecision != null || applyTimer != null;
+    }
+
+    /**
+     * Cancels any pending move and stops the worker.
+     */
+    public void shutdown() {
+        cancel();
+        worker.shutdownNow();
+    }
+
+    /**
+     * Receives a computed move on the EDT and schedules it for the rest of the delay.
+     */
+    private void deliver(long id, long version, long start, Uno_AIMove move, Exception error, MoveListener listener) {
+        if (id != requestId) return;
+        pendingDecision = null;
+        if (version != controller.getStateVersion()) {
+            requestMove(listener);
+            return;
+        }
+        if (error != null) {
+            listener.moveFailed(error);
+            return;
+        }
+        if (move == null) {
+            // The game is unchanged, so asking again would give no move either
+            listener.moveFailed(new IllegalStateException("The AI chose no move"));
+            return;
+        }
+
+        long remaining = controller.getAIDelayMillis() - (System.currentTimeMillis() - start);
+        if (remaining <= 0) {
+            apply(version, move, listener);
+            return;
+        }
+        applyTimer = new Timer((int) remaining, e -> {
+            applyTimer = null;
+            if (id == requestId) apply(version, move, listener);
+        });
+        applyTimer.setRepeats(false);
+        applyTimer.start();
+    }
+
+    /**
+     * Applies the move if the game has not changed since it was computed.
+     */
+    private void apply(long version, Uno_AIMove move, MoveListener listener) {
+        if (version != controller.getStateVersion()) {
+            requestMove(listener);
+            return;
+        }
+        Player_Model player = controller.getCurrentPlayer();
+        boolean success;
+        try {
+            success = controller.applyAIMove(move);
+        } catch (RuntimeException e) {
+            listener.moveFailed(e);
+            return;
+        }
+        listener.moveApplied(player, move, success);
+    }
+}
@@ -0,0 +1,50 @@
+/**
+ * Interface for AI strategies that pick a card for an AI player.
+ * A strategy only sees the game through a read-only Uno_GameView and never changes the game,
+ * the engine applies the returned move. Strategies are created by name with
+ * Uno_StrategyRegistry, so new strategies can be shipped without changing Player_Model.
+ *
+ * Implementations should not allocate per call where avoidable, the same view object is
+ * reused for every decision of a player.
+ *
+ * @author Lucas Baker
+ * @version 5.0
+ */
+public interface Uno_AIStrategy {
+    /**
+     * Gets the name the strategy is registered and loaded under.
+     * @return the strategy name
+     */
+    String getName();
+
+    /**
+     * Selects the card to play.
+     * @param view the AI player's view of the game
+     * @return index of the card in the hand, or -1 to draw a card
+     */
+    int selectCard(Uno_GameView view);
+
+    /**
+     * Selects the colour for a wild card that was just played.
+     * By default the colour the AI holds the most cards of is chosen.
+     * @param view the AI player's view of the game
+     * @return the chosen colour of the current side
+     */
+    default Card_Model.CardColour selectWildColour(Uno_GameView view) {
+        int bestIdx = 0;
+        int bestCount = -1;
+        for (int i = 0; i < 4; i++) {
+            Card_Model.CardColour colour = Uno_GameView.getSideColour(view.isDarkSide(), i);
+            int count = 0;
+            for (int c = 0; c < view.getHandSize(); c++) {
+                Card_Model card = view.getHandCard(c);
+                if (card != null && card.getColour() == colour) count++;
+            }
+            if (count > bestCount) {
+                bestCount = count;
+                bestIdx = i;
+            }
+        }
+        return Uno_GameView.getSideColour(view.isDarkSide(), bestIdx);
+    }
+}
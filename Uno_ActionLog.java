@@ -0,0 +1,251 @@
+import javax.swing.AbstractListModel;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Bounded action log for the UNO view.
+ * Keeps the most recent log entries in a fixed-size ring buffer and exposes them as a
+ * ListModel so a JList only renders the rows that are visible on screen.
+ *
+ * This class handles:
+ * - Appending log entries in O(1), overwriting the oldest entry once full
+ * - Clearing the log (new round, new game, load)
+ * - Optional spilling of evicted entries to a rolling log file on disk
+ *
+ * Data Structure Design:
+ * - String[] entries: Ring buffer holding the most recent log entries
+ *   Array chosen for:
+ *      * Fixed capacity: memory use does not grow with session length
+ *      * Constant time append and indexed access for the JList renderer
+ * - int head, size: Position of the oldest entry and number of stored entries
+ *      * head advances when an entry is evicted, so no elements are ever shifted
+ * - OutputStream spillOut: Stream of the current spill file, null when spilling is off
+ *      * Evicted entries are appended here as UTF-8 lines instead of being lost
+ *      * File is rolled (log -> log.1 -> log.2 ...) once it grows past maxSpillBytes,
+ *        counted in encoded bytes
+ * - IOException spillError: The error that stopped spilling, if any
+ *      * Appending never fails because of the disk; the view asks for the error instead
+ *
+ * @author Lucas Baker
+ * @version 5.0
+ */
+public class Uno_ActionLog extends AbstractListModel<String> {
+    public static final int DEFAULT_CAPACITY = 500;
+    private static final long serialVersionUID = 1L;
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+
+    private final String[] entries;
+    private int head;
+    private int size;
+
+    private transient File spillFile;
+    private transient long maxSpillBytes;
+    private transient int maxSpillFiles;
+    private transient long spillBytes;
+    private transient OutputStream spillOut;
+    private transient IOException spillError;
+
+    /**
+     * Constructs an action log holding up to DEFAULT_CAPACITY entries.
+     */
+    public Uno_ActionLog() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an action log with the given capacity.
+     * @param capacity the maximum number of entries kept in memory
+     */
+    public Uno_ActionLog(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        entries = new String[capacity];
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Enables spilling of evicted entries to a rolling file.
+     * @param file the spill file, older files are named file.1, file.2, ...
+     * @param maxBytes the size at which the spill file is rolled
+     * @param maxFiles the number of rolled files to keep
+     */
+    public void enableSpill(File file, long maxBytes, int maxFiles) {
+        disableSpill();
+        this.spillFile = file;
+        this.maxSpillBytes = Math.max(1, maxBytes);
+        this.maxSpillFiles = Math.max(0, maxFiles);
+        this.spillBytes = file.exists() ? file.length() : 0;
+        this.spillError = null;
+    }
+
+    /**
+     * Disables spilling and closes the current spill file.
+     * Entries that cannot be written on closing are reported by getSpillError.
+     */
+    public void disableSpill() {
+        try {
+            closeSpillOut();
+        } catch (IOException e) {
+            spillError = e;
+        }
+        spillFile = null;
+    }
+
+    /**
+     * Gets the error that stopped spilling, if spilling was disabled because of one.
+     * @return the error, or null if spilling did not fail since it was last enabled
+     */
+    public IOException getSpillError() {
+        return spillError;
+    }
+
+    /**
+     * Appends an entry, evicting the oldest entry if the log is full.
+     * @param entry the text to log
+     */
+    public void append(String entry) {
+        int capacity = entries.length;
+        if (size == capacity) {
+            spill(entries[head]);
+            entries[head] = entry;
+            head = (head + 1) % capacity;
+            // Every row moved up by one and the size stayed the same
+            fireContentsChanged(this, 0, size - 1);
+        } else {
+            entries[(head + size) % capacity] = entry;
+            size++;
+            fireIntervalAdded(this, size - 1, size - 1);
+        }
+    }
+
+    /**
+     * Removes all entries currently held in memory.
+     * Entries are spilled first when spilling is enabled, so nothing is lost on disk.
+     */
+    public void clear() {
+        if (size == 0) return;
+        int oldSize = size;
+        for (int i = 0; i < size; i++) {
+            int idx = (head + i) % entries.length;
+            spill(entries[idx]);
+            entries[idx] = null;
+        }
+        head = 0;
+        size = 0;
+        flushSpill();
+        fireIntervalRemoved(this, 0, oldSize - 1);
+    }
+
+    /**
+     * Gets the maximum number of entries kept in memory.
+     * @return the capacity of the log
+     */
+    public int getCapacity() {
+        return entries.length;
+    }
+
+    /**
+     * Gets the number of entries currently in the log.
+     * @return the number of entries
+     */
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets an entry by index, where 0 is the oldest entry still in memory.
+     * @param index the index of the entry
+     * @return the entry text
+     */
+    @Override
+    public String getElementAt(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return entries[(head + index) % entries.length];
+    }
+
+    /**
+     * Flushes any buffered spill output to disk.
+     * @return false if the flush failed, see getSpillError
+     */
+    public boolean flushSpill() {
+        if (spillOut == null) return true;
+        try {
+            spillOut.flush();
+            return true;
+        } catch (IOException e) {
+            stopSpilling(e);
+            return false;
+        }
+    }
+
+    /**
+     * Writes an evicted entry to the spill file, rolling the file when it is full.
+     * @param entry the evicted entry
+     */
+    private void spill(String entry) {
+        if (spillFile == null || entry == null) return;
+        try {
+            if (spillBytes >= maxSpillBytes) {
+                rollSpillFiles();
+            }
+            if (spillOut == null) {
+                spillOut = new BufferedOutputStream(new FileOutputStream(spillFile, true));
+            }
+            byte[] bytes = entry.getBytes(StandardCharsets.UTF_8);
+            spillOut.write(bytes);
+            spillOut.write(LINE_SEPARATOR);
+            spillBytes += bytes.length + LINE_SEPARATOR.length;
+        } catch (IOException e) {
+            stopSpilling(e);
+        }
+    }
+
+    /**
+     * Disables spilling after an error and keeps the error for getSpillError.
+     */
+    private void stopSpilling(IOException error) {
+        disableSpill();
+        spillError = error;
+    }
+
+    /**
+     * Shifts spill files up by one (file.1 -> file.2, file -> file.1) and starts a new file.
+     */
+    private void rollSpillFiles() throws IOException {
+        closeSpillOut();
+        String base = spillFile.getPath();
+        if (maxSpillFiles == 0) {
+            spillFile.delete();
+        } else {
+            new File(base + "." + maxSpillFiles).delete();
+            for (int i = maxSpillFiles - 1; i >= 1; i--) {
+                File older = new File(base + "." + i);
+                if (older.exists()) older.renameTo(new File(base + "." + (i + 1)));
+            }
+            spillFile.renameTo(new File(base + ".1"));
+        }
+        spillBytes = 0;
+    }
+
+    /**
+     * Closes the current spill stream if it is open.
+     * @throws IOException if the buffered entries cannot be written
+     */
+    private void closeSpillOut() throws IOException {
+        if (spillOut == null) return;
+        try {
+            spillOut.close();
+        } finally {
+            spillOut = null;
+        }
+    }
+}
@@ -0,0 +1,359 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Computes statistics over the games of a Uno_GameArchive with a parallel streaming scan.
+ * The id range is split in halves by fork-join tasks down to chunks of chunkGames games; each
+ * chunk is scanned in place from the mapped segments into its own Stats, and the partial
+ * results are merged on the way back up. Records are read straight from the archive buffers,
+ * no Uno_GameRecord, Uno_Model or card objects are created per game.
+ *
+ * The statistics:
+ *   - win rate by strategy, by seat and by strategy and seat
+ *   - average round length, in moves (cards played plus draws)
+ *   - FLIP frequency, the share of played cards that were a FLIP
+ *   - average number of cards drawn because of a WILD_DRAW_COLOUR
+ * The side a card was played on is taken from the state of the action before it, so
+ * FLIP and WILD_DRAW_COLOUR plays are found from face ids without a replay.
+ *
+ * Usage: java Uno_ArchiveQuery <archive directory> [chunkGames]
+ *
+ * Data Structures:
+ *   - Map<String, long[]> bySeat in Stats: Per strategy, the rounds played and won at every seat
+ *         * rounds at index seat, wins at index MAX_SEATS + seat
+ *
+ * @author Lucas Baker
+ * @version 5.0
+ */
+public class Uno_ArchiveQuery {
+    public static final int DEFAULT_CHUNK_GAMES = 4096;
+    public static final int MAX_SEATS = 4;
+    private static final int WILD_DRAW_FACE = Card_Model.NUM_FACES - 1;
+
+    /**
+     * Statistics of a set of games. Results of separate chunks are added up with add().
+     */
+    public static final class Stats {
+        private final Map<String, long[]> bySeat = new HashMap<>();
+        private long games;
+        private long rounds;
+        private long moves;
+        private long plays;
+        private long flips;
+        private long wildDrawColours;
+        private long wildDrawColourCards;
+        private long elapsedNanos;
+
+        /**
+         * Adds the results of other games.
+         * @param other the results to add
+         */
+        public void add(Stats other) {
+            games += other.games;
+            rounds += other.rounds;
+            moves += other.moves;
+            plays += other.plays;
+            flips += other.flips;
+            wildDrawColours += other.wildDrawColours;
+            wildDrawColourCards += other.wildDrawColourCards;
+            for (Map.Entry<String, long[]> entry : other.bySeat.entrySet()) {
+                long[] counts = seatCounts(entry.getKey());
+                for (int i = 0; i < counts.length; i++) counts[i] += entry.getValue()[i];
+            }
+        }
+
+        private long[] seatCounts(String strategy) {
+            return bySeat.computeIfAbsent(strategy, key -> new long[2 * MAX_SEATS]);
+        }
+
+        /**
+         * Gets the number of games scanned.
+         * @return the game count
+         */
+        public long getGames() { return games; }
+
+        /**
+         * Gets the number of rounds scanned.
+         * @return the round count
+         */
+        public long getRounds() { return rounds; }
+
+        /**
+         * Gets the average number of moves per round.
+         * @return the average round length, 0 without rounds
+         */
+        public double getAverageRoundLength() {
+            return rounds == 0 ? 0 : (double) moves / rounds;
+        }
+
+        /**
+         * Gets the share of played cards that were a FLIP.
+         * @return the FLIP frequency, 0 without plays
+         */
+        public double getFlipFrequency() {
+            return plays == 0 ? 0 : (double) flips / plays;
+        }
+
+        /**
+         * Gets the number of FLIP cards played.
+         * @return the FLIP count
+         */
+        public long getFlips() { return flips; }
+
+        /**
+         * Gets the number of WILD_DRAW_COLOUR cards played.
+         * @return the play count
+         */
+        public long getWildDrawColours() { return wildDrawColours; }
+
+        /**
+         * Gets the average number of cards a WILD_DRAW_COLOUR made the next player draw.
+         * @return the average, 0 if none was played
+         */
+        public double getAverageWildDrawColourCards() {
+            return wildDrawColours == 0 ? 0 : (double) wildDrawColourCards / wildDrawColours;
+        }
+
+        /**
+         * Gets the share of rounds a strategy won at a seat.
+         * @param strategy the strategy name
+         * @param seat the seat
+         * @return the win rate, 0 if the strategy never played at the seat
+         */
+        public double getWinRate(String strategy, int seat) {
+            long[] counts = bySeat.get(strategy);
+            return counts == null || counts[seat] == 0 ? 0 : (double) counts[MAX_SEATS + seat] / counts[seat];
+        }
+
+        /**
+         * Gets the share of rounds a strategy won, at any seat.
+         * @param strategy the strategy name
+         * @return the win rate, 0 if the strategy never played
+         */
+        public double getWinRate(String strategy) {
+            long[] counts = bySeat.get(strategy);
+            if (counts == null) return 0;
+            long played = 0;
+            long won = 0;
+            for (int seat = 0; seat < MAX_SEATS; seat++) {
+                played += counts[seat];
+                won += counts[MAX_SEATS + seat];
+            }
+            return played == 0 ? 0 : (double) won / played;
+        }
+
+        /**
+         * Gets the share of rounds won from a seat, by any strategy.
+         * @param seat the seat
+         * @return the win rate, 0 if no round had the seat
+         */
+        public double getSeatWinRate(int seat) {
+            long played = 0;
+            long won = 0;
+            for (long[] counts : bySeat.values()) {
+                played += counts[seat];
+                won += counts[MAX_SEATS + seat];
+            }
+            return played == 0 ? 0 : (double) won / played;
+        }
+
+        /**
+         * Gets the strategies that played.
+         * @return the strategy names, sorted
+         */
+        public Set<String> getStrategies() {
+            return new TreeSet<>(bySeat.keySet());
+        }
+
+        /**
+         * Gets the time the query took.
+         * @return the elapsed time in nanoseconds
+         */
+        public long getElapsedNanos() { return elapsedNanos; }
+
+        /**
+         * Gets the scan throughput.
+         * @return the games scanned per second
+         */
+        public double getGamesPerSecond() {
+            return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder report = new StringBuilder();
+            report.append(String.format("%d games, %d rounds in %.1f ms (%.0f games/s)%n",
+                games, rounds, elapsedNanos / 1e6, getGamesPerSecond()));
+            report.append(String.format("Average round length: %.2f moves%n", getAverageRoundLength()));
+            report.append(String.format("FLIP frequency: %.4f of %d cards played%n", getFlipFrequency(), plays));
+            report.append(String.format("Average cards drawn by WILD_DRAW_COLOUR: %.2f over %d plays%n",
+                getAverageWildDrawColourCards(), wildDrawColours));
+            for (String strategy : getStrategies()) {
+                report.append(String.format("%-16s win rate %.3f, by seat:", strategy, getWinRate(strategy)));
+                for (int seat = 0; seat < MAX_SEATS; seat++) {
+                    if (bySeat.get(strategy)[seat] > 0) report.append(String.format(" %d=%.3f", seat, getWinRate(strategy, seat)));
+                }
+                report.append(String.format("%n"));
+            }
+            return report.toString();
+        }
+    }
+
+    private final Uno_GameArchive archive;
+    private final ForkJoinPool pool;
+    private final int chunkGames;
+
+    /**
+     * Constructs a query on the common fork-join pool with DEFAULT_CHUNK_GAMES games per chunk.
+     * @param archive the archive to scan
+     */
+    public Uno_ArchiveQuery(Uno_GameArchive archive) {
+        this(archive, ForkJoinPool.commonPool(), DEFAULT_CHUNK_GAMES);
+    }
+
+    /**
+     * Constructs a query.
+     * @param archive the archive to scan
+     * @param pool the pool the chunks are scanned on
+     * @param chunkGames the number of games scanned by one task
+     */
+    public Uno_ArchiveQuery(Uno_GameArchive archive, ForkJoinPool pool, int chunkGames) {
+        this.archive = archive;
+        this.pool = pool;
+        this.chunkGames = Math.max(1, chunkGames);
+    }
+
+    /**
+     * Computes the statistics of every game in the archive.
+     * @return the statistics
+     */
+    public Stats run() {
+        return run(0, archive.getGameCount());
+    }
+
+    /**
+     * Computes the statistics of the games with ids from fromId up to but not including toId.
+     * @param fromId the first id
+     * @param toId the id after the last one
+     * @return the statistics
+     */
+    public Stats run(long fromId, long toId) {
+        long start = System.nanoTime();
+        Stats stats = pool.invoke(new ChunkTask(fromId, toId));
+        stats.elapsedNanos = System.nanoTime() - start;
+        return stats;
+    }
+
+    /**
+     * Scans a range of ids, split in halves until it fits a chunk.
+     */
+    private final class ChunkTask extends RecursiveTask<Stats> {
+        private static final long serialVersionUID = -2811765909880742457L;
+
+        private final long fromId;
+        private final long toId;
+
+        ChunkTask(long fromId, long toId) {
+            this.fromId = fromId;
+            this.toId = toId;
+        }
+
+        @Override
+        protected Stats compute() {
+            if (toId - fromId <= chunkGames) {
+                Stats stats = new Stats();
+                archive.scan(fromId, toId, (id, record) -> addGame(stats, record));
+                return stats;
+            }
+            long middle = (fromId + toId) >>> 1;
+            ChunkTask left = new ChunkTask(fromId, middle);
+            left.fork();
+            Stats stats = new ChunkTask(middle, toId).compute();
+            stats.add(left.join());
+            return stats;
+        }
+    }
+
+    /**
+     * Adds one encoded game, read in place, see Uno_GameRecord for the layout.
+     */
+    static void addGame(Stats stats, ByteBuffer record) {
+        int seats = Uno_GameRecord.encodedSeats(record);
+        long[][] counts = new long[seats][];
+        for (int seat = 0; seat < seats; seat++) {
+            counts[seat] = stats.seatCounts(Uno_GameRecord.encodedStrategy(record, seat));
+        }
+        int actionCount = Uno_GameRecord.encodedActionCount(record);
+        int actions = Uno_GameRecord.encodedActionsStart(record);
+
+        stats.games++;
+        boolean darkBefore = false;
+        boolean afterWildDrawColour = false;
+        for (int i = 0; i < actionCount; i++) {
+            short action = record.getShort(actions + i * Uno_GameRecord.ACTION_BYTES);
+            int arg = Uno_GameRecord.actionArg(action);
+            switch (Uno_GameRecord.actionType(action)) {
+                case Uno_GameRecord.ACTION_ROUND_START:
+                    afterWildDrawColour = false;
+                    break;
+                case Uno_GameRecord.ACTION_PLAY:
+                    stats.moves++;
+                    stats.plays++;
+                    afterWildDrawColour = false;
+                    if (arg < Card_Model.NUM_FACES) {
+                        Card_Model.CardValue value = Card_Model.getFaceValue(arg, darkBefore);
+                        if (value == Card_Model.CardValue.FLIP) {
+                            stats.flips++;
+                        } else if (value == Card_Model.CardValue.WILD_DRAW_COLOUR && arg == WILD_DRAW_FACE) {
+                            stats.wildDrawColours++;
+                            afterWildDrawColour = true;
+                        }
+                    }
+                    break;
+                case Uno_GameRecord.ACTION_DRAW:
+                    stats.moves++;
+                    afterWildDrawColour = false;
+                    break;
+                case Uno_GameRecord.ACTION_PENALTY:
+                    if (afterWildDrawColour) stats.wildDrawColourCards += arg;
+                    break;
+                case Uno_GameRecord.ACTION_ROUND_END:
+                    stats.rounds++;
+                    for (int s = 0; s < seats && s < MAX_SEATS; s++) {
+                        counts[s][s]++;
+                        if (arg == s) counts[s][MAX_SEATS + s]++;
+                    }
+                    afterWildDrawColour = false;
+                    break;
+                default:
+                    break;
+            }
+            darkBefore = Uno_GameRecord.isDarkSide(action);
+        }
+    }
+
+    /**
+     * Command line entry point: runs the query over every game of an archive and prints the
+     * statistics.
+     * @param args the archive directory, then optional games per chunk
+     * @throws IOException if the archive cannot be opened
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: java Uno_ArchiveQuery <archive directory> [chunkGames]");
+            return;
+        }
+        int chunkGames = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_CHUNK_GAMES;
+        try (Uno_GameArchive archive = new Uno_GameArchive(Paths.get(args[0]))) {
+            Uno_ArchiveQuery query = new Uno_ArchiveQuery(archive, ForkJoinPool.commonPool(), chunkGames);
+            System.out.print(query.run());
+        }
+    }
+}
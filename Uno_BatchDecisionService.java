@@ -0,0 +1,303 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Makes AI decisions for many tables (Uno_Model instances) in batches.
+ * Instead of every table asking its Player_Model for a move on its own thread, tables submit
+ * their pending AI decision here. A dispatcher thread collects the requests into a batch (up to
+ * maxBatch requests, or whatever arrived within maxWaitMillis of the first one) and decides the
+ * whole batch together.
+ *
+ * Every seat is decided by its own strategy. Seats playing a Uno_LinearStrategy (LINEAR,
+ * LEARNED) are batched: their hands are encoded as face counts, the feature rows of every
+ * candidate move go into one flat array and are scored with the seat's own Uno_LinearEvaluator,
+ * and the best move per table is picked. Seats with any other strategy are asked for their move
+ * through Player_Model, in the same batch. A batch is split into equal ranges of tables that run
+ * on a ForkJoinPool. The buffers are kept between batches, so a batch only allocates the
+ * returned moves.
+ *
+ * A table must not be changed between submitting it and its decision completing.
+ * The decided move is applied with Uno_Controller.applyAIMove on the table's own thread.
+ *
+ * Data Structures:
+ *   - BlockingQueue<Request> pending: decisions waiting for the next batch
+ *   - byte[] handCounts: compact hands, NUM_FACES counts per table back to back
+ *   - int[] moves, float[] features, float[] scores: candidate moves of every table,
+ *     MAX_CANDIDATES rows per table, so each table's rows start at a fixed offset
+ *
+ * @author Saan John
+ * @version 5.0
+ */
+public class Uno_BatchDecisionService implements AutoCloseable {
+    public static final int DEFAULT_MAX_BATCH = 256;
+    public static final long DEFAULT_MAX_WAIT_MILLIS = 2;
+
+    private static final int MIN_TABLES_PER_TASK = 16;
+    private static final int STRIDE = Uno_LinearEvaluator.MAX_CANDIDATES;
+
+    /**
+     * A table waiting for its decision.
+     */
+    private static final class Request {
+        private final Uno_Model table;
+        private final CompletableFuture<Uno_AIMove> result = new CompletableFuture<>();
+
+        private Request(Uno_Model table) {
+            this.table = table;
+        }
+    }
+
+    private final ForkJoinPool pool;
+    private final int maxBatch;
+    private final long maxWaitMillis;
+    private final BlockingQueue<Request> pending = new LinkedBlockingQueue<>();
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+
+    private byte[] handCounts = new byte[0];
+    private int[] moves = new int[0];
+    private float[] features = new float[0];
+    private float[] scores = new float[0];
+    private final List<ForkJoinTask<?>> tasks = new ArrayList<>();
+    private long batches;
+    private long decisions;
+
+    /**
+     * Constructs a service with the default batch limits on the common pool.
+     */
+    public Uno_BatchDecisionService() {
+        this(ForkJoinPool.commonPool(), DEFAULT_MAX_BATCH, DEFAULT_MAX_WAIT_MILLIS);
+    }
+
+    /**
+     * Constructs a service.
+     * @param pool the pool batches are evaluated on
+     * @param maxBatch the most decisions made in one batch
+     * @param maxWaitMillis how long the first request of a batch waits for more requests
+     */
+    public Uno_BatchDecisionService(ForkJoinPool pool, int maxBatch, long maxWaitMillis) {
+        this.pool = pool;
+        this.maxBatch = Math.max(1, maxBatch);
+        this.maxWaitMillis = Math.max(0, maxWaitMillis);
+        this.dispatcher = new Thread(this::dispatch, "uno-batch-dispatcher");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    /**
+     * Queues the pending AI decision of a table for the next batch.
+     * @param table the table whose current player is an AI
+     * @return completes with the move, or with null if it is not an AI's turn
+     */
+    public CompletableFuture<Uno_AIMove> submit(Uno_Model table) {
+        Request request = new Request(table);
+        if (!running) {
+            request.result.completeExceptionally(new CancellationException("Decision service is closed"));
+            return request.result;
+        }
+        pending.add(request);
+        return request.result;
+    }
+
+    /**
+     * Decides the moves of several tables as one batch on the calling thread and the pool.
+     * @param tables the tables to decide for
+     * @return the move of each table, null where it is not an AI's turn
+     */
+    public Uno_AIMove[] decideAll(List<Uno_Model> tables) {
+        Uno_Model[] batch = tables.toArray(new Uno_Model[0]);
+        Uno_AIMove[] result = new Uno_AIMove[batch.length];
+        decideBatch(batch, batch.length, result);
+        return result;
+    }
+
+    /**
+     * Gets the number of batches decided so far.
+     * @return the batch count
+     */
+    public synchronized long getBatchCount() {
+        return batches;
+    }
+
+    /**
+     * Gets the number of decisions made so far.
+     * @return the decision count
+     */
+    public synchronized long getDecisionCount() {
+        return decisions;
+    }
+
+    /**
+     * Stops the dispatcher. Requests that were not decided yet complete exceptionally.
+     */
+    @Override
+    public void close() {
+        running = false;
+        dispatcher.interrupt();
+        try {
+            dispatcher.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Request request;
+        while ((request = pending.poll()) != null) {
+            request.result.completeExceptionally(new CancellationException("Decision service is closed"));
+        }
+    }
+
+    /**
+     * Dispatcher loop: collects requests into batches and completes them.
+     */
+    private void dispatch() {
+        List<Request> batch = new ArrayList<>(maxBatch);
+        Uno_Model[] tables = new Uno_Model[maxBatch];
+        Uno_AIMove[] results = new Uno_AIMove[maxBatch];
+        while (running) {
+            try {
+                Request first = pending.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+                while (batch.size() < maxBatch) {
+                    long remaining = deadline - System.nanoTime();
+                    Request next = remaining > 0 ? pending.poll(remaining, TimeUnit.NANOSECONDS) : pending.poll();
+                    if (next == null) break;
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                if (!running) break;
+            }
+            if (batch.isEmpty()) continue;
+
+            for (int i = 0; i < batch.size(); i++) tables[i] = batch.get(i).table;
+            try {
+                decideBatch(tables, batch.size(), results);
+                for (int i = 0; i < batch.size(); i++) batch.get(i).result.complete(results[i]);
+            } catch (RuntimeException e) {
+                for (Request request : batch) request.result.completeExceptionally(e);
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                tables[i] = null;
+                results[i] = null;
+            }
+            batch.clear();
+        }
+        for (Request request : batch) {
+            request.result.completeExceptionally(new CancellationException("Decision service is closed"));
+        }
+    }
+
+    /**
+     * Decides a batch of tables, splitting it into equal ranges on the pool.
+     */
+    private synchronized void decideBatch(Uno_Model[] tables, int count, Uno_AIMove[] results) {
+        ensureCapacity(count);
+        int numTasks = Math.max(1, Math.min(pool.getParallelism(), count / MIN_TABLES_PER_TASK));
+        if (numTasks == 1) {
+            decideRange(tables, 0, count, results);
+        } else {
+            tasks.clear();
+            for (int task = 0; task < numTasks; task++) {
+                int from = (int) ((long) count * task / numTasks);
+                int to = (int) ((long) count * (task + 1) / numTasks);
+                tasks.add(pool.submit(() -> decideRange(tables, from, to, results)));
+            }
+            for (ForkJoinTask<?> task : tasks) task.join();
+        }
+        batches++;
+        decisions += count;
+    }
+
+    /**
+     * Decides the tables in [from, to): linear seats are encoded, their features extracted,
+     * scored and the best move picked, other seats ask their strategy.
+     */
+    private void decideRange(Uno_Model[] tables, int from, int to, Uno_AIMove[] results) {
+        for (int t = from; t < to; t++) {
+            results[t] = null;
+            Uno_Model table = tables[t];
+            Player_Model player = table.getCurrentPlayer();
+            if (player == null || !player.isAI() || table.getGameStatus() != Uno_Model.GameStatus.IN_PROGRESS) continue;
+
+            if (table.isPendingColourSelection() || table.isPendingDrawColourSelection()) {
+                Card_Model.CardColour colour = player.selectWildColour();
+                if (colour != null) results[t] = Uno_AIMove.chooseColour(colour);
+                continue;
+            }
+            Uno_AIStrategy strategy = player.getStrategy();
+            if (!(strategy instanceof Uno_LinearStrategy)) {
+                results[t] = strategyMove(table, player);
+                continue;
+            }
+            if (!encodeHand(player, t * Card_Model.NUM_FACES)) {
+                results[t] = firstValidMove(table, player);
+                continue;
+            }
+            int n = table.getParticipants().size();
+            int next = (table.getCurrentTurnIndex() + table.getPlayDirection() + n) % n;
+            int candidates = Uno_LinearEvaluator.extractFeatures(handCounts, t * Card_Model.NUM_FACES,
+                    table.getMatchColour().ordinal(), table.getMatchType().ordinal(), table.isDarkSide(),
+                    table.getParticipants().get(next).getNumCards(), moves, t * STRIDE, features);
+            ((Uno_LinearStrategy) strategy).getEvaluator().score(features, t * STRIDE, t * STRIDE + candidates, scores);
+            int move = Uno_LinearEvaluator.bestMove(moves, scores, t * STRIDE, t * STRIDE + candidates);
+            results[t] = toAIMove(table, player, move);
+        }
+    }
+
+    private boolean encodeHand(Player_Model player, int offset) {
+        for (int face = 0; face < Card_Model.NUM_FACES; face++) handCounts[offset + face] = 0;
+        for (Card_Model card : player.getHand()) {
+            if (card == null) continue;
+            int face = card.getFaceId();
+            if (face < 0) return false;
+            handCounts[offset + face]++;
+        }
+        return true;
+    }
+
+    private static Uno_AIMove toAIMove(Uno_Model table, Player_Model player, int move) {
+        int face = Uno_SimState.getMoveFace(move);
+        if (face < 0) return Uno_AIMove.draw();
+        List<Card_Model> hand = player.getHand();
+        for (int i = 0; i < hand.size(); i++) {
+            Card_Model card = hand.get(i);
+            if (card == null || card.getFaceId() != face || !table.isValidPlay(card)) continue;
+            if (card.isWildCard()) {
+                return Uno_AIMove.playWild(i, card, Uno_SimState.getMoveColour(move, table.isDarkSide()));
+            }
+            return Uno_AIMove.playCard(i, card);
+        }
+        return Uno_AIMove.draw();
+    }
+
+    private static Uno_AIMove firstValidMove(Uno_Model table, Player_Model player) {
+        List<Card_Model> hand = player.getHand();
+        for (int i = 0; i < hand.size(); i++) {
+            if (hand.get(i) != null && table.isValidPlay(hand.get(i))) return Uno_AIMove.playCard(i, hand.get(i));
+        }
+        return Uno_AIMove.draw();
+    }
+
+    private static Uno_AIMove strategyMove(Uno_Model table, Player_Model player) {
+        int index = player.selectCardToPlay(table);
+        if (index < 0) return Uno_AIMove.draw();
+        Card_Model card = player.getHand().get(index);
+        if (card.isWildCard()) return Uno_AIMove.playWild(index, card, player.selectWildColour());
+        return Uno_AIMove.playCard(index, card);
+    }
+
+    private void ensureCapacity(int count) {
+        if (handCounts.length >= count * Card_Model.NUM_FACES) return;
+        handCounts = new byte[count * Card_Model.NUM_FACES];
+        moves = new int[count * STRIDE];
+        features = new float[count * STRIDE * Uno_LinearEvaluator.NUM_FEATURES];
+        scores = new float[count * STRIDE];
+    }
+}
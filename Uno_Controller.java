@@ -5,6 +5,11 @@ import java.io.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Stack;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 
 /**
@@ -24,16 +29,54 @@ import java.util.Stack;
  *        * Order objects as Last in first out which is needed for UNDOing the last game state
  *        * efficeint addition of new game states
  *        * easy access of to most recent game states
+ *     - ReentrantLock lock: One lock per game guarding every change to the model
+ *        * The view's timers, the AI worker and network tables all change the game through
+ *          the controller, so they take turns on the lock instead of interleaving
+ *        * Reentrant because actions call each other (e.g. applyAIMove calls playCard)
+ *     - ReentrantLock searchLock: Held while an AI search runs, which is without the game's lock
+ *        * The search reuses the AI player's buffers, so searches of one game take turns
+ *     - Condition pacingChanged: Signalled when the AI pacing changes, ending an AI delay early
+ *     - Uno_GameSnapshot snapshot: Immutable copy of the game published after every change
+ *        * Volatile, so renderers read the latest copy without taking the lock
+ *     - Uno_GameRecorder recorder: Optional recorder of every move, for archiving and telemetry of live games
+ *     - Uno_DeltaBroadcaster deltas: Publishes what changed after every update, created with the first delta listener
+ *        * Observers that only need small patches listen to it instead of re-reading the model
+ *     - AIPacing aiPacing: Enum storing how fast AI turns are played
+ *        * REALISTIC waits realisticDelayMillis between AI moves so players can follow them
+ *        * INSTANT plays AI moves as soon as they are decided
+ *        * FAST_FORWARD plays AI moves without notifying views until a human's turn or the round ends
  *
  * @author Lasya Erukulla
  * @version 4.0 - Milestone 4 + 5
  */
 public class Uno_Controller implements ActionListener {
+    public static final int DEFAULT_AI_DELAY_MILLIS = 1000;
+
+    public enum AIPacing {
+        REALISTIC,      // Pause between AI moves
+        INSTANT,        // No pause between AI moves
+        FAST_FORWARD    // No pause, views only see the state once a human is up or the round ends
+    }
+
     private Uno_Model uno;
     private List<Uno_ViewHandler> handlers;
+    private Uno_DeltaBroadcaster deltas;
+    private Uno_GameRecorder recorder;
+    private final ReentrantLock lock;
+    private final ReentrantLock searchLock;
+    private final Condition pacingChanged;
+    private volatile Uno_GameSnapshot snapshot;
     private Stack<Uno_GameState> stackUNDO;
     private Stack<Uno_GameState> stackREDO;
     private static final int MAX_UNO_NUM = 50;
+    private int undoLimit;
+    private volatile long stateVersion;
+    private volatile AIPacing aiPacing;
+    private volatile int realisticDelayMillis;
+    private int notificationsSuspended;
+    private boolean pendingGameUpdate;
+    private boolean pendingRoundOver;
+    private boolean pendingGameOver;
 
     /* Constructor */
     public Uno_Controller(Uno_Model uno) {
@@ -41,6 +84,36 @@ public class Uno_Controller implements ActionListener {
         handlers = new ArrayList<>();
         this.stackUNDO = new Stack<>();
         this.stackREDO = new Stack<>();
+        this.aiPacing = AIPacing.REALISTIC;
+        this.realisticDelayMillis = DEFAULT_AI_DELAY_MILLIS;
+        this.undoLimit = MAX_UNO_NUM;
+        this.lock = new ReentrantLock();
+        this.searchLock = new ReentrantLock();
+        this.pacingChanged = lock.newCondition();
+        this.snapshot = new Uno_GameSnapshot(uno, 0);
+    }
+
+    /**
+     * Get the latest published copy of the game. Never blocks, so it is safe to call
+     * from any thread while another thread is making a move.
+     * @return the snapshot
+     */
+    public Uno_GameSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Run several reads or changes of the game as one step, holding the game's lock.
+     * @param action the action to run
+     * @return the action's result
+     */
+    public <T> T callLocked(Supplier<T> action) {
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
     }
 
     /* Add View handlers to the handlers list
@@ -51,10 +124,89 @@ public class Uno_Controller implements ActionListener {
         handlers.add(handler);
     }
 
+    /**
+     * Remove a view handler, so it is no longer notified
+     *
+     * @param handler the handler to remove
+     */
+    public void removeViewHandler(Uno_ViewHandler handler) {
+        handlers.remove(handler);
+    }
+
+    /**
+     * Add a listener for the deltas of every game update. Deltas are published even while
+     * view notifications are suspended, so listeners see every single change.
+     *
+     * @param listener: Uno_DeltaListener to be added
+     */
+    public void addDeltaListener(Uno_DeltaListener listener) {
+        getDeltaBroadcaster().addListener(listener);
+    }
+
+    /**
+     * Set a recorder that records every move of this game from now on. Start the game on the
+     * recorder (startGame) before the first round is dealt; rounds and moves are then recorded
+     * by the controller. Undo takes moves back out of the record and redo puts them back.
+     *
+     * @param recorder: Uno_GameRecorder the recorder, or null to stop recording
+     */
+    public void setGameRecorder(Uno_GameRecorder recorder) {
+        lock.lock();
+        try {
+            this.recorder = recorder;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records the end of the round once a move has finished it
+     */
+    private void recordRoundEnd() {
+        if (!isRoundOver() && !isGameOver()) return;
+        List<Player_Model> players = uno.getParticipants();
+        int winner = -1;
+        for (int seat = 0; seat < players.size(); seat++) {
+            if (players.get(seat).getHand().isEmpty()) winner = seat;
+        }
+        recorder.endRound(uno, winner);
+    }
+
+    /**
+     * Get the broadcaster publishing the deltas of this game, creating it on first use
+     * @return the delta broadcaster
+     */
+    public Uno_DeltaBroadcaster getDeltaBroadcaster() {
+        lock.lock();
+        try {
+            if (deltas == null) {
+                deltas = new Uno_DeltaBroadcaster();
+                deltas.publish(uno);
+            }
+            return deltas;
+        } finally {
+            lock.unlock();
+        }
+    }
+
     /**
      * Notify all view handlers of an update in the game
      */
     public void notifyGameUpdate() {
+        stateVersion++;
+        snapshot = new Uno_GameSnapshot(uno, stateVersion);
+        if (deltas != null) deltas.publish(uno);
+        if (notificationsSuspended > 0) {
+            pendingGameUpdate = true;
+            return;
+        }
+        fireGameUpdate();
+    }
+
+    /**
+     * Send a game update event to all view handlers
+     */
+    private void fireGameUpdate() {
         Uno_Event event = new Uno_Event(uno, uno.getGameStatus() );
         for (Uno_ViewHandler handler: handlers) {
             handler.handleGameUpdate(event);
@@ -65,6 +217,10 @@ public class Uno_Controller implements ActionListener {
      * Notify all view handlers of when a round is over
      */
     public void notifyRoundOver () {
+        if (notificationsSuspended > 0) {
+            pendingRoundOver = true;
+            return;
+        }
         Uno_Event event = new Uno_Event(uno, uno.getGameStatus() );
         for (Uno_ViewHandler handler: handlers) {
             handler.handleRoundEnd(event);
@@ -75,37 +231,114 @@ public class Uno_Controller implements ActionListener {
      * Notify all view handlers of when the game is over
      */
     public void notifyGameOver () {
+        if (notificationsSuspended > 0) {
+            pendingGameOver = true;
+            return;
+        }
         Uno_Event event = new Uno_Event(uno, uno.getGameStatus() );
         for (Uno_ViewHandler handler: handlers) {
             handler.handleGameOver(event);
         }
     }
 
+    /**
+     * Stop notifying view handlers until resumeNotifications is called.
+     * Calls can be nested, views are notified once the outermost call is resumed.
+     */
+    public void suspendNotifications() {
+        lock.lock();
+        try {
+            notificationsSuspended++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Resume notifying view handlers, sending one update for everything that happened
+     * while notifications were suspended
+     */
+    public void resumeNotifications() {
+        lock.lock();
+        try {
+            if (notificationsSuspended == 0) return;
+            notificationsSuspended--;
+            if (notificationsSuspended > 0) return;
+
+            boolean update = pendingGameUpdate;
+            boolean roundOver = pendingRoundOver;
+            boolean gameOver = pendingGameOver;
+            pendingGameUpdate = false;
+            pendingRoundOver = false;
+            pendingGameOver = false;
+            if (update) {
+                fireGameUpdate();
+            }
+            if (gameOver) {
+                notifyGameOver();
+            } else if (roundOver) {
+                notifyRoundOver();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Check if view handlers are currently not being notified
+     * @return true if notifications are suspended
+     */
+    public boolean isNotificationsSuspended() {
+        lock.lock();
+        try {
+            return notificationsSuspended > 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
     /**
      * Intialize the UNO game by setting up the model
      */
     public void initializeGame(){
-        uno.initializeGame();
-        clearUndoRedoHistory();
-        notifyGameUpdate();
+        lock.lock();
+        try {
+            uno.initializeGame();
+            if (recorder != null) recorder.startRound(uno);
+            clearUndoRedoHistory();
+            notifyGameUpdate();
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
      * Start a new round in the UNO game
      */
     public void startNewRound() {
-        uno.startNewRound();
-        clearUndoRedoHistory();
-        notifyGameUpdate();
+        lock.lock();
+        try {
+            uno.startNewRound();
+            if (recorder != null) recorder.startRound(uno);
+            clearUndoRedoHistory();
+            notifyGameUpdate();
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
      * Reset the UNO game to intial state
      */
     public void resetGame() {
-        uno.resetGame();
-        clearUndoRedoHistory();
-        notifyGameUpdate();
+        lock.lock();
+        try {
+            uno.resetGame();
+            clearUndoRedoHistory();
+            notifyGameUpdate();
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -114,13 +347,18 @@ public class Uno_Controller implements ActionListener {
      * @return true if save was successful
      */
     public boolean saveGame(String gameName){
-        try(ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(gameName))){
-            out.writeObject(uno);
-            return true;
-        }catch (IOException e){
-            System.err.println("Error saving game: " + e.getMessage());
-            e.printStackTrace();
-            return false;
+        lock.lock();
+        try {
+            try(ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(gameName))){
+                out.writeObject(uno);
+                return true;
+            }catch (IOException e){
+                System.err.println("Error saving game: " + e.getMessage());
+                e.printStackTrace();
+                return false;
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -131,16 +369,21 @@ public class Uno_Controller implements ActionListener {
      * @return true if load was successful
      */
     public boolean loadGame(String gameName){
-        try(ObjectInputStream in = new ObjectInputStream(new FileInputStream(gameName))){
-            Uno_Model newModelLoaded = (Uno_Model) in.readObject();
-            this.uno = newModelLoaded;
-            clearUndoRedoHistory();
-            notifyGameUpdate();
-            return true;
-        }catch (IOException | ClassNotFoundException e){
-            System.err.println("Error loading game: " + e.getMessage());
-            e.printStackTrace();
-            return false;
+        lock.lock();
+        try {
+            try(ObjectInputStream in = new ObjectInputStream(new FileInputStream(gameName))){
+                Uno_Model newModelLoaded = (Uno_Model) in.readObject();
+                this.uno = newModelLoaded;
+                clearUndoRedoHistory();
+                notifyGameUpdate();
+                return true;
+            }catch (IOException | ClassNotFoundException e){
+                System.err.println("Error loading game: " + e.getMessage());
+                e.printStackTrace();
+                return false;
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -169,9 +412,14 @@ public class Uno_Controller implements ActionListener {
      * @param numPlayers: int the number of players to be created
      */
     public void createPlayers(int numPlayers) {
-        for (int i = 0; i <numPlayers; i++) {
-            Player_Model player = new Player_Model("Player" + i);
-            uno.addPlayer(player);
+        lock.lock();
+        try {
+            for (int i = 0; i <numPlayers; i++) {
+                Player_Model player = new Player_Model("Player" + i);
+                uno.addPlayer(player);
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -182,13 +430,18 @@ public class Uno_Controller implements ActionListener {
      * @param numAIPlayers: int the number of AI players to be created
      */
     public void createPlayers(int numPlayers, int numAIPlayers){
-        for (int i = 0; i <numPlayers; i++) {
-            Player_Model player = new Player_Model("Player" + i);
-            uno.addPlayer(player);
-        }
-        for (int i = 0; i <numAIPlayers; i++) {
-            Player_Model ai = new Player_Model("AI" + i, true, Player_Model.AIStrategy.STRATEGIC);
-            uno.addPlayer(ai);
+        lock.lock();
+        try {
+            for (int i = 0; i <numPlayers; i++) {
+                Player_Model player = new Player_Model("Player" + i);
+                uno.addPlayer(player);
+            }
+            for (int i = 0; i <numAIPlayers; i++) {
+                Player_Model ai = new Player_Model("AI" + i, true, Player_Model.AIStrategy.STRATEGIC);
+                uno.addPlayer(ai);
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -199,11 +452,16 @@ public class Uno_Controller implements ActionListener {
      * @param names: List<String> list of names for the player, if null or empty default names will be used
      */
     public void createPlayersWithConfig(List<Boolean> isAIList, List<String> names){
-        for (int i = 0; i < isAIList.size(); i++){
-            String name = (names != null && !names.isEmpty()) ? names.get(i) : "Player" + i;
-            boolean isAI = isAIList.get(i);
-            Player_Model player = new Player_Model(name, isAI, isAI ? Player_Model.AIStrategy.STRATEGIC : Player_Model.AIStrategy.FIRST_VALID);
-            uno.addPlayer(player);
+        lock.lock();
+        try {
+            for (int i = 0; i < isAIList.size(); i++){
+                String name = (names != null && !names.isEmpty()) ? names.get(i) : "Player" + i;
+                boolean isAI = isAIList.get(i);
+                Player_Model player = new Player_Model(name, isAI, isAI ? Player_Model.AIStrategy.STRATEGIC : Player_Model.AIStrategy.FIRST_VALID);
+                uno.addPlayer(player);
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -212,15 +470,22 @@ public class Uno_Controller implements ActionListener {
      */
 
     public void handleDrawCard() {
-        if (uno.getGameStatus() != Uno_Model.GameStatus.IN_PROGRESS) {
-            return;
-        }
-        if (isPendingColourSelection() || isPendingDrawColourSelection()){
-            return;
+        lock.lock();
+        try {
+            if (uno.getGameStatus() != Uno_Model.GameStatus.IN_PROGRESS) {
+                return;
+            }
+            if (isPendingColourSelection() || isPendingDrawColourSelection()){
+                return;
+            }
+            saveGameStateForUndo();
+            int seat = uno.getCurrentTurnIndex();
+            uno.drawCard();
+            if (recorder != null) recorder.drew(uno, seat);
+            notifyGameUpdate();
+        } finally {
+            lock.unlock();
         }
-        saveGameStateForUndo();
-        uno.drawCard();
-        notifyGameUpdate();
     }
 
     /**
@@ -228,15 +493,20 @@ public class Uno_Controller implements ActionListener {
      */
 
     public void handleNextPlayer() {
-        if (uno.getGameStatus() != Uno_Model.GameStatus.IN_PROGRESS) {
-            return;
-        }
-        if (isPendingColourSelection() || isPendingDrawColourSelection()){
-            return;
+        lock.lock();
+        try {
+            if (uno.getGameStatus() != Uno_Model.GameStatus.IN_PROGRESS) {
+                return;
+            }
+            if (isPendingColourSelection() || isPendingDrawColourSelection()){
+                return;
+            }
+            saveGameStateForUndo();
+            uno.advanceToNextTurn();
+            notifyGameUpdate();
+        } finally {
+            lock.unlock();
         }
-        saveGameStateForUndo();
-        uno.advanceToNextTurn();
-        notifyGameUpdate();
     }
 
     /**
@@ -244,15 +514,23 @@ public class Uno_Controller implements ActionListener {
      * @return true if time expired
      */
     public boolean handleTurnTimeout(){
-        if (uno.getGameStatus() != Uno_Model.GameStatus.IN_PROGRESS) {
+        // A timer tick must not wait for a move being decided, the next tick tries again
+        if (!lock.tryLock()) return false;
+        try {
+            if (uno.getGameStatus() != Uno_Model.GameStatus.IN_PROGRESS) {
+                return false;
+            }
+            int seat = uno.getCurrentTurnIndex();
+            Uno_Model.TurnAction res = uno.handleTurnTimeout();
+            if(res == Uno_Model.TurnAction.TIME_EXPIRED){
+                if (recorder != null) recorder.drew(uno, seat);
+                notifyGameUpdate();
+                return true;
+            }
             return false;
+        } finally {
+            lock.unlock();
         }
-        Uno_Model.TurnAction res = uno.handleTurnTimeout();
-        if(res == Uno_Model.TurnAction.TIME_EXPIRED){
-            notifyGameUpdate();
-            return true;
-        }
-        return false;
     }
 
     /**
@@ -262,24 +540,36 @@ public class Uno_Controller implements ActionListener {
      * @return boolean indicating if the card play was successful
      */
     public boolean playCard(int cardIndex){
-        if (uno.getGameStatus() != Uno_Model.GameStatus.IN_PROGRESS) {
-            return false;
-        }
-        if (isPendingColourSelection() || isPendingDrawColourSelection()){
-            return false;
-        }
-        saveGameStateForUndo();
-        Uno_Model.TurnAction result = uno.playCard(cardIndex);
-        if(result == Uno_Model.TurnAction.CARD_PLAYED){
-            notifyGameUpdate();
-            if(isGameOver()){
-                notifyGameOver();
-            } else if (isRoundOver()){
-                notifyRoundOver();
+        lock.lock();
+        try {
+            if (uno.getGameStatus() != Uno_Model.GameStatus.IN_PROGRESS) {
+                return false;
+            }
+            if (isPendingColourSelection() || isPendingDrawColourSelection()){
+                return false;
+            }
+            saveGameStateForUndo();
+            int seat = uno.getCurrentTurnIndex();
+            List<Card_Model> hand = getCurrentPlayer().getHand();
+            int face = cardIndex >= 0 && cardIndex < hand.size() ? hand.get(cardIndex).getFaceId() : -1;
+            Uno_Model.TurnAction result = uno.playCard(cardIndex);
+            if(result == Uno_Model.TurnAction.CARD_PLAYED){
+                if (recorder != null) {
+                    recorder.played(uno, seat, face);
+                    recordRoundEnd();
+                }
+                notifyGameUpdate();
+                if(isGameOver()){
+                    notifyGameOver();
+                } else if (isRoundOver()){
+                    notifyRoundOver();
+                }
+                return true;
             }
-            return true;
+            return false;
+        } finally {
+            lock.unlock();
         }
-        return false;
     }
 
     /**
@@ -289,21 +579,31 @@ public class Uno_Controller implements ActionListener {
      * @return boolean indicating if the colour selection was successful
      */
     public boolean setWildCardColour(Card_Model.CardColour colour){
-        if (!isPendingColourSelection() && !isPendingDrawColourSelection()){
-            return false;
-        }
-        saveGameStateForUndo();
-        boolean result = uno.setActiveColour(colour);
-        if(result){
-            notifyGameUpdate();
-            if(isGameOver()){
-                notifyGameOver();
-            } else if (isRoundOver()){
-                notifyRoundOver();
+        lock.lock();
+        try {
+            if (!isPendingColourSelection() && !isPendingDrawColourSelection()){
+                return false;
             }
-            return true;
+            saveGameStateForUndo();
+            int seat = uno.getCurrentTurnIndex();
+            boolean result = uno.setActiveColour(colour);
+            if(result){
+                if (recorder != null) {
+                    recorder.choseColour(uno, seat, colour);
+                    recordRoundEnd();
+                }
+                notifyGameUpdate();
+                if(isGameOver()){
+                    notifyGameOver();
+                } else if (isRoundOver()){
+                    notifyRoundOver();
+                }
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
         }
-        return false;
     }
     /* Methods for AI */
     /**
@@ -319,46 +619,225 @@ public class Uno_Controller implements ActionListener {
      * @return boolean indicating if the AI turn was processed
      */
     public boolean processAITurn(){
-        if(!isPlayerAI()) return false;
+        return decideAIMove(move -> move != null && applyAIMove(move));
+    }
+
+    /**
+     * Compute the AI player's next move without changing the game.
+     * A search based AI searches a copy of the round with the lock released, so moves,
+     * saves and pacing changes from other threads are not held up by the search.
+     *
+     * @return the move the AI wants to make, or null if it is not an AI's turn
+     */
+    public Uno_AIMove computeAIMove(){
+        return decideAIMove(move -> move);
+    }
+
+    /**
+     * Decide the AI player's next move and hand it to an action while the game is locked.
+     * A search based AI's round is copied under the lock and searched without it, then the
+     * move is only used if the game did not change meanwhile, otherwise the decision starts
+     * over. When the caller already holds the lock the search runs under it.
+     *
+     * @param then the action given the move, or null if it is not an AI's turn or another
+     *             thread is searching while the caller holds the lock
+     * @return the action's result
+     */
+    private <T> T decideAIMove(Function<Uno_AIMove, T> then){
+        // Waiting for another thread's search while holding the lock could deadlock, that
+        // search takes the lock again once it is done
+        boolean releaseForSearch = !lock.isHeldByCurrentThread();
+        while (true) {
+            if (releaseForSearch) {
+                searchLock.lock();
+            } else if (!searchLock.tryLock()) {
+                return then.apply(null);
+            }
+            Player_Model searcher = null;
+            long version = 0;
+            int move = Uno_MCTS.NO_MOVE;
+            try {
+                lock.lock();
+                try {
+                    if (isPlayerAI() && uno.getGameStatus() == Uno_Model.GameStatus.IN_PROGRESS
+                            && !isPendingColourSelection() && !isPendingDrawColourSelection()
+                            && getCurrentPlayer().captureSearch(uno)) {
+                        searcher = getCurrentPlayer();
+                        version = stateVersion;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                if (searcher != null) move = searcher.searchCaptured();
+            } finally {
+                searchLock.unlock();
+            }
+            lock.lock();
+            try {
+                if (searcher == null || (version == stateVersion && getCurrentPlayer() == searcher)) {
+                    return then.apply(selectAIMove(searcher, move));
+                }
+            } finally {
+                lock.unlock();
+            }
+            // The game changed during the search, decide again from the new position
+        }
+    }
+
+    /**
+     * Select the current AI player's move. Must be called with the lock held.
+     *
+     * @param searcher the player a search was run for, null if none was
+     * @param move the move the search found, Uno_MCTS.NO_MOVE if none
+     * @return the move, or null if it is not an AI's turn
+     */
+    private Uno_AIMove selectAIMove(Player_Model searcher, int move){
+        if(!isPlayerAI()) return null;
         if (uno.getGameStatus() != Uno_Model.GameStatus.IN_PROGRESS) {
-            return false;
+            return null;
         }
 
         if (isPendingColourSelection() || isPendingDrawColourSelection()){
             Card_Model.CardColour chosenColour = uno.getAIColourSelection();
-            if (chosenColour != null)  return setWildCardColour(chosenColour);
-            return false;
+            return chosenColour != null ? Uno_AIMove.chooseColour(chosenColour) : null;
         }
 
-        int cardIndex = uno.getAICardSelection();
+        Player_Model player = getCurrentPlayer();
+        int cardIndex = player == searcher ? player.selectSearchedCard(uno, move) : uno.getAICardSelection();
         if (cardIndex >= 0) {
-            boolean played = playCard(cardIndex);
-            if (played && (isPendingColourSelection() || isPendingDrawColourSelection())) {
-                Card_Model.CardColour colour = uno.getAIColourSelection();
-                if (colour != null) {
-                    setWildCardColour(colour);
-                }
-            }
-            return played;
-        } else {
-            handleDrawCard();
-            handleNextPlayer();
-            return true;
+            return Uno_AIMove.playCard(cardIndex, player.getHand().get(cardIndex));
         }
+        return Uno_AIMove.draw();
+    }
+
+    /**
+     * Apply a move computed by computeAIMove to the game.
+     * When a played wild card needs a colour, the colour carried by the move is used,
+     * otherwise the AI chooses it straight away.
+     *
+     * @param move the move to apply
+     * @return boolean indicating if the move was applied
+     */
+    public boolean applyAIMove(Uno_AIMove move){
+        lock.lock();
+        try {
+            if(!isPlayerAI()) return false;
+            if (uno.getGameStatus() != Uno_Model.GameStatus.IN_PROGRESS) {
+                return false;
+            }
 
+            switch (move.getType()) {
+                case CHOOSE_COLOUR:
+                    return setWildCardColour(move.getColour());
+                case PLAY_CARD:
+                    boolean played = playCard(move.getCardIndex());
+                    if (played && (isPendingColourSelection() || isPendingDrawColourSelection())) {
+                        Card_Model.CardColour colour = move.getColour() != null ? move.getColour() : uno.getAIColourSelection();
+                        if (colour != null) {
+                            setWildCardColour(colour);
+                        }
+                    }
+                    return played;
+                case DRAW:
+                    handleDrawCard();
+                    handleNextPlayer();
+                    return true;
+                default:
+                    return false;
+            }
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
      * Process AI turns until it is a human player's turn
+     * Waits between moves according to the AI pacing policy. When fast forwarding,
+     * views are only notified once a human is up or the round is over.
+     * The wait and the AI's search release the game's lock, so other threads can act
+     * meanwhile, and a change of pacing ends the wait early. Uno_GameActor plays AI turns without holding a thread at all.
      */
     public void processAITurnsUntilHuman() {
-        while (isPlayerAI() &&
-                uno.getGameStatus() == Uno_Model.GameStatus.IN_PROGRESS) {
-            try { Thread.sleep(500); } catch (InterruptedException e) {}
-            processAITurn();
+        lock.lock();
+        boolean fastForward = aiPacing == AIPacing.FAST_FORWARD;
+        if (fastForward) suspendNotifications();
+        try {
+            while (isPlayerAI() &&
+                    uno.getGameStatus() == Uno_Model.GameStatus.IN_PROGRESS) {
+                long wait = TimeUnit.MILLISECONDS.toNanos(getAIDelayMillis());
+                try {
+                    while (wait > 0) {
+                        wait = getAIDelayMillis() > 0 ? pacingChanged.awaitNanos(wait) : 0;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                // Another thread may have moved while the lock was released
+                if (!isPlayerAI() || uno.getGameStatus() != Uno_Model.GameStatus.IN_PROGRESS) break;
+                // Released during the move as well, so a search does not hold up other threads
+                boolean moved;
+                int holds = lock.getHoldCount();
+                for (int i = 0; i < holds; i++) lock.unlock();
+                try {
+                    moved = processAITurn();
+                } finally {
+                    for (int i = 0; i < holds; i++) lock.lock();
+                }
+                if (!moved) break;
+            }
+        } finally {
+            if (fastForward) resumeNotifications();
+            lock.unlock();
+        }
+    }
+
+    /* AI pacing methods */
+    /**
+     * Set the AI pacing policy
+     * @param pacing the pacing to use for AI turns
+     */
+    public void setAIPacing(AIPacing pacing) {
+        if (pacing == null) return;
+        lock.lock();
+        try {
+            this.aiPacing = pacing;
+            pacingChanged.signalAll();
+        } finally {
+            lock.unlock();
         }
     }
 
+    /**
+     * Get the AI pacing policy
+     * @return the pacing used for AI turns
+     */
+    public AIPacing getAIPacing() {
+        return aiPacing;
+    }
+
+    /**
+     * Set the delay between AI moves used by the REALISTIC pacing
+     * @param millis the delay in milliseconds
+     */
+    public void setRealisticDelayMillis(int millis) {
+        lock.lock();
+        try {
+            this.realisticDelayMillis = Math.max(0, millis);
+            pacingChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the delay to wait before the next AI move under the current pacing
+     * @return the delay in milliseconds, 0 for INSTANT and FAST_FORWARD
+     */
+    public int getAIDelayMillis() {
+        return aiPacing == AIPacing.REALISTIC ? realisticDelayMillis : 0;
+    }
+
     /**
      * Save the current game state before UNDO
      */
@@ -366,30 +845,54 @@ public class Uno_Controller implements ActionListener {
         if (uno.getGameStatus() != Uno_Model.GameStatus.IN_PROGRESS) {
             return;
         }
-        Uno_GameState currentState = new Uno_GameState(uno);
+        Uno_GameState currentState = saveState();
         stackUNDO.push(currentState);
-        if(stackUNDO.size() > MAX_UNO_NUM){
+        if(stackUNDO.size() > undoLimit){
             stackUNDO.remove(0);
         }
         stackREDO.clear();
     }
 
+    /**
+     * Save the current game state together with the length of its record
+     * @return the saved state
+     */
+    private Uno_GameState saveState() {
+        Uno_GameState state = new Uno_GameState(uno);
+        if (recorder != null) state.setRecordedActions(recorder.getActionCount());
+        return state;
+    }
+
+    /**
+     * Restore a saved game state and move the record back or forward to it
+     * @param state the state to restore
+     */
+    private void restoreState(Uno_GameState state) {
+        state.restoreToModel(uno);
+        if (recorder != null) recorder.rewind(uno, state.getRecordedActions());
+    }
+
     /**
      * Undo the last action(state)
      * @return true if undo is successful
      */
     public boolean undoGameState() {
-        if(canUndo()){
-            Uno_GameState currentState = new Uno_GameState(uno);
-            stackREDO.push(currentState);
+        lock.lock();
+        try {
+            if(canUndo()){
+                Uno_GameState currentState = saveState();
+                stackREDO.push(currentState);
 
-            Uno_GameState prevState = stackUNDO.pop();
-            prevState.restoreToModel(uno);
+                Uno_GameState prevState = stackUNDO.pop();
+                restoreState(prevState);
 
-            notifyGameUpdate();
-            return true;
+                notifyGameUpdate();
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
         }
-        return false;
     }
 
     /**
@@ -397,17 +900,42 @@ public class Uno_Controller implements ActionListener {
      * @return true if redo is successful
      */
     public boolean redoGameState() {
-        if (canRedo()){
-            Uno_GameState currentState = new Uno_GameState(uno);
-            stackUNDO.push(currentState);
+        lock.lock();
+        try {
+            if (canRedo()){
+                Uno_GameState currentState = saveState();
+                stackUNDO.push(currentState);
 
-            Uno_GameState nextState = stackREDO.pop();
-            nextState.restoreToModel(uno);
+                Uno_GameState nextState = stackREDO.pop();
+                restoreState(nextState);
 
-            notifyGameUpdate();
-            return true;
+                notifyGameUpdate();
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
         }
-        return false;
+    }
+
+    /**
+     * Set how many game states are kept for undo. Every saved state is a full copy of the
+     * cards, so hosting many games bounds memory per game with a smaller limit.
+     * @param limit the number of states kept, between 0 and 50
+     */
+    public void setUndoLimit(int limit) {
+        this.undoLimit = Math.max(0, Math.min(MAX_UNO_NUM, limit));
+        while (stackUNDO.size() > undoLimit) {
+            stackUNDO.remove(0);
+        }
+    }
+
+    /**
+     * Get how many game states are kept for undo
+     * @return the undo limit
+     */
+    public int getUndoLimit() {
+        return undoLimit;
     }
 
     /**
@@ -419,6 +947,14 @@ public class Uno_Controller implements ActionListener {
     }
 
     /* Getters for different game attributes */
+    /**
+     * Gets the state version, which changes every time views are notified of an update.
+     * Used to detect that a move computed in the background is stale.
+     */
+    public long getStateVersion(){
+        return stateVersion;
+    }
+
     /**
      * Gets the uno model
      */
@@ -558,7 +1094,14 @@ public class Uno_Controller implements ActionListener {
      * @return true if setting was changed successfully
      * */
     public boolean setTimeModeEnabled(boolean enabled) {
-        return uno.setTimedModeEnabled(enabled);
+        lock.lock();
+        try {
+            boolean changed = uno.setTimedModeEnabled(enabled);
+            snapshot = new Uno_GameSnapshot(uno, stateVersion);
+            return changed;
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -577,7 +1120,14 @@ public class Uno_Controller implements ActionListener {
      * @return true if setting was changed successfully
      */
     public boolean setTurnTimeLimit(int secs){
-        return uno.setTurnTimeLimit(secs);
+        lock.lock();
+        try {
+            boolean changed = uno.setTurnTimeLimit(secs);
+            snapshot = new Uno_GameSnapshot(uno, stateVersion);
+            return changed;
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
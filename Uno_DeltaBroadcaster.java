@@ -0,0 +1,252 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Turns game updates into Uno_DeltaEvents and broadcasts them to any number of listeners.
+ * Uno_Controller calls publish after every change. The broadcaster compares the game with the
+ * compact copy it kept from the last publish and numbers each difference, so observers receive
+ * only what changed. Faces are side independent, so a flip is a single SIDE_FLIPPED delta.
+ *
+ * Recent deltas are kept in a ring, so an observer that fell behind can catch up with
+ * getDeltasSince, and a new observer starts from describeState.
+ *
+ * A broadcaster belongs to the thread that changes its game; listeners may be added from any
+ * thread.
+ *
+ * Data Structures:
+ *   - int[][] hands: Face ids of every player's hand at the last publish, grown as needed
+ *         * Comparing face ids finds the played card or the drawn cards without keeping Card_Models
+ *   - Uno_DeltaEvent[] history: Ring of the last HISTORY_SIZE deltas, indexed by sequence
+ *   - List<Uno_DeltaListener> listeners: CopyOnWriteArrayList
+ *         * Listeners change rarely and are iterated on every publish without locking
+ *
+ * @author Lasya Erukulla
+ * @version 5.0
+ */
+public class Uno_DeltaBroadcaster {
+    public static final int HISTORY_SIZE = 4096;
+
+    private final List<Uno_DeltaListener> listeners;
+    private final Uno_DeltaEvent[] history;
+    private long sequence;
+    private int[][] hands;
+    private int[] handSizes;
+    private int numPlayers;
+    private int turn;
+    private int direction;
+    private boolean darkSide;
+    private int activeFace;
+    private int colour;
+    private int pending;
+    private int status;
+
+    /**
+     * Constructs a broadcaster for a game that has not started yet.
+     */
+    public Uno_DeltaBroadcaster() {
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.history = new Uno_DeltaEvent[HISTORY_SIZE];
+        this.hands = new int[0][];
+        this.handSizes = new int[0];
+        this.direction = 1;
+        this.activeFace = Uno_DeltaEvent.NONE;
+        this.colour = Uno_DeltaEvent.NONE;
+        this.status = Uno_Model.GameStatus.NOT_STARTED.ordinal();
+    }
+
+    /**
+     * Adds a listener.
+     * @param listener the listener
+     */
+    public void addListener(Uno_DeltaListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener.
+     * @param listener the listener
+     */
+    public void removeListener(Uno_DeltaListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Gets the sequence number of the last delta.
+     * @return the sequence, 0 before the first delta
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Compares the game with the last publish and broadcasts the differences.
+     * @param model the game
+     * @return the deltas, empty if nothing changed
+     */
+    public List<Uno_DeltaEvent> publish(Uno_Model model) {
+        List<Uno_DeltaEvent> deltas = new ArrayList<>();
+        List<Player_Model> players = model.getParticipants();
+        ensureSeats(players.size());
+
+        int newActive = faceOf(model.getActiveCard());
+        boolean played = false;
+        for (int seat = 0; seat < players.size(); seat++) {
+            played |= diffHand(model, seat, players.get(seat).getHand(), newActive, deltas);
+        }
+        if (newActive != activeFace || played) {
+            if (!played) add(deltas, model, Uno_DeltaEvent.Kind.ACTIVE_CARD, Uno_DeltaEvent.NONE, Uno_DeltaEvent.NONE, newActive);
+            activeFace = newActive;
+        }
+        Card_Model.CardColour matchColour = model.getMatchColour();
+        int newColour = matchColour != null ? matchColour.ordinal() : Uno_DeltaEvent.NONE;
+        if (newColour != colour) {
+            colour = newColour;
+            add(deltas, model, Uno_DeltaEvent.Kind.COLOUR_CHOSEN, Uno_DeltaEvent.NONE, Uno_DeltaEvent.NONE, colour);
+        }
+        if (model.isDarkSide() != darkSide) {
+            darkSide = model.isDarkSide();
+            add(deltas, model, Uno_DeltaEvent.Kind.SIDE_FLIPPED, Uno_DeltaEvent.NONE, Uno_DeltaEvent.NONE, darkSide ? 1 : 0);
+        }
+        if (model.getPlayDirection() != direction) {
+            direction = model.getPlayDirection();
+            add(deltas, model, Uno_DeltaEvent.Kind.DIRECTION_CHANGED, Uno_DeltaEvent.NONE, Uno_DeltaEvent.NONE, direction);
+        }
+        int newPending = pendingOf(model);
+        if (newPending != pending) {
+            pending = newPending;
+            add(deltas, model, Uno_DeltaEvent.Kind.PENDING_COLOUR, Uno_DeltaEvent.NONE, Uno_DeltaEvent.NONE, pending);
+        }
+        if (model.getCurrentTurnIndex() != turn) {
+            turn = model.getCurrentTurnIndex();
+            add(deltas, model, Uno_DeltaEvent.Kind.TURN_CHANGED, turn, Uno_DeltaEvent.NONE, turn);
+        }
+        if (model.getGameStatus().ordinal() != status) {
+            status = model.getGameStatus().ordinal();
+            add(deltas, model, Uno_DeltaEvent.Kind.STATUS_CHANGED, Uno_DeltaEvent.NONE, Uno_DeltaEvent.NONE, status);
+        }
+
+        if (deltas.isEmpty()) return Collections.emptyList();
+        List<Uno_DeltaEvent> batch = Collections.unmodifiableList(deltas);
+        for (Uno_DeltaListener listener : listeners) {
+            listener.handleDeltas(batch);
+        }
+        return batch;
+    }
+
+    /**
+     * Gets the deltas after a sequence number, for an observer that fell behind.
+     * @param after the sequence of the last delta the observer applied
+     * @return the missing deltas, or null if they are no longer kept and the observer
+     *         has to start again from describeState
+     */
+    public List<Uno_DeltaEvent> getDeltasSince(long after) {
+        if (after > sequence) throw new IllegalArgumentException("Sequence " + after + " has not been published");
+        if (sequence - after > HISTORY_SIZE) return null;
+        List<Uno_DeltaEvent> missing = new ArrayList<>((int) (sequence - after));
+        for (long s = after + 1; s <= sequence; s++) {
+            missing.add(history[(int) (s % HISTORY_SIZE)]);
+        }
+        return missing;
+    }
+
+    /**
+     * Describes the state of the last publish as deltas applied to an empty game. They all
+     * carry the current sequence number, so an observer continues with the next live delta.
+     * @param model the game, used as the source of the events
+     * @return the deltas
+     */
+    public List<Uno_DeltaEvent> describeState(Uno_Model model) {
+        List<Uno_DeltaEvent> state = new ArrayList<>();
+        for (int seat = 0; seat < numPlayers; seat++) {
+            state.add(event(model, Uno_DeltaEvent.Kind.HAND_RESET, seat, Uno_DeltaEvent.NONE, 0));
+            for (int i = 0; i < handSizes[seat]; i++) {
+                state.add(event(model, Uno_DeltaEvent.Kind.CARD_DRAWN, seat, i, hands[seat][i]));
+            }
+        }
+        state.add(event(model, Uno_DeltaEvent.Kind.ACTIVE_CARD, Uno_DeltaEvent.NONE, Uno_DeltaEvent.NONE, activeFace));
+        state.add(event(model, Uno_DeltaEvent.Kind.COLOUR_CHOSEN, Uno_DeltaEvent.NONE, Uno_DeltaEvent.NONE, colour));
+        state.add(event(model, Uno_DeltaEvent.Kind.SIDE_FLIPPED, Uno_DeltaEvent.NONE, Uno_DeltaEvent.NONE, darkSide ? 1 : 0));
+        state.add(event(model, Uno_DeltaEvent.Kind.DIRECTION_CHANGED, Uno_DeltaEvent.NONE, Uno_DeltaEvent.NONE, direction));
+        state.add(event(model, Uno_DeltaEvent.Kind.PENDING_COLOUR, Uno_DeltaEvent.NONE, Uno_DeltaEvent.NONE, pending));
+        state.add(event(model, Uno_DeltaEvent.Kind.TURN_CHANGED, turn, Uno_DeltaEvent.NONE, turn));
+        state.add(event(model, Uno_DeltaEvent.Kind.STATUS_CHANGED, Uno_DeltaEvent.NONE, Uno_DeltaEvent.NONE, status));
+        return state;
+    }
+
+    /**
+     * Compares one hand with its copy and records the difference: a played card, cards drawn
+     * onto the end, or otherwise a reset followed by the whole hand.
+     * @return true if a card was played to the discard pile
+     */
+    private boolean diffHand(Uno_Model model, int seat, List<Card_Model> hand, int newActive,
+                             List<Uno_DeltaEvent> deltas) {
+        int[] old = hands[seat];
+        int oldSize = handSizes[seat];
+        int size = hand.size();
+        int prefix = 0;
+        while (prefix < Math.min(size, oldSize) && old[prefix] == faceOf(hand.get(prefix))) prefix++;
+        if (prefix == size && size == oldSize) return false;
+
+        if (size == oldSize - 1 && old[prefix] == newActive
+                && sameTail(old, prefix + 1, hand, prefix)) {
+            add(deltas, model, Uno_DeltaEvent.Kind.CARD_PLAYED, seat, prefix, old[prefix]);
+            System.arraycopy(old, prefix + 1, old, prefix, oldSize - prefix - 1);
+            handSizes[seat] = size;
+            return true;
+        }
+        if (prefix < oldSize) {
+            add(deltas, model, Uno_DeltaEvent.Kind.HAND_RESET, seat, Uno_DeltaEvent.NONE, 0);
+            prefix = 0;
+        }
+        if (old.length < size) {
+            old = Arrays.copyOf(old, Math.max(size, old.length * 2));
+            hands[seat] = old;
+        }
+        for (int i = prefix; i < size; i++) {
+            old[i] = faceOf(hand.get(i));
+            add(deltas, model, Uno_DeltaEvent.Kind.CARD_DRAWN, seat, i, old[i]);
+        }
+        handSizes[seat] = size;
+        return false;
+    }
+
+    private static boolean sameTail(int[] old, int from, List<Card_Model> hand, int handFrom) {
+        for (int i = handFrom; i < hand.size(); i++) {
+            if (old[from + i - handFrom] != faceOf(hand.get(i))) return false;
+        }
+        return true;
+    }
+
+    private void ensureSeats(int players) {
+        if (players == numPlayers) return;
+        hands = Arrays.copyOf(hands, players);
+        handSizes = Arrays.copyOf(handSizes, players);
+        for (int seat = numPlayers; seat < players; seat++) {
+            hands[seat] = new int[16];
+        }
+        numPlayers = players;
+    }
+
+    private void add(List<Uno_DeltaEvent> deltas, Uno_Model model, Uno_DeltaEvent.Kind kind, int seat, int index, int value) {
+        sequence++;
+        Uno_DeltaEvent delta = event(model, kind, seat, index, value);
+        history[(int) (sequence % HISTORY_SIZE)] = delta;
+        deltas.add(delta);
+    }
+
+    private Uno_DeltaEvent event(Uno_Model model, Uno_DeltaEvent.Kind kind, int seat, int index, int value) {
+        return new Uno_DeltaEvent(model, sequence, kind, seat, index, value);
+    }
+
+    private static int pendingOf(Uno_Model model) {
+        return (model.isPendingColourSelection() ? Uno_DeltaEvent.PENDING_WILD : 0)
+             | (model.isPendingDrawColourSelection() ? Uno_DeltaEvent.PENDING_DRAW : 0);
+    }
+
+    private static int faceOf(Card_Model card) {
+        return card != null ? card.getFaceId() : Uno_DeltaEvent.NONE;
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * This class represents one small change to the game, published by Uno_DeltaBroadcaster.
+ * Observers apply deltas in sequence order to keep a copy of the game up to date, instead of
+ * re-reading the whole model after every Uno_Event.
+ *
+ * Data Structures:
+ *     - Kind kind: Enum describing what changed, and how seat, index and value are used
+ *         * CARD_PLAYED: the card at index of seat's hand moved to the discard pile, value is its face id
+ *         * CARD_DRAWN: a card was added to seat's hand at index, value is its face id
+ *         * HAND_RESET: seat's hand was emptied, the CARD_DRAWN deltas that follow refill it
+ *         * ACTIVE_CARD: the card on the discard pile changed without being played, value is its face id
+ *         * COLOUR_CHOSEN: the colour to match changed, value is the CardColour ordinal
+ *         * SIDE_FLIPPED: value is 1 when the dark side is now up, 0 for the light side
+ *         * DIRECTION_CHANGED: value is the new play direction, 1 or -1
+ *         * PENDING_COLOUR: value holds the PENDING_* bits of the colour choices now waiting
+ *         * TURN_CHANGED: value is the index of the player whose turn it is
+ *         * STATUS_CHANGED: value is the GameStatus ordinal
+ *     - long sequence: Position of the delta in the game's stream, increasing by one per delta
+ *     - int seat, index, value: Plain ints so a delta fits a fixed-size frame, NONE when unused
+ *
+ * @author Lasya Erukulla
+ * @version 5.0
+ */
+public class Uno_DeltaEvent extends Uno_Event {
+    private static final long serialVersionUID = -7715343826654200903L;
+
+    public static final int NONE = -1;
+    public static final int PENDING_WILD = 1;
+    public static final int PENDING_DRAW = 2;
+
+    public enum Kind {
+        CARD_PLAYED,
+        CARD_DRAWN,
+        HAND_RESET,
+        ACTIVE_CARD,
+        COLOUR_CHOSEN,
+        SIDE_FLIPPED,
+        DIRECTION_CHANGED,
+        PENDING_COLOUR,
+        TURN_CHANGED,
+        STATUS_CHANGED
+    }
+
+    private final long sequence;
+    private final Kind kind;
+    private final int seat;
+    private final int index;
+    private final int value;
+
+    /**
+     * Constructor for the Uno_DeltaEvent class
+     * @param model: Uno_Model the game that changed
+     * @param sequence: long position of the delta in the game's stream
+     * @param kind: Kind what changed
+     * @param seat: int the player involved, NONE if none
+     * @param index: int the hand position involved, NONE if none
+     * @param value: int the new value, see Kind
+     */
+    public Uno_DeltaEvent(Uno_Model model, long sequence, Kind kind, int seat, int index, int value) {
+        super(model, model.getGameStatus());
+        this.sequence = sequence;
+        this.kind = kind;
+        this.seat = seat;
+        this.index = index;
+        this.value = value;
+    }
+
+    /**
+     * Get the sequence number of this delta
+     * @return long the position of the delta in the game's stream
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Get what changed
+     * @return Kind the kind of change
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Get the player involved
+     * @return int the seat, NONE if no player is involved
+     */
+    public int getSeat() {
+        return seat;
+    }
+
+    /**
+     * Get the hand position involved
+     * @return int the index, NONE if no card in a hand is involved
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Get the new value
+     * @return int the value, see Kind
+     */
+    public int getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + sequence + " " + kind + " seat=" + seat + " index=" + index + " value=" + value;
+    }
+}
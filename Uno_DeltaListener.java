@@ -0,0 +1,19 @@
+import java.util.List;
+
+/**
+ * Interface for observers of the changes published by Uno_DeltaBroadcaster.
+ *
+ * @author Lasya Erukulla
+ * @version 5.0
+ */
+public interface Uno_DeltaListener {
+
+    /**
+     * Handles the deltas of one game update, in sequence order.
+     * Called on the thread that changed the game, so implementations should only copy or
+     * queue the deltas. The list is shared between listeners and cannot be modified.
+     *
+     * @param deltas the changes, never empty
+     */
+    void handleDeltas(List<Uno_DeltaEvent> deltas);
+}
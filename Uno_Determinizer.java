@@ -0,0 +1,193 @@
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Samples the hidden cards of a round for lookahead AI players (determinization).
+ * The AI player only knows its own hand, the discard pile and how many cards every opponent
+ * and the draw pile hold. Everything else in the deck is unseen, and every sample deals the
+ * unseen cards at random into the opponents' hands and the draw pile.
+ *
+ * Usage:
+ *   1. observe() once per turn, which counts the unseen cards
+ *   2. sample() once per search iteration, which deals them into a copy of the round
+ *
+ * A sample is one partial Fisher-Yates pass over the unseen cards, so it runs in O(unseen) time
+ * and allocates nothing. The unseen array is not reset between samples, shuffling an already
+ * shuffled array is still a uniform shuffle.
+ * There can be more unseen cards than hidden cards (e.g. a card that left the game without
+ * being seen), in that case every sample deals a random subset of the unseen cards.
+ *
+ * Data Structure Design:
+ * - int[] unseenCopies: Number of unseen copies of each card face, indexed by face id
+ * - int[] unseen, int unseenCount: Flat multiset of the unseen faces, shuffled in place
+ * - int[] hiddenSizes, int drawCount: Observed card counts of every player and of the draw pile
+ * - int hiddenCount: Number of cards dealt per sample (opponent hands plus draw pile)
+ *
+ * @author Saan John
+ * @version 5.0
+ */
+public class Uno_Determinizer {
+    private final int[] unseenCopies;
+    private final int[] unseen;
+    private int unseenCount;
+    private final int[] hiddenSizes;
+    private int numPlayers;
+    private int observer;
+    private int drawCount;
+    private int hiddenCount;
+
+    /**
+     * Constructs an empty sampler, observe() must be called before sampling.
+     */
+    public Uno_Determinizer() {
+        unseenCopies = new int[Card_Model.NUM_FACES];
+        unseen = new int[Uno_SimState.MAX_CARDS];
+        hiddenSizes = new int[4];
+        observer = -1;
+    }
+
+    /**
+     * Observes a game from the point of view of one player.
+     * @param game the game being played
+     * @param observer the index of the player whose hand is known
+     * @return true if the unseen cards can fill the observed card counts, false otherwise
+     *         (e.g. a deck that is not the standard 112 cards)
+     */
+    public boolean observe(Uno_Model game, int observer) {
+        List<Player_Model> participants = game.getParticipants();
+        if (observer < 0 || observer >= participants.size() || participants.size() > hiddenSizes.length) return false;
+        startObservation(participants.size(), observer, game.getDeck().getNumDrawCards());
+
+        for (int p = 0; p < numPlayers; p++) {
+            hiddenSizes[p] = p == observer ? 0 : participants.get(p).getNumCards();
+        }
+        for (Card_Model card : participants.get(observer).getHand()) {
+            if (card != null && !markSeen(card.getFaceId())) return false;
+        }
+        List<Card_Model> discardPile = game.getDeck().getDiscardPile();
+        for (Card_Model card : discardPile) {
+            if (card != null && !markSeen(card.getFaceId())) return false;
+        }
+        Card_Model active = game.getActiveCard();
+        if (active != null && (discardPile.isEmpty() || discardPile.get(discardPile.size() - 1) != active)) {
+            if (!markSeen(active.getFaceId())) return false;
+        }
+        return finishObservation();
+    }
+
+    /**
+     * Observes a simulated round from the point of view of one player.
+     * Only the information the player could see is used, the hidden cards in the state are ignored.
+     * @param state the round to observe
+     * @param observer the index of the player whose hand is known
+     * @return true if the unseen cards can fill the observed card counts, false otherwise
+     */
+    public boolean observe(Uno_SimState state, int observer) {
+        if (observer < 0 || observer >= state.getNumPlayers()) return false;
+        startObservation(state.getNumPlayers(), observer, state.getDrawCount());
+
+        for (int p = 0; p < numPlayers; p++) {
+            hiddenSizes[p] = p == observer ? 0 : state.getHandSize(p);
+        }
+        for (int i = 0; i < state.getHandSize(observer); i++) {
+            if (!markSeen(state.getHandCard(observer, i))) return false;
+        }
+        for (int i = 0; i < state.getDiscardCount(); i++) {
+            if (!markSeen(state.getDiscardCard(i))) return false;
+        }
+        return finishObservation();
+    }
+
+    /**
+     * Deals a random sample of the unseen cards into the opponents' hands and the draw pile.
+     * The state must hold the observed round (same hand sizes, draw pile size and observer hand).
+     * @param target the state to fill, usually a fresh copy of the observed round
+     * @param rng the random number generator to deal with
+     */
+    public void sample(Uno_SimState target, SplittableRandom rng) {
+        for (int i = 0; i < hiddenCount; i++) {
+            int j = i + rng.nextInt(unseenCount - i);
+            int tmp = unseen[i];
+            unseen[i] = unseen[j];
+            unseen[j] = tmp;
+        }
+        int next = 0;
+        for (int p = 0; p < numPlayers; p++) {
+            if (p == observer) continue;
+            target.fillHand(p, unseen, next);
+            next += hiddenSizes[p];
+        }
+        target.fillDrawPile(unseen, next);
+    }
+
+    /**
+     * Gets the number of cards the observer cannot see.
+     * @return the unseen card count
+     */
+    public int getUnseenCount() {
+        return unseenCount;
+    }
+
+    /**
+     * Gets the number of cards dealt by every sample.
+     * @return the hidden card count
+     */
+    public int getHiddenCount() {
+        return hiddenCount;
+    }
+
+    /**
+     * Gets how many copies of a card face the observer cannot see.
+     * @param face the face id
+     * @return the number of unseen copies
+     */
+    public int getUnseenCopies(int face) {
+        return unseenCopies[face];
+    }
+
+    /**
+     * Resets the counts for a new observation.
+     */
+    private void startObservation(int numPlayers, int observer, int drawCount) {
+        this.numPlayers = numPlayers;
+        this.observer = observer;
+        this.drawCount = drawCount;
+        for (int face = 0; face < unseenCopies.length; face++) {
+            unseenCopies[face] = Card_Model.getFaceCopies(face);
+        }
+    }
+
+    /**
+     * Removes one seen copy of a face from the unseen counts.
+     * @return false if the face is not part of the deck or all its copies were already seen
+     */
+    private boolean markSeen(int face) {
+        if (face < 0 || unseenCopies[face] == 0) {
+            unseenCount = 0;
+            return false;
+        }
+        unseenCopies[face]--;
+        return true;
+    }
+
+    /**
+     * Flattens the unseen counts into the unseen array and checks them against the card counts.
+     */
+    private boolean finishObservation() {
+        hiddenCount = drawCount;
+        for (int p = 0; p < numPlayers; p++) hiddenCount += hiddenSizes[p];
+
+        unseenCount = 0;
+        for (int face = 0; face < unseenCopies.length; face++) {
+            for (int c = 0; c < unseenCopies[face]; c++) {
+                if (unseenCount == unseen.length) break;
+                unseen[unseenCount++] = face;
+            }
+        }
+        if (unseenCount < hiddenCount) {
+            unseenCount = 0;
+            return false;
+        }
+        return true;
+    }
+}
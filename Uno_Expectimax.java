@@ -0,0 +1,539 @@
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Depth-limited expectimax lookahead for AI players.
+ * The AI player's own turns are max nodes. Drawing a card is a chance node over the cards the AI
+ * has not seen (see Uno_Determinizer), and the opponent's turn is a chance node over the unseen
+ * cards it could play on the active card, or no play at all.
+ * Positions are evaluated from the AI player's hand once the depth or the node budget runs out.
+ *
+ * Depth counts the AI player's decisions, so depth 2 looks at this move, the opponent's reply
+ * and the AI's following move. Iterative deepening is used, the move of the deepest depth that
+ * finished within the node budget is returned.
+ *
+ * Simplifications (the search only knows what the AI player knows):
+ * - The unseen cards are treated as a fixed distribution for the opponent's plays, only the
+ *   cards the AI draws are taken out of them
+ * - All opponents are modelled as one opponent holding the average opponent hand size
+ * - Draw cards played by the AI score a bonus instead of growing an opponent hand, draw cards
+ *   played against the AI cost a penalty instead of adding drawn cards to its hand
+ *
+ * Data Structure Design:
+ * - int[] handCopies: Number of copies of each face in the AI's hand, changed and restored in place
+ * - int[] unseenCopies: Number of unseen copies of each face, less the copies drawn on the
+ *   current line of play, changed and restored in place
+ * - Transposition table (parallel arrays of a fixed power of two size): Caches evaluated positions
+ *      * Keyed by a Zobrist hash of the hand, cards drawn, active card, match colour, side, direction
+ *        and node type
+ *      * Entries from earlier turns are ignored using a generation counter, so it is never cleared
+ *      * Memory is fixed when the search is created, colliding entries are simply replaced
+ *
+ * @author Lasya Erukulla
+ * @version 5.0
+ */
+public class Uno_Expectimax {
+    public static final int DEFAULT_MAX_DEPTH = 3;
+    public static final int DEFAULT_NODE_BUDGET = 200_000;
+    public static final int DEFAULT_TABLE_BITS = 16;
+
+    private static final double WIN_VALUE = 100.0;
+    private static final double CARD_WEIGHT = 1.0;
+    private static final double POINT_WEIGHT = 0.02;
+    private static final double PLAYABLE_BONUS = 0.3;
+    private static final double ATTACK_WEIGHT = 0.5;
+
+    private static final int NUM_COLOURS = Card_Model.CardColour.values().length;
+    private static final int[][] FACE_VALUE = new int[2][Card_Model.NUM_FACES];
+    private static final int[][] FACE_COLOUR = new int[2][Card_Model.NUM_FACES];
+    private static final int[][] FACE_SCORE = new int[2][Card_Model.NUM_FACES];
+    private static final boolean[][] FACE_WILD = new boolean[2][Card_Model.NUM_FACES];
+    private static final int[][] SIDE_COLOUR_ORDINALS = new int[2][4];
+
+    private static final long[][] HAND_KEYS = new long[Card_Model.NUM_FACES][4];
+    private static final long[][] DRAWN_KEYS = new long[Card_Model.NUM_FACES][4];
+    private static final long[] ACTIVE_KEYS = new long[Card_Model.NUM_FACES];
+    private static final long[] COLOUR_KEYS = new long[NUM_COLOURS];
+    private static final long DARK_SIDE_KEY;
+    private static final long REVERSED_KEY;
+    private static final long OPPONENT_NODE_KEY;
+
+    static {
+        for (int side = 0; side < 2; side++) {
+            for (int face = 0; face < Card_Model.NUM_FACES; face++) {
+                Card_Model.CardValue value = Card_Model.getFaceValue(face, side == 1);
+                FACE_VALUE[side][face] = value.ordinal();
+                FACE_COLOUR[side][face] = Card_Model.getFaceColour(face, side == 1).ordinal();
+                FACE_SCORE[side][face] = Card_Model.getFaceScore(face, side == 1);
+                FACE_WILD[side][face] = Card_Model.isWildFace(face, side == 1);
+            }
+            Card_Model.CardColour[] colours = Uno_SimState.getSideColours(side == 1);
+            for (int i = 0; i < 4; i++) SIDE_COLOUR_ORDINALS[side][i] = colours[i].ordinal();
+        }
+        SplittableRandom keys = new SplittableRandom(0x5EED_CA4DL);
+        for (long[] faceKeys : HAND_KEYS) {
+            for (int c = 0; c < faceKeys.length; c++) faceKeys[c] = keys.nextLong();
+        }
+        for (long[] faceKeys : DRAWN_KEYS) {
+            for (int c = 0; c < faceKeys.length; c++) faceKeys[c] = keys.nextLong();
+        }
+        for (int i = 0; i < ACTIVE_KEYS.length; i++) ACTIVE_KEYS[i] = keys.nextLong();
+        for (int i = 0; i < COLOUR_KEYS.length; i++) COLOUR_KEYS[i] = keys.nextLong();
+        DARK_SIDE_KEY = keys.nextLong();
+        REVERSED_KEY = keys.nextLong();
+        OPPONENT_NODE_KEY = keys.nextLong();
+    }
+
+    private static final int REVERSE = Card_Model.CardValue.REVERSE.ordinal();
+    private static final int SKIP = Card_Model.CardValue.SKIP.ordinal();
+    private static final int DRAW_ONE = Card_Model.CardValue.DRAW_ONE.ordinal();
+    private static final int WILD_DRAW_TWO = Card_Model.CardValue.WILD_DRAW_TWO.ordinal();
+    private static final int FLIP = Card_Model.CardValue.FLIP.ordinal();
+    private static final int DRAW_FIVE = Card_Model.CardValue.DRAW_FIVE.ordinal();
+    private static final int SKIP_EVERYONE = Card_Model.CardValue.SKIP_EVERYONE.ordinal();
+    private static final int WILD_DRAW_COLOUR = Card_Model.CardValue.WILD_DRAW_COLOUR.ordinal();
+
+    private int maxDepth;
+    private int nodeBudget;
+
+    private final Uno_Determinizer sampler;
+    private final int[] handCopies;
+    private final int[] unseenCopies;
+    private int handSize;
+    private long handHash;
+    private long drawnHash;
+    private int activeFace;
+    private int matchColour;
+    private int side;
+    private int direction;
+    private int numPlayers;
+    private int opponentHandSize;
+    private int unseenTotal;
+
+    private int nodes;
+    private boolean budgetHit;
+    private int lastDepth;
+
+    private final int tableMask;
+    private final long[] tableKeys;
+    private final double[] tableValues;
+    private final byte[] tableDepths;
+    private final int[] tableGenerations;
+    private int generation;
+
+    /**
+     * Constructs a search with the default depth, node budget and table size.
+     */
+    public Uno_Expectimax() {
+        this(DEFAULT_MAX_DEPTH, DEFAULT_NODE_BUDGET, DEFAULT_TABLE_BITS);
+    }
+
+    /**
+     * Constructs a search.
+     * @param maxDepth the number of AI decisions to look ahead
+     * @param nodeBudget the maximum number of nodes searched per turn
+     * @param tableBits the transposition table holds 2^tableBits entries
+     */
+    public Uno_Expectimax(int maxDepth, int nodeBudget, int tableBits) {
+        this.maxDepth = maxDepth;
+        this.nodeBudget = nodeBudget;
+        this.sampler = new Uno_Determinizer();
+        this.handCopies = new int[Card_Model.NUM_FACES];
+        this.unseenCopies = new int[Card_Model.NUM_FACES];
+        int size = 1 << tableBits;
+        this.tableMask = size - 1;
+        this.tableKeys = new long[size];
+        this.tableValues = new double[size];
+        this.tableDepths = new byte[size];
+        this.tableGenerations = new int[size];
+    }
+
+    /**
+     * Sets the search limits.
+     * @param maxDepth the number of AI decisions to look ahead
+     * @param nodeBudget the maximum number of nodes searched per turn
+     */
+    public void setBudget(int maxDepth, int nodeBudget) {
+        this.maxDepth = maxDepth;
+        this.nodeBudget = nodeBudget;
+    }
+
+    /**
+     * Searches for the best move of a player in a game.
+     * @param game the game to search
+     * @param observer the index of the AI player
+     * @return the encoded move (see Uno_SimState), or Uno_MCTS.NO_MOVE if the game cannot be searched
+     */
+    public int search(Uno_Model game, int observer) {
+        if (!load(game, observer)) return Uno_MCTS.NO_MOVE;
+        return searchLoaded();
+    }
+
+    /**
+     * Searches for the best move of a player from a simulation state, e.g. a copy of the game
+     * taken so the search can run while the game changes.
+     * @param state the state to search from, it is not changed
+     * @param observer the index of the AI player
+     * @return the encoded move (see Uno_SimState), or Uno_MCTS.NO_MOVE if the state cannot be searched
+     */
+    public int searchState(Uno_SimState state, int observer) {
+        if (!load(state, observer)) return Uno_MCTS.NO_MOVE;
+        return searchLoaded();
+    }
+
+    /**
+     * Runs the iterative deepening from the loaded position.
+     */
+    private int searchLoaded() {
+        generation++;
+        nodes = 0;
+        lastDepth = 0;
+
+        int bestMove = Uno_MCTS.NO_MOVE;
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            budgetHit = false;
+            int move = searchRoot(depth);
+            if (budgetHit && bestMove != Uno_MCTS.NO_MOVE) break;
+            bestMove = move;
+            lastDepth = depth;
+            if (budgetHit) break;
+        }
+        return bestMove;
+    }
+
+    /**
+     * Gets the number of nodes searched in the last search.
+     * @return the node count
+     */
+    public int getLastNodes() {
+        return nodes;
+    }
+
+    /**
+     * Gets the deepest depth that finished in the last search.
+     * @return the depth
+     */
+    public int getLastDepth() {
+        return lastDepth;
+    }
+
+    /**
+     * Loads the AI player's view of the game.
+     */
+    private boolean load(Uno_Model game, int observer) {
+        List<Player_Model> participants = game.getParticipants();
+        Card_Model active = game.getActiveCard();
+        if (active == null || active.getFaceId() < 0 || !sampler.observe(game, observer)) return false;
+
+        Arrays.fill(handCopies, 0);
+        handSize = 0;
+        handHash = 0L;
+        for (Card_Model card : participants.get(observer).getHand()) {
+            if (card == null) continue;
+            int face = card.getFaceId();
+            handHash ^= HAND_KEYS[face][handCopies[face]];
+            handCopies[face]++;
+            handSize++;
+        }
+        activeFace = active.getFaceId();
+        matchColour = game.getMatchColour().ordinal();
+        side = game.isDarkSide() ? 1 : 0;
+        direction = game.getPlayDirection();
+        numPlayers = participants.size();
+
+        int opponentCards = 0;
+        for (int p = 0; p < numPlayers; p++) {
+            if (p != observer) opponentCards += participants.get(p).getNumCards();
+        }
+        opponentHandSize = Math.max(1, Math.round(opponentCards / (float) Math.max(1, numPlayers - 1)));
+        loadUnseen();
+        return true;
+    }
+
+    /**
+     * Loads the root position from a simulation state, the same way as from a game.
+     */
+    private boolean load(Uno_SimState state, int observer) {
+        int discards = state.getDiscardCount();
+        if (discards == 0 || observer < 0 || observer >= state.getNumPlayers()
+                || !sampler.observe(state, observer)) return false;
+
+        Arrays.fill(handCopies, 0);
+        handSize = 0;
+        handHash = 0L;
+        for (int i = 0; i < state.getHandSize(observer); i++) {
+            int face = state.getHandCard(observer, i);
+            handHash ^= HAND_KEYS[face][handCopies[face]];
+            handCopies[face]++;
+            handSize++;
+        }
+        activeFace = state.getDiscardCard(discards - 1);
+        matchColour = state.getMatchColour();
+        side = state.isDarkSide() ? 1 : 0;
+        direction = state.getPlayDirection();
+        numPlayers = state.getNumPlayers();
+
+        int opponentCards = 0;
+        for (int p = 0; p < numPlayers; p++) {
+            if (p != observer) opponentCards += state.getHandSize(p);
+        }
+        opponentHandSize = Math.max(1, Math.round(opponentCards / (float) Math.max(1, numPlayers - 1)));
+        loadUnseen();
+        return true;
+    }
+
+    private void loadUnseen() {
+        unseenTotal = 0;
+        for (int face = 0; face < Card_Model.NUM_FACES; face++) {
+            unseenCopies[face] = sampler.getUnseenCopies(face);
+            unseenTotal += unseenCopies[face];
+        }
+        drawnHash = 0L;
+    }
+
+    /**
+     * Runs the max node at the root and returns its best move.
+     */
+    private int searchRoot(int depth) {
+        nodes++;
+        int bestMove = Uno_MCTS.NO_MOVE;
+        double best = Double.NEGATIVE_INFINITY;
+        boolean anyPlay = false;
+        for (int face = 0; face < Card_Model.NUM_FACES; face++) {
+            if (handCopies[face] == 0 || !isPlayable(face)) continue;
+            anyPlay = true;
+            int colours = FACE_WILD[side][face] ? 4 : 1;
+            for (int c = 0; c < colours; c++) {
+                double value = playValue(face, c, depth);
+                if (value > best) {
+                    best = value;
+                    bestMove = face * 4 + c;
+                }
+            }
+        }
+        if (!anyPlay) return Uno_SimState.DRAW_MOVE;
+        return bestMove;
+    }
+
+    /**
+     * Value of the AI player's turn.
+     */
+    private double maxValue(int depth) {
+        if (depth == 0 || nodes >= nodeBudget) {
+            if (depth > 0) budgetHit = true;
+            return evaluate();
+        }
+        long key = positionKey();
+        int slot = (int) (key ^ (key >>> 32)) & tableMask;
+        if (tableGenerations[slot] == generation && tableKeys[slot] == key && tableDepths[slot] >= depth) {
+            return tableValues[slot];
+        }
+        nodes++;
+        boolean hitBefore = budgetHit;
+        budgetHit = false;
+
+        double best = Double.NEGATIVE_INFINITY;
+        for (int face = 0; face < Card_Model.NUM_FACES; face++) {
+            if (handCopies[face] == 0 || !isPlayable(face)) continue;
+            int colours = FACE_WILD[side][face] ? 4 : 1;
+            for (int c = 0; c < colours; c++) {
+                best = Math.max(best, playValue(face, c, depth));
+            }
+        }
+        if (best == Double.NEGATIVE_INFINITY) best = drawValue(depth);
+
+        if (!budgetHit) store(slot, key, depth, best);
+        budgetHit |= hitBefore;
+        return best;
+    }
+
+    /**
+     * Value of the AI player playing a card, followed by the rest of the game.
+     */
+    private double playValue(int face, int colourIdx, int depth) {
+        removeCard(face);
+        if (handSize == 0) {
+            addCard(face);
+            return WIN_VALUE;
+        }
+        int savedActive = activeFace;
+        int savedColour = matchColour;
+        int savedSide = side;
+        int savedDirection = direction;
+
+        int value = FACE_VALUE[side][face];
+        activeFace = face;
+        matchColour = FACE_WILD[side][face] ? SIDE_COLOUR_ORDINALS[side][colourIdx] : FACE_COLOUR[side][face];
+        double reward = ATTACK_WEIGHT * attackSize(value);
+        boolean keepsTurn = value == REVERSE || value == SKIP_EVERYONE
+                || (numPlayers == 2 && (value == SKIP || attackSize(value) > 0));
+        if (value == REVERSE && numPlayers > 2) direction = -direction;
+        if (value == FLIP) {
+            side = 1 - side;
+            matchColour = FACE_COLOUR[side][face];
+        }
+
+        double result = reward + (keepsTurn ? maxValue(depth - 1) : opponentValue(depth - 1));
+
+        activeFace = savedActive;
+        matchColour = savedColour;
+        side = savedSide;
+        direction = savedDirection;
+        addCard(face);
+        return result;
+    }
+
+    /**
+     * Value of the AI player drawing a card (chance node over the unseen cards), then passing.
+     * The drawn copy leaves the unseen cards until the draw is undone, so it cannot be drawn again.
+     */
+    private double drawValue(int depth) {
+        if (unseenTotal == 0) return opponentValue(depth - 1);
+        int total = unseenTotal;
+        double sum = 0.0;
+        for (int face = 0; face < Card_Model.NUM_FACES; face++) {
+            int copies = unseenCopies[face];
+            if (copies == 0) continue;
+            drawCard(face);
+            sum += copies * opponentValue(depth - 1);
+            undrawCard(face);
+        }
+        return sum / total;
+    }
+
+    /**
+     * Value of the opponent's turn (chance node over the unseen cards it could play).
+     */
+    private double opponentValue(int depth) {
+        if (depth == 0 || nodes >= nodeBudget || unseenTotal == 0) {
+            if (depth > 0 && unseenTotal > 0) budgetHit = true;
+            return evaluate();
+        }
+        long key = positionKey() ^ OPPONENT_NODE_KEY;
+        int slot = (int) (key ^ (key >>> 32)) & tableMask;
+        if (tableGenerations[slot] == generation && tableKeys[slot] == key && tableDepths[slot] >= depth) {
+            return tableValues[slot];
+        }
+        nodes++;
+        boolean hitBefore = budgetHit;
+        budgetHit = false;
+
+        int playable = 0;
+        for (int face = 0; face < Card_Model.NUM_FACES; face++) {
+            if (isPlayable(face)) playable += unseenCopies[face];
+        }
+        double playChance = 1.0 - Math.pow(1.0 - playable / (double) unseenTotal, opponentHandSize);
+        double result = (1.0 - playChance) * maxValue(depth);
+
+        if (playable > 0) {
+            int savedActive = activeFace;
+            int savedColour = matchColour;
+            int savedSide = side;
+            int savedDirection = direction;
+            double hitChance = numPlayers == 2 ? 1.0 : 1.0 / (numPlayers - 1);
+            double played = 0.0;
+            for (int face = 0; face < Card_Model.NUM_FACES; face++) {
+                int copies = unseenCopies[face];
+                if (copies == 0 || !isPlayable(face)) continue;
+                int value = FACE_VALUE[side][face];
+                double penalty = CARD_WEIGHT * attackSize(value) * hitChance;
+                activeFace = face;
+                if (value == REVERSE && numPlayers > 2) direction = -direction;
+                if (value == FLIP) side = 1 - side;
+                if (FACE_WILD[savedSide][face]) {
+                    double sum = 0.0;
+                    for (int c = 0; c < 4; c++) {
+                        matchColour = SIDE_COLOUR_ORDINALS[savedSide][c];
+                        sum += maxValue(depth);
+                    }
+                    played += copies * (sum / 4 - penalty);
+                } else {
+                    matchColour = FACE_COLOUR[side][face];
+                    played += copies * (maxValue(depth) - penalty);
+                }
+                activeFace = savedActive;
+                matchColour = savedColour;
+                side = savedSide;
+                direction = savedDirection;
+            }
+            result += playChance * played / playable;
+        }
+
+        if (!budgetHit) store(slot, key, depth, result);
+        budgetHit |= hitBefore;
+        return result;
+    }
+
+    /**
+     * Static evaluation of the AI player's position, higher is better.
+     */
+    private double evaluate() {
+        int points = 0;
+        boolean canPlay = false;
+        for (int face = 0; face < Card_Model.NUM_FACES; face++) {
+            int copies = handCopies[face];
+            if (copies == 0) continue;
+            points += copies * FACE_SCORE[side][face];
+            if (!canPlay && isPlayable(face)) canPlay = true;
+        }
+        return -CARD_WEIGHT * handSize - POINT_WEIGHT * points + (canPlay ? PLAYABLE_BONUS : 0.0);
+    }
+
+    private boolean isPlayable(int face) {
+        return FACE_WILD[side][face]
+                || FACE_COLOUR[side][face] == matchColour
+                || FACE_VALUE[side][face] == FACE_VALUE[side][activeFace];
+    }
+
+    /**
+     * Number of cards a card makes the next player draw (estimated for Wild Draw Colour).
+     */
+    private static int attackSize(int value) {
+        if (value == DRAW_ONE) return 1;
+        if (value == WILD_DRAW_TWO) return 2;
+        if (value == DRAW_FIVE) return 5;
+        if (value == WILD_DRAW_COLOUR) return 3;
+        return 0;
+    }
+
+    private long positionKey() {
+        long key = handHash ^ drawnHash ^ ACTIVE_KEYS[activeFace] ^ COLOUR_KEYS[matchColour];
+        if (side == 1) key ^= DARK_SIDE_KEY;
+        if (direction < 0) key ^= REVERSED_KEY;
+        return key;
+    }
+
+    private void store(int slot, long key, int depth, double value) {
+        tableKeys[slot] = key;
+        tableValues[slot] = value;
+        tableDepths[slot] = (byte) depth;
+        tableGenerations[slot] = generation;
+    }
+
+    private void addCard(int face) {
+        handHash ^= HAND_KEYS[face][handCopies[face]];
+        handCopies[face]++;
+        handSize++;
+    }
+
+    private void removeCard(int face) {
+        handCopies[face]--;
+        handHash ^= HAND_KEYS[face][handCopies[face]];
+        handSize--;
+    }
+
+    private void drawCard(int face) {
+        unseenCopies[face]--;
+        unseenTotal--;
+        drawnHash ^= DRAWN_KEYS[face][unseenCopies[face]];
+        addCard(face);
+    }
+
+    private void undrawCard(int face) {
+        removeCard(face);
+        drawnHash ^= DRAWN_KEYS[face][unseenCopies[face]];
+        unseenCopies[face]++;
+        unseenTotal++;
+    }
+}
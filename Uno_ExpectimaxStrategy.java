@@ -0,0 +1,33 @@
+/**
+ * EXPECTIMAX strategy: searches with Uno_Expectimax and plays like STRATEGIC when the search
+ * cannot be run. The search and its transposition table are created on first use and reused
+ * between turns.
+ *
+ * @author Lasya Erukulla
+ * @version 5.0
+ */
+public class Uno_ExpectimaxStrategy extends Uno_StrategicStrategy implements Uno_SearchStrategy {
+    public static final String NAME = "EXPECTIMAX";
+
+    private int depth = Uno_Expectimax.DEFAULT_MAX_DEPTH;
+    private int nodeBudget = Uno_Expectimax.DEFAULT_NODE_BUDGET;
+    private Uno_Expectimax search;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int search(Uno_SimState state, int observer) {
+        if (search == null) search = new Uno_Expectimax(depth, nodeBudget, Uno_Expectimax.DEFAULT_TABLE_BITS);
+        return search.searchState(state, observer);
+    }
+
+    @Override
+    public void setLookaheadBudget(int depth, int nodeBudget) {
+        this.depth = depth;
+        this.nodeBudget = nodeBudget;
+        if (search != null) search.setBudget(depth, nodeBudget);
+    }
+}
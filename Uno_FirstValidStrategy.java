@@ -0,0 +1,22 @@
+/**
+ * AI strategy that plays the first valid card in the hand.
+ *
+ * @author Lucas Baker
+ * @version 5.0
+ */
+public class Uno_FirstValidStrategy implements Uno_AIStrategy {
+    public static final String NAME = "FIRST_VALID";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int selectCard(Uno_GameView view) {
+        for (int i = 0; i < view.getHandSize(); i++) {
+            if (view.isPlayable(i)) return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,318 @@
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs one game as an actor: commands for the game are posted to a bounded mailbox and
+ * applied one at a time by a drain task on a shared executor, so any thread can send
+ * commands and only one thread at a time ever touches the game.
+ *
+ * An actor holds no thread of its own. A drain task only runs while the mailbox has
+ * commands, and AI pacing and the turn timer are timed waits on the mailbox: a timer posts
+ * the AI move or the timeout once the wait is over, and a command that arrives first is
+ * handled straight away and re-arms the wait. An idle game therefore costs a queue and at
+ * most one pending timer, so one small pool can serve many games.
+ *
+ * A full mailbox rejects the command instead of blocking the sender, so a flood of commands
+ * for one game cannot stall the threads that post them.
+ *
+ * Data Structures:
+ *   - BlockingQueue<Command> mailbox: ArrayBlockingQueue of the commands not yet applied
+ *         * Bounded, so a slow game pushes back on its senders instead of growing without limit
+ *   - AtomicBoolean draining: Set while a drain task is queued or running
+ *         * Makes sure at most one drain runs at a time, so commands are applied in order
+ *   - Uno_TurnDriver turns: Arms and plays the AI moves and turn timeouts, only used by drain tasks
+ *         * The same driver Uno_Table runs its games with, posting its moves to the mailbox
+ *
+ * @author Saan John
+ * @version 5.0
+ */
+public class Uno_GameActor implements AutoCloseable {
+    public static final int DEFAULT_MAILBOX_CAPACITY = 64;
+    private static final int MAX_BATCH = 32;
+
+    public enum CommandType {
+        PLAY_CARD,      // Play the card at arg in the current player's hand
+        CHOOSE_COLOUR,  // Choose the colour with ordinal arg for a played wild card
+        DRAW,           // Draw a card for the current player
+        NEXT_PLAYER,    // Pass the turn
+        TIMEOUT,        // The current player ran out of time
+        UNDO,           // Undo the last action
+        REDO,           // Redo the last undone action
+        START,          // Deal the first round of a game that has not started
+        NEXT_ROUND,     // Start the next round once a round is over
+        AI_TURN         // Play the AI's turn, posted by the actor's own timer
+    }
+
+    /**
+     * A command waiting in the mailbox with the future its sender holds.
+     */
+    private static final class Command {
+        final CommandType type;
+        final int arg;
+        final CompletableFuture<Boolean> result;
+
+        Command(CommandType type, int arg) {
+            this.type = type;
+            this.arg = arg;
+            this.result = new CompletableFuture<>();
+        }
+    }
+
+    private final Uno_Controller controller;
+    private final ScheduledExecutorService executor;
+    private final BlockingQueue<Command> mailbox;
+    private final AtomicBoolean draining;
+    private final Uno_TurnDriver turns;
+    private volatile boolean closed;
+
+    /**
+     * Constructs an actor for a game with a mailbox of DEFAULT_MAILBOX_CAPACITY.
+     * @param controller the controller of the game, only used through the actor from now on
+     * @param executor the executor running drain tasks and timers, may be shared by many actors
+     */
+    public Uno_GameActor(Uno_Controller controller, ScheduledExecutorService executor) {
+        this(controller, executor, DEFAULT_MAILBOX_CAPACITY);
+    }
+
+    /**
+     * Constructs an actor for a game.
+     * @param controller the controller of the game, only used through the actor from now on
+     * @param executor the executor running drain tasks and timers, may be shared by many actors
+     * @param capacity the number of commands the mailbox holds
+     */
+    public Uno_GameActor(Uno_Controller controller, ScheduledExecutorService executor, int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("Mailbox capacity must be positive, got " + capacity);
+        this.controller = controller;
+        this.executor = executor;
+        this.mailbox = new ArrayBlockingQueue<>(capacity);
+        this.draining = new AtomicBoolean();
+        this.turns = new Uno_TurnDriver(controller, executor);
+    }
+
+    /* Commands */
+
+    /**
+     * Plays a card for the current player.
+     * @param cardIndex the index of the card in the player's hand
+     * @return completes with true if the card was played
+     */
+    public CompletableFuture<Boolean> playCard(int cardIndex) {
+        return send(CommandType.PLAY_CARD, cardIndex);
+    }
+
+    /**
+     * Chooses the colour of a played wild card.
+     * @param colour the colour of the current side
+     * @return completes with true if the colour was set
+     */
+    public CompletableFuture<Boolean> setWildCardColour(Card_Model.CardColour colour) {
+        return send(CommandType.CHOOSE_COLOUR, colour.ordinal());
+    }
+
+    /**
+     * Draws a card for the current player.
+     * @return completes with true once the card is drawn
+     */
+    public CompletableFuture<Boolean> handleDrawCard() {
+        return send(CommandType.DRAW, 0);
+    }
+
+    /**
+     * Passes the turn of the current player.
+     * @return completes with true once the turn has passed
+     */
+    public CompletableFuture<Boolean> handleNextPlayer() {
+        return send(CommandType.NEXT_PLAYER, 0);
+    }
+
+    /**
+     * Ends the current player's turn if their time is up.
+     * @return completes with true if the turn timed out
+     */
+    public CompletableFuture<Boolean> handleTurnTimeout() {
+        return send(CommandType.TIMEOUT, 0);
+    }
+
+    /**
+     * Undoes the last action.
+     * @return completes with true if an action was undone
+     */
+    public CompletableFuture<Boolean> undo() {
+        return send(CommandType.UNDO, 0);
+    }
+
+    /**
+     * Redoes the last undone action.
+     * @return completes with true if an action was redone
+     */
+    public CompletableFuture<Boolean> redo() {
+        return send(CommandType.REDO, 0);
+    }
+
+    /**
+     * Starts the game's first round and begins playing AI turns.
+     * @return completes with true once the round has started
+     */
+    public CompletableFuture<Boolean> start() {
+        return send(CommandType.START, 0);
+    }
+
+    /**
+     * Starts the next round once a round is over.
+     * @return completes with true if a new round was started
+     */
+    public CompletableFuture<Boolean> startNextRound() {
+        return send(CommandType.NEXT_ROUND, 0);
+    }
+
+    /**
+     * Posts a command to the mailbox.
+     * @param type the command
+     * @param arg the card index or colour ordinal, 0 for the other commands
+     * @return completes with the command's result once applied, or exceptionally with a
+     *         RejectedExecutionException if the mailbox is full or the actor is closed
+     */
+    public CompletableFuture<Boolean> send(CommandType type, int arg) {
+        Command command = new Command(type, arg);
+        if (closed) {
+            command.result.completeExceptionally(new RejectedExecutionException("The game actor is closed"));
+        } else if (!mailbox.offer(command)) {
+            command.result.completeExceptionally(new RejectedExecutionException("The mailbox is full"));
+        } else {
+            startDrain();
+        }
+        return command.result;
+    }
+
+    /**
+     * Closes the actor. Commands still in the mailbox fail and the timer is cancelled.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        startDrain();
+    }
+
+    /* Getters */
+
+    /**
+     * Gets the controller of the game. Read it through getSnapshot on the controller,
+     * changes must be sent as commands.
+     * @return the controller
+     */
+    public Uno_Controller getController() {
+        return controller;
+    }
+
+    /**
+     * Gets the number of commands waiting in the mailbox.
+     * @return the number of commands
+     */
+    public int getPendingCommands() {
+        return mailbox.size();
+    }
+
+    /**
+     * Checks if the actor is closed.
+     * @return true once close was called
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /* Drain task */
+
+    private void startDrain() {
+        if (draining.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+                closed = true;
+                failPending(e);
+            }
+        }
+    }
+
+    /**
+     * Applies a batch of commands, then re-arms the timed wait. A long mailbox is drained in
+     * batches so games sharing the executor take turns.
+     */
+    private void drain() {
+        try {
+            if (closed) {
+                turns.cancel();
+                failPending(new RejectedExecutionException("The game actor is closed"));
+                return;
+            }
+            for (int i = 0; i < MAX_BATCH; i++) {
+                Command command = mailbox.poll();
+                if (command == null) break;
+                try {
+                    command.result.complete(apply(command));
+                } catch (RuntimeException e) {
+                    command.result.completeExceptionally(e);
+                }
+            }
+            turns.arm(controller.getAIDelayMillis(),
+                () -> post(CommandType.AI_TURN), () -> post(CommandType.TIMEOUT));
+        } finally {
+            draining.set(false);
+        }
+        // A command posted while the flag was still set did not start a drain of its own
+        if (!mailbox.isEmpty() || closed) startDrain();
+    }
+
+    private boolean apply(Command command) {
+        switch (command.type) {
+            case PLAY_CARD:
+                return controller.playCard(command.arg);
+            case CHOOSE_COLOUR:
+                Card_Model.CardColour[] colours = Card_Model.CardColour.values();
+                if (command.arg < 0 || command.arg >= colours.length) return false;
+                return controller.setWildCardColour(colours[command.arg]);
+            case DRAW:
+                if (controller.getGameStatus() != Uno_Model.GameStatus.IN_PROGRESS) return false;
+                controller.handleDrawCard();
+                return true;
+            case NEXT_PLAYER:
+                if (controller.getGameStatus() != Uno_Model.GameStatus.IN_PROGRESS) return false;
+                controller.handleNextPlayer();
+                return true;
+            case TIMEOUT:
+                return turns.handleTimeout();
+            case UNDO:
+                return controller.undoGameState();
+            case REDO:
+                return controller.redoGameState();
+            case START:
+                if (controller.getGameStatus() != Uno_Model.GameStatus.NOT_STARTED) return false;
+                controller.initializeGame();
+                return true;
+            case NEXT_ROUND:
+                if (!controller.isRoundOver() || controller.isGameOver()) return false;
+                controller.startNewRound();
+                return true;
+            case AI_TURN:
+                return turns.playAITurn();
+            default:
+                return false;
+        }
+    }
+
+    private void post(CommandType type) {
+        // If the mailbox is full the drain emptying it re-arms the timer
+        send(type, 0);
+    }
+
+    private void failPending(RuntimeException cause) {
+        Command command;
+        while ((command = mailbox.poll()) != null) {
+            command.result.completeExceptionally(cause);
+        }
+    }
+}
@@ -0,0 +1,299 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Append-only archive of finished games on disk. Games are written back to back into large
+ * segment files and read through MappedByteBuffers, so a sequential scan reads straight from
+ * the page cache without copying or per-game system calls. An index file holds the position
+ * of every game, so any game is found by its id with one lookup.
+ *
+ * Layout of the archive directory:
+ *   segment-NNNNNN.dat  a 16 byte header (MAGIC, VERSION, long bytes used) followed by records,
+ *                       each an int length and a Uno_GameRecord encoding
+ *   index.dat           a 16 byte header (MAGIC, VERSION, long game count) followed by one long
+ *                       per game id: the segment number in the high 24 bits, the offset of the
+ *                       record in the low 40 bits
+ *
+ * Game ids count up from 0 in append order. The game count in the index header is written
+ * last, so a game only becomes visible once it is completely written, and an archive whose
+ * process died without closing it reopens with every game appended before the last completed
+ * one. That only holds while the page cache survives: after an operating system crash the
+ * mapped pages may have reached the disk in any order, so only the games appended before the
+ * last flush() or close() are safe. flush() writes the index header page last for that reason.
+ *
+ * Segments hold up to DEFAULT_SEGMENT_BYTES (1 GB) each unless the archive is opened with
+ * another size, so hundreds of millions of games take a few hundred segments. Appends are
+ * serialized; reads and scans may run on any number of threads.
+ *
+ * Data Structures:
+ *   - MappedByteBuffer[] segments: One mapping per segment file, indexed by segment number
+ *         * Replaced by a longer copy when a segment is added, so readers never see it change
+ *   - MappedByteBuffer[] indexPages: The index file mapped INDEX_PAGE_BYTES at a time
+ *         * Mapped as ids reach them, so a large index is never mapped in one piece
+ *
+ * @author Lucas Baker
+ * @version 5.0
+ */
+public class Uno_GameArchive implements AutoCloseable {
+    public static final int MAGIC = 0x554E4F41;
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 16;
+    public static final int DEFAULT_SEGMENT_BYTES = 1 << 30;
+    public static final int INDEX_PAGE_BYTES = 1 << 23;
+    private static final int OFFSET_BITS = 40;
+
+    /**
+     * Receives the records of a scan. The buffer holds one encoded Uno_GameRecord between its
+     * position and limit, and is only valid during the call.
+     */
+    public interface RecordVisitor {
+        void visit(long id, ByteBuffer record);
+    }
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final FileChannel indexChannel;
+    private volatile MappedByteBuffer[] segments;
+    private volatile MappedByteBuffer[] indexPages;
+    private volatile long gameCount;
+    private int writePosition;
+    private boolean closed;
+
+    /**
+     * Opens the archive in a directory with DEFAULT_SEGMENT_BYTES segments, creating it if needed.
+     * @param directory the directory
+     * @throws IOException if the archive cannot be opened
+     */
+    public Uno_GameArchive(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_BYTES);
+    }
+
+    /**
+     * Opens the archive in a directory, creating it if needed.
+     * @param directory the directory
+     * @param segmentBytes the size of new segment files
+     * @throws IOException if the archive cannot be opened or is not an archive
+     */
+    public Uno_GameArchive(Path directory, int segmentBytes) throws IOException {
+        if (segmentBytes < HEADER_BYTES + 64) {
+            throw new IllegalArgumentException("Segments of " + segmentBytes + " bytes are too small");
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        Files.createDirectories(directory);
+        this.indexChannel = FileChannel.open(directory.resolve("index.dat"),
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.indexPages = new MappedByteBuffer[0];
+        this.segments = new MappedByteBuffer[0];
+
+        MappedByteBuffer header = indexPage(0);
+        if (header.getInt(0) == 0) {
+            header.putInt(0, MAGIC).putInt(4, VERSION).putLong(8, 0L);
+        } else if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            throw new IOException(directory + " is not a version " + VERSION + " game archive");
+        }
+        this.gameCount = header.getLong(8);
+        while (Files.exists(segmentPath(segments.length))) {
+            addSegment();
+        }
+        if (segments.length == 0) {
+            addSegment();
+        }
+        MappedByteBuffer last = segments[segments.length - 1];
+        this.writePosition = (int) Math.max(HEADER_BYTES, last.getLong(8));
+    }
+
+    /**
+     * Appends a game and assigns it the next id.
+     * @param record the game, its id is ignored
+     * @return the id of the game
+     * @throws IOException if a new segment cannot be created
+     */
+    public synchronized long append(Uno_GameRecord record) throws IOException {
+        if (closed) throw new IllegalStateException("The archive is closed");
+        long id = gameCount;
+        Uno_GameRecord stored = record.withId(id);
+        int length = stored.encodedSize();
+        if (HEADER_BYTES + 4 + length > segmentBytes) {
+            throw new IllegalArgumentException("A record of " + length + " bytes does not fit a segment");
+        }
+        if (writePosition + 4 + length > segments[segments.length - 1].capacity()) {
+            addSegment();
+            writePosition = HEADER_BYTES;
+        }
+        int segment = segments.length - 1;
+        ByteBuffer out = segments[segment].duplicate();
+        out.position(writePosition);
+        out.putInt(length);
+        stored.encode(out);
+
+        long entry = ((long) segment << OFFSET_BITS) | writePosition;
+        indexEntries(id).putLong(indexOffset(id), entry);
+        writePosition += 4 + length;
+        segments[segment].putLong(8, writePosition);
+        gameCount = id + 1;
+        indexPages[0].putLong(8, gameCount);
+        return id;
+    }
+
+    /**
+     * Reads a game by id.
+     * @param id the game id
+     * @return the game
+     */
+    public Uno_GameRecord read(long id) {
+        return Uno_GameRecord.decode(recordBuffer(id, null));
+    }
+
+    /**
+     * Visits the games with ids from fromId up to but not including toId, in id order.
+     * Games are read in place from the mapped segments.
+     * @param fromId the first id
+     * @param toId the id after the last one
+     * @param visitor the visitor
+     */
+    public void scan(long fromId, long toId, RecordVisitor visitor) {
+        if (fromId < 0 || toId > gameCount || fromId > toId) {
+            throw new IndexOutOfBoundsException("Ids " + fromId + " to " + toId + " of " + gameCount + " games");
+        }
+        ByteBuffer[] views = new ByteBuffer[segments.length];
+        for (long id = fromId; id < toId; id++) {
+            visitor.visit(id, recordBuffer(id, views));
+        }
+    }
+
+    /**
+     * Visits every game in id order.
+     * @param visitor the visitor
+     */
+    public void scan(RecordVisitor visitor) {
+        scan(0, gameCount, visitor);
+    }
+
+    /**
+     * Writes the mapped pages to disk. The records and index entries are written before the
+     * index header page holding the game count, so the games appended before the call survive
+     * an operating system crash.
+     */
+    public synchronized void flush() {
+        for (MappedByteBuffer segment : segments) segment.force();
+        for (int i = indexPages.length - 1; i >= 0; i--) {
+            if (indexPages[i] != null) indexPages[i].force();
+        }
+    }
+
+    /**
+     * Flushes and closes the archive. The mappings are released once they are collected.
+     * @throws IOException if the index cannot be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) return;
+        flush();
+        closed = true;
+        indexChannel.close();
+    }
+
+    /**
+     * Gets the number of games.
+     * @return the game count, also the id of the next game
+     */
+    public long getGameCount() {
+        return gameCount;
+    }
+
+    /**
+     * Gets the number of segment files.
+     * @return the segment count
+     */
+    public int getSegmentCount() {
+        return segments.length;
+    }
+
+    /**
+     * Gets the archive directory.
+     * @return the directory
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /* Helpers */
+
+    /**
+     * Finds a record and returns a buffer over it.
+     * @param views buffers per segment reused by a scan, or null to create one
+     */
+    private ByteBuffer recordBuffer(long id, ByteBuffer[] views) {
+        if (id < 0 || id >= gameCount) {
+            throw new IndexOutOfBoundsException("No game " + id + " in an archive of " + gameCount);
+        }
+        long entry = indexEntries(id).getLong(indexOffset(id));
+        int segment = (int) (entry >>> OFFSET_BITS);
+        int offset = (int) (entry & ((1L << OFFSET_BITS) - 1));
+        MappedByteBuffer[] mapped = segments;
+        ByteBuffer view = views != null && segment < views.length ? views[segment] : null;
+        if (view == null) {
+            view = mapped[segment].duplicate();
+            if (views != null && segment < views.length) views[segment] = view;
+        }
+        view.clear();
+        int length = view.getInt(offset);
+        view.limit(offset + 4 + length).position(offset + 4);
+        return view;
+    }
+
+    private MappedByteBuffer indexEntries(long id) {
+        long position = HEADER_BYTES + id * 8;
+        return indexPage((int) (position / INDEX_PAGE_BYTES));
+    }
+
+    private static int indexOffset(long id) {
+        return (int) ((HEADER_BYTES + id * 8) % INDEX_PAGE_BYTES);
+    }
+
+    private MappedByteBuffer indexPage(int page) {
+        MappedByteBuffer[] pages = indexPages;
+        if (page < pages.length && pages[page] != null) return pages[page];
+        synchronized (this) {
+            pages = indexPages;
+            if (page >= pages.length) pages = Arrays.copyOf(pages, page + 1);
+            if (pages[page] == null) {
+                try {
+                    pages[page] = indexChannel.map(FileChannel.MapMode.READ_WRITE, (long) page * INDEX_PAGE_BYTES, INDEX_PAGE_BYTES);
+                } catch (IOException e) {
+                    throw new IllegalStateException("Cannot map page " + page + " of the index", e);
+                }
+            }
+            indexPages = pages;
+            return pages[page];
+        }
+    }
+
+    private void addSegment() throws IOException {
+        int number = segments.length;
+        try (FileChannel channel = FileChannel.open(segmentPath(number),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = Math.max(channel.size(), segmentBytes);
+            MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            if (segment.getInt(0) == 0) {
+                segment.putInt(0, MAGIC).putInt(4, VERSION).putLong(8, HEADER_BYTES);
+            } else if (segment.getInt(0) != MAGIC) {
+                throw new IOException(segmentPath(number) + " is not an archive segment");
+            }
+            MappedByteBuffer[] grown = Arrays.copyOf(segments, number + 1);
+            grown[number] = segment;
+            segments = grown;
+        }
+    }
+
+    private Path segmentPath(int number) {
+        return directory.resolve(String.format("segment-%06d.dat", number));
+    }
+}
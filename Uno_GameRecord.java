@@ -0,0 +1,372 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A finished game as stored in Uno_GameArchive: the seed, the players, every action and the
+ * scores after each round. Replaying the actions on a game dealt from the seed gives back the
+ * game, but most analytics only need the actions themselves, so they are kept compact.
+ *
+ * Each action is one short: bit 14 is set when play runs in reverse and bit 13 when the dark
+ * side is up after the action, bits 10..12 hold the type (ACTION_*), bits 8..9 the seat and
+ * bits 0..7 the argument:
+ *   ACTION_ROUND_START  the face id of the starting card, seat 0
+ *   ACTION_PLAY         the face id of the card played
+ *   ACTION_DRAW         the number of cards the player drew on their turn
+ *   ACTION_COLOUR       the CardColour ordinal chosen for a wild card
+ *   ACTION_PENALTY      the number of cards the player was forced to draw by another's card
+ *   ACTION_ROUND_END    the seat of the winner, NO_SEAT if the round was given up
+ *
+ * Encoded layout, big endian:
+ *   long id, long seed, byte seats, short rounds,
+ *   per seat: name and strategy, each a short length and UTF-8 bytes,
+ *   int action count, the actions as shorts,
+ *   rounds * seats ints: the score of every seat after every round
+ * The encoded* methods read single fields of an encoded record in place, so a scan over an
+ * archive does not decode every game.
+ *
+ * Data Structures:
+ *   - short[] actions: Packed actions in play order, two bytes each so a game of a few hundred
+ *     moves fits in well under a kilobyte
+ *   - int[] scores: Scores after each round, row major by round then seat
+ *
+ * @author Lucas Baker
+ * @version 5.0
+ */
+public final class Uno_GameRecord {
+    public static final int ACTION_ROUND_START = 0;
+    public static final int ACTION_PLAY = 1;
+    public static final int ACTION_DRAW = 2;
+    public static final int ACTION_COLOUR = 3;
+    public static final int ACTION_PENALTY = 4;
+    public static final int ACTION_ROUND_END = 5;
+    public static final int NO_SEAT = 0xFF;
+    public static final int MAX_ARG = 0xFF;
+    public static final int FLAG_DARK_SIDE = 1 << 13;
+    public static final int FLAG_REVERSED = 1 << 14;
+    public static final int SEATS_OFFSET = 16;
+    public static final int HEADER_BYTES = 19;
+    public static final int ACTION_BYTES = 2;
+
+    private final long id;
+    private final long seed;
+    private final String[] names;
+    private final String[] strategies;
+    private final short[] actions;
+    private final int[] scores;
+
+    /**
+     * Constructs a record. The arrays are kept, not copied.
+     * @param id the game id, assigned by the archive
+     * @param seed the seed the game was dealt from
+     * @param names the player names in seat order
+     * @param strategies the strategy names in seat order, HUMAN for human players
+     * @param actions the packed actions
+     * @param scores the scores after each round, rounds * seats values
+     */
+    public Uno_GameRecord(long id, long seed, String[] names, String[] strategies, short[] actions, int[] scores) {
+        if (names.length != strategies.length || names.length < 1 || names.length > 4) {
+            throw new IllegalArgumentException("A record needs 1 to 4 seats with a strategy each");
+        }
+        if (scores.length % names.length != 0) {
+            throw new IllegalArgumentException(scores.length + " scores do not fill whole rounds of " + names.length);
+        }
+        this.id = id;
+        this.seed = seed;
+        this.names = names;
+        this.strategies = strategies;
+        this.actions = actions;
+        this.scores = scores;
+    }
+
+    /**
+     * Gets a copy of this record under another id.
+     * @param newId the id
+     * @return the record
+     */
+    public Uno_GameRecord withId(long newId) {
+        return new Uno_GameRecord(newId, seed, names, strategies, actions, scores);
+    }
+
+    /* Packed actions */
+
+    /**
+     * Packs an action into a short.
+     * @param type the ACTION_* type
+     * @param seat the seat, 0 to 3
+     * @param arg the argument, capped at MAX_ARG
+     * @return the packed action
+     */
+    public static short action(int type, int seat, int arg) {
+        return (short) ((type << 10) | ((seat & 3) << 8) | Math.min(Math.max(arg, 0), MAX_ARG));
+    }
+
+    /**
+     * Adds the side and direction of the game after the action to a packed action.
+     * @param action the packed action
+     * @param darkSide true if the dark side is up
+     * @param reversed true if play runs in reverse
+     * @return the packed action with its state
+     */
+    public static short withState(short action, boolean darkSide, boolean reversed) {
+        return (short) (action | (darkSide ? FLAG_DARK_SIDE : 0) | (reversed ? FLAG_REVERSED : 0));
+    }
+
+    /**
+     * Checks if the dark side was up after a packed action.
+     * @param action the packed action
+     * @return true for the dark side
+     */
+    public static boolean isDarkSide(short action) {
+        return (action & FLAG_DARK_SIDE) != 0;
+    }
+
+    /**
+     * Checks if play ran in reverse after a packed action.
+     * @param action the packed action
+     * @return true if the play direction was -1
+     */
+    public static boolean isReversed(short action) {
+        return (action & FLAG_REVERSED) != 0;
+    }
+
+    /**
+     * Gets the type of a packed action.
+     * @param action the packed action
+     * @return the ACTION_* type
+     */
+    public static int actionType(short action) {
+        return (action >> 10) & 7;
+    }
+
+    /**
+     * Gets the seat of a packed action.
+     * @param action the packed action
+     * @return the seat
+     */
+    public static int actionSeat(short action) {
+        return (action >> 8) & 3;
+    }
+
+    /**
+     * Gets the argument of a packed action.
+     * @param action the packed action
+     * @return the argument
+     */
+    public static int actionArg(short action) {
+        return action & 0xFF;
+    }
+
+    /* Encoding */
+
+    /**
+     * Gets the number of bytes encode writes.
+     * @return the encoded size
+     */
+    public int encodedSize() {
+        int size = HEADER_BYTES + 4 + actions.length * ACTION_BYTES + scores.length * 4;
+        for (int seat = 0; seat < names.length; seat++) {
+            size += 2 + utf(names[seat]).length + 2 + utf(strategies[seat]).length;
+        }
+        return size;
+    }
+
+    /**
+     * Writes the record at the buffer's position.
+     * @param out the buffer, with at least encodedSize bytes remaining
+     */
+    public void encode(ByteBuffer out) {
+        out.putLong(id).putLong(seed).put((byte) names.length).putShort((short) getRounds());
+        for (int seat = 0; seat < names.length; seat++) {
+            putString(out, names[seat]);
+            putString(out, strategies[seat]);
+        }
+        out.putInt(actions.length);
+        for (short action : actions) out.putShort(action);
+        for (int score : scores) out.putInt(score);
+    }
+
+    /**
+     * Reads a record written by encode from the buffer's position.
+     * @param in the buffer
+     * @return the record
+     */
+    public static Uno_GameRecord decode(ByteBuffer in) {
+        long id = in.getLong();
+        long seed = in.getLong();
+        int seats = in.get();
+        int rounds = in.getShort() & 0xFFFF;
+        String[] names = new String[seats];
+        String[] strategies = new String[seats];
+        for (int seat = 0; seat < seats; seat++) {
+            names[seat] = getString(in);
+            strategies[seat] = getString(in);
+        }
+        short[] actions = new short[in.getInt()];
+        for (int i = 0; i < actions.length; i++) actions[i] = in.getShort();
+        int[] scores = new int[rounds * seats];
+        for (int i = 0; i < scores.length; i++) scores[i] = in.getInt();
+        return new Uno_GameRecord(id, seed, names, strategies, actions, scores);
+    }
+
+    /**
+     * Reads the number of seats of an encoded record in place, without decoding it.
+     * @param record the buffer, positioned at the record
+     * @return the number of seats
+     */
+    public static int encodedSeats(ByteBuffer record) {
+        return record.get(record.position() + SEATS_OFFSET);
+    }
+
+    /**
+     * Reads the strategy name of a seat of an encoded record in place.
+     * @param record the buffer, positioned at the record
+     * @param seat the seat
+     * @return the strategy name
+     */
+    public static String encodedStrategy(ByteBuffer record, int seat) {
+        int position = skipStrings(record, record.position() + HEADER_BYTES, 2 * seat + 1);
+        byte[] bytes = new byte[record.getShort(position) & 0xFFFF];
+        record.get(position + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the number of actions of an encoded record in place.
+     * @param record the buffer, positioned at the record
+     * @return the action count
+     */
+    public static int encodedActionCount(ByteBuffer record) {
+        return record.getInt(encodedActionsStart(record) - 4);
+    }
+
+    /**
+     * Finds the first action of an encoded record. Action i is the short at
+     * encodedActionsStart + i * ACTION_BYTES.
+     * @param record the buffer, positioned at the record
+     * @return the absolute buffer index of the first action
+     */
+    public static int encodedActionsStart(ByteBuffer record) {
+        int seats = encodedSeats(record);
+        return skipStrings(record, record.position() + HEADER_BYTES, 2 * seats) + 4;
+    }
+
+    private static int skipStrings(ByteBuffer record, int position, int count) {
+        for (int i = 0; i < count; i++) position += 2 + (record.getShort(position) & 0xFFFF);
+        return position;
+    }
+
+    private static void putString(ByteBuffer out, String value) {
+        byte[] bytes = utf(value);
+        out.putShort((short) bytes.length).put(bytes);
+    }
+
+    private static String getString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getShort() & 0xFFFF];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] utf(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /* Getters */
+
+    /**
+     * Gets the game id
+     * @return the id
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Gets the seed the game was dealt from
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the number of players
+     * @return the number of seats
+     */
+    public int getNumSeats() {
+        return names.length;
+    }
+
+    /**
+     * Gets a player's name
+     * @param seat the seat
+     * @return the name
+     */
+    public String getName(int seat) {
+        return names[seat];
+    }
+
+    /**
+     * Gets the strategy a seat played with
+     * @param seat the seat
+     * @return the strategy name, HUMAN for a human player
+     */
+    public String getStrategy(int seat) {
+        return strategies[seat];
+    }
+
+    /**
+     * Gets the number of actions
+     * @return the action count
+     */
+    public int getActionCount() {
+        return actions.length;
+    }
+
+    /**
+     * Gets a packed action, see actionType, actionSeat and actionArg
+     * @param index the position of the action in the game
+     * @return the packed action
+     */
+    public short getAction(int index) {
+        return actions[index];
+    }
+
+    /**
+     * Gets the number of rounds played
+     * @return the round count
+     */
+    public int getRounds() {
+        return scores.length / names.length;
+    }
+
+    /**
+     * Gets the score of a seat after a round
+     * @param round the round, from 0
+     * @param seat the seat
+     * @return the score
+     */
+    public int getScore(int round, int seat) {
+        return scores[round * names.length + seat];
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof Uno_GameRecord)) return false;
+        Uno_GameRecord record = (Uno_GameRecord) other;
+        return id == record.id && seed == record.seed && Arrays.equals(names, record.names)
+            && Arrays.equals(strategies, record.strategies) && Arrays.equals(actions, record.actions)
+            && Arrays.equals(scores, record.scores);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(id) * 31 + Arrays.hashCode(actions);
+    }
+
+    @Override
+    public String toString() {
+        return "Game " + id + " seed=" + seed + " seats=" + names.length + " actions=" + actions.length
+            + " rounds=" + getRounds();
+    }
+}
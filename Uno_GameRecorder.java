@@ -0,0 +1,181 @@
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Records a game as a Uno_GameRecord while it is played. The code driving the game reports
+ * each move after applying it, and the recorder compares the hand sizes with the last move to
+ * find the cards every other player was forced to draw, so effects of DRAW_ONE, DRAW_FIVE and
+ * the wild draw cards are recorded without hooks in Uno_Model.
+ *
+ * Undo and redo move the end of the record back and forth with rewind; actions taken back
+ * stay in the buffer until a new move overwrites them, so a redo can put them back.
+ *
+ * A recorder is reused from game to game and is not thread safe.
+ *
+ * Data Structures:
+ *   - short[] actions: Growing buffer of packed actions, doubled when full and reused by the next game
+ *         * actions up to keptCount are valid, those past actionCount were taken back by an undo
+ *   - int[] scores: Growing buffer of the scores after each round
+ *   - int[] handSizes: Hand size of every seat after the last recorded move
+ *   - Every action carries the side and direction after it, so readers need no replay to know them
+ *
+ * @author Lucas Baker
+ * @version 5.0
+ */
+public class Uno_GameRecorder {
+    public static final String HUMAN = "HUMAN";
+
+    private short[] actions;
+    private int actionCount;
+    private int keptCount;
+    private int[] scores;
+    private int scoreCount;
+    private final int[] handSizes;
+    private long seed;
+    private String[] names;
+    private String[] strategies;
+
+    /**
+     * Constructs a recorder.
+     */
+    public Uno_GameRecorder() {
+        this.actions = new short[256];
+        this.scores = new int[16];
+        this.handSizes = new int[4];
+    }
+
+    /**
+     * Starts recording a game.
+     * @param seed the seed the game is dealt from
+     * @param players the players in seat order
+     */
+    public void startGame(long seed, List<Player_Model> players) {
+        this.seed = seed;
+        this.names = new String[players.size()];
+        this.strategies = new String[players.size()];
+        for (int seat = 0; seat < players.size(); seat++) {
+            Player_Model player = players.get(seat);
+            names[seat] = player.getName();
+            strategies[seat] = player.isAI() ? player.getStrategyName() : HUMAN;
+        }
+        actionCount = 0;
+        keptCount = 0;
+        scoreCount = 0;
+    }
+
+    /**
+     * Records the deal of a round, after initializeGame or startNewRound. Cards drawn because
+     * of the starting card are recorded as penalties.
+     * @param model the game
+     */
+    public void startRound(Uno_Model model) {
+        add(model, Uno_GameRecord.action(Uno_GameRecord.ACTION_ROUND_START, 0, model.getActiveCard().getFaceId()));
+        Arrays.fill(handSizes, Uno_Model.CARDS_PER_PLAYER);
+        recordPenalties(model);
+    }
+
+    /**
+     * Records a played card, after playCard.
+     * @param model the game
+     * @param seat the seat that played
+     * @param faceId the face id of the card
+     */
+    public void played(Uno_Model model, int seat, int faceId) {
+        add(model, Uno_GameRecord.action(Uno_GameRecord.ACTION_PLAY, seat, faceId));
+        handSizes[seat]--;
+        recordPenalties(model);
+    }
+
+    /**
+     * Records the cards a player drew on their own turn, after drawCard or drawCardAndPass.
+     * @param model the game
+     * @param seat the seat that drew
+     */
+    public void drew(Uno_Model model, int seat) {
+        int size = model.getParticipants().get(seat).getHand().size();
+        add(model, Uno_GameRecord.action(Uno_GameRecord.ACTION_DRAW, seat, size - handSizes[seat]));
+        handSizes[seat] = size;
+        recordPenalties(model);
+    }
+
+    /**
+     * Records a colour chosen for a wild card, after setActiveColour.
+     * @param model the game
+     * @param seat the seat that chose
+     * @param colour the colour
+     */
+    public void choseColour(Uno_Model model, int seat, Card_Model.CardColour colour) {
+        add(model, Uno_GameRecord.action(Uno_GameRecord.ACTION_COLOUR, seat, colour.ordinal()));
+        recordPenalties(model);
+    }
+
+    /**
+     * Records the end of a round with the scores of every seat.
+     * @param model the game
+     * @param winner the seat of the winner, or a negative value if the round was given up
+     */
+    public void endRound(Uno_Model model, int winner) {
+        add(model, Uno_GameRecord.action(Uno_GameRecord.ACTION_ROUND_END, 0, winner < 0 ? Uno_GameRecord.NO_SEAT : winner));
+        List<Player_Model> players = model.getParticipants();
+        if (scoreCount + players.size() > scores.length) scores = Arrays.copyOf(scores, scores.length * 2);
+        for (Player_Model player : players) scores[scoreCount++] = player.getScore();
+    }
+
+    /**
+     * Gets the number of actions recorded so far, to rewind to later.
+     * @return the action count
+     */
+    public int getActionCount() {
+        return actionCount;
+    }
+
+    /**
+     * Moves the end of the record to an earlier action count after an undo, or forward again
+     * after a redo, and takes the hand sizes from the restored game. The scores of rounds
+     * ended past the new end are dropped.
+     * @param model the game, after the undo or redo
+     * @param count an action count returned by getActionCount
+     */
+    public void rewind(Uno_Model model, int count) {
+        if (count < 0 || count > keptCount) return;
+        actionCount = count;
+        int rounds = 0;
+        for (int i = 0; i < actionCount; i++) {
+            if (Uno_GameRecord.actionType(actions[i]) == Uno_GameRecord.ACTION_ROUND_END) rounds++;
+        }
+        scoreCount = names == null ? 0 : rounds * names.length;
+        List<Player_Model> players = model.getParticipants();
+        for (int seat = 0; seat < players.size(); seat++) {
+            handSizes[seat] = players.get(seat).getHand().size();
+        }
+    }
+
+    /**
+     * Finishes the game.
+     * @return the record, with id 0 until an archive assigns one
+     */
+    public Uno_GameRecord finishGame() {
+        return new Uno_GameRecord(0, seed, names, strategies,
+            Arrays.copyOf(actions, actionCount), Arrays.copyOf(scores, scoreCount));
+    }
+
+    /**
+     * Records the cards other players drew since the last move as penalties.
+     */
+    private void recordPenalties(Uno_Model model) {
+        List<Player_Model> players = model.getParticipants();
+        for (int seat = 0; seat < players.size(); seat++) {
+            int size = players.get(seat).getHand().size();
+            if (size > handSizes[seat]) {
+                add(model, Uno_GameRecord.action(Uno_GameRecord.ACTION_PENALTY, seat, size - handSizes[seat]));
+            }
+            handSizes[seat] = size;
+        }
+    }
+
+    private void add(Uno_Model model, short action) {
+        if (actionCount == actions.length) actions = Arrays.copyOf(actions, actions.length * 2);
+        actions[actionCount++] = Uno_GameRecord.withState(action, model.isDarkSide(), model.getPlayDirection() < 0);
+        keptCount = actionCount;
+    }
+}
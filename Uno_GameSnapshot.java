@@ -0,0 +1,255 @@
+import java.util.List;
+
+/**
+ * Immutable copy of everything a view renders, published by Uno_Controller after every change.
+ * Any thread can read the latest snapshot without locking, so rendering never waits for a
+ * move and a move never waits for rendering. A snapshot is never modified after it is
+ * published, a newer one replaces it.
+ *
+ * Cards are stored as face ids (see Card_Model.getFaceValue and getFaceColour), which are the
+ * same on both sides, so a snapshot does not share any Card_Model with the live game.
+ *
+ * Data Structures:
+ *   - String[] names, boolean[] ai, int[] scores, int[] cardCounts: One entry per seat
+ *   - int[][] hands: Face ids of every hand, one array per seat
+ *         * Arrays are copied on construction and never handed out, getters return single values
+ *   - long turnStartTime: Lets the remaining turn time be computed at read time without the model
+ *
+ * @author Saan John
+ * @version 5.0
+ */
+public final class Uno_GameSnapshot {
+    private final long version;
+    private final Uno_Model.GameStatus status;
+    private final int currentTurn;
+    private final int playDirection;
+    private final boolean darkSide;
+    private final int activeFace;
+    private final Card_Model.CardColour matchColour;
+    private final boolean pendingColourSelection;
+    private final boolean pendingDrawColourSelection;
+    private final int drawPileSize;
+    private final boolean timedMode;
+    private final int turnTimeLimit;
+    private final long turnStartTime;
+    private final int winner;
+    private final String[] names;
+    private final boolean[] ai;
+    private final int[] scores;
+    private final int[] cardCounts;
+    private final int[][] hands;
+
+    /**
+     * Copies the game. Must run on the thread that owns the model.
+     * @param model the game
+     * @param version the controller's state version
+     */
+    public Uno_GameSnapshot(Uno_Model model, long version) {
+        this.version = version;
+        this.status = model.getGameStatus();
+        this.currentTurn = model.getCurrentTurnIndex();
+        this.playDirection = model.getPlayDirection();
+        this.darkSide = model.isDarkSide();
+        Card_Model active = model.getActiveCard();
+        this.activeFace = active != null ? active.getFaceId() : -1;
+        this.matchColour = model.getMatchColour();
+        this.pendingColourSelection = model.isPendingColourSelection();
+        this.pendingDrawColourSelection = model.isPendingDrawColourSelection();
+        this.drawPileSize = model.getRemainingDrawPileCards();
+        this.timedMode = model.isTimedModeEnabled();
+        this.turnTimeLimit = model.getTurnTimeLimit();
+        this.turnStartTime = model.getTurnStartTime();
+
+        List<Player_Model> players = model.getParticipants();
+        int n = players.size();
+        this.winner = players.indexOf(model.getWinner());
+        this.names = new String[n];
+        this.ai = new boolean[n];
+        this.scores = new int[n];
+        this.cardCounts = new int[n];
+        this.hands = new int[n][];
+        for (int seat = 0; seat < n; seat++) {
+            Player_Model player = players.get(seat);
+            names[seat] = player.getName();
+            ai[seat] = player.isAI();
+            scores[seat] = player.getScore();
+            cardCounts[seat] = player.getNumCards();
+            List<Card_Model> hand = player.getHand();
+            int[] faces = new int[hand.size()];
+            for (int i = 0; i < faces.length; i++) {
+                faces[i] = hand.get(i).getFaceId();
+            }
+            hands[seat] = faces;
+        }
+    }
+
+    /**
+     * Gets the controller state version this snapshot was taken at
+     * @return the version, higher is newer
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the game status
+     * @return the status
+     */
+    public Uno_Model.GameStatus getGameStatus() {
+        return status;
+    }
+
+    /**
+     * Gets the seat whose turn it is
+     * @return the turn index
+     */
+    public int getCurrentTurnIndex() {
+        return currentTurn;
+    }
+
+    /**
+     * Gets the play direction
+     * @return 1 or -1
+     */
+    public int getPlayDirection() {
+        return playDirection;
+    }
+
+    /**
+     * Checks if the dark side is up
+     * @return true on the dark side
+     */
+    public boolean isDarkSide() {
+        return darkSide;
+    }
+
+    /**
+     * Gets the face id of the active card
+     * @return the face id, -1 before the game starts
+     */
+    public int getActiveFace() {
+        return activeFace;
+    }
+
+    /**
+     * Gets the colour to match
+     * @return the colour, null before the game starts
+     */
+    public Card_Model.CardColour getMatchColour() {
+        return matchColour;
+    }
+
+    /**
+     * Checks if a wild card is waiting for its colour
+     * @return true if a colour must be chosen
+     */
+    public boolean isPendingColourSelection() {
+        return pendingColourSelection;
+    }
+
+    /**
+     * Checks if a wild draw colour card is waiting for its colour
+     * @return true if a colour must be chosen
+     */
+    public boolean isPendingDrawColourSelection() {
+        return pendingDrawColourSelection;
+    }
+
+    /**
+     * Gets the number of cards in the draw pile
+     * @return the pile size
+     */
+    public int getDrawPileSize() {
+        return drawPileSize;
+    }
+
+    /**
+     * Checks if turns are timed
+     * @return true in timed mode
+     */
+    public boolean isTimedModeEnabled() {
+        return timedMode;
+    }
+
+    /**
+     * Calculates the remaining time of the current turn at the moment of the call,
+     * the same way Uno_Model.getRemainingTurnTime does.
+     * @return the remaining seconds, or -1 if timed mode is off or the timer is not running
+     */
+    public int getRemainingTurnTime() {
+        if (!timedMode || turnStartTime == 0) return -1;
+        long elapsed = (System.currentTimeMillis() - turnStartTime) / 1000;
+        return Math.max(0, turnTimeLimit - (int) elapsed);
+    }
+
+    /**
+     * Gets the seat of the game winner
+     * @return the seat, -1 while nobody has won the game
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    /**
+     * Gets the number of players
+     * @return the player count
+     */
+    public int getNumPlayers() {
+        return names.length;
+    }
+
+    /**
+     * Gets a player's name
+     * @param seat the seat
+     * @return the name
+     */
+    public String getName(int seat) {
+        return names[seat];
+    }
+
+    /**
+     * Checks if a player is an AI
+     * @param seat the seat
+     * @return true for an AI
+     */
+    public boolean isAI(int seat) {
+        return ai[seat];
+    }
+
+    /**
+     * Gets a player's game score
+     * @param seat the seat
+     * @return the score
+     */
+    public int getScore(int seat) {
+        return scores[seat];
+    }
+
+    /**
+     * Gets the number of cards a player holds
+     * @param seat the seat
+     * @return the card count
+     */
+    public int getCardCount(int seat) {
+        return cardCounts[seat];
+    }
+
+    /**
+     * Gets the size of a player's hand
+     * @param seat the seat
+     * @return the hand size
+     */
+    public int getHandSize(int seat) {
+        return hands[seat].length;
+    }
+
+    /**
+     * Gets the face id of a card in a hand
+     * @param seat the seat
+     * @param index the index of the card in the hand
+     * @return the face id
+     */
+    public int getHandFace(int seat, int index) {
+        return hands[seat][index];
+    }
+}
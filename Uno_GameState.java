@@ -44,6 +44,8 @@ import java.util.*;
  *         * Dynamic sizing: can grow/shrink as cards are drawn from the discard pile
  *         * Easy access: allows efficient access to cards by index
  *         * Built-in methods: provides useful methods like shuffle to shuffle cards in the discard pile
+ *   - int recordedActions: Length of the game record when the state was saved, -1 if the game
+ *     was not being recorded, so undo and redo can move the record back and forth with the game
  * @author Lasya Erukulla
  * @version 4.0 - Milestone 4
  */
@@ -67,6 +69,9 @@ public class Uno_GameState implements Serializable{
     private final List<Card_Model> drawPileCards;
     private final List<Card_Model> discardPileCards;
 
+    //record state
+    private int recordedActions = -1;
+
 
 
     /**
@@ -152,4 +157,22 @@ public class Uno_GameState implements Serializable{
         uno.getDeck().getDiscardPile().clear();
         uno.getDeck().getDiscardPile().addAll(discardPileCards);
     }
-}
\ No newline at end of file
+
+    /**
+     * Get the length of the game record when the state was saved
+     *
+     * @return the number of recorded actions, -1 if the game was not being recorded
+     */
+    public int getRecordedActions(){
+        return recordedActions;
+    }
+
+    /**
+     * Set the length of the game record when the state was saved
+     *
+     * @param recordedActions the number of recorded actions, -1 if the game is not being recorded
+     */
+    public void setRecordedActions(int recordedActions){
+        this.recordedActions = recordedActions;
+    }
+}
@@ -0,0 +1,221 @@
+import java.util.List;
+
+/**
+ * Read-only view of a game from the point of view of one AI player, passed to Uno_AIStrategy.
+ * It exposes only what the player can see: its own hand, the active card, the colour and value
+ * to match, the side, the play direction and how many cards every player holds.
+ *
+ * A player keeps one view and rebinds it before every decision, so making a decision does not
+ * allocate. Only the engine can rebind a view, strategies can only read it.
+ *
+ * Data Structures:
+ *   - List<Card_Model> hand: the player's hand, read but never changed
+ *   - Uno_Model game: the game the view is bound to, null when only the cards to match are known
+ *       * Opponent card counts and the play direction come from the game
+ *   - long[] playableMasks: The faces playable on the match, compiled by Uno_MatchEngine for
+ *     each side when the view is bound, so checking a card is one bit test
+ *
+ * @author Lucas Baker
+ * @version 5.0
+ */
+public class Uno_GameView {
+    private static final Card_Model.CardColour[][] SIDE_COLOURS = {
+        {Card_Model.CardColour.RED, Card_Model.CardColour.BLUE, Card_Model.CardColour.GREEN, Card_Model.CardColour.YELLOW},
+        {Card_Model.CardColour.TEAL, Card_Model.CardColour.PURPLE, Card_Model.CardColour.PINK, Card_Model.CardColour.ORANGE}
+    };
+
+    private Player_Model self;
+    private List<Card_Model> hand;
+    private Uno_Model game;
+    private int selfIndex;
+    private Card_Model activeCard;
+    private Card_Model.CardColour matchColour;
+    private Card_Model.CardValue matchType;
+    private boolean isDarkSide;
+    private final long[] playableMasks = new long[2];
+
+    /**
+     * Binds the view to a game, as seen by one of its players.
+     * @param game the game being played
+     * @param player the player the view belongs to
+     */
+    void bind(Uno_Model game, Player_Model player) {
+        this.self = player;
+        this.hand = player.getHand();
+        this.game = game;
+        this.selfIndex = Math.max(0, game.getParticipants().indexOf(player));
+        this.activeCard = game.getActiveCard();
+        this.matchColour = game.getMatchColour();
+        this.matchType = game.getMatchType();
+        this.isDarkSide = game.isDarkSide();
+        Uno_MatchEngine.compileBothSides(playableMasks, matchColour, matchType);
+    }
+
+    /**
+     * Binds the view to a player and the cards to match, without the rest of the game.
+     * The player is then the only player the view knows about.
+     * @param player the player the view belongs to
+     * @param activeCard the active card
+     * @param matchColour the colour to match
+     * @param matchType the value to match
+     * @param isDarkSide true if the game is on the dark side
+     */
+    void bind(Player_Model player, Card_Model activeCard, Card_Model.CardColour matchColour,
+              Card_Model.CardValue matchType, boolean isDarkSide) {
+        this.self = player;
+        this.hand = player.getHand();
+        this.game = null;
+        this.selfIndex = 0;
+        this.activeCard = activeCard;
+        this.matchColour = matchColour;
+        this.matchType = matchType;
+        this.isDarkSide = isDarkSide;
+        Uno_MatchEngine.compileBothSides(playableMasks, matchColour, matchType);
+    }
+
+    /**
+     * Gets the number of cards in the player's hand.
+     * @return the hand size
+     */
+    public int getHandSize() {
+        return hand.size();
+    }
+
+    /**
+     * Gets a card from the player's hand.
+     * @param index the index in the hand
+     * @return the card
+     */
+    public Card_Model getHandCard(int index) {
+        return hand.get(index);
+    }
+
+    /**
+     * Checks if a card in the player's hand can be played on the active card.
+     * @param index the index in the hand
+     * @return true if the card is a valid play
+     */
+    public boolean isPlayable(int index) {
+        return Uno_MatchEngine.isValidPlay(hand.get(index), playableMasks, matchColour, matchType);
+    }
+
+    /**
+     * Gets the faces in the player's hand that can be played on the active card.
+     * Only standard deck cards showing the current side are counted.
+     * @return the mask, bit f set if a card with face id f can be played
+     */
+    public long getPlayableFaces() {
+        return self.getHandFaceMask() & playableMasks[isDarkSide ? 1 : 0];
+    }
+
+    /**
+     * Checks if the player holds any card that can be played, without looking at each card.
+     * Only standard deck cards showing the current side are counted.
+     * @return true if at least one card can be played
+     */
+    public boolean hasPlayableCard() {
+        return getPlayableFaces() != 0;
+    }
+
+    /**
+     * Gets the card on top of the discard pile.
+     * @return the active card
+     */
+    public Card_Model getActiveCard() {
+        return activeCard;
+    }
+
+    /**
+     * Gets the colour that must be matched.
+     * @return the match colour
+     */
+    public Card_Model.CardColour getMatchColour() {
+        return matchColour;
+    }
+
+    /**
+     * Gets the value that must be matched.
+     * @return the match value
+     */
+    public Card_Model.CardValue getMatchType() {
+        return matchType;
+    }
+
+    /**
+     * Checks which side of the cards is being played.
+     * @return true if on the dark side
+     */
+    public boolean isDarkSide() {
+        return isDarkSide;
+    }
+
+    /**
+     * Gets the points the player's hand would give the winner if the round ended now.
+     * @return the hand score on the current side
+     */
+    public int getHandScore() {
+        return self.getHandScore(isDarkSide);
+    }
+
+    /**
+     * Gets the points the player's hand is worth on a side, e.g. to weigh playing a FLIP.
+     * @param isDarkSide true for the dark side
+     * @return the hand score on that side
+     */
+    public int getHandScore(boolean isDarkSide) {
+        return self.getHandScore(isDarkSide);
+    }
+
+    /**
+     * Gets the number of players in the game.
+     * @return the number of players, 1 if the view is not bound to a game
+     */
+    public int getNumPlayers() {
+        return game == null ? 1 : game.getParticipants().size();
+    }
+
+    /**
+     * Gets the index of the player the view belongs to.
+     * @return the player's index in turn order
+     */
+    public int getSelfIndex() {
+        return selfIndex;
+    }
+
+    /**
+     * Gets the number of cards a player holds.
+     * @param player the player's index in turn order
+     * @return the number of cards
+     */
+    public int getCardCount(int player) {
+        if (game == null || player == selfIndex) return self.getNumCards();
+        return game.getParticipants().get(player).getNumCards();
+    }
+
+    /**
+     * Gets the index of the player who plays after the player the view belongs to.
+     * @return the next player's index
+     */
+    public int getNextPlayerIndex() {
+        int n = getNumPlayers();
+        return (selfIndex + getPlayDirection() + n) % n;
+    }
+
+    /**
+     * Gets the direction of play.
+     * @return 1 for clockwise, -1 for counter-clockwise
+     */
+    public int getPlayDirection() {
+        return game == null ? 1 : game.getPlayDirection();
+    }
+
+    /**
+     * Gets one of the four colours of a side.
+     * @param isDarkSide true for the dark side
+     * @param index the colour index, 0 to 3
+     * @return the colour
+     */
+    public static Card_Model.CardColour getSideColour(boolean isDarkSide, int index) {
+        return SIDE_COLOURS[isDarkSide ? 1 : 0][index];
+    }
+}
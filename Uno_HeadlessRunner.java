@@ -0,0 +1,197 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Plays rounds between AI players without a view, undo history or AI delays.
+ * Offline tools (self-play training, tuning, strategy comparison) play thousands of rounds,
+ * so the runner drives Uno_Model directly the same way Uno_Controller.applyAIMove does,
+ * without the per-move undo snapshots and view notifications of the controller.
+ *
+ * Every round is seeded: the deal and every random colour come from the seed, so playing the
+ * same seed with the same number of players deals the same hands to the same seats. Swapping
+ * the players between seats and replaying the seed gives a mirrored deal.
+ *
+ * A runner is not thread safe, use one runner per thread. The players of a round are reset
+ * before it starts (hand, card count and score), so they can be reused for the next round.
+ *
+ * With an archive set, every round is recorded and appended to it as a game of one round.
+ * With a telemetry exporter set, the turns of every round are exported under the archive id
+ * of the round, or under a count of rounds played by this runner if there is no archive.
+ *
+ * @author Lucas Baker
+ * @version 5.0
+ */
+public class Uno_HeadlessRunner {
+    public static final int DEFAULT_MAX_TURNS = 2000;
+    public static final int NO_WINNER = -1;
+
+    private final int maxTurns;
+    private Uno_Model lastGame;
+    private int lastTurns;
+    private int lastPoints;
+    private Uno_GameArchive archive;
+    private Uno_TelemetryExporter telemetry;
+    private Uno_GameRecorder recorder;
+    private long roundsRecorded;
+
+    /**
+     * Constructs a runner that gives up on a round after DEFAULT_MAX_TURNS moves.
+     */
+    public Uno_HeadlessRunner() {
+        this(DEFAULT_MAX_TURNS);
+    }
+
+    /**
+     * Constructs a runner.
+     * @param maxTurns the most moves played before a round is given up without a winner
+     */
+    public Uno_HeadlessRunner(int maxTurns) {
+        this.maxTurns = Math.max(1, maxTurns);
+    }
+
+    /**
+     * Plays one round.
+     * @param seed the seed of the deal and of every random choice of the game
+     * @param seats the AI players in seat order, 2 to 4 players
+     * @return the seat of the round winner, or NO_WINNER if the round hit the turn limit
+     */
+    public int playRound(long seed, Player_Model... seats) {
+        Uno_Model game = new Uno_Model();
+        game.setRandom(new Random(seed));
+        for (Player_Model player : seats) {
+            if (!player.isAI()) throw new IllegalArgumentException("Headless rounds need AI players only");
+            player.getHand().clear();
+            player.setNumCards(0);
+            player.resetScore();
+            if (!game.addPlayer(player)) throw new IllegalArgumentException("Could not seat " + player.getName());
+        }
+        game.initializeGame();
+        lastGame = game;
+        lastTurns = 0;
+        lastPoints = 0;
+        if (recorder != null) {
+            recorder.startGame(seed, game.getParticipants());
+            recorder.startRound(game);
+        }
+
+        while (game.getGameStatus() == Uno_Model.GameStatus.IN_PROGRESS && lastTurns < maxTurns) {
+            if (!playTurn(game)) break;
+            lastTurns++;
+        }
+        int winner = findWinner(game);
+        if (recorder != null) {
+            recorder.endRound(game, winner);
+            try {
+                Uno_GameRecord record = recorder.finishGame();
+                long id = archive != null ? archive.append(record) : roundsRecorded;
+                if (telemetry != null) telemetry.exportGame(record.withId(id));
+                roundsRecorded++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return winner;
+    }
+
+    /**
+     * Finds the winner of a finished round and records the points scored.
+     * @return the seat of the winner, or NO_WINNER
+     */
+    private int findWinner(Uno_Model game) {
+        if (game.getGameStatus() != Uno_Model.GameStatus.ROUND_ENDED
+                && game.getGameStatus() != Uno_Model.GameStatus.GAME_OVER) {
+            return NO_WINNER;
+        }
+        List<Player_Model> participants = game.getParticipants();
+        for (int seat = 0; seat < participants.size(); seat++) {
+            if (participants.get(seat).getNumCards() == 0) {
+                lastPoints = participants.get(seat).getScore();
+                return seat;
+            }
+        }
+        return NO_WINNER;
+    }
+
+    /**
+     * Plays the current AI player's move.
+     * @return false if no move could be made
+     */
+    private boolean playTurn(Uno_Model game) {
+        int seat = game.getCurrentTurnIndex();
+        if (game.isPendingColourSelection() || game.isPendingDrawColourSelection()) {
+            return chooseColour(game, seat);
+        }
+        int cardIndex = game.getAICardSelection();
+        if (cardIndex < 0) {
+            game.drawCardAndPass();
+            if (recorder != null) recorder.drew(game, seat);
+            return true;
+        }
+        int face = game.getCurrentPlayer().getHand().get(cardIndex).getFaceId();
+        if (game.playCard(cardIndex) != Uno_Model.TurnAction.CARD_PLAYED) return false;
+        if (recorder != null) recorder.played(game, seat, face);
+        if (game.isPendingColourSelection() || game.isPendingDrawColourSelection()) {
+            chooseColour(game, seat);
+        }
+        return true;
+    }
+
+    private boolean chooseColour(Uno_Model game, int seat) {
+        Card_Model.CardColour colour = game.getAIColourSelection();
+        if (colour == null || !game.setActiveColour(colour)) return false;
+        if (recorder != null) recorder.choseColour(game, seat, colour);
+        return true;
+    }
+
+    /**
+     * Sets the archive every round played from now on is appended to.
+     * @param archive the archive, or null to stop recording
+     */
+    public void setArchive(Uno_GameArchive archive) {
+        this.archive = archive;
+        updateRecorder();
+    }
+
+    /**
+     * Sets the exporter the turns of every round played from now on are written to.
+     * @param telemetry the exporter, or null to stop exporting
+     */
+    public void setTelemetry(Uno_TelemetryExporter telemetry) {
+        this.telemetry = telemetry;
+        updateRecorder();
+    }
+
+    /**
+     * Records rounds while they are archived or exported.
+     */
+    private void updateRecorder() {
+        boolean recording = archive != null || telemetry != null;
+        this.recorder = recording ? (recorder != null ? recorder : new Uno_GameRecorder()) : null;
+    }
+
+    /**
+     * Gets the game of the last round played, e.g. to read the final hands.
+     * @return the last game, or null if no round was played
+     */
+    public Uno_Model getLastGame() {
+        return lastGame;
+    }
+
+    /**
+     * Gets the number of moves played in the last round.
+     * @return the move count
+     */
+    public int getLastTurns() {
+        return lastTurns;
+    }
+
+    /**
+     * Gets the points scored by the winner of the last round.
+     * @return the points, 0 if the round had no winner
+     */
+    public int getLastPoints() {
+        return lastPoints;
+    }
+}
@@ -0,0 +1,30 @@
+/**
+ * AI strategy that plays the valid card worth the most points, to get rid of points quickly.
+ *
+ * @author Lucas Baker
+ * @version 5.0
+ */
+public class Uno_HighestScoreStrategy implements Uno_AIStrategy {
+    public static final String NAME = "HIGHEST_SCORE";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int selectCard(Uno_GameView view) {
+        int bestIdx = -1;
+        int bestScore = 0;
+        for (int i = 0; i < view.getHandSize(); i++) {
+            if (!view.isPlayable(i)) continue;
+            int cardScore = view.getHandCard(i).getCardScore(view.isDarkSide());
+            if (bestIdx < 0) bestIdx = i;
+            if (cardScore > bestScore) {
+                bestScore = cardScore;
+                bestIdx = i;
+            }
+        }
+        return bestIdx;
+    }
+}
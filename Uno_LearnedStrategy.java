@@ -0,0 +1,75 @@
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * LINEAR strategy playing with weights trained offline by Uno_SelfPlayTrainer.
+ * The weights are given to the constructor or read from a weights file with fromFile(); a
+ * strategy made with no weights plays with the default Uno_LinearEvaluator weights. The
+ * strategy registered under NAME reads the weights file named by the system property
+ * WEIGHTS_PROPERTY, and uses the default weights when the property is not set.
+ * useWeightsFile() registers the weights of a given file instead.
+ *
+ * @author Saan John
+ * @version 5.0
+ */
+public class Uno_LearnedStrategy extends Uno_LinearStrategy {
+    public static final String NAME = "LEARNED";
+    public static final String WEIGHTS_PROPERTY = "uno.learned.weights";
+
+    /**
+     * Constructs the strategy with the default Uno_LinearEvaluator weights.
+     */
+    public Uno_LearnedStrategy() {
+        this(Uno_LinearEvaluator.getDefaultWeights());
+    }
+
+    /**
+     * Constructs the strategy with the given weights.
+     * @param weights one weight per Uno_LinearEvaluator feature
+     */
+    public Uno_LearnedStrategy(float[] weights) {
+        super(new Uno_LinearEvaluator(weights));
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Constructs the strategy with the weights saved in a file.
+     * @param weightsFile a file written by Uno_SelfPlayTrainer.saveWeights()
+     * @return the strategy
+     * @throws IOException if the file cannot be read or misses a weight
+     */
+    public static Uno_LearnedStrategy fromFile(File weightsFile) throws IOException {
+        return new Uno_LearnedStrategy(Uno_SelfPlayTrainer.loadWeights(weightsFile));
+    }
+
+    /**
+     * Constructs the strategy registered under NAME, with the weights file named by the system
+     * property WEIGHTS_PROPERTY.
+     * @return the strategy, with the default weights if the property is not set
+     * @throws IllegalArgumentException if the named file cannot be read or misses a weight
+     */
+    public static Uno_LearnedStrategy fromConfiguredFile() {
+        String path = System.getProperty(WEIGHTS_PROPERTY);
+        if (path == null) return new Uno_LearnedStrategy();
+        try {
+            return fromFile(new File(path));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot read the " + NAME + " weights file " + path, e);
+        }
+    }
+
+    /**
+     * Registers NAME to create strategies with the weights saved in a file. The file is read
+     * once; the registration is left unchanged if it cannot be read.
+     * @param weightsFile a file written by Uno_SelfPlayTrainer.saveWeights()
+     * @throws IOException if the file cannot be read or misses a weight
+     */
+    public static void useWeightsFile(File weightsFile) throws IOException {
+        float[] weights = Uno_SelfPlayTrainer.loadWeights(weightsFile);
+        Uno_StrategyRegistry.register(NAME, () -> new Uno_LearnedStrategy(weights));
+    }
+}
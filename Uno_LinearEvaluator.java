@@ -0,0 +1,244 @@
+import java.util.Arrays;
+
+/**
+ * Scores candidate moves with a weighted sum of move features (a linear evaluation).
+ * Hands are encoded compactly as the number of copies of each card face, so features can be
+ * extracted for many hands at once into one flat array and scored in a single tight loop.
+ *
+ * Features of playing a card (see FEATURE_NAMES):
+ *   0 SCORE:       points of the played card / 50
+ *   1 ACTION:      the card is a Skip, Skip Everyone or Reverse
+ *   2 ATTACK:      cards the next player has to draw / 5
+ *   3 WILD:        the card is a wild card
+ *   4 FLIP:        the card is a Flip
+ *   5 COLOUR_LEFT: share of the remaining hand in the colour that will be played next
+ *   6 SMALL_HAND:  action or attack card played with 3 or fewer cards in hand
+ *   7 NEXT_THREAT: action or attack card played when the next player holds 2 or fewer cards
+ *   8 DUPLICATE:   copies of the same card left in hand
+ *
+ * Data Structure Design:
+ * - float[] weights: One weight per feature, the default weights follow the STRATEGIC strategy
+ * - Feature rows are NUM_FEATURES floats long and stored back to back in one float[]
+ *      * Row layout keeps every loop over contiguous memory, which the JIT can vectorize
+ * - static lookup tables indexed by [side][face] so extraction never touches Card_Model objects
+ *
+ * @author Saan John
+ * @version 5.0
+ */
+public class Uno_LinearEvaluator {
+    public static final int NUM_FEATURES = 9;
+    public static final String[] FEATURE_NAMES = {
+        "SCORE", "ACTION", "ATTACK", "WILD", "FLIP", "COLOUR_LEFT", "SMALL_HAND", "NEXT_THREAT", "DUPLICATE"
+    };
+    /** Most candidate moves a hand can have: every non-wild face once, both wild faces in 4 colours. */
+    public static final int MAX_CANDIDATES = Card_Model.NUM_FACES + 3 * 2;
+
+    private static final float[] DEFAULT_WEIGHTS = {50f, 0f, 0f, -40f, 5f, 10f, 25f, 20f, 2f};
+
+    private static final int[] COLOUR_INDEX = new int[Card_Model.CardColour.values().length];
+    private static final int[][] FACE_VALUE = new int[2][Card_Model.NUM_FACES];
+    private static final int[][] FACE_COLOUR = new int[2][Card_Model.NUM_FACES];
+    private static final float[][] FACE_SCORE = new float[2][Card_Model.NUM_FACES];
+    private static final boolean[][] FACE_WILD = new boolean[2][Card_Model.NUM_FACES];
+    private static final float[][] FACE_ACTION = new float[2][Card_Model.NUM_FACES];
+    private static final float[][] FACE_ATTACK = new float[2][Card_Model.NUM_FACES];
+    private static final float[][] FACE_FLIP = new float[2][Card_Model.NUM_FACES];
+    private static final int[][] SIDE_COLOUR_ORDINALS = new int[2][4];
+
+    static {
+        Arrays.fill(COLOUR_INDEX, -1);
+        for (int side = 0; side < 2; side++) {
+            boolean dark = side == 1;
+            for (int face = 0; face < Card_Model.NUM_FACES; face++) {
+                Card_Model.CardValue value = Card_Model.getFaceValue(face, dark);
+                FACE_VALUE[side][face] = value.ordinal();
+                FACE_COLOUR[side][face] = Card_Model.getFaceColour(face, dark).ordinal();
+                FACE_SCORE[side][face] = Card_Model.getFaceScore(face, dark) / 50f;
+                FACE_WILD[side][face] = Card_Model.isWildFace(face, dark);
+                FACE_ACTION[side][face] = value == Card_Model.CardValue.SKIP
+                        || value == Card_Model.CardValue.SKIP_EVERYONE
+                        || value == Card_Model.CardValue.REVERSE ? 1f : 0f;
+                FACE_ATTACK[side][face] = switch (value) {
+                    case DRAW_ONE -> 1f / 5;
+                    case WILD_DRAW_TWO -> 2f / 5;
+                    case WILD_DRAW_COLOUR -> 3f / 5;
+                    case DRAW_FIVE -> 1f;
+                    default -> 0f;
+                };
+                FACE_FLIP[side][face] = value == Card_Model.CardValue.FLIP ? 1f : 0f;
+            }
+            for (int i = 0; i < 4; i++) {
+                SIDE_COLOUR_ORDINALS[side][i] = Uno_GameView.getSideColour(dark, i).ordinal();
+                COLOUR_INDEX[SIDE_COLOUR_ORDINALS[side][i]] = i;
+            }
+        }
+    }
+
+    private final float[] weights;
+
+    /**
+     * Constructs an evaluator with the default weights.
+     */
+    public Uno_LinearEvaluator() {
+        this(DEFAULT_WEIGHTS);
+    }
+
+    /**
+     * Constructs an evaluator with the given weights.
+     * @param weights one weight per feature
+     */
+    public Uno_LinearEvaluator(float[] weights) {
+        if (weights.length != NUM_FEATURES) {
+            throw new IllegalArgumentException("Expected " + NUM_FEATURES + " weights, got " + weights.length);
+        }
+        this.weights = weights.clone();
+    }
+
+    /**
+     * Gets a copy of the weights.
+     * @return one weight per feature
+     */
+    public float[] getWeights() {
+        return weights.clone();
+    }
+
+    /**
+     * Gets the default weights.
+     * @return a copy of the default weights
+     */
+    public static float[] getDefaultWeights() {
+        return DEFAULT_WEIGHTS.clone();
+    }
+
+    /**
+     * Encodes a hand as the number of copies of each face.
+     * @param view the view holding the hand
+     * @param counts array to write to, NUM_FACES entries from offset
+     * @param offset the index of the first entry
+     * @return false if the hand holds a card outside the standard deck
+     */
+    public static boolean encodeHand(Uno_GameView view, byte[] counts, int offset) {
+        Arrays.fill(counts, offset, offset + Card_Model.NUM_FACES, (byte) 0);
+        for (int i = 0; i < view.getHandSize(); i++) {
+            Card_Model card = view.getHandCard(i);
+            if (card == null) continue;
+            int face = card.getFaceId();
+            if (face < 0) return false;
+            counts[offset + face]++;
+        }
+        return true;
+    }
+
+    /**
+     * Writes the candidate moves of a hand and their feature rows.
+     * @param counts encoded hands, NUM_FACES entries from countOffset
+     * @param countOffset the index of the hand's first entry
+     * @param matchColour ordinal of the colour to match
+     * @param matchValue ordinal of the value to match
+     * @param isDarkSide true if the game is on the dark side
+     * @param nextPlayerCards number of cards the next player holds
+     * @param moves receives the encoded moves (see Uno_SimState) from moveOffset
+     * @param moveOffset index of the first move to write
+     * @param features receives one feature row per move, starting at row moveOffset
+     * @return the number of candidate moves written
+     */
+    public static int extractFeatures(byte[] counts, int countOffset, int matchColour, int matchValue,
+                                      boolean isDarkSide, int nextPlayerCards,
+                                      int[] moves, int moveOffset, float[] features) {
+        int side = isDarkSide ? 1 : 0;
+        int handSize = 0;
+        long colourCounts = 0L;     // 16 bits per colour of the side, no array needed
+        for (int face = 0; face < Card_Model.NUM_FACES; face++) {
+            int copies = counts[countOffset + face];
+            handSize += copies;
+            int colourIdx = COLOUR_INDEX[FACE_COLOUR[side][face]];
+            if (colourIdx >= 0) colourCounts += (long) copies << (16 * colourIdx);
+        }
+        float remaining = Math.max(1, handSize - 1);
+        float smallHand = handSize <= 3 ? 1f : 0f;
+        float nextThreat = nextPlayerCards <= 2 ? 1f : 0f;
+
+        int count = 0;
+        for (int face = 0; face < Card_Model.NUM_FACES; face++) {
+            int copies = counts[countOffset + face];
+            if (copies == 0) continue;
+            boolean wild = FACE_WILD[side][face];
+            if (!wild && FACE_COLOUR[side][face] != matchColour && FACE_VALUE[side][face] != matchValue) continue;
+            int options = wild ? 4 : 1;
+            for (int c = 0; c < options; c++) {
+                int colourIdx = wild ? c : COLOUR_INDEX[FACE_COLOUR[side][face]];
+                int left = (int) (colourCounts >>> (16 * colourIdx)) & 0xFFFF;
+                if (!wild) left--;
+                float pressure = FACE_ACTION[side][face] + FACE_ATTACK[side][face] > 0 ? 1f : 0f;
+
+                int row = (moveOffset + count) * NUM_FEATURES;
+                features[row] = FACE_SCORE[side][face];
+                features[row + 1] = FACE_ACTION[side][face];
+                features[row + 2] = FACE_ATTACK[side][face];
+                features[row + 3] = wild ? 1f : 0f;
+                features[row + 4] = FACE_FLIP[side][face];
+                features[row + 5] = left / remaining;
+                features[row + 6] = smallHand * pressure;
+                features[row + 7] = nextThreat * pressure;
+                features[row + 8] = copies - 1;
+                moves[moveOffset + count] = face * 4 + c;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Scores a range of feature rows.
+     * @param features the feature rows
+     * @param from the first row to score
+     * @param to one past the last row to score
+     * @param scores receives the score of row i at index i
+     */
+    public void score(float[] features, int from, int to, float[] scores) {
+        float w0 = weights[0], w1 = weights[1], w2 = weights[2], w3 = weights[3], w4 = weights[4];
+        float w5 = weights[5], w6 = weights[6], w7 = weights[7], w8 = weights[8];
+        for (int i = from; i < to; i++) {
+            int row = i * NUM_FEATURES;
+            scores[i] = w0 * features[row] + w1 * features[row + 1] + w2 * features[row + 2]
+                    + w3 * features[row + 3] + w4 * features[row + 4] + w5 * features[row + 5]
+                    + w6 * features[row + 6] + w7 * features[row + 7] + w8 * features[row + 8];
+        }
+    }
+
+    /**
+     * Finds the best scored move in a range.
+     * @param moves the encoded moves
+     * @param scores the scores of the moves
+     * @param from the first move
+     * @param to one past the last move
+     * @return the best move, or Uno_SimState.DRAW_MOVE if the range is empty
+     */
+    public static int bestMove(int[] moves, float[] scores, int from, int to) {
+        int best = Uno_SimState.DRAW_MOVE;
+        float bestScore = Float.NEGATIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            if (scores[i] > bestScore) {
+                bestScore = scores[i];
+                best = moves[i];
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Finds the index in the hand of the card played by a move.
+     * @param view the view holding the hand
+     * @param move the encoded move
+     * @return the hand index, or -1 if no playable card matches
+     */
+    public static int findCard(Uno_GameView view, int move) {
+        int face = Uno_SimState.getMoveFace(move);
+        if (face < 0) return -1;
+        for (int i = 0; i < view.getHandSize(); i++) {
+            Card_Model card = view.getHandCard(i);
+            if (card != null && card.getFaceId() == face && view.isPlayable(i)) return i;
+        }
+        return -1;
+    }
+}
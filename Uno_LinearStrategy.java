@@ -0,0 +1,82 @@
+/**
+ * AI strategy that plays the candidate move with the best Uno_LinearEvaluator score.
+ * The same evaluation is used by Uno_BatchDecisionService, which scores many tables at once.
+ * When a wild card is picked, the colour it was scored with is the colour chosen afterwards.
+ *
+ * Data Structures:
+ *   - byte[] handCounts, int[] moves, float[] features, float[] scores: buffers reused for every
+ *     decision, sized for the largest possible hand
+ *
+ * @author Saan John
+ * @version 5.0
+ */
+public class Uno_LinearStrategy implements Uno_AIStrategy {
+    public static final String NAME = "LINEAR";
+
+    private final Uno_LinearEvaluator evaluator;
+    private final byte[] handCounts = new byte[Card_Model.NUM_FACES];
+    private final int[] moves = new int[Uno_LinearEvaluator.MAX_CANDIDATES];
+    private final float[] features = new float[Uno_LinearEvaluator.MAX_CANDIDATES * Uno_LinearEvaluator.NUM_FEATURES];
+    private final float[] scores = new float[Uno_LinearEvaluator.MAX_CANDIDATES];
+    private Card_Model.CardColour plannedColour;
+
+    /**
+     * Constructs the strategy with the default weights.
+     */
+    public Uno_LinearStrategy() {
+        this(new Uno_LinearEvaluator());
+    }
+
+    /**
+     * Constructs the strategy with the given evaluator.
+     * @param evaluator the evaluator used to score moves
+     */
+    public Uno_LinearStrategy(Uno_LinearEvaluator evaluator) {
+        this.evaluator = evaluator;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Gets the evaluator used to score moves.
+     * @return the evaluator
+     */
+    public Uno_LinearEvaluator getEvaluator() {
+        return evaluator;
+    }
+
+    @Override
+    public int selectCard(Uno_GameView view) {
+        plannedColour = null;
+        if (!Uno_LinearEvaluator.encodeHand(view, handCounts, 0)) {
+            for (int i = 0; i < view.getHandSize(); i++) {
+                if (view.isPlayable(i)) return i;
+            }
+            return -1;
+        }
+        int count = Uno_LinearEvaluator.extractFeatures(handCounts, 0,
+                view.getMatchColour().ordinal(), view.getMatchType().ordinal(), view.isDarkSide(),
+                view.getCardCount(view.getNextPlayerIndex()), moves, 0, features);
+        if (count == 0) return -1;
+        evaluator.score(features, 0, count, scores);
+        int move = Uno_LinearEvaluator.bestMove(moves, scores, 0, count);
+        int index = Uno_LinearEvaluator.findCard(view, move);
+        if (index >= 0 && view.getHandCard(index).isWildCard()) {
+            plannedColour = Uno_SimState.getMoveColour(move, view.isDarkSide());
+        }
+        return index;
+    }
+
+    @Override
+    public Card_Model.CardColour selectWildColour(Uno_GameView view) {
+        if (plannedColour != null) {
+            Card_Model.CardColour colour = plannedColour;
+            plannedColour = null;
+            return colour;
+        }
+        return Uno_AIStrategy.super.selectWildColour(view);
+    }
+}
@@ -0,0 +1,276 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Monte Carlo tree search for AI players (information set MCTS).
+ * Every iteration deals the cards the AI cannot see at random (a determinization), walks the
+ * search tree using only the moves that are legal in that deal, expands one new node, plays a
+ * random rollout to the end of the round and backs the result up the tree.
+ * The move at the root that was visited the most is returned.
+ *
+ * The search stops when either the time budget or the iteration budget runs out, whichever
+ * comes first. Rollouts run on reusable Uno_SimState objects and do not allocate.
+ *
+ * Data Structure Design:
+ * - Node pool (parallel int/double arrays indexed by node id): Stores the search tree
+ *   Arrays chosen for:
+ *      * One tree can have tens of thousands of nodes, arrays avoid an object per node
+ *      * The pool is reused between turns, it only grows when a bigger tree is needed
+ *   Children are kept as a linked list (firstChild / nextSibling), branching is small
+ * - int[] nodeAvail: How often each node's move was legal when its parent was visited
+ *      * Used instead of the parent's visit count in UCB, since moves are not always legal
+ * - Uno_SimState root, sim: The loaded game and the working copy for the current iteration
+ * - Uno_Determinizer sampler: Deals the cards the AI has not seen into sim every iteration
+ *
+ * @author Saan John
+ * @version 5.0
+ */
+public class Uno_MCTS {
+    public static final int DEFAULT_TIME_BUDGET_MILLIS = 200;
+    public static final int DEFAULT_MAX_ITERATIONS = 20000;
+    public static final int NO_MOVE = -1;
+
+    private static final double EXPLORATION = 0.7;
+    private static final int MAX_ROLLOUT_TURNS = 400;
+    private static final int INITIAL_NODES = 4096;
+    private static final int TIME_CHECK_INTERVAL = 32;
+
+    private int timeBudgetMillis;
+    private int maxIterations;
+    private final SplittableRandom rng;
+    private final Uno_SimState root;
+    private final Uno_SimState sim;
+    private final Uno_Determinizer sampler;
+    private boolean useSampler;
+    private final int[] moves;
+    private final int[] untried;
+
+    private int nodeCount;
+    private int[] nodeMove;
+    private int[] nodePlayer;
+    private int[] nodeParent;
+    private int[] nodeFirstChild;
+    private int[] nodeNextSibling;
+    private int[] nodeVisits;
+    private int[] nodeAvail;
+    private double[] nodeReward;
+    private int lastIterations;
+
+    /**
+     * Constructs a search with the default budgets.
+     */
+    public Uno_MCTS() {
+        this(DEFAULT_TIME_BUDGET_MILLIS, DEFAULT_MAX_ITERATIONS, new SplittableRandom());
+    }
+
+    /**
+     * Constructs a search with the given budgets.
+     * @param timeBudgetMillis the maximum time per search in milliseconds
+     * @param maxIterations the maximum number of iterations per search
+     * @param rng the random number generator used for deals and rollouts
+     */
+    public Uno_MCTS(int timeBudgetMillis, int maxIterations, SplittableRandom rng) {
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.maxIterations = maxIterations;
+        this.rng = rng;
+        this.root = new Uno_SimState();
+        this.sim = new Uno_SimState();
+        this.sim.setShuffleRandom(rng);
+        this.sampler = new Uno_Determinizer();
+        this.moves = new int[Uno_SimState.MAX_MOVES];
+        this.untried = new int[Uno_SimState.MAX_MOVES];
+        allocateNodes(INITIAL_NODES);
+    }
+
+    /**
+     * Sets the search budgets.
+     * @param timeBudgetMillis the maximum time per search in milliseconds
+     * @param maxIterations the maximum number of iterations per search
+     */
+    public void setBudget(int timeBudgetMillis, int maxIterations) {
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.maxIterations = maxIterations;
+    }
+
+    /**
+     * Searches for the best move of a player in a game.
+     * @param game the game to search
+     * @param observer the index of the AI player, whose hand is known
+     * @return the encoded move (see Uno_SimState), or NO_MOVE if the game cannot be simulated
+     */
+    public int search(Uno_Model game, int observer) {
+        if (!root.loadFrom(game)) return NO_MOVE;
+        return searchState(root, observer);
+    }
+
+    /**
+     * Searches for the best move of a player from a simulation state.
+     * @param state the state to search from, it is not changed
+     * @param observer the index of the AI player, whose hand is known
+     * @return the encoded move (see Uno_SimState), or NO_MOVE if the round is already over
+     */
+    public int searchState(Uno_SimState state, int observer) {
+        if (state != root) root.copyFrom(state);
+        if (root.isRoundOver()) return NO_MOVE;
+        resetTree();
+        useSampler = sampler.observe(root, observer);
+
+        int rootMoves = root.getLegalMoves(moves);
+        if (rootMoves == 1) {
+            lastIterations = 0;
+            return moves[0];
+        }
+
+        long deadline = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+        int iterations = 0;
+        while (iterations < maxIterations) {
+            if (iterations % TIME_CHECK_INTERVAL == 0 && System.nanoTime() >= deadline && iterations > 0) break;
+            runIteration(observer);
+            iterations++;
+        }
+        lastIterations = iterations;
+        return getBestRootMove();
+    }
+
+    /**
+     * Runs one determinize, select, expand, rollout and backpropagate pass.
+     */
+    private void runIteration(int observer) {
+        sim.copyFrom(root);
+        if (useSampler) {
+            sampler.sample(sim, rng);
+        } else {
+            sim.determinize(observer, rng);
+        }
+
+        int node = 0;
+        while (!sim.isRoundOver()) {
+            int count = sim.getLegalMoves(moves);
+            int numUntried = 0;
+            int best = -1;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < count; i++) {
+                int child = findChild(node, moves[i]);
+                if (child < 0) {
+                    untried[numUntried++] = moves[i];
+                    continue;
+                }
+                nodeAvail[child]++;
+                double value = nodeReward[child] / nodeVisits[child]
+                        + EXPLORATION * Math.sqrt(Math.log(nodeAvail[child]) / nodeVisits[child]);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            int mover = sim.getCurrentPlayer();
+            if (numUntried > 0) {
+                int move = untried[rng.nextInt(numUntried)];
+                node = addChild(node, move, mover);
+                sim.applyMove(move);
+                break;
+            }
+            sim.applyMove(nodeMove[best]);
+            node = best;
+        }
+
+        sim.rollout(rng, MAX_ROLLOUT_TURNS);
+
+        while (node != -1) {
+            nodeVisits[node]++;
+            if (node != 0) nodeReward[node] += sim.getReward(nodePlayer[node]);
+            node = nodeParent[node];
+        }
+    }
+
+    /**
+     * Gets the root move with the most visits.
+     */
+    private int getBestRootMove() {
+        int bestMove = NO_MOVE;
+        int bestVisits = -1;
+        for (int child = nodeFirstChild[0]; child != -1; child = nodeNextSibling[child]) {
+            if (nodeVisits[child] > bestVisits) {
+                bestVisits = nodeVisits[child];
+                bestMove = nodeMove[child];
+            }
+        }
+        return bestMove;
+    }
+
+    /**
+     * Adds the visit counts of the root moves from the last search into an array indexed by move.
+     * @param visitsByMove array of at least Uno_SimState.MAX_MOVES entries
+     */
+    public void addRootVisits(long[] visitsByMove) {
+        for (int child = nodeFirstChild[0]; child != -1; child = nodeNextSibling[child]) {
+            visitsByMove[nodeMove[child]] += nodeVisits[child];
+        }
+    }
+
+    /**
+     * Gets the number of iterations run by the last search.
+     * @return the iteration count
+     */
+    public int getLastIterations() {
+        return lastIterations;
+    }
+
+    // ======== NODE POOL ========
+
+    private void resetTree() {
+        nodeCount = 0;
+        addNode(-1, NO_MOVE, -1);
+    }
+
+    private int findChild(int node, int move) {
+        for (int child = nodeFirstChild[node]; child != -1; child = nodeNextSibling[child]) {
+            if (nodeMove[child] == move) return child;
+        }
+        return -1;
+    }
+
+    private int addChild(int parent, int move, int player) {
+        int child = addNode(parent, move, player);
+        nodeNextSibling[child] = nodeFirstChild[parent];
+        nodeFirstChild[parent] = child;
+        nodeAvail[child] = 1;
+        return child;
+    }
+
+    private int addNode(int parent, int move, int player) {
+        if (nodeCount == nodeMove.length) allocateNodes(nodeCount * 2);
+        int node = nodeCount++;
+        nodeMove[node] = move;
+        nodePlayer[node] = player;
+        nodeParent[node] = parent;
+        nodeFirstChild[node] = -1;
+        nodeNextSibling[node] = -1;
+        nodeVisits[node] = 0;
+        nodeAvail[node] = 0;
+        nodeReward[node] = 0.0;
+        return node;
+    }
+
+    private void allocateNodes(int capacity) {
+        if (nodeMove == null) {
+            nodeMove = new int[capacity];
+            nodePlayer = new int[capacity];
+            nodeParent = new int[capacity];
+            nodeFirstChild = new int[capacity];
+            nodeNextSibling = new int[capacity];
+            nodeVisits = new int[capacity];
+            nodeAvail = new int[capacity];
+            nodeReward = new double[capacity];
+            return;
+        }
+        nodeMove = Arrays.copyOf(nodeMove, capacity);
+        nodePlayer = Arrays.copyOf(nodePlayer, capacity);
+        nodeParent = Arrays.copyOf(nodeParent, capacity);
+        nodeFirstChild = Arrays.copyOf(nodeFirstChild, capacity);
+        nodeNextSibling = Arrays.copyOf(nodeNextSibling, capacity);
+        nodeVisits = Arrays.copyOf(nodeVisits, capacity);
+        nodeAvail = Arrays.copyOf(nodeAvail, capacity);
+        nodeReward = Arrays.copyOf(nodeReward, capacity);
+    }
+}
@@ -0,0 +1,35 @@
+import java.util.SplittableRandom;
+
+/**
+ * MCTS strategy: searches with Uno_MCTS and plays like STRATEGIC when the search cannot be run.
+ * The search is created on first use and reused between turns, so its buffers are only
+ * allocated once.
+ *
+ * @author Saan John
+ * @version 5.0
+ */
+public class Uno_MCTSStrategy extends Uno_StrategicStrategy implements Uno_SearchStrategy {
+    public static final String NAME = "MCTS";
+
+    private int timeMillis = Uno_MCTS.DEFAULT_TIME_BUDGET_MILLIS;
+    private int maxIterations = Uno_MCTS.DEFAULT_MAX_ITERATIONS;
+    private Uno_MCTS search;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int search(Uno_SimState state, int observer) {
+        if (search == null) search = new Uno_MCTS(timeMillis, maxIterations, new SplittableRandom());
+        return search.searchState(state, observer);
+    }
+
+    @Override
+    public void setSearchBudget(int timeMillis, int maxIterations) {
+        this.timeMillis = timeMillis;
+        this.maxIterations = maxIterations;
+        if (search != null) search.setBudget(timeMillis, maxIterations);
+    }
+}
@@ -0,0 +1,111 @@
+/**
+ * Decides which cards can be played with bit masks over card faces. The colour and value to
+ * match are compiled into a 54 bit mask, one bit per face id (see Card_Model.getFaceId), of
+ * the faces that may be played on them. Checking a card is then one bit test, and the
+ * playable faces of a whole hand are the hand's face mask (Player_Model.getHandFaceMask)
+ * ANDed with the compiled mask.
+ *
+ * The rule is the one of Uno_Model.isValidPlay: wild cards are always playable, other cards
+ * must match the colour or the value. A mask is compiled for one side, since a face shows a
+ * different colour and value on each side. Cards that are not part of the standard deck
+ * (face id -1) are checked by comparing their colour and value.
+ *
+ * Data Structures:
+ *   - long[] WILD_MASKS: The wild faces of each side
+ *   - long[][] COLOUR_MASKS, VALUE_MASKS: Per side, the faces showing each colour and value,
+ *     indexed by enum ordinal, filled once when the class loads
+ *
+ * @author Lasya Erukulla
+ * @version 5.0
+ */
+public final class Uno_MatchEngine {
+    private static final long[] WILD_MASKS = new long[2];
+    private static final long[][] COLOUR_MASKS = new long[2][Card_Model.CardColour.values().length];
+    private static final long[][] VALUE_MASKS = new long[2][Card_Model.CardValue.values().length];
+
+    static {
+        for (int side = 0; side < 2; side++) {
+            for (int face = 0; face < Card_Model.NUM_FACES; face++) {
+                long bit = 1L << face;
+                if (Card_Model.isWildFace(face, side == 1)) WILD_MASKS[side] |= bit;
+                COLOUR_MASKS[side][Card_Model.getFaceColour(face, side == 1).ordinal()] |= bit;
+                VALUE_MASKS[side][Card_Model.getFaceValue(face, side == 1).ordinal()] |= bit;
+            }
+        }
+    }
+
+    private Uno_MatchEngine() {
+    }
+
+    /**
+     * Compiles the colour and value to match into a mask of playable faces.
+     * @param matchColour the colour to match, or null
+     * @param matchType the value to match, or null
+     * @param isDarkSide true to compile for the dark side
+     * @return the mask, bit f set if face f may be played
+     */
+    public static long compile(Card_Model.CardColour matchColour, Card_Model.CardValue matchType, boolean isDarkSide) {
+        int side = isDarkSide ? 1 : 0;
+        long mask = WILD_MASKS[side];
+        if (matchColour != null) mask |= COLOUR_MASKS[side][matchColour.ordinal()];
+        if (matchType != null) mask |= VALUE_MASKS[side][matchType.ordinal()];
+        return mask;
+    }
+
+    /**
+     * Checks if a face is in a compiled mask.
+     * @param mask the compiled mask
+     * @param faceId the face id, 0 to NUM_FACES - 1
+     * @return true if the face may be played
+     */
+    public static boolean matches(long mask, int faceId) {
+        return (mask >>> faceId & 1L) != 0;
+    }
+
+    /**
+     * Checks if a card may be played, with masks compiled for both sides.
+     * @param card the card
+     * @param masks the masks compiled for the light side (index 0) and the dark side (index 1)
+     * @param matchColour the colour the masks were compiled from
+     * @param matchType the value the masks were compiled from
+     * @return true if the card is a valid play
+     */
+    public static boolean isValidPlay(Card_Model card, long[] masks, Card_Model.CardColour matchColour,
+                                      Card_Model.CardValue matchType) {
+        if (card == null) return false;
+        int face = card.getFaceId();
+        if (face < 0) return matchByValue(card, matchColour, matchType);
+        return matches(masks[card.getCurrentCardSide() == Card_Model.CardSide.DARK_SIDE ? 1 : 0], face);
+    }
+
+    /**
+     * Checks if a card may be played on the given colour and value.
+     * @param card the card
+     * @param matchColour the colour to match
+     * @param matchType the value to match
+     * @return true if the card is a valid play
+     */
+    public static boolean isValidPlay(Card_Model card, Card_Model.CardColour matchColour, Card_Model.CardValue matchType) {
+        if (card == null) return false;
+        int face = card.getFaceId();
+        if (face < 0) return matchByValue(card, matchColour, matchType);
+        boolean dark = card.getCurrentCardSide() == Card_Model.CardSide.DARK_SIDE;
+        return matches(compile(matchColour, matchType, dark), face);
+    }
+
+    /**
+     * Compiles the masks of both sides into an array.
+     * @param masks the array to fill, of length 2
+     * @param matchColour the colour to match
+     * @param matchType the value to match
+     */
+    public static void compileBothSides(long[] masks, Card_Model.CardColour matchColour, Card_Model.CardValue matchType) {
+        masks[0] = compile(matchColour, matchType, false);
+        masks[1] = compile(matchColour, matchType, true);
+    }
+
+    private static boolean matchByValue(Card_Model card, Card_Model.CardColour matchColour, Card_Model.CardValue matchType) {
+        if (card.isWildCard()) return true;
+        return card.getColour() == matchColour || card.getCardValue() == matchType;
+    }
+}
@@ -0,0 +1,412 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Compares two AI strategies with mirrored deals and a sequential probability ratio test (SPRT).
+ *
+ * A pair is one seeded deal played twice by headless 2-player rounds (Uno_HeadlessRunner), the
+ * second time with the seats swapped. The luck of the deal cancels out within a pair, so a pair
+ * scores 1 if the first strategy won both rounds, 0 if it lost both and 0.5 for a split.
+ * Only decisive pairs (1 or 0) say which strategy is better, they drive the SPRT:
+ *   H0: the first strategy wins a decisive pair with probability 0.5 - delta (second is better)
+ *   H1: the first strategy wins a decisive pair with probability 0.5 + delta (first is better)
+ * The log likelihood ratio is updated per decisive pair, and the match stops as soon as it leaves
+ * the bounds set by alpha and beta, or after maxPairs pairs (INCONCLUSIVE).
+ *
+ * Pairs are played in batches on a fixed thread pool, the test is checked after every batch,
+ * so a match can run up to one batch past the point where the test decided.
+ * The report also gives the number of pairs a fixed-budget run needs for the same delta, alpha
+ * and beta, so the saving of stopping early can be seen for every match.
+ *
+ * Usage: java Uno_MatchEvaluator <first strategy> <second strategy> [maxPairs] [seed]
+ *
+ * @author Lasya Erukulla
+ * @version 5.0
+ */
+public class Uno_MatchEvaluator {
+    public static final double DEFAULT_DELTA = 0.05;
+    public static final double DEFAULT_ALPHA = 0.05;
+    public static final double DEFAULT_BETA = 0.05;
+    public static final int DEFAULT_MAX_PAIRS = 20000;
+    public static final int DEFAULT_BATCH_PAIRS = 200;
+    public static final double Z_95 = 1.96;
+
+    private static final int PAIRS_PER_TASK = 25;
+
+    public enum Decision {
+        FIRST_BETTER,
+        SECOND_BETTER,
+        INCONCLUSIVE
+    }
+
+    /**
+     * Running results of mirrored pairs. Results of separate chunks are added up with add().
+     */
+    public static final class PairStats {
+        private long pairs;
+        private long decisive;
+        private long firstWins;
+        private double scoreSum;
+        private double scoreSquares;
+
+        /**
+         * Adds the result of one pair.
+         * @param score 1, 0.5 or 0 from the first strategy's point of view
+         */
+        public void addPair(double score) {
+            pairs++;
+            scoreSum += score;
+            scoreSquares += score * score;
+            if (score == 1) {
+                decisive++;
+                firstWins++;
+            } else if (score == 0) {
+                decisive++;
+            }
+        }
+
+        /**
+         * Adds the results of other pairs.
+         * @param other the results to add
+         */
+        public void add(PairStats other) {
+            pairs += other.pairs;
+            decisive += other.decisive;
+            firstWins += other.firstWins;
+            scoreSum += other.scoreSum;
+            scoreSquares += other.scoreSquares;
+        }
+
+        /**
+         * Gets the number of pairs played.
+         * @return the pair count
+         */
+        public long getPairs() { return pairs; }
+
+        /**
+         * Gets the number of pairs won twice by one strategy.
+         * @return the decisive pair count
+         */
+        public long getDecisivePairs() { return decisive; }
+
+        /**
+         * Gets the number of decisive pairs won by the first strategy.
+         * @return the first strategy's decisive wins
+         */
+        public long getFirstWins() { return firstWins; }
+
+        /**
+         * Gets the mean pair score, the share of rounds won by the first strategy.
+         * @return the mean score, 0.5 if no pairs were played
+         */
+        public double getMean() {
+            return pairs == 0 ? 0.5 : scoreSum / pairs;
+        }
+
+        /**
+         * Gets the sample variance of the pair scores.
+         * @return the variance, 0 with fewer than two pairs
+         */
+        public double getVariance() {
+            if (pairs < 2) return 0;
+            double mean = getMean();
+            return Math.max(0, scoreSquares / pairs - mean * mean) * pairs / (pairs - 1);
+        }
+
+        /**
+         * Gets the standard error of the mean pair score.
+         * @return the standard error
+         */
+        public double getStandardError() {
+            return pairs == 0 ? 0 : Math.sqrt(getVariance() / pairs);
+        }
+    }
+
+    /**
+     * Outcome of a match.
+     */
+    public static final class Report {
+        private final String first;
+        private final String second;
+        private final Decision decision;
+        private final PairStats stats;
+        private final double llr;
+        private final long fixedBudgetPairs;
+
+        private Report(String first, String second, Decision decision, PairStats stats, double llr, long fixedBudgetPairs) {
+            this.first = first;
+            this.second = second;
+            this.decision = decision;
+            this.stats = stats;
+            this.llr = llr;
+            this.fixedBudgetPairs = fixedBudgetPairs;
+        }
+
+        /**
+         * Gets the decision of the sequential test.
+         * @return the decision
+         */
+        public Decision getDecision() { return decision; }
+
+        /**
+         * Gets the pair results.
+         * @return the results from the first strategy's point of view
+         */
+        public PairStats getStats() { return stats; }
+
+        /**
+         * Gets the final log likelihood ratio of the sequential test.
+         * @return the log likelihood ratio
+         */
+        public double getLogLikelihoodRatio() { return llr; }
+
+        /**
+         * Gets the rounds played, two per pair.
+         * @return the round count
+         */
+        public long getRoundsPlayed() { return 2 * stats.getPairs(); }
+
+        /**
+         * Gets the rounds a fixed-budget run needs for the same delta, alpha and beta.
+         * @return the round count
+         */
+        public long getFixedBudgetRounds() { return 2 * fixedBudgetPairs; }
+
+        /**
+         * Gets the lower end of the 95% confidence interval of the first strategy's win rate.
+         * @return the lower bound
+         */
+        public double getLowerBound() { return stats.getMean() - Z_95 * stats.getStandardError(); }
+
+        /**
+         * Gets the upper end of the 95% confidence interval of the first strategy's win rate.
+         * @return the upper bound
+         */
+        public double getUpperBound() { return stats.getMean() + Z_95 * stats.getStandardError(); }
+
+        @Override
+        public String toString() {
+            return String.format("%s vs %s: %s, win rate %.3f [%.3f, %.3f], LLR %.2f, %d rounds (fixed budget %d)",
+                    first, second, decision, stats.getMean(), getLowerBound(), getUpperBound(), llr,
+                    getRoundsPlayed(), getFixedBudgetRounds());
+        }
+    }
+
+    private final ExecutorService executor;
+    private final int maxPairs;
+    private final int batchPairs;
+    private final double delta;
+    private final double alpha;
+    private final double beta;
+
+    /**
+     * Constructs an evaluator with the default test settings and one thread per core.
+     */
+    public Uno_MatchEvaluator() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_MAX_PAIRS, DEFAULT_BATCH_PAIRS,
+                DEFAULT_DELTA, DEFAULT_ALPHA, DEFAULT_BETA);
+    }
+
+    /**
+     * Constructs an evaluator.
+     * @param threads the number of rounds played at the same time
+     * @param maxPairs the most pairs played per match
+     * @param batchPairs the pairs played between tests
+     * @param delta the smallest difference from 0.5 in decisive pair wins worth detecting
+     * @param alpha the chance of naming the first strategy better when the second is
+     * @param beta the chance of naming the second strategy better when the first is
+     */
+    public Uno_MatchEvaluator(int threads, int maxPairs, int batchPairs, double delta, double alpha, double beta) {
+        if (delta <= 0 || delta >= 0.5 || alpha <= 0 || alpha >= 0.5 || beta <= 0 || beta >= 0.5) {
+            throw new IllegalArgumentException("delta, alpha and beta must be between 0 and 0.5");
+        }
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "uno-match");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.maxPairs = Math.max(1, maxPairs);
+        this.batchPairs = Math.max(1, batchPairs);
+        this.delta = delta;
+        this.alpha = alpha;
+        this.beta = beta;
+    }
+
+    /**
+     * Plays a match and stops as soon as the sequential test decides.
+     * @param first creates the first strategy, called once per task
+     * @param second creates the second strategy, called once per task
+     * @param seed the seed of the first pair
+     * @return the report of the match
+     */
+    public Report compare(Supplier<Uno_AIStrategy> first, Supplier<Uno_AIStrategy> second, long seed) {
+        return play(first, second, seed, maxPairs, true);
+    }
+
+    /**
+     * Plays a fixed number of pairs without stopping early, for comparison with compare().
+     * The decision is taken from the sequential test at the end of the run.
+     * @param first creates the first strategy
+     * @param second creates the second strategy
+     * @param seed the seed of the first pair
+     * @param pairs the number of pairs to play
+     * @return the report of the match
+     */
+    public Report compareFixed(Supplier<Uno_AIStrategy> first, Supplier<Uno_AIStrategy> second, long seed, int pairs) {
+        return play(first, second, seed, Math.max(1, pairs), false);
+    }
+
+    /**
+     * Stops the worker threads.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private Report play(Supplier<Uno_AIStrategy> first, Supplier<Uno_AIStrategy> second, long seed,
+                        int budget, boolean sequential) {
+        PairStats stats = new PairStats();
+        Decision decision = Decision.INCONCLUSIVE;
+        for (int from = 0; from < budget; from += batchPairs) {
+            int to = Math.min(budget, from + batchPairs);
+            List<Callable<PairStats>> tasks = new ArrayList<>();
+            for (int start = from; start < to; start += PAIRS_PER_TASK) {
+                int chunkFrom = start;
+                int chunkTo = Math.min(to, start + PAIRS_PER_TASK);
+                tasks.add(() -> playPairs(first, second, seed, chunkFrom, chunkTo));
+            }
+            for (PairStats chunk : runAll(tasks)) stats.add(chunk);
+
+            decision = decide(getLogLikelihoodRatio(stats));
+            if (sequential && decision != Decision.INCONCLUSIVE) break;
+        }
+        String firstName = first.get().getName();
+        String secondName = second.get().getName();
+        return new Report(firstName, secondName, decision, stats, getLogLikelihoodRatio(stats), getFixedBudgetPairs(stats));
+    }
+
+    /**
+     * Plays mirrored pairs [from, to) on the calling thread.
+     * Pair i is dealt from seed + i, so chunks of the same match can run on any thread.
+     * @param first creates the first strategy
+     * @param second creates the second strategy
+     * @param seed the seed of pair 0
+     * @param from the first pair
+     * @param to one past the last pair
+     * @return the results from the first strategy's point of view
+     */
+    public static PairStats playPairs(Supplier<Uno_AIStrategy> first, Supplier<Uno_AIStrategy> second,
+                                      long seed, int from, int to) {
+        Uno_HeadlessRunner runner = new Uno_HeadlessRunner();
+        Player_Model a = new Player_Model("First", true);
+        a.setStrategy(first.get());
+        Player_Model b = new Player_Model("Second", true);
+        b.setStrategy(second.get());
+
+        PairStats stats = new PairStats();
+        for (int pair = from; pair < to; pair++) {
+            double score = roundScore(runner.playRound(seed + pair, a, b), 0)
+                    + roundScore(runner.playRound(seed + pair, b, a), 1);
+            stats.addPair(score / 2);
+        }
+        return stats;
+    }
+
+    /**
+     * Gets the log likelihood ratio of H1 (first better) against H0 (second better).
+     * @param stats the results so far
+     * @return the log likelihood ratio
+     */
+    public double getLogLikelihoodRatio(PairStats stats) {
+        double p1 = 0.5 + delta;
+        double p0 = 0.5 - delta;
+        long losses = stats.getDecisivePairs() - stats.getFirstWins();
+        return stats.getFirstWins() * Math.log(p1 / p0) + losses * Math.log((1 - p1) / (1 - p0));
+    }
+
+    /**
+     * Gets the pairs a fixed-budget test needs to tell a win rate of 0.5 + delta from 0.5 - delta
+     * with the same error rates, using the observed variance of the pair scores.
+     * @param stats the results so far
+     * @return the number of pairs
+     */
+    public long getFixedBudgetPairs(PairStats stats) {
+        // Split pairs score 0.5 under both hypotheses, so only decisive pairs move the mean
+        double decisiveShare = stats.getPairs() == 0 ? 1 : (double) stats.getDecisivePairs() / stats.getPairs();
+        double shift = Math.max(1e-9, delta * decisiveShare);
+        double variance = stats.getVariance() > 0 ? stats.getVariance() : 0.25;
+        double z = normalQuantile(1 - alpha) + normalQuantile(1 - beta);
+        // The hypotheses put the mean pair score at 0.5 - shift and 0.5 + shift
+        return (long) Math.ceil(z * z * variance / (4 * shift * shift));
+    }
+
+    private Decision decide(double llr) {
+        if (llr >= Math.log((1 - beta) / alpha)) return Decision.FIRST_BETTER;
+        if (llr <= Math.log(beta / (1 - alpha))) return Decision.SECOND_BETTER;
+        return Decision.INCONCLUSIVE;
+    }
+
+    private static double roundScore(int winner, int seat) {
+        if (winner == Uno_HeadlessRunner.NO_WINNER) return 0.5;
+        return winner == seat ? 1 : 0;
+    }
+
+    /**
+     * Approximates the quantile of the standard normal distribution (Abramowitz and Stegun 26.2.23).
+     * @param p the probability, between 0 and 1
+     * @return the value with p of the distribution below it
+     */
+    static double normalQuantile(double p) {
+        if (p < 0.5) return -normalQuantile(1 - p);
+        double t = Math.sqrt(-2 * Math.log(1 - p));
+        return t - (2.515517 + 0.802853 * t + 0.010328 * t * t)
+                / (1 + 1.432788 * t + 0.189269 * t * t + 0.001308 * t * t * t);
+    }
+
+    private List<PairStats> runAll(List<Callable<PairStats>> tasks) {
+        try {
+            List<PairStats> results = new ArrayList<>(tasks.size());
+            for (Future<PairStats> future : executor.invokeAll(tasks)) results.add(future.get());
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Match was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Match round failed", e.getCause());
+        }
+    }
+
+    /**
+     * Command line entry point: plays a sequential match, then a fixed-budget match of the
+     * size the report asks for, and prints both.
+     * @param args the two strategy names, then optional max pairs and seed
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: java Uno_MatchEvaluator <first strategy> <second strategy> [maxPairs] [seed]");
+            return;
+        }
+        int maxPairs = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_MAX_PAIRS;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+        Supplier<Uno_AIStrategy> first = () -> Uno_StrategyRegistry.create(args[0]);
+        Supplier<Uno_AIStrategy> second = () -> Uno_StrategyRegistry.create(args[1]);
+
+        Uno_MatchEvaluator evaluator = new Uno_MatchEvaluator(Runtime.getRuntime().availableProcessors(), maxPairs,
+                DEFAULT_BATCH_PAIRS, DEFAULT_DELTA, DEFAULT_ALPHA, DEFAULT_BETA);
+        try {
+            Report sequential = evaluator.compare(first, second, seed);
+            System.out.println("Sequential:   " + sequential);
+            int fixedPairs = (int) Math.min(Integer.MAX_VALUE, sequential.getFixedBudgetRounds() / 2);
+            Report fixed = evaluator.compareFixed(first, second, seed, fixedPairs);
+            System.out.println("Fixed budget: " + fixed);
+        } finally {
+            evaluator.shutdown();
+        }
+    }
+}
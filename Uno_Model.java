@@ -81,6 +81,15 @@ import java.io.Serializable;
  *         * Used to calculate getRemainingTurnTime() and isTurnTimeExpired()
  *         * Zero value indicates timer not actively running
  *
+ *   - long[] playableMasks: The faces playable on the match, compiled by Uno_MatchEngine for
+ *     the light side (index 0) and the dark side (index 1).
+ *         * Transient cache, recompiled when matchColour or matchType differ from the
+ *           compiledColour and compiledType it was built from
+ *
+ *   - Random random: Source of every random choice (deck shuffles, random starting colour).
+ *         * Null by default, which keeps the unseeded behaviour
+ *         * A seeded generator makes a whole round reproducible for headless play
+ *
  *    - long serialVersionUID: Version identifier for serialization compatibility.
  *         * Ensures deserialized objects are compatible with current class definition
  *
@@ -88,11 +97,11 @@ import java.io.Serializable;
  * @version 4.0 - Milestone 4 + Milestone 5
  */
 public class Uno_Model implements Serializable {
-    private static final int CARDS_PER_PLAYER = 7;
+    public static final int CARDS_PER_PLAYER = 7;
     private static final int MIN_PARTICIPANTS = 2;
     private static final int MAX_PARTICIPANTS = 4;
     private static final int TARGET_SCORE = 500;
-    private static final int DEFAULT_TURN_TIME_SECONDS = 30;
+    public static final int DEFAULT_TURN_TIME_SECONDS = 30;
     private static final int MIN_TURN_TIME_SECONDS = 10;
     private static final int MAX_TURN_TIME_SECONDS = 60;
     private static final long serialVersionUID = 2L;
@@ -141,6 +150,10 @@ public class Uno_Model implements Serializable {
     private boolean timedModeEnabled;
     private int turnTimeLimitSeconds;
     private long turnStartTime;
+    private transient long[] playableMasks;
+    private transient Card_Model.CardColour compiledColour;
+    private transient Card_Model.CardValue compiledType;
+    private Random random;
 
     /**
      * Constructs a new Uno_Model and initializes game state.
@@ -282,6 +295,18 @@ public class Uno_Model implements Serializable {
 
     // ======== SETUP ========
 
+    /**
+     * Sets the generator used for every random choice of the game: deck shuffles and the
+     * random colour of a starting wild. With the same seed and the same players the deal
+     * is the same. If the game has not started yet, the deck is rebuilt from the generator.
+     * @param random the generator to use, or null to go back to unseeded randomness
+     */
+    public void setRandom(Random random) {
+        this.random = random;
+        stack.setRandom(random);
+        if (status == GameStatus.NOT_STARTED) stack.reset();
+    }
+
     /**
      * Adds a player to the game.
      * Can only be called before the game starts and when under max player limit.
@@ -344,14 +369,22 @@ public class Uno_Model implements Serializable {
                     Card_Model.CardColour.PURPLE,
                     Card_Model.CardColour.PINK,
                     Card_Model.CardColour.ORANGE};
-            return dark[new Random().nextInt(4)];
+            return dark[nextColourIndex()];
         }
 
         Card_Model.CardColour[] light = {Card_Model.CardColour.RED,
                 Card_Model.CardColour.BLUE,
                 Card_Model.CardColour.GREEN,
                 Card_Model.CardColour.YELLOW};
-        return light[new Random().nextInt(4)];
+        return light[nextColourIndex()];
+    }
+
+    /**
+     * Picks a random colour index, from the game's generator if it has one.
+     * @return an index from 0 to 3
+     */
+    private int nextColourIndex() {
+        return (random != null ? random : new Random()).nextInt(4);
     }
 
     /**
@@ -464,13 +497,34 @@ public class Uno_Model implements Serializable {
     /**
      * Checks if a card can be legally played on the current active card.
      * Wild cards are always valid. Other cards must match colour or value.
+     * The check is a bit test against the faces playable on the match, see Uno_MatchEngine.
      * @param card the Card_Model to validate
      * @return true if the card can be played, false otherwise
      */
     public boolean isValidPlay(Card_Model card) {
-        if (card == null) return false;
-        if (card.isWildCard()) return true;
-        return card.getColour() == matchColour || card.getCardValue() == matchType;
+        return Uno_MatchEngine.isValidPlay(card, getPlayableMasks(), matchColour, matchType);
+    }
+
+    /**
+     * Gets the faces playable on the current match colour and value.
+     * @param isDarkSide true for the faces as they show on the dark side
+     * @return the mask compiled by Uno_MatchEngine, bit f set if face f may be played
+     */
+    public long getPlayableMask(boolean isDarkSide) {
+        return getPlayableMasks()[isDarkSide ? 1 : 0];
+    }
+
+    /**
+     * Gets the compiled masks of both sides, compiling them again if the match has changed.
+     */
+    private long[] getPlayableMasks() {
+        if (playableMasks == null || compiledColour != matchColour || compiledType != matchType) {
+            if (playableMasks == null) playableMasks = new long[2];
+            Uno_MatchEngine.compileBothSides(playableMasks, matchColour, matchType);
+            compiledColour = matchColour;
+            compiledType = matchType;
+        }
+        return playableMasks;
     }
 
     /**
@@ -549,6 +603,8 @@ public class Uno_Model implements Serializable {
      * Flips all cards in the game to the opposite side (light ↔ dark).
      * This includes the deck, all player hands, and the active card.
      * Updates match colour/type to reflect the new side of the active card.
+     * A played active card is on top of the discard pile and already flipped with the deck,
+     * only the starting card (never discarded) is flipped on its own.
      * Triggered by the FLIP card effect.
      */
     public void flipAllCards() {
@@ -558,7 +614,9 @@ public class Uno_Model implements Serializable {
             p.flipAllCards();
         }
         if (activeCard != null) {
-            activeCard.flipCardSide();
+            List<Card_Model> discardPile = stack.getDiscardPile();
+            boolean discarded = !discardPile.isEmpty() && discardPile.get(discardPile.size() - 1) == activeCard;
+            if (!discarded) activeCard.flipCardSide();
             matchColour = activeCard.getColour();
             matchType = activeCard.getCardValue();
         }
@@ -721,6 +779,7 @@ public class Uno_Model implements Serializable {
      * Ends the current round when a player empties their hand.
      * Calculates points from remaining cards in other players' hands.
      * Point values depend on current side (light vs dark scoring).
+     * Hand scores are kept up to date by Player_Model, so this takes one lookup per player.
      * Checks if winner has reached TARGET_SCORE to end the game.
      * @param winner the Player_Model who emptied their hand
      */
@@ -729,9 +788,7 @@ public class Uno_Model implements Serializable {
         int points = 0;
         for (Player_Model p : participants) {
             if (p != winner) {
-                for (Card_Model c : p.getHand()) {
-                    points += c.getCardScore(isDarkSide);
-                }
+                points += p.getHandScore(isDarkSide);
             }
         }
         winner.setScore(winner.getScore() + points);
@@ -745,13 +802,13 @@ public class Uno_Model implements Serializable {
     }
 
     /**
-     * Starts a new round by clearing hands, resetting the deck, and re-initializing.
+     * Starts a new round by clearing hands, resetting the deck in place, and re-initializing.
      * Preserves player scores from previous rounds.
      * Resets to light side and forward play direction.
      */
     public void startNewRound() {
-        participants.forEach(p -> p.getHand().clear());
-        stack = new Deck_Model();
+        participants.forEach(p -> { p.getHand().clear(); p.setNumCards(0); });
+        stack.reset();
         turnIdx = 0;
         playDirection = 1;
         pendingColourSelection = false;
@@ -760,9 +817,9 @@ public class Uno_Model implements Serializable {
         initialCard = null;
         isDarkSide = false;
         roundScores.clear();
+        turnStartTime = 0;
         status = GameStatus.IN_PROGRESS;
         initializeGame();
-        turnStartTime = 0;
     }
 
     /**
@@ -771,9 +828,9 @@ public class Uno_Model implements Serializable {
      * and sets status to NOT_STARTED. Used to start a completely new game.
      */
     public void resetGame() {
-        participants.forEach(p -> { p.resetScore(); p.getHand().clear(); });
+        participants.forEach(p -> { p.resetScore(); p.getHand().clear(); p.setNumCards(0); });
         participants.clear();
-        stack = new Deck_Model();
+        stack.reset();
         turnIdx = 0;
         playDirection = 1;
         pendingColourSelection = false;
@@ -797,7 +854,7 @@ public class Uno_Model implements Serializable {
     public int getAICardSelection() {
         Player_Model current = getCurrentPlayer();
         if (current == null || !current.isAI()) return -1;
-        return current.selectCardToPlay(activeCard, matchColour, matchType, isDarkSide);
+        return current.selectCardToPlay(this);
     }
 
     /**
@@ -869,6 +926,14 @@ public class Uno_Model implements Serializable {
         return turnTimeLimitSeconds;
     }
 
+    /**
+     * Gets the time the current turn's timer started.
+     * @return the start time in epoch milliseconds, 0 if the timer is not running
+     */
+    public long getTurnStartTime() {
+        return turnStartTime;
+    }
+
     /**
      * Starts the timer for the current turn.
      * Only records the start time if timed mode is enabled.
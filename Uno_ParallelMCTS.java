@@ -0,0 +1,151 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Root parallel Monte Carlo tree search for AI players.
+ * Every worker grows its own independent Uno_MCTS tree from its own copy of the game, with its
+ * own random number generator, so the workers never share mutable state while searching.
+ * When all workers are done, the visit counts of their root moves are added up and the move
+ * with the most visits overall is returned.
+ *
+ * The workers run on a ForkJoinPool. By default a shared pool with one thread per available
+ * core is used, a different pool can be passed in (e.g. to leave cores free for the server).
+ * Each worker gets the full time and iteration budget, so with N workers the search runs
+ * about N times as many iterations in the same time as Uno_MCTS.
+ *
+ * Data Structure Design:
+ * - Uno_MCTS[] workers: One search per worker, reused between turns
+ *      * Each worker has a SplittableRandom split from the master generator
+ * - Uno_SimState root: The loaded game, only read by the workers (each copies it into its own root)
+ * - long[] rootVisits: Merged visit counts indexed by encoded move
+ *
+ * @author Saan John
+ * @version 5.0
+ */
+public class Uno_ParallelMCTS {
+    private static final ForkJoinPool SHARED_POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    private final ForkJoinPool pool;
+    private final Uno_MCTS[] workers;
+    private final Uno_SimState root;
+    private final int[] moves;
+    private final long[] rootVisits;
+    private final List<ForkJoinTask<?>> tasks;
+    private long lastIterations;
+
+    /**
+     * Constructs a parallel search with the default budgets on the shared pool.
+     */
+    public Uno_ParallelMCTS() {
+        this(getSharedPool(), Uno_MCTS.DEFAULT_TIME_BUDGET_MILLIS, Uno_MCTS.DEFAULT_MAX_ITERATIONS, new SplittableRandom());
+    }
+
+    /**
+     * Constructs a parallel search with one worker per thread of the pool.
+     * @param pool the pool the workers run on
+     * @param timeBudgetMillis the maximum time per search in milliseconds
+     * @param maxIterations the maximum number of iterations per worker and search
+     * @param rng the master random number generator, each worker gets a split of it
+     */
+    public Uno_ParallelMCTS(ForkJoinPool pool, int timeBudgetMillis, int maxIterations, SplittableRandom rng) {
+        this.pool = pool;
+        this.workers = new Uno_MCTS[Math.max(1, pool.getParallelism())];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Uno_MCTS(timeBudgetMillis, maxIterations, rng.split());
+        }
+        this.root = new Uno_SimState();
+        this.moves = new int[Uno_SimState.MAX_MOVES];
+        this.rootVisits = new long[Uno_SimState.MAX_MOVES];
+        this.tasks = new ArrayList<>(workers.length);
+    }
+
+    /**
+     * Gets the pool used by parallel searches that were not given one.
+     * @return the shared pool
+     */
+    public static ForkJoinPool getSharedPool() {
+        return SHARED_POOL;
+    }
+
+    /**
+     * Sets the search budgets of every worker.
+     * @param timeBudgetMillis the maximum time per search in milliseconds
+     * @param maxIterations the maximum number of iterations per worker and search
+     */
+    public void setBudget(int timeBudgetMillis, int maxIterations) {
+        for (Uno_MCTS worker : workers) worker.setBudget(timeBudgetMillis, maxIterations);
+    }
+
+    /**
+     * Gets the pool the workers run on.
+     * @return the pool
+     */
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Gets the number of independent trees searched per move.
+     * @return the number of workers
+     */
+    public int getNumWorkers() {
+        return workers.length;
+    }
+
+    /**
+     * Searches for the best move of a player in a game.
+     * @param game the game to search
+     * @param observer the index of the AI player, whose hand is known
+     * @return the encoded move (see Uno_SimState), or Uno_MCTS.NO_MOVE if the game cannot be simulated
+     */
+    public int search(Uno_Model game, int observer) {
+        if (!root.loadFrom(game)) return Uno_MCTS.NO_MOVE;
+        return searchState(root, observer);
+    }
+
+    /**
+     * Searches for the best move of a player from a simulation state.
+     * @param state the state to search from, it is not changed
+     * @param observer the index of the AI player, whose hand is known
+     * @return the encoded move (see Uno_SimState), or Uno_MCTS.NO_MOVE if the round is already over
+     */
+    public int searchState(Uno_SimState state, int observer) {
+        lastIterations = 0;
+        if (state.isRoundOver()) return Uno_MCTS.NO_MOVE;
+        if (state.getLegalMoves(moves) == 1) return moves[0];
+
+        tasks.clear();
+        for (Uno_MCTS worker : workers) {
+            tasks.add(pool.submit(() -> worker.searchState(state, observer)));
+        }
+        for (ForkJoinTask<?> task : tasks) task.join();
+
+        Arrays.fill(rootVisits, 0L);
+        for (Uno_MCTS worker : workers) {
+            worker.addRootVisits(rootVisits);
+            lastIterations += worker.getLastIterations();
+        }
+
+        int bestMove = Uno_MCTS.NO_MOVE;
+        long bestVisits = 0;
+        for (int move = 0; move < rootVisits.length; move++) {
+            if (rootVisits[move] > bestVisits) {
+                bestVisits = rootVisits[move];
+                bestMove = move;
+            }
+        }
+        return bestMove;
+    }
+
+    /**
+     * Gets the total number of iterations run by all workers in the last search.
+     * @return the iteration count
+     */
+    public long getLastIterations() {
+        return lastIterations;
+    }
+}
@@ -0,0 +1,46 @@
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * PARALLEL_MCTS strategy: searches with Uno_ParallelMCTS and plays like STRATEGIC when the
+ * search cannot be run. The search is created on first use and again when the pool changes.
+ *
+ * @author Saan John
+ * @version 5.0
+ */
+public class Uno_ParallelMCTSStrategy extends Uno_StrategicStrategy implements Uno_SearchStrategy {
+    public static final String NAME = "PARALLEL_MCTS";
+
+    private int timeMillis = Uno_MCTS.DEFAULT_TIME_BUDGET_MILLIS;
+    private int maxIterations = Uno_MCTS.DEFAULT_MAX_ITERATIONS;
+    private ForkJoinPool pool;
+    private Uno_ParallelMCTS search;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int search(Uno_SimState state, int observer) {
+        if (search == null) {
+            ForkJoinPool workers = pool != null ? pool : Uno_ParallelMCTS.getSharedPool();
+            search = new Uno_ParallelMCTS(workers, timeMillis, maxIterations, new SplittableRandom());
+        }
+        return search.searchState(state, observer);
+    }
+
+    @Override
+    public void setSearchBudget(int timeMillis, int maxIterations) {
+        this.timeMillis = timeMillis;
+        this.maxIterations = maxIterations;
+        if (search != null) search.setBudget(timeMillis, maxIterations);
+    }
+
+    @Override
+    public void setSearchPool(ForkJoinPool pool) {
+        if (pool == this.pool) return;
+        this.pool = pool;
+        this.search = null;
+    }
+}
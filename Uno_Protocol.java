@@ -0,0 +1,180 @@
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Binary protocol for remote play against a Uno_ProtocolServer. Every message is a fixed
+ * layout frame, so both sides read whole frames without parsing lengths or text.
+ *
+ * Requests from the client are REQUEST_BYTES long:
+ *   byte 0     opcode (OP_*)
+ *   byte 1..3  arguments, unused ones are 0
+ *                CREATE:        seats, AI seats, turn seconds (0 = untimed)
+ *                PLAY_CARD:     card index in the hand
+ *                CHOOSE_COLOUR: CardColour ordinal
+ *   byte 4..7  table id (CREATE, JOIN and WATCH only, the other actions use the joined table)
+ *
+ * Frames from the server are FRAME_BYTES long and start with their type:
+ *   FRAME_REPLY  byte 1 opcode answered, byte 2 1 if it succeeded, byte 3 value (seat of a JOIN),
+ *                byte 4..7 table id
+ *   FRAME_STATE  byte 1 GameStatus ordinal, byte 2 turn index, byte 3 flags (FLAG_*),
+ *                byte 4..7 table id, byte 8 active card face id, byte 9 match colour ordinal
+ *                (NONE when unset), byte 10..13 card count of seats 0..3, byte 14 draw pile size,
+ *                byte 15 number of seats
+ *   FRAME_HAND   byte 1 offset of the first card, byte 2 hand size, byte 3 number of faces in
+ *                this frame, byte 4..15 face ids starting at the offset
+ *
+ * State is streamed as deltas: a STATE frame is only sent when it differs from the last one,
+ * and HAND frames only carry the cards from the first position that changed. A client keeps
+ * its hand, truncates it to the hand size and overwrites the faces from the offset. Counts
+ * larger than 255 are capped at 255.
+ *
+ * Spectators send WATCH instead of JOIN and receive the game as DELTA frames: first the
+ * current state described as deltas, then every delta as it happens. The faces of drawn
+ * cards are hidden from spectators.
+ *
+ * Data Structures:
+ *   - ByteBuffer frames: Heap buffers in network byte order, written with absolute puts so a
+ *     frame is encoded without moving the buffer position until it is complete
+ *
+ * @author Lasya Erukulla
+ * @version 5.0
+ */
+public final class Uno_Protocol {
+    public static final int REQUEST_BYTES = 8;
+    public static final int FRAME_BYTES = 16;
+    public static final int HAND_FACES_PER_FRAME = 12;
+    public static final int NONE = 0xFF;
+
+    public static final byte OP_CREATE = 1;
+    public static final byte OP_JOIN = 2;
+    public static final byte OP_LEAVE = 3;
+    public static final byte OP_PLAY_CARD = 4;
+    public static final byte OP_CHOOSE_COLOUR = 5;
+    public static final byte OP_DRAW = 6;
+    public static final byte OP_NEXT_PLAYER = 7;
+    public static final byte OP_UNDO = 8;
+    public static final byte OP_REDO = 9;
+    public static final byte OP_NEXT_ROUND = 10;
+    public static final byte OP_WATCH = 11;
+
+    public static final byte FRAME_REPLY = 1;
+    public static final byte FRAME_STATE = 2;
+    public static final byte FRAME_HAND = 3;
+    public static final byte FRAME_DELTA = 4;
+
+    public static final int FLAG_DARK_SIDE = 1;
+    public static final int FLAG_PENDING_COLOUR = 2;
+    public static final int FLAG_PENDING_DRAW_COLOUR = 4;
+    public static final int FLAG_REVERSED = 8;
+
+    private Uno_Protocol() {
+    }
+
+    /**
+     * Writes a request at the buffer's position.
+     * @param out the buffer, with at least REQUEST_BYTES remaining
+     * @param opcode the OP_* opcode
+     * @param arg0 the first argument
+     * @param arg1 the second argument
+     * @param arg2 the third argument
+     * @param tableId the table id
+     */
+    public static void putRequest(ByteBuffer out, byte opcode, int arg0, int arg1, int arg2, int tableId) {
+        out.put(opcode).put((byte) arg0).put((byte) arg1).put((byte) arg2).putInt(tableId);
+    }
+
+    /**
+     * Writes a reply frame at the buffer's position.
+     * @param out the buffer, with at least FRAME_BYTES remaining
+     * @param opcode the opcode answered
+     * @param ok whether the request succeeded
+     * @param value the value of the reply
+     * @param tableId the table id
+     */
+    public static void putReply(ByteBuffer out, byte opcode, boolean ok, int value, int tableId) {
+        int p = out.position();
+        out.put(p, FRAME_REPLY).put(p + 1, opcode).put(p + 2, (byte) (ok ? 1 : 0)).put(p + 3, (byte) value)
+           .putInt(p + 4, tableId).putLong(p + 8, 0L);
+        out.position(p + FRAME_BYTES);
+    }
+
+    /**
+     * Writes the state frame of a game into a FRAME_BYTES array.
+     * @param frame the array to fill
+     * @param model the game, read on the thread that owns it
+     * @param tableId the table id
+     */
+    public static void encodeState(byte[] frame, Uno_Model model, int tableId) {
+        List<Player_Model> players = model.getParticipants();
+        int flags = (model.isDarkSide() ? FLAG_DARK_SIDE : 0)
+                  | (model.isPendingColourSelection() ? FLAG_PENDING_COLOUR : 0)
+                  | (model.isPendingDrawColourSelection() ? FLAG_PENDING_DRAW_COLOUR : 0)
+                  | (model.getPlayDirection() < 0 ? FLAG_REVERSED : 0);
+        Card_Model active = model.getActiveCard();
+        Card_Model.CardColour colour = model.getMatchColour();
+        ByteBuffer out = ByteBuffer.wrap(frame);
+        out.put(0, FRAME_STATE)
+           .put(1, (byte) model.getGameStatus().ordinal())
+           .put(2, (byte) model.getCurrentTurnIndex())
+           .put(3, (byte) flags)
+           .putInt(4, tableId)
+           .put(8, (byte) (active != null && active.getFaceId() >= 0 ? active.getFaceId() : NONE))
+           .put(9, (byte) (colour != null ? colour.ordinal() : NONE));
+        for (int seat = 0; seat < 4; seat++) {
+            frame[10 + seat] = (byte) (seat < players.size() ? cap(players.get(seat).getNumCards()) : 0);
+        }
+        frame[14] = (byte) cap(model.getRemainingDrawPileCards());
+        frame[15] = (byte) players.size();
+    }
+
+    /**
+     * Writes a delta frame at the buffer's position.
+     * @param out the buffer, with at least FRAME_BYTES remaining
+     * @param delta the delta
+     * @param hideFace true to hide the face of a drawn card
+     */
+    public static void putDelta(ByteBuffer out, Uno_DeltaEvent delta, boolean hideFace) {
+        int value = hideFace && delta.getKind() == Uno_DeltaEvent.Kind.CARD_DRAWN ? Uno_DeltaEvent.NONE : delta.getValue();
+        out.put(FRAME_DELTA)
+           .put((byte) delta.getKind().ordinal())
+           .put((byte) (delta.getSeat() < 0 ? NONE : delta.getSeat()))
+           .put((byte) (delta.getIndex() < 0 ? NONE : cap(delta.getIndex())))
+           .putInt(value)
+           .putLong(delta.getSequence());
+    }
+
+    /**
+     * Writes the hand frames for the cards of a hand from an offset.
+     * @param out the buffer to write to
+     * @param faces the face ids of the hand
+     * @param size the hand size
+     * @param offset the first position to send
+     */
+    public static void putHand(ByteBuffer out, int[] faces, int size, int offset) {
+        int shown = Math.min(size, NONE);
+        do {
+            int count = Math.max(0, Math.min(HAND_FACES_PER_FRAME, shown - offset));
+            out.put(FRAME_HAND).put((byte) Math.min(offset, NONE)).put((byte) shown).put((byte) count);
+            for (int i = 0; i < HAND_FACES_PER_FRAME; i++) {
+                out.put((byte) (i < count ? faces[offset + i] : 0));
+            }
+            offset += HAND_FACES_PER_FRAME;
+        } while (offset < shown);
+    }
+
+    /**
+     * Gets the number of bytes putHand writes.
+     * @param size the hand size
+     * @param offset the first position to send
+     * @return the number of bytes
+     */
+    public static int handBytes(int size, int offset) {
+        int shown = Math.min(size, NONE);
+        int frames = Math.max(1, (shown - offset + HAND_FACES_PER_FRAME - 1) / HAND_FACES_PER_FRAME);
+        return frames * FRAME_BYTES;
+    }
+
+    private static int cap(int value) {
+        return Math.min(value, NONE);
+    }
+}
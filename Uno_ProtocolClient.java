@@ -0,0 +1,430 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Blocking client for the Uno_Protocol, used to test a Uno_ProtocolServer from the same machine.
+ * Every action sends one request and reads frames until its reply arrives, applying the STATE
+ * and HAND deltas streamed in the meantime, so after a call the client's copy of the game is
+ * at least as new as the reply.
+ *
+ * Data Structures:
+ *   - byte[] state: The last STATE frame, decoded on demand by the getters
+ *   - int[] hand: Face ids of the hand, patched in place by HAND frames
+ *
+ * A spectator (watchTable) gets DELTA frames instead and patches the same state array with them,
+ * so the getters work the same way for players and spectators.
+ *
+ * @author Lasya Erukulla
+ * @version 5.0
+ */
+public class Uno_ProtocolClient implements AutoCloseable {
+    private final Socket socket;
+    private final DataInputStream in;
+    private final OutputStream out;
+    private final ByteBuffer request;
+    private final byte[] frame;
+    private final byte[] state;
+    private int[] hand;
+    private int handSize;
+    private int tableId;
+    private int seat;
+    private int lastValue;
+    private long lastSequence;
+
+    /**
+     * Connects to a server on this machine.
+     * @param port the server's port
+     * @throws IOException if the connection fails
+     */
+    public Uno_ProtocolClient(int port) throws IOException {
+        this(InetAddress.getLoopbackAddress(), port);
+    }
+
+    /**
+     * Connects to a server.
+     * @param host the server's address
+     * @param port the server's port
+     * @throws IOException if the connection fails
+     */
+    public Uno_ProtocolClient(InetAddress host, int port) throws IOException {
+        this.socket = new Socket(host, port);
+        socket.setTcpNoDelay(true);
+        socket.setSoTimeout(10000);
+        this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        this.out = new BufferedOutputStream(socket.getOutputStream());
+        this.request = ByteBuffer.allocate(Uno_Protocol.REQUEST_BYTES);
+        this.frame = new byte[Uno_Protocol.FRAME_BYTES];
+        this.state = new byte[Uno_Protocol.FRAME_BYTES];
+        this.hand = new int[16];
+        this.seat = -1;
+    }
+
+    /* Actions */
+
+    /**
+     * Creates a table.
+     * @param numSeats the number of players, 2 to 4
+     * @param numAI the number of AI seats
+     * @param turnSeconds the turn time limit, 0 for no timer
+     * @return the table id, or -1 if the server refused
+     */
+    public int createTable(int numSeats, int numAI, int turnSeconds) throws IOException {
+        return send(Uno_Protocol.OP_CREATE, numSeats, numAI, turnSeconds, 0) ? lastTableId() : -1;
+    }
+
+    /**
+     * Joins a table.
+     * @param tableId the table id
+     * @return the seat, or -1 if the server refused
+     */
+    public int joinTable(int tableId) throws IOException {
+        if (!send(Uno_Protocol.OP_JOIN, 0, 0, 0, tableId)) return -1;
+        this.tableId = tableId;
+        this.seat = lastValue;
+        return seat;
+    }
+
+    /**
+     * Watches a table as a spectator.
+     * @param tableId the table id
+     * @return true if the server accepted
+     */
+    public boolean watchTable(int tableId) throws IOException {
+        if (!send(Uno_Protocol.OP_WATCH, 0, 0, 0, tableId)) return false;
+        this.tableId = tableId;
+        return true;
+    }
+
+    /**
+     * Leaves the table, an AI takes over the seat if the game is running.
+     * @return true if the client was seated
+     */
+    public boolean leaveTable() throws IOException {
+        seat = -1;
+        return send(Uno_Protocol.OP_LEAVE, 0, 0, 0, tableId);
+    }
+
+    /**
+     * Plays a card from the hand.
+     * @param cardIndex the index of the card in the hand
+     * @return true if the card was played
+     */
+    public boolean playCard(int cardIndex) throws IOException {
+        return send(Uno_Protocol.OP_PLAY_CARD, cardIndex, 0, 0, tableId);
+    }
+
+    /**
+     * Chooses the colour of a played wild card.
+     * @param colour a colour of the current side
+     * @return true if the colour was set
+     */
+    public boolean setWildCardColour(Card_Model.CardColour colour) throws IOException {
+        return send(Uno_Protocol.OP_CHOOSE_COLOUR, colour.ordinal(), 0, 0, tableId);
+    }
+
+    /**
+     * Draws a card, the turn stays with this client.
+     * @return true if it was this client's turn
+     */
+    public boolean handleDrawCard() throws IOException {
+        return send(Uno_Protocol.OP_DRAW, 0, 0, 0, tableId);
+    }
+
+    /**
+     * Passes the turn.
+     * @return true if it was this client's turn
+     */
+    public boolean handleNextPlayer() throws IOException {
+        return send(Uno_Protocol.OP_NEXT_PLAYER, 0, 0, 0, tableId);
+    }
+
+    /**
+     * Undoes the last action at the table.
+     * @return true if an action was undone
+     */
+    public boolean undo() throws IOException {
+        return send(Uno_Protocol.OP_UNDO, 0, 0, 0, tableId);
+    }
+
+    /**
+     * Redoes the last undone action at the table.
+     * @return true if an action was redone
+     */
+    public boolean redo() throws IOException {
+        return send(Uno_Protocol.OP_REDO, 0, 0, 0, tableId);
+    }
+
+    /**
+     * Starts the next round once the round is over.
+     * @return true if a round was started
+     */
+    public boolean startNextRound() throws IOException {
+        return send(Uno_Protocol.OP_NEXT_ROUND, 0, 0, 0, tableId);
+    }
+
+    /**
+     * Reads frames until it is this client's turn or the round is no longer in progress.
+     * @throws IOException if the connection fails or times out
+     */
+    public void awaitTurn() throws IOException {
+        while (getStatus() == Uno_Model.GameStatus.IN_PROGRESS && getCurrentTurn() != seat
+                || getStatus() == Uno_Model.GameStatus.NOT_STARTED) {
+            readFrame();
+        }
+    }
+
+    /**
+     * Reads frames until the round is no longer in progress.
+     * @throws IOException if the connection fails or times out
+     */
+    public void awaitRoundEnd() throws IOException {
+        while (getStatus() == Uno_Model.GameStatus.IN_PROGRESS || getStatus() == Uno_Model.GameStatus.NOT_STARTED) {
+            readFrame();
+        }
+    }
+
+    /* Decoded state */
+
+    /**
+     * Gets the sequence number of the last delta applied by a spectator.
+     * @return the sequence
+     */
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Gets the seat of this client.
+     * @return the seat, or -1 when not seated
+     */
+    public int getSeat() {
+        return seat;
+    }
+
+    /**
+     * Gets the status of the game.
+     * @return the status
+     */
+    public Uno_Model.GameStatus getStatus() {
+        return Uno_Model.GameStatus.values()[state[1]];
+    }
+
+    /**
+     * Gets the seat whose turn it is.
+     * @return the turn index
+     */
+    public int getCurrentTurn() {
+        return state[2];
+    }
+
+    /**
+     * Checks if the dark side is up.
+     * @return true on the dark side
+     */
+    public boolean isDarkSide() {
+        return (state[3] & Uno_Protocol.FLAG_DARK_SIDE) != 0;
+    }
+
+    /**
+     * Checks if a played wild card is waiting for its colour.
+     * @return true if a colour must be chosen
+     */
+    public boolean isPendingColourSelection() {
+        return (state[3] & (Uno_Protocol.FLAG_PENDING_COLOUR | Uno_Protocol.FLAG_PENDING_DRAW_COLOUR)) != 0;
+    }
+
+    /**
+     * Gets the face id of the active card.
+     * @return the face id, or Uno_Protocol.NONE
+     */
+    public int getActiveFace() {
+        return state[8] & 0xFF;
+    }
+
+    /**
+     * Gets the colour to match.
+     * @return the colour, or null if none is set
+     */
+    public Card_Model.CardColour getMatchColour() {
+        int ordinal = state[9] & 0xFF;
+        return ordinal == Uno_Protocol.NONE ? null : Card_Model.CardColour.values()[ordinal];
+    }
+
+    /**
+     * Gets the number of cards a seat holds.
+     * @param seat the seat
+     * @return the card count
+     */
+    public int getCardCount(int seat) {
+        return state[10 + seat] & 0xFF;
+    }
+
+    /**
+     * Gets the number of cards in the draw pile.
+     * @return the pile size
+     */
+    public int getDrawPileSize() {
+        return state[14] & 0xFF;
+    }
+
+    /**
+     * Gets the face ids of this client's hand.
+     * @return a copy of the hand
+     */
+    public int[] getHand() {
+        return Arrays.copyOf(hand, handSize);
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+
+    /* Frames */
+
+    private boolean send(byte opcode, int arg0, int arg1, int arg2, int table) throws IOException {
+        request.clear();
+        Uno_Protocol.putRequest(request, opcode, arg0, arg1, arg2, table);
+        out.write(request.array(), 0, Uno_Protocol.REQUEST_BYTES);
+        out.flush();
+        while (true) {
+            readFrame();
+            if (frame[0] == Uno_Protocol.FRAME_REPLY && frame[1] == opcode) {
+                lastValue = frame[3] & 0xFF;
+                return frame[2] == 1;
+            }
+        }
+    }
+
+    private int lastTableId() {
+        return ByteBuffer.wrap(frame).getInt(4);
+    }
+
+    private void readFrame() throws IOException {
+        in.readFully(frame);
+        switch (frame[0]) {
+            case Uno_Protocol.FRAME_STATE:
+                System.arraycopy(frame, 0, state, 0, frame.length);
+                break;
+            case Uno_Protocol.FRAME_HAND:
+                int offset = frame[1] & 0xFF;
+                handSize = frame[2] & 0xFF;
+                int count = frame[3] & 0xFF;
+                if (hand.length < handSize) hand = Arrays.copyOf(hand, Math.max(handSize, hand.length * 2));
+                for (int i = 0; i < count; i++) {
+                    hand[offset + i] = frame[4 + i] & 0xFF;
+                }
+                break;
+            case Uno_Protocol.FRAME_DELTA:
+                applyDelta();
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void applyDelta() {
+        ByteBuffer delta = ByteBuffer.wrap(frame);
+        Uno_DeltaEvent.Kind kind = Uno_DeltaEvent.Kind.values()[frame[1]];
+        int seat = frame[2] & 0xFF;
+        int value = delta.getInt(4);
+        lastSequence = delta.getLong(8);
+        switch (kind) {
+            case CARD_PLAYED:
+                state[10 + seat]--;
+                state[8] = (byte) value;
+                break;
+            case CARD_DRAWN:
+                state[10 + seat]++;
+                break;
+            case HAND_RESET:
+                state[10 + seat] = 0;
+                state[15] = (byte) Math.max(state[15], seat + 1);
+                break;
+            case ACTIVE_CARD:
+                state[8] = (byte) (value < 0 ? Uno_Protocol.NONE : value);
+                break;
+            case COLOUR_CHOSEN:
+                state[9] = (byte) (value < 0 ? Uno_Protocol.NONE : value);
+                break;
+            case SIDE_FLIPPED:
+                setFlag(Uno_Protocol.FLAG_DARK_SIDE, value == 1);
+                break;
+            case DIRECTION_CHANGED:
+                setFlag(Uno_Protocol.FLAG_REVERSED, value < 0);
+                break;
+            case PENDING_COLOUR:
+                setFlag(Uno_Protocol.FLAG_PENDING_COLOUR, (value & Uno_DeltaEvent.PENDING_WILD) != 0);
+                setFlag(Uno_Protocol.FLAG_PENDING_DRAW_COLOUR, (value & Uno_DeltaEvent.PENDING_DRAW) != 0);
+                break;
+            case TURN_CHANGED:
+                state[2] = (byte) value;
+                break;
+            case STATUS_CHANGED:
+                state[1] = (byte) value;
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void setFlag(int flag, boolean set) {
+        state[3] = (byte) (set ? state[3] | flag : state[3] & ~flag);
+    }
+
+    /**
+     * Local test client: plays rounds against AI seats on a server and reports the request rate.
+     * @param args optional port and number of rounds
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : Uno_ProtocolServer.DEFAULT_PORT;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        try (Uno_ProtocolClient client = new Uno_ProtocolClient(port)) {
+            long start = System.nanoTime();
+            int requests = 0;
+            int wins = 0;
+            for (int r = 0; r < rounds; r++) {
+                client.joinTable(client.createTable(2, 1, 0));
+                requests += client.playRound();
+                if (client.getCardCount(client.getSeat()) == 0) wins++;
+                client.leaveTable();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%d rounds, %d wins, %d requests, %.0f requests/s%n", rounds, wins, requests, requests / seconds);
+        }
+    }
+
+    /**
+     * Plays the rest of the round for this seat: the first card the server accepts,
+     * otherwise draw and pass. Wild cards get the first colour of the current side.
+     * @return the number of requests sent
+     */
+    public int playRound() throws IOException {
+        int requests = 0;
+        awaitTurn();
+        while (getStatus() == Uno_Model.GameStatus.IN_PROGRESS) {
+            boolean played = false;
+            for (int i = 0; i < handSize && !played; i++) {
+                played = playCard(i);
+                requests++;
+            }
+            if (played && isPendingColourSelection()) {
+                setWildCardColour(Uno_GameView.getSideColour(isDarkSide(), 0));
+                requests++;
+            } else if (!played) {
+                handleDrawCard();
+                handleNextPlayer();
+                requests += 2;
+            }
+            awaitTurn();
+        }
+        return requests;
+    }
+}
@@ -0,0 +1,575 @@
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serves the tables of a Uno_TableManager to remote clients over the Uno_Protocol.
+ * One selector thread accepts connections, reads requests and writes frames for every client.
+ * Requests are handed to the tables' event loops, and the tables stream state back: each table
+ * has a hub registered as a view handler on its controller that encodes STATE and HAND deltas on
+ * the table's loop and queues them on the clients' connections.
+ *
+ * A connection plays at one table at a time, in the seat it got when it joined, or watches one
+ * table as a spectator, receiving Uno_DeltaEvents as DELTA frames. Clients that do
+ * not read their frames are disconnected once MAX_PENDING_BYTES are queued for them.
+ *
+ * Data Structures:
+ *   - ConcurrentHashMap<Integer, TableHub> hubs: The hub of every table a client joined or watches
+ *         * A hub unregisters itself from its table and leaves the map once the table closes
+ *   - ConcurrentLinkedQueue<Connection> flushQueue: Connections with frames to write
+ *         * Filled by the table loops, drained by the selector thread after a wakeup
+ *   - ByteBuffer out (per connection): Pending frames, guarded by the connection
+ *         * Grows by doubling, so a burst of frames never needs one allocation per frame
+ *
+ * @author Lasya Erukulla
+ * @version 5.0
+ */
+public class Uno_ProtocolServer implements AutoCloseable {
+    public static final int DEFAULT_PORT = 7777;
+    public static final int MAX_PENDING_BYTES = 1 << 20;
+
+    private final Uno_TableManager manager;
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final ConcurrentHashMap<Integer, TableHub> hubs;
+    private final ConcurrentLinkedQueue<Connection> flushQueue;
+    private final AtomicInteger nextConnectionId;
+    private final Thread selectorThread;
+    private volatile boolean running;
+
+    /**
+     * Constructs a server on the loopback address.
+     * @param manager the tables to serve
+     * @param port the port to listen on, 0 for any free port
+     * @throws IOException if the port cannot be bound
+     */
+    public Uno_ProtocolServer(Uno_TableManager manager, int port) throws IOException {
+        this(manager, new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+
+    /**
+     * Constructs a server.
+     * @param manager the tables to serve
+     * @param address the address to listen on, e.g. a LAN address
+     * @throws IOException if the address cannot be bound
+     */
+    public Uno_ProtocolServer(Uno_TableManager manager, InetSocketAddress address) throws IOException {
+        this.manager = manager;
+        this.hubs = new ConcurrentHashMap<>();
+        this.flushQueue = new ConcurrentLinkedQueue<>();
+        this.nextConnectionId = new AtomicInteger(1);
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(address);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        this.running = true;
+        this.selectorThread = new Thread(this::runSelector, "uno-protocol-selector");
+        selectorThread.setDaemon(true);
+        selectorThread.start();
+    }
+
+    /**
+     * Gets the port the server listens on.
+     * @return the port
+     */
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Gets the number of tables the server streams to clients.
+     * @return the hub count
+     */
+    int getHubCount() {
+        return hubs.size();
+    }
+
+    /**
+     * Stops the server and disconnects every client. The tables are left to the manager.
+     */
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+        try {
+            selectorThread.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /* Selector thread */
+
+    private void runSelector() {
+        try {
+            while (running) {
+                selector.select();
+                Connection pending;
+                while ((pending = flushQueue.poll()) != null) {
+                    flush(pending);
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) continue;
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    Connection conn = (Connection) key.attachment();
+                    if (key.isReadable()) read(conn);
+                    if (key.isValid() && key.isWritable()) flush(conn);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Protocol server stopped: " + e.getMessage());
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                if (key.attachment() instanceof Connection) disconnect((Connection) key.attachment());
+            }
+            try {
+                serverChannel.close();
+                selector.close();
+            } catch (IOException e) {
+                System.err.println("Error closing protocol server: " + e.getMessage());
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) return;
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true);
+        Connection conn = new Connection(nextConnectionId.getAndIncrement(), channel);
+        conn.key = channel.register(selector, SelectionKey.OP_READ, conn);
+    }
+
+    private void read(Connection conn) {
+        int n;
+        try {
+            n = conn.channel.read(conn.in);
+        } catch (IOException e) {
+            n = -1;
+        }
+        if (n < 0) {
+            disconnect(conn);
+            return;
+        }
+        conn.in.flip();
+        while (conn.in.remaining() >= Uno_Protocol.REQUEST_BYTES) {
+            int p = conn.in.position();
+            handleRequest(conn, conn.in.get(p), conn.in.get(p + 1) & 0xFF, conn.in.get(p + 2) & 0xFF,
+                    conn.in.get(p + 3) & 0xFF, conn.in.getInt(p + 4));
+            conn.in.position(p + Uno_Protocol.REQUEST_BYTES);
+        }
+        conn.in.compact();
+    }
+
+    private void flush(Connection conn) {
+        conn.flushQueued.set(false);
+        if (!conn.key.isValid()) return;
+        if (conn.overflowed) {
+            disconnect(conn);
+            return;
+        }
+        boolean drained;
+        synchronized (conn) {
+            conn.out.flip();
+            try {
+                conn.channel.write(conn.out);
+            } catch (IOException e) {
+                conn.out.clear();
+                disconnect(conn);
+                return;
+            }
+            drained = !conn.out.hasRemaining();
+            conn.out.compact();
+        }
+        conn.key.interestOps(drained ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+    }
+
+    private void disconnect(Connection conn) {
+        if (!conn.closed.compareAndSet(false, true)) return;
+        conn.key.cancel();
+        try {
+            conn.channel.close();
+        } catch (IOException e) {
+            // The connection is gone either way
+        }
+        if (conn.seat >= 0) leave(conn);
+        if (conn.watching) unwatch(conn);
+    }
+
+    /**
+     * Stops sending a spectator the deltas of its table.
+     */
+    private void unwatch(Connection conn) {
+        TableHub hub = hubs.get(conn.tableId);
+        if (hub != null) hub.watchers.remove(conn);
+        conn.watching = false;
+        conn.tableId = 0;
+    }
+
+    /**
+     * Takes a connection out of its table.
+     */
+    private CompletableFuture<Boolean> leave(Connection conn) {
+        int tableId = conn.tableId;
+        TableHub hub = hubs.get(tableId);
+        if (hub != null) hub.connections.remove(conn);
+        conn.seat = -1;
+        conn.tableId = 0;
+        return manager.leaveTable(tableId, conn.name);
+    }
+
+    /* Requests, run on the selector thread */
+
+    private void handleRequest(Connection conn, byte opcode, int arg0, int arg1, int arg2, int tableId) {
+        switch (opcode) {
+            case Uno_Protocol.OP_CREATE:
+                try {
+                    Uno_Table table = manager.createTable(arg0, arg1, arg2);
+                    conn.reply(opcode, true, 0, table.getId());
+                } catch (IllegalArgumentException e) {
+                    conn.reply(opcode, false, 0, 0);
+                }
+                return;
+            case Uno_Protocol.OP_JOIN:
+                join(conn, tableId);
+                return;
+            case Uno_Protocol.OP_WATCH:
+                watch(conn, tableId);
+                return;
+            case Uno_Protocol.OP_LEAVE:
+                if (conn.watching) {
+                    int watched = conn.tableId;
+                    unwatch(conn);
+                    conn.reply(opcode, true, 0, watched);
+                    return;
+                }
+                break;
+            default:
+                break;
+        }
+        Uno_Table table = conn.tableId > 0 ? manager.getTable(conn.tableId) : null;
+        if (table == null || conn.seat < 0) {
+            conn.reply(opcode, false, 0, conn.tableId);
+            return;
+        }
+        int seat = conn.seat;
+        CompletableFuture<Boolean> result;
+        switch (opcode) {
+            case Uno_Protocol.OP_LEAVE:
+                result = leave(conn);
+                break;
+            case Uno_Protocol.OP_PLAY_CARD:
+                result = table.playCard(seat, arg0);
+                break;
+            case Uno_Protocol.OP_CHOOSE_COLOUR:
+                Card_Model.CardColour[] colours = Card_Model.CardColour.values();
+                result = arg0 < colours.length ? table.setWildCardColour(seat, colours[arg0])
+                                               : CompletableFuture.completedFuture(false);
+                break;
+            case Uno_Protocol.OP_DRAW:
+                result = table.handleDrawCard(seat);
+                break;
+            case Uno_Protocol.OP_NEXT_PLAYER:
+                result = table.handleNextPlayer(seat);
+                break;
+            case Uno_Protocol.OP_UNDO:
+                result = table.undo(seat);
+                break;
+            case Uno_Protocol.OP_REDO:
+                result = table.redo(seat);
+                break;
+            case Uno_Protocol.OP_NEXT_ROUND:
+                result = table.startNextRound();
+                break;
+            default:
+                result = CompletableFuture.completedFuture(false);
+                break;
+        }
+        int id = table.getId();
+        result.whenComplete((ok, error) -> conn.reply(opcode, error == null && ok, 0, id));
+    }
+
+    private void join(Connection conn, int tableId) {
+        Uno_Table table = manager.getTable(tableId);
+        if (table == null || conn.seat >= 0 || conn.watching) {
+            conn.reply(Uno_Protocol.OP_JOIN, false, 0, tableId);
+            return;
+        }
+        TableHub hub = hubs.computeIfAbsent(tableId, id -> new TableHub(table));
+        conn.tableId = tableId;
+        manager.joinTable(tableId, conn.name).whenComplete((seat, error) -> {
+            if (error != null) {
+                conn.tableId = 0;
+                conn.reply(Uno_Protocol.OP_JOIN, false, 0, tableId);
+                return;
+            }
+            // Subscribe and send the full state on the table's loop so no update is missed
+            table.call(() -> {
+                conn.seat = seat;
+                hub.connections.add(conn);
+                hub.sync(conn);
+                conn.reply(Uno_Protocol.OP_JOIN, true, seat, tableId);
+                return null;
+            });
+        });
+    }
+
+    private void watch(Connection conn, int tableId) {
+        Uno_Table table = manager.getTable(tableId);
+        if (table == null || conn.seat >= 0 || conn.watching) {
+            conn.reply(Uno_Protocol.OP_WATCH, false, 0, tableId);
+            return;
+        }
+        TableHub hub = hubs.computeIfAbsent(tableId, id -> new TableHub(table));
+        conn.tableId = tableId;
+        conn.watching = true;
+        // Describe the state and subscribe on the table's loop so no delta is missed
+        table.call(() -> {
+            if (table.getState() == Uno_Table.State.CLOSED) {
+                conn.watching = false;
+                conn.tableId = 0;
+                conn.reply(Uno_Protocol.OP_WATCH, false, 0, tableId);
+                return null;
+            }
+            Uno_DeltaBroadcaster deltas = table.getController().getDeltaBroadcaster();
+            if (!hub.listening) {
+                deltas.addListener(hub);
+                hub.listening = true;
+            }
+            conn.queueDeltas(deltas.describeState(table.getModel()));
+            hub.watchers.add(conn);
+            conn.reply(Uno_Protocol.OP_WATCH, true, 0, tableId);
+            return null;
+        });
+    }
+
+    /**
+     * Streams the state of one table to the connections seated at it, and its deltas to the
+     * spectators watching it. Registered as a view handler and delta listener on the table's
+     * controller, so it always runs on the table's loop.
+     */
+    private final class TableHub implements Uno_ViewHandler, Uno_DeltaListener {
+        private final Uno_Table table;
+        private final List<Connection> connections;
+        private final List<Connection> watchers;
+        private final byte[] state;
+        private final byte[] lastState;
+        private boolean listening;
+
+        TableHub(Uno_Table table) {
+            this.table = table;
+            this.connections = new CopyOnWriteArrayList<>();
+            this.watchers = new CopyOnWriteArrayList<>();
+            this.state = new byte[Uno_Protocol.FRAME_BYTES];
+            this.lastState = new byte[Uno_Protocol.FRAME_BYTES];
+            table.call(() -> {
+                table.getController().addViewHandler(this);
+                table.whenClosed().thenRun(this::release);
+                return null;
+            });
+        }
+
+        /**
+         * Unregisters the hub from its closed table and drops it, so closed tables do not
+         * leave hubs and listeners behind. Runs on the table's loop.
+         */
+        private void release() {
+            table.getController().removeViewHandler(this);
+            if (listening) {
+                table.getController().getDeltaBroadcaster().removeListener(this);
+                listening = false;
+            }
+            hubs.remove(table.getId(), this);
+        }
+
+        @Override
+        public void handleDeltas(List<Uno_DeltaEvent> deltas) {
+            for (Connection conn : watchers) {
+                conn.queueDeltas(deltas);
+            }
+        }
+
+        @Override
+        public void handleGameUpdate(Uno_Event event) {
+            publish();
+        }
+
+        @Override
+        public void handleRoundEnd(Uno_Event event) {
+            publish();
+        }
+
+        @Override
+        public void handleGameOver(Uno_Event event) {
+            publish();
+        }
+
+        /**
+         * Sends the current state and whole hand to a connection that just joined.
+         */
+        void sync(Connection conn) {
+            Uno_Protocol.encodeState(state, table.getModel(), table.getId());
+            conn.queue(state);
+            conn.handSize = -1;
+            sendHand(conn);
+        }
+
+        private void publish() {
+            if (connections.isEmpty()) return;
+            Uno_Protocol.encodeState(state, table.getModel(), table.getId());
+            boolean changed = !Arrays.equals(state, lastState);
+            if (changed) System.arraycopy(state, 0, lastState, 0, state.length);
+            for (Connection conn : connections) {
+                if (changed) conn.queue(state);
+                sendHand(conn);
+            }
+        }
+
+        private void sendHand(Connection conn) {
+            List<Player_Model> players = table.getModel().getParticipants();
+            if (conn.seat < 0 || conn.seat >= players.size()) return;
+            List<Card_Model> hand = players.get(conn.seat).getHand();
+            int size = hand.size();
+            int known = Math.max(conn.handSize, 0);
+            int first = 0;
+            while (first < Math.min(size, known) && conn.hand[first] == hand.get(first).getFaceId()) first++;
+            if (conn.handSize >= 0 && first == size && size == known) return;
+            if (conn.hand.length < size) conn.hand = Arrays.copyOf(conn.hand, Math.max(size, conn.hand.length * 2));
+            for (int i = first; i < size; i++) {
+                conn.hand[i] = hand.get(i).getFaceId();
+            }
+            conn.handSize = size;
+            conn.queueHand(first);
+        }
+    }
+
+    /**
+     * One client. Its hand cache is only touched on the loop of the table it is seated at.
+     */
+    private final class Connection {
+        private final SocketChannel channel;
+        private final String name;
+        private final ByteBuffer in;
+        private final AtomicBoolean flushQueued;
+        private final AtomicBoolean closed;
+        private ByteBuffer out;
+        private SelectionKey key;
+        private volatile int tableId;
+        private volatile int seat;
+        private int[] hand;
+        private int handSize;
+        private volatile boolean overflowed;
+        private volatile boolean watching;
+
+        Connection(int id, SocketChannel channel) {
+            this.channel = channel;
+            this.name = "Client" + id;
+            this.in = ByteBuffer.allocate(Uno_Protocol.REQUEST_BYTES * 512);
+            this.out = ByteBuffer.allocate(Uno_Protocol.FRAME_BYTES * 64);
+            this.flushQueued = new AtomicBoolean();
+            this.closed = new AtomicBoolean();
+            this.seat = -1;
+            this.hand = new int[16];
+            this.handSize = -1;
+        }
+
+        void reply(byte opcode, boolean ok, int value, int tableId) {
+            synchronized (this) {
+                if (!reserve(Uno_Protocol.FRAME_BYTES)) return;
+                Uno_Protocol.putReply(out, opcode, ok, value, tableId);
+            }
+            scheduleFlush();
+        }
+
+        void queue(byte[] frame) {
+            synchronized (this) {
+                if (!reserve(frame.length)) return;
+                out.put(frame);
+            }
+            scheduleFlush();
+        }
+
+        void queueHand(int offset) {
+            synchronized (this) {
+                if (!reserve(Uno_Protocol.handBytes(handSize, offset))) return;
+                Uno_Protocol.putHand(out, hand, handSize, offset);
+            }
+            scheduleFlush();
+        }
+
+        void queueDeltas(List<Uno_DeltaEvent> deltas) {
+            synchronized (this) {
+                if (!reserve(deltas.size() * Uno_Protocol.FRAME_BYTES)) return;
+                for (Uno_DeltaEvent delta : deltas) {
+                    Uno_Protocol.putDelta(out, delta, true);
+                }
+            }
+            scheduleFlush();
+        }
+
+        /**
+         * Makes room for bytes in the outbound buffer, dropping a client that stopped reading.
+         * Called while holding the connection.
+         */
+        private boolean reserve(int bytes) {
+            if (closed.get() || overflowed) return false;
+            if (out.remaining() >= bytes) return true;
+            int needed = out.position() + bytes;
+            if (needed > MAX_PENDING_BYTES) {
+                // A client that stopped reading never becomes writable again, so queue the
+                // flush that drops it instead of waiting for one
+                overflowed = true;
+                out.clear();
+                scheduleFlush();
+                return false;
+            }
+            int capacity = out.capacity();
+            while (capacity < needed) capacity *= 2;
+            ByteBuffer bigger = ByteBuffer.allocate(capacity);
+            out.flip();
+            bigger.put(out);
+            out = bigger;
+            return true;
+        }
+
+        private void scheduleFlush() {
+            if (flushQueued.compareAndSet(false, true)) {
+                flushQueue.add(this);
+                selector.wakeup();
+            }
+        }
+    }
+
+    /**
+     * Runs a server with a table manager until the process is stopped.
+     * @param args optional port, DEFAULT_PORT by default
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        Uno_TableManager manager = new Uno_TableManager();
+        Uno_ProtocolServer server = new Uno_ProtocolServer(manager, port);
+        System.out.println("Uno protocol server listening on port " + server.getPort());
+        Thread.currentThread().join();
+    }
+}
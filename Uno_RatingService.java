@@ -0,0 +1,403 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Glicko ratings for human players and AI strategies, updated from round and game results.
+ *
+ * A result ranks the players of one round or game (place 0 is the winner, equal places tie).
+ * A multi-player result counts as one pairwise game between every two players, weighted by
+ * 1 / (players - 1) so a 4-player round moves ratings about as much as a 2-player round.
+ *
+ * Results are collected into a batch and applied together as one Glicko rating period: every
+ * expected score in the batch uses the ratings from before the batch, then all players are
+ * updated at once. This is what makes ingesting millions of simulated results cheap, a result
+ * is only a few array writes until the batch is full (or flush() is called).
+ *
+ * Ratings are kept by name: human players under their name, AI players under "AI:" plus their
+ * strategy name (see getRatingKey()). pickOpponent() uses the ratings to seat the AI strategy
+ * closest in strength to a human. Seats rated under the same name in one result, such as two
+ * AI players with the same strategy, do not play each other; they share the weight of one
+ * player in their games against the others, and the result counts once for the name.
+ *
+ * Store file layout (big endian, DataOutputStream), written to a temporary file and moved over
+ * the old one, so a crash while saving keeps the previous ratings:
+ *   header: int MAGIC, int VERSION, int count
+ *   count records: UTF name, float rating, float deviation, int results
+ *
+ * Data Structures:
+ *   - Map<String, Integer> ids: name to index into the rating arrays
+ *   - double[] ratings, deviations, int[] results: one entry per rated name, grown by doubling
+ *   - int[] batchIds, batchPlaces, batchStarts: the pending results, flattened back to back
+ *   - double[] varianceSums, deltaSums: per-batch Glicko sums of the rated names
+ *   - int[] touched, periodStamps: the names playing in the current batch, listed once each
+ *
+ * @author Lasya Erukulla
+ * @version 5.0
+ */
+public class Uno_RatingService {
+    public static final int MAGIC = 0x554E4F52;     // "UNOR"
+    public static final int VERSION = 1;
+    public static final double DEFAULT_RATING = 1500;
+    public static final double DEFAULT_DEVIATION = 350;
+    public static final double MIN_DEVIATION = 30;
+    public static final double DEFAULT_PERIOD_DRIFT = 1.0;
+    public static final int DEFAULT_BATCH_SIZE = 4096;
+    public static final String AI_PREFIX = "AI:";
+
+    private static final double Q = Math.log(10) / 400;
+    private static final int MAX_PLAYERS = 4;
+
+    private final File file;
+    private final int batchSize;
+    private final double periodDrift;
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+    private double[] ratings = new double[64];
+    private double[] deviations = new double[64];
+    private int[] results = new int[64];
+
+    private final int[] batchIds;
+    private final int[] batchPlaces;
+    private final int[] batchStarts;
+    private int batchCount;
+    private int batchLength;
+    private double[] varianceSums = new double[64];
+    private double[] deltaSums = new double[64];
+    private int[] touched = new int[64];
+    private int[] periodStamps = new int[64];
+    private int period = 1;
+    private long totalResults;
+
+    /**
+     * Constructs an in-memory service with the default batch size.
+     */
+    public Uno_RatingService() {
+        this(null, DEFAULT_BATCH_SIZE, DEFAULT_PERIOD_DRIFT);
+    }
+
+    /**
+     * Constructs a service backed by a store file. The file is read by load(), written by save().
+     * @param file the store file, or null to keep ratings in memory only
+     * @param batchSize the number of results per rating period
+     * @param periodDrift how much the deviation of a rated name grows per rating period it plays in
+     */
+    public Uno_RatingService(File file, int batchSize, double periodDrift) {
+        this.file = file;
+        this.batchSize = Math.max(1, batchSize);
+        this.periodDrift = Math.max(0, periodDrift);
+        this.batchIds = new int[this.batchSize * MAX_PLAYERS];
+        this.batchPlaces = new int[this.batchSize * MAX_PLAYERS];
+        this.batchStarts = new int[this.batchSize + 1];
+    }
+
+    /**
+     * Opens a service backed by a store file, loading the file if it exists.
+     * @param file the store file
+     * @return the service
+     * @throws IOException if the file exists but cannot be read
+     */
+    public static Uno_RatingService open(File file) throws IOException {
+        Uno_RatingService service = new Uno_RatingService(file, DEFAULT_BATCH_SIZE, DEFAULT_PERIOD_DRIFT);
+        if (file.isFile()) service.load();
+        return service;
+    }
+
+    /**
+     * Gets the name a player is rated under.
+     * @param player the player
+     * @return "AI:" and the strategy name for AI players, the player name otherwise
+     */
+    public static String getRatingKey(Player_Model player) {
+        return player.isAI() ? AI_PREFIX + player.getStrategyName() : player.getName();
+    }
+
+    /**
+     * Gets the id of a name, adding it with the default rating if it is new.
+     * Ids are stable for the life of the service, recordResult(int[], int[], int) takes them.
+     * @param name the rated name
+     * @return the id
+     */
+    public synchronized int getId(String name) {
+        Integer id = ids.get(name);
+        if (id != null) return id;
+        int next = names.size();
+        if (next == ratings.length) grow();
+        ids.put(name, next);
+        names.add(name);
+        ratings[next] = DEFAULT_RATING;
+        deviations[next] = DEFAULT_DEVIATION;
+        results[next] = 0;
+        return next;
+    }
+
+    /**
+     * Queues a result by names.
+     * @param players the rated names, 2 to 4
+     * @param places the place of each player, 0 for the winner, equal places tie
+     */
+    public synchronized void recordResult(String[] players, int[] places) {
+        int[] playerIds = new int[players.length];
+        for (int i = 0; i < players.length; i++) playerIds[i] = getId(players[i]);
+        recordResult(playerIds, places, players.length);
+    }
+
+    /**
+     * Queues a result by ids without allocating. The batch is applied once it is full.
+     * @param playerIds the ids from getId()
+     * @param places the place of each player, 0 for the winner, equal places tie
+     * @param count the number of players, 2 to 4
+     */
+    public synchronized void recordResult(int[] playerIds, int[] places, int count) {
+        if (count < 2 || count > MAX_PLAYERS) {
+            throw new IllegalArgumentException("A result needs 2 to " + MAX_PLAYERS + " players");
+        }
+        for (int i = 0; i < count; i++) {
+            if (playerIds[i] < 0 || playerIds[i] >= names.size()) {
+                throw new IllegalArgumentException("Unknown rating id " + playerIds[i]);
+            }
+            batchIds[batchLength + i] = playerIds[i];
+            batchPlaces[batchLength + i] = places[i];
+        }
+        batchLength += count;
+        batchStarts[++batchCount] = batchLength;
+        totalResults++;
+        if (batchCount == batchSize) applyBatch();
+    }
+
+    /**
+     * Queues the result of a finished round: the winner first, the others ranked by the points
+     * left in their hands (fewer is better).
+     * @param game a game whose round just ended
+     */
+    public synchronized void recordRound(Uno_Model game) {
+        List<Player_Model> players = game.getParticipants();
+        int count = players.size();
+        int[] playerIds = new int[count];
+        int[] places = new int[count];
+        int[] points = new int[count];
+        for (int i = 0; i < count; i++) {
+            Player_Model player = players.get(i);
+            playerIds[i] = getId(getRatingKey(player));
+            points[i] = player.getNumCards() == 0 ? -1 : player.getHandScore(game.isDarkSide());
+        }
+        for (int i = 0; i < count; i++) {
+            for (int j = 0; j < count; j++) {
+                if (points[j] < points[i]) places[i]++;
+            }
+        }
+        recordResult(playerIds, places, count);
+    }
+
+    /**
+     * Creates a view handler that records every round that ends in a controller's game.
+     * Register it with Uno_Controller.addViewHandler().
+     * @return the handler
+     */
+    public Uno_ViewHandler roundRecorder() {
+        return new Uno_ViewHandler() {
+            @Override
+            public void handleGameUpdate(Uno_Event event) {}
+
+            @Override
+            public void handleRoundEnd(Uno_Event event) {
+                recordRound((Uno_Model) event.getSource());
+            }
+
+            @Override
+            public void handleGameOver(Uno_Event event) {
+                recordRound((Uno_Model) event.getSource());
+            }
+        };
+    }
+
+    /**
+     * Applies the pending results now instead of waiting for a full batch.
+     */
+    public synchronized void flush() {
+        if (batchCount > 0) applyBatch();
+    }
+
+    /**
+     * Gets the rating of a name, including pending results.
+     * @param name the rated name
+     * @return the rating, DEFAULT_RATING for unknown names
+     */
+    public synchronized double getRating(String name) {
+        flush();
+        Integer id = ids.get(name);
+        return id == null ? DEFAULT_RATING : ratings[id];
+    }
+
+    /**
+     * Gets the rating deviation of a name, including pending results.
+     * @param name the rated name
+     * @return the deviation, DEFAULT_DEVIATION for unknown names
+     */
+    public synchronized double getDeviation(String name) {
+        flush();
+        Integer id = ids.get(name);
+        return id == null ? DEFAULT_DEVIATION : deviations[id];
+    }
+
+    /**
+     * Gets the number of results a name took part in, including pending results.
+     * @param name the rated name
+     * @return the result count
+     */
+    public synchronized int getResultCount(String name) {
+        flush();
+        Integer id = ids.get(name);
+        return id == null ? 0 : results[id];
+    }
+
+    /**
+     * Gets the number of results recorded since the service was created.
+     * @return the result count
+     */
+    public synchronized long getTotalResults() {
+        return totalResults;
+    }
+
+    /**
+     * Picks the AI strategy whose rating is closest to a player's rating.
+     * @param player the rated name of the player, usually a human
+     * @param strategies the strategy names to choose from
+     * @return the closest strategy name, or null if there are none
+     */
+    public synchronized String pickOpponent(String player, Collection<String> strategies) {
+        double target = getRating(player);
+        String best = null;
+        double bestGap = Double.MAX_VALUE;
+        for (String strategy : strategies) {
+            double gap = Math.abs(getRating(AI_PREFIX + strategy) - target);
+            if (gap < bestGap) {
+                bestGap = gap;
+                best = strategy;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Writes all ratings to the store file, pending results included.
+     * @throws IOException if the file cannot be written
+     */
+    public synchronized void save() throws IOException {
+        if (file == null) throw new IllegalStateException("Rating service has no store file");
+        flush();
+        File temp = new File(file.getAbsoluteFile().getParentFile(), file.getName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(names.size());
+            for (int id = 0; id < names.size(); id++) {
+                out.writeUTF(names.get(id));
+                out.writeFloat((float) ratings[id]);
+                out.writeFloat((float) deviations[id]);
+                out.writeInt(results[id]);
+            }
+        }
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Replaces all ratings with the ones in the store file. Pending results are dropped.
+     * @throws IOException if the file cannot be read or is not a rating store
+     */
+    public synchronized void load() throws IOException {
+        if (file == null) throw new IllegalStateException("Rating service has no store file");
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) throw new IOException(file + " is not a rating store");
+            int count = in.readInt();
+            ids.clear();
+            names.clear();
+            batchCount = 0;
+            batchLength = 0;
+            for (int i = 0; i < count; i++) {
+                int id = getId(in.readUTF());
+                ratings[id] = in.readFloat();
+                deviations[id] = in.readFloat();
+                results[id] = in.readInt();
+            }
+        }
+    }
+
+    /**
+     * Applies the pending results as one rating period (Glicko-1).
+     */
+    private void applyBatch() {
+        int touchedCount = 0;
+        for (int r = 0; r < batchCount; r++) {
+            int from = batchStarts[r];
+            int to = batchStarts[r + 1];
+            for (int i = from; i < to; i++) {
+                int a = batchIds[i];
+                int seats = 0;
+                boolean first = true;
+                for (int j = from; j < to; j++) {
+                    if (batchIds[j] != a) continue;
+                    seats++;
+                    if (j < i) first = false;
+                }
+                int opponents = to - from - seats;
+                if (opponents == 0) continue;
+                double weight = 1.0 / (opponents * seats);
+                if (periodStamps[a] != period) {
+                    periodStamps[a] = period;
+                    varianceSums[a] = 0;
+                    deltaSums[a] = 0;
+                    touched[touchedCount++] = a;
+                }
+                for (int j = from; j < to; j++) {
+                    int b = batchIds[j];
+                    if (b == a) continue;
+                    double score = batchPlaces[i] < batchPlaces[j] ? 1 : batchPlaces[i] == batchPlaces[j] ? 0.5 : 0;
+                    double g = g(deviations[b]);
+                    double expected = 1 / (1 + Math.pow(10, -g * (ratings[a] - ratings[b]) / 400));
+                    varianceSums[a] += weight * g * g * expected * (1 - expected);
+                    deltaSums[a] += weight * g * (score - expected);
+                }
+                if (first) results[a]++;
+            }
+        }
+        for (int t = 0; t < touchedCount; t++) {
+            int id = touched[t];
+            double deviation = Math.min(DEFAULT_DEVIATION, Math.sqrt(deviations[id] * deviations[id] + periodDrift * periodDrift));
+            double precision = 1 / (deviation * deviation) + Q * Q * varianceSums[id];
+            ratings[id] += Q / precision * deltaSums[id];
+            deviations[id] = Math.max(MIN_DEVIATION, Math.sqrt(1 / precision));
+        }
+        batchCount = 0;
+        batchLength = 0;
+        period++;
+    }
+
+    private static double g(double deviation) {
+        return 1 / Math.sqrt(1 + 3 * Q * Q * deviation * deviation / (Math.PI * Math.PI));
+    }
+
+    private void grow() {
+        int size = ratings.length * 2;
+        ratings = Arrays.copyOf(ratings, size);
+        deviations = Arrays.copyOf(deviations, size);
+        results = Arrays.copyOf(results, size);
+        varianceSums = Arrays.copyOf(varianceSums, size);
+        deltaSums = Arrays.copyOf(deltaSums, size);
+        touched = Arrays.copyOf(touched, size);
+        periodStamps = Arrays.copyOf(periodStamps, size);
+    }
+}
@@ -0,0 +1,43 @@
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Interface for AI strategies that pick their move by searching ahead from a copy of the round.
+ * Player_Model copies the round into a Uno_SimState while the game is locked and calls search()
+ * once it is unlocked (see Player_Model.captureSearch), so a search must read nothing but the
+ * copy. selectCard() is used when the round cannot be copied or the search finds no move.
+ *
+ * The player keeps the budgets and passes them on when the strategy is created and whenever
+ * they change; a strategy ignores the budgets that do not apply to it.
+ *
+ * @author Saan John
+ * @version 5.0
+ */
+public interface Uno_SearchStrategy extends Uno_AIStrategy {
+    /**
+     * Searches for the best move of a player.
+     * @param state the copy of the round, not changed by the search
+     * @param observer the seat of the player to move
+     * @return the encoded move (see Uno_SimState), or Uno_MCTS.NO_MOVE if none was found
+     */
+    int search(Uno_SimState state, int observer);
+
+    /**
+     * Sets the per turn budget of a Monte Carlo search.
+     * @param timeMillis the maximum thinking time per turn in milliseconds
+     * @param maxIterations the maximum number of search iterations per turn
+     */
+    default void setSearchBudget(int timeMillis, int maxIterations) {}
+
+    /**
+     * Sets the limits of a lookahead search.
+     * @param depth the number of own decisions to look ahead
+     * @param nodeBudget the maximum number of positions searched per turn
+     */
+    default void setLookaheadBudget(int depth, int nodeBudget) {}
+
+    /**
+     * Sets the pool a parallel search runs on.
+     * @param pool the pool, null for Uno_ParallelMCTS.getSharedPool()
+     */
+    default void setSearchPool(ForkJoinPool pool) {}
+}
@@ -0,0 +1,364 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Offline training pipeline for the weights of Uno_LinearEvaluator.
+ *
+ * Pipeline:
+ *   1. generate(): plays headless self-play rounds (Uno_HeadlessRunner) and writes one row per
+ *      AI decision to a dataset file. Players follow the current weights, but pick a random
+ *      candidate with probability epsilon so the effect of every feature shows up in the data.
+ *   2. train(): fits a logistic regression of "the player who made this decision won the round"
+ *      on the decision rows, reading the dataset file once per epoch.
+ *   3. saveWeights() / loadWeights(): store the fitted weights, Uno_LearnedStrategy plays with them.
+ *
+ * Rows hold the features of the chosen move minus the mean features of all candidate moves.
+ * The part of a feature that is the same for every candidate (how good the position already is)
+ * cancels out, so the weights only learn how much the choice itself changed the chance to win.
+ *
+ * Neither step holds the dataset in memory: rounds are written as they finish and training
+ * streams the file, so the dataset can be much larger than the heap.
+ *
+ * Dataset file layout (big endian, DataOutputStream):
+ *   header: int MAGIC, int VERSION, int NUM_FEATURES
+ *   rows:   NUM_FEATURES floats (centred features), 1 byte outcome (1 won, 0 lost)
+ *
+ * Usage: java Uno_SelfPlayTrainer generate <dataset> <rounds> [seed]
+ *        java Uno_SelfPlayTrainer train <dataset> <weights> [epochs]
+ *
+ * @author Saan John
+ * @version 5.0
+ */
+public class Uno_SelfPlayTrainer {
+    public static final int MAGIC = 0x554E4F44;     // "UNOD"
+    public static final int VERSION = 1;
+    public static final int ROW_BYTES = Uno_LinearEvaluator.NUM_FEATURES * Float.BYTES + 1;
+    public static final float DEFAULT_EPSILON = 0.2f;
+    public static final int DEFAULT_EPOCHS = 5;
+    public static final float DEFAULT_LEARNING_RATE = 0.05f;
+    public static final float DEFAULT_L2 = 1e-4f;
+
+    private static final int NUM_PLAYERS = 2;
+    private static final int NUM_FEATURES = Uno_LinearEvaluator.NUM_FEATURES;
+
+    private Uno_SelfPlayTrainer() {}
+
+    /**
+     * Plays self-play rounds on all cores and writes their decisions to a dataset file.
+     * Round i is dealt from seed + i and its random moves come from a generator seeded the same
+     * way, so every round plays out the same whichever thread takes it; only the order in which
+     * rounds from different threads reach the file can change.
+     * @param dataset the file to write
+     * @param rounds the number of rounds to play
+     * @param seed the seed of the first round
+     * @param policy the weights the players follow
+     * @param epsilon the probability of a random move per decision
+     * @return the number of rows written
+     * @throws IOException if the file cannot be written
+     */
+    public static long generate(File dataset, int rounds, long seed, Uno_LinearEvaluator policy, float epsilon)
+            throws IOException {
+        int threads = Math.max(1, Math.min(rounds, Runtime.getRuntime().availableProcessors()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        AtomicInteger nextRound = new AtomicInteger();
+        long rows = 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(dataset)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(NUM_FEATURES);
+
+            List<Future<Long>> workers = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                workers.add(executor.submit(() -> playRounds(out, nextRound, rounds, seed, policy, epsilon)));
+            }
+            for (Future<Long> worker : workers) rows += worker.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Self-play was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) throw (IOException) e.getCause();
+            throw new IOException("Self-play failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return rows;
+    }
+
+    /**
+     * Worker loop: plays rounds until all are taken, writing each finished round under the stream lock.
+     * The exploring players are given new generators split from the round's seed before every round.
+     */
+    private static long playRounds(DataOutputStream out, AtomicInteger nextRound, int rounds, long seed,
+                                   Uno_LinearEvaluator policy, float epsilon) throws IOException {
+        Uno_HeadlessRunner runner = new Uno_HeadlessRunner();
+        Player_Model[] seats = new Player_Model[NUM_PLAYERS];
+        ExploringStrategy[] strategies = new ExploringStrategy[NUM_PLAYERS];
+        for (int p = 0; p < NUM_PLAYERS; p++) {
+            strategies[p] = new ExploringStrategy(policy, epsilon);
+            seats[p] = new Player_Model("SelfPlay " + (p + 1), true);
+            seats[p].setStrategy(strategies[p]);
+        }
+        long written = 0;
+        int round;
+        while ((round = nextRound.getAndIncrement()) < rounds) {
+            SplittableRandom roundRng = new SplittableRandom(seed + round);
+            for (ExploringStrategy strategy : strategies) strategy.startRound(roundRng.split());
+            int winner = runner.playRound(seed + round, seats);
+            if (winner == Uno_HeadlessRunner.NO_WINNER) continue;
+            synchronized (out) {
+                for (int p = 0; p < NUM_PLAYERS; p++) {
+                    written += strategies[p].writeRows(out, p == winner);
+                }
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Fits the weights to a dataset with stochastic gradient descent on the logistic loss.
+     * The learning rate decays with 1 / sqrt(epoch + 1). The fitted bias only models the
+     * average outcome and is left out of the returned weights, as it never changes which
+     * move scores best.
+     * @param dataset the file written by generate()
+     * @param epochs the number of passes over the file
+     * @param learningRate the learning rate of the first epoch
+     * @param l2 the weight decay applied with every row
+     * @return one weight per feature
+     * @throws IOException if the file cannot be read or is not a dataset
+     */
+    public static float[] train(File dataset, int epochs, float learningRate, float l2) throws IOException {
+        float[] weights = new float[NUM_FEATURES];
+        float bias = 0f;
+        float[] row = new float[NUM_FEATURES];
+        for (int epoch = 0; epoch < epochs; epoch++) {
+            float rate = (float) (learningRate / Math.sqrt(epoch + 1));
+            try (DataInputStream in = openDataset(dataset)) {
+                while (readRow(in, row)) {
+                    float label = in.readByte();
+                    float z = bias;
+                    for (int f = 0; f < NUM_FEATURES; f++) z += weights[f] * row[f];
+                    float error = (float) (1.0 / (1.0 + Math.exp(-z))) - label;
+                    for (int f = 0; f < NUM_FEATURES; f++) {
+                        weights[f] -= rate * (error * row[f] + l2 * weights[f]);
+                    }
+                    bias -= rate * error;
+                }
+            }
+        }
+        return weights;
+    }
+
+    /**
+     * Counts the rows of a dataset without reading them.
+     * @param dataset the file written by generate()
+     * @return the number of rows
+     * @throws IOException if the file cannot be read or is not a dataset
+     */
+    public static long countRows(File dataset) throws IOException {
+        openDataset(dataset).close();
+        return (dataset.length() - 3L * Integer.BYTES) / ROW_BYTES;
+    }
+
+    /**
+     * Saves weights as a properties file with one entry per feature name.
+     * @param weights one weight per feature
+     * @param file the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void saveWeights(float[] weights, File file) throws IOException {
+        Properties properties = new Properties();
+        for (int f = 0; f < NUM_FEATURES; f++) {
+            properties.setProperty(Uno_LinearEvaluator.FEATURE_NAMES[f], Float.toString(weights[f]));
+        }
+        try (OutputStream out = new FileOutputStream(file)) {
+            properties.store(out, "Uno_LinearEvaluator weights");
+        }
+    }
+
+    /**
+     * Loads weights saved by saveWeights().
+     * @param file the file to read
+     * @return one weight per feature
+     * @throws IOException if the file cannot be read or misses a feature
+     */
+    public static float[] loadWeights(File file) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(file)) {
+            properties.load(in);
+        }
+        float[] weights = new float[NUM_FEATURES];
+        for (int f = 0; f < NUM_FEATURES; f++) {
+            String value = properties.getProperty(Uno_LinearEvaluator.FEATURE_NAMES[f]);
+            if (value == null) throw new IOException("Missing weight " + Uno_LinearEvaluator.FEATURE_NAMES[f] + " in " + file);
+            try {
+                weights[f] = Float.parseFloat(value.trim());
+            } catch (NumberFormatException e) {
+                throw new IOException("Bad weight " + Uno_LinearEvaluator.FEATURE_NAMES[f] + " in " + file, e);
+            }
+        }
+        return weights;
+    }
+
+    private static DataInputStream openDataset(File dataset) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(dataset)));
+        try {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readInt() != NUM_FEATURES) {
+                throw new IOException(dataset + " is not a self-play dataset");
+            }
+        } catch (IOException e) {
+            in.close();
+            throw e instanceof EOFException ? new IOException(dataset + " is not a self-play dataset", e) : e;
+        }
+        return in;
+    }
+
+    /**
+     * Reads the features of the next row.
+     * @return false at the end of the file
+     */
+    private static boolean readRow(DataInputStream in, float[] row) throws IOException {
+        try {
+            row[0] = in.readFloat();
+        } catch (EOFException e) {
+            return false;
+        }
+        for (int f = 1; f < NUM_FEATURES; f++) row[f] = in.readFloat();
+        return true;
+    }
+
+    /**
+     * Self-play strategy: plays the best scored move, or a random candidate with probability
+     * epsilon, and keeps the centred feature row of every decision with two or more candidates.
+     */
+    private static final class ExploringStrategy implements Uno_AIStrategy {
+        private final Uno_LinearEvaluator policy;
+        private final float epsilon;
+        private SplittableRandom rng;
+        private final byte[] handCounts = new byte[Card_Model.NUM_FACES];
+        private final int[] moves = new int[Uno_LinearEvaluator.MAX_CANDIDATES];
+        private final float[] features = new float[Uno_LinearEvaluator.MAX_CANDIDATES * NUM_FEATURES];
+        private final float[] scores = new float[Uno_LinearEvaluator.MAX_CANDIDATES];
+        private float[] rows = new float[64 * NUM_FEATURES];
+        private int rowCount;
+        private Card_Model.CardColour plannedColour;
+
+        private ExploringStrategy(Uno_LinearEvaluator policy, float epsilon) {
+            this.policy = policy;
+            this.epsilon = epsilon;
+        }
+
+        @Override
+        public String getName() {
+            return "SELF_PLAY";
+        }
+
+        @Override
+        public int selectCard(Uno_GameView view) {
+            plannedColour = null;
+            if (!Uno_LinearEvaluator.encodeHand(view, handCounts, 0)) {
+                // A card outside the standard deck cannot be scored, play the first valid card
+                for (int i = 0; i < view.getHandSize(); i++) {
+                    if (view.isPlayable(i)) return i;
+                }
+                return -1;
+            }
+            int count = Uno_LinearEvaluator.extractFeatures(handCounts, 0,
+                    view.getMatchColour().ordinal(), view.getMatchType().ordinal(), view.isDarkSide(),
+                    view.getCardCount(view.getNextPlayerIndex()), moves, 0, features);
+            if (count == 0) return -1;
+
+            int chosen;
+            if (count > 1 && rng.nextFloat() < epsilon) {
+                chosen = rng.nextInt(count);
+            } else {
+                policy.score(features, 0, count, scores);
+                chosen = 0;
+                for (int i = 1; i < count; i++) {
+                    if (scores[i] > scores[chosen]) chosen = i;
+                }
+            }
+            if (count > 1) record(chosen, count);
+
+            int index = Uno_LinearEvaluator.findCard(view, moves[chosen]);
+            if (index >= 0 && view.getHandCard(index).isWildCard()) {
+                plannedColour = Uno_SimState.getMoveColour(moves[chosen], view.isDarkSide());
+            }
+            return index;
+        }
+
+        @Override
+        public Card_Model.CardColour selectWildColour(Uno_GameView view) {
+            if (plannedColour != null) {
+                Card_Model.CardColour colour = plannedColour;
+                plannedColour = null;
+                return colour;
+            }
+            return Uno_AIStrategy.super.selectWildColour(view);
+        }
+
+        private void record(int chosen, int count) {
+            if ((rowCount + 1) * NUM_FEATURES > rows.length) rows = Arrays.copyOf(rows, rows.length * 2);
+            int out = rowCount * NUM_FEATURES;
+            for (int f = 0; f < NUM_FEATURES; f++) {
+                float mean = 0f;
+                for (int i = 0; i < count; i++) mean += features[i * NUM_FEATURES + f];
+                rows[out + f] = features[chosen * NUM_FEATURES + f] - mean / count;
+            }
+            rowCount++;
+        }
+
+        private void startRound(SplittableRandom rng) {
+            this.rng = rng;
+            rowCount = 0;
+        }
+
+        private int writeRows(DataOutputStream out, boolean won) throws IOException {
+            for (int r = 0; r < rowCount; r++) {
+                for (int f = 0; f < NUM_FEATURES; f++) out.writeFloat(rows[r * NUM_FEATURES + f]);
+                out.writeByte(won ? 1 : 0);
+            }
+            return rowCount;
+        }
+    }
+
+    /**
+     * Command line entry point, see the class comment for the arguments.
+     * @param args the command and its arguments
+     * @throws IOException if a file cannot be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length >= 3 && args[0].equals("generate")) {
+            long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+            long rows = generate(new File(args[1]), Integer.parseInt(args[2]), seed,
+                    new Uno_LinearEvaluator(), DEFAULT_EPSILON);
+            System.out.println("Wrote " + rows + " decisions to " + args[1]);
+        } else if (args.length >= 3 && args[0].equals("train")) {
+            int epochs = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_EPOCHS;
+            float[] weights = train(new File(args[1]), epochs, DEFAULT_LEARNING_RATE, DEFAULT_L2);
+            saveWeights(weights, new File(args[2]));
+            System.out.println("Saved weights to " + args[2]);
+        } else {
+            System.out.println("Usage: java Uno_SelfPlayTrainer generate <dataset> <rounds> [seed]");
+            System.out.println("       java Uno_SelfPlayTrainer train <dataset> <weights> [epochs]");
+        }
+    }
+}
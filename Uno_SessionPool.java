@@ -0,0 +1,143 @@
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Pool of game sessions for workloads that start and finish many short games. A released
+ * Uno_Model is reset in place, keeping its Deck_Model and the deck's 112 cards, and its
+ * Player_Models are kept with their hand storage, so acquiring a session from a warm pool
+ * allocates almost nothing.
+ *
+ * A model taken from the pool deals exactly like a new Uno_Model given the same generator,
+ * since a reset deck is shuffled from the order it was built in.
+ *
+ * The pool may be shared between threads. A session belongs to the caller between acquire
+ * and release and must not be used after it is released.
+ *
+ * Data Structures:
+ *   - ArrayDeque<Uno_Model> idleModels: Reset models waiting to be reused
+ *         * Last in first out, so the most recently used and cache-warm model is handed out first
+ *   - ArrayDeque<Player_Model> idlePlayers: Players of released models waiting to be seated again
+ *   - int maxIdle: Number of idle models kept, further releases are left to the garbage collector
+ *
+ * @author Lucas Baker
+ * @version 5.0
+ */
+public class Uno_SessionPool {
+    public static final int DEFAULT_MAX_IDLE = 1024;
+
+    private final ArrayDeque<Uno_Model> idleModels;
+    private final ArrayDeque<Player_Model> idlePlayers;
+    private final int maxIdle;
+    private long created;
+    private long reused;
+
+    /**
+     * Constructs a pool keeping up to DEFAULT_MAX_IDLE idle sessions.
+     */
+    public Uno_SessionPool() {
+        this(DEFAULT_MAX_IDLE);
+    }
+
+    /**
+     * Constructs a pool.
+     * @param maxIdle the number of idle sessions kept for reuse
+     */
+    public Uno_SessionPool(int maxIdle) {
+        if (maxIdle < 0) throw new IllegalArgumentException("maxIdle must not be negative, got " + maxIdle);
+        this.maxIdle = maxIdle;
+        this.idleModels = new ArrayDeque<>();
+        this.idlePlayers = new ArrayDeque<>();
+    }
+
+    /**
+     * Takes a session from the pool, or creates one if the pool is empty, and seats the players.
+     * AI players use the STRATEGIC strategy and humans FIRST_VALID, as in
+     * Uno_Controller.createPlayersWithConfig. The game is NOT_STARTED, untimed and ready for
+     * initializeGame.
+     * @param names the player names
+     * @param isAI for each player, true for an AI
+     * @param random the generator of the game, or null for an unseeded game
+     * @return the session
+     */
+    public Uno_Model acquire(List<String> names, List<Boolean> isAI, Random random) {
+        if (names.size() != isAI.size()) {
+            throw new IllegalArgumentException(names.size() + " names for " + isAI.size() + " players");
+        }
+        Uno_Model model;
+        synchronized (this) {
+            model = idleModels.pollLast();
+            if (model == null) {
+                created++;
+            } else {
+                reused++;
+            }
+        }
+        if (model == null) model = new Uno_Model();
+        model.setRandom(random);
+        for (int i = 0; i < names.size(); i++) {
+            boolean ai = isAI.get(i);
+            Player_Model.AIStrategy strategy = ai ? Player_Model.AIStrategy.STRATEGIC : Player_Model.AIStrategy.FIRST_VALID;
+            Player_Model player;
+            synchronized (this) {
+                player = idlePlayers.pollLast();
+            }
+            if (player == null) {
+                player = new Player_Model(names.get(i), ai, strategy);
+            } else {
+                player.reset(names.get(i), ai, strategy);
+            }
+            if (!model.addPlayer(player)) {
+                throw new IllegalArgumentException("A game takes 2 to 4 players, got " + names.size());
+            }
+        }
+        return model;
+    }
+
+    /**
+     * Returns a session to the pool. The game is reset in place and its players are kept
+     * for the next sessions.
+     * @param model the session, no longer used by the caller
+     */
+    public void release(Uno_Model model) {
+        List<Player_Model> players = model.getParticipants();
+        synchronized (this) {
+            if (idlePlayers.size() < maxIdle * 4) {
+                for (Player_Model player : players) {
+                    player.getHand().clear();
+                    idlePlayers.addLast(player);
+                }
+            }
+        }
+        model.resetGame();
+        model.setTimedModeEnabled(false);
+        model.setTurnTimeLimit(Uno_Model.DEFAULT_TURN_TIME_SECONDS);
+        synchronized (this) {
+            if (idleModels.size() < maxIdle) idleModels.addLast(model);
+        }
+    }
+
+    /**
+     * Gets the number of idle sessions.
+     * @return the number of sessions waiting to be reused
+     */
+    public synchronized int getIdleCount() {
+        return idleModels.size();
+    }
+
+    /**
+     * Gets the number of sessions created because the pool was empty.
+     * @return the number of new sessions
+     */
+    public synchronized long getCreatedCount() {
+        return created;
+    }
+
+    /**
+     * Gets the number of sessions handed out from the pool.
+     * @return the number of reused sessions
+     */
+    public synchronized long getReusedCount() {
+        return reused;
+    }
+}
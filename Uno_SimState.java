@@ -0,0 +1,546 @@
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Compact, copyable simulation of an UNO Flip round used by lookahead AI players.
+ * Follows the same rules as Uno_Model (card effects, flipping, drawing, reshuffling) but stores
+ * every card as its face id so a state can be copied and played out without creating objects.
+ *
+ * This class handles:
+ * - Loading the state of a round from a Uno_Model
+ * - Copying a state into another state (used once per search iteration)
+ * - Generating legal moves and applying them
+ * - Playing random rollouts to the end of the round
+ *
+ * Moves are encoded as ints:
+ * - face * 4 + colourIdx: play a card of that face, colourIdx picks the colour for wild cards
+ *   (index into getSideColours) and is 0 for all other cards
+ * - DRAW_MOVE: draw a card and pass the turn
+ *
+ * Data Structure Design:
+ * - int[][] hands, int[] handSizes: Face ids of the cards in each player's hand
+ *   Arrays chosen for:
+ *      * Fixed capacity (whole deck) so no resizing happens during a rollout
+ *      * Cards are removed by swapping with the last card, order in a hand does not matter
+ * - int[] drawPile, int drawCount: Draw pile, cards are drawn from the end
+ * - int[] discardPile, int discardCount: Discard pile, the last card is the active card
+ * - int matchColour, matchValue: Ordinals of the colour and value that must be matched
+ * - static lookup tables indexed by [side][face]: value ordinal, colour ordinal and wild flag
+ *      * Avoids enum lookups in the rollout loop
+ *
+ * @author Saan John
+ * @version 5.0
+ */
+public class Uno_SimState {
+    public static final int MAX_CARDS = 112;
+    public static final int DRAW_MOVE = Card_Model.NUM_FACES * 4;
+    public static final int MAX_MOVES = DRAW_MOVE + 1;
+    public static final int NO_WINNER = -1;
+
+    private static final Card_Model.CardColour[][] SIDE_COLOURS = {
+        {Card_Model.CardColour.RED, Card_Model.CardColour.BLUE, Card_Model.CardColour.GREEN, Card_Model.CardColour.YELLOW},
+        {Card_Model.CardColour.TEAL, Card_Model.CardColour.PURPLE, Card_Model.CardColour.PINK, Card_Model.CardColour.ORANGE}
+    };
+    private static final int WILD_COLOUR = Card_Model.CardColour.WILD.ordinal();
+    private static final int[][] FACE_VALUE = new int[2][Card_Model.NUM_FACES];
+    private static final int[][] FACE_COLOUR = new int[2][Card_Model.NUM_FACES];
+    private static final boolean[][] FACE_WILD = new boolean[2][Card_Model.NUM_FACES];
+    private static final int[][] SIDE_COLOUR_ORDINALS = new int[2][4];
+
+    static {
+        for (int side = 0; side < 2; side++) {
+            for (int face = 0; face < Card_Model.NUM_FACES; face++) {
+                Card_Model.CardValue value = Card_Model.getFaceValue(face, side == 1);
+                FACE_VALUE[side][face] = value.ordinal();
+                FACE_COLOUR[side][face] = Card_Model.getFaceColour(face, side == 1).ordinal();
+                FACE_WILD[side][face] = Card_Model.isWildFace(face, side == 1);
+            }
+            for (int i = 0; i < 4; i++) SIDE_COLOUR_ORDINALS[side][i] = SIDE_COLOURS[side][i].ordinal();
+        }
+    }
+
+    private static final int REVERSE = Card_Model.CardValue.REVERSE.ordinal();
+    private static final int SKIP = Card_Model.CardValue.SKIP.ordinal();
+    private static final int DRAW_ONE = Card_Model.CardValue.DRAW_ONE.ordinal();
+    private static final int WILD_DRAW_TWO = Card_Model.CardValue.WILD_DRAW_TWO.ordinal();
+    private static final int FLIP = Card_Model.CardValue.FLIP.ordinal();
+    private static final int DRAW_FIVE = Card_Model.CardValue.DRAW_FIVE.ordinal();
+    private static final int SKIP_EVERYONE = Card_Model.CardValue.SKIP_EVERYONE.ordinal();
+    private static final int WILD_DRAW_COLOUR = Card_Model.CardValue.WILD_DRAW_COLOUR.ordinal();
+
+    private int numPlayers;
+    private final int[][] hands;
+    private final int[] handSizes;
+    private final int[] drawPile;
+    private int drawCount;
+    private final int[] discardPile;
+    private int discardCount;
+    private int matchColour;
+    private int matchValue;
+    private boolean isDarkSide;
+    private int playDirection;
+    private int turnIdx;
+    private int winner;
+    private final int[] moveBuffer;
+    private final int[] scratch;
+    private SplittableRandom shuffleRandom;
+
+    /**
+     * Constructs an empty simulation state with room for up to 4 players.
+     */
+    public Uno_SimState() {
+        hands = new int[4][MAX_CARDS];
+        handSizes = new int[4];
+        drawPile = new int[MAX_CARDS];
+        discardPile = new int[MAX_CARDS];
+        moveBuffer = new int[MAX_MOVES];
+        scratch = new int[MAX_CARDS];
+        shuffleRandom = new SplittableRandom();
+        winner = NO_WINNER;
+    }
+
+    /**
+     * Sets the random number generator used when the discard pile is reshuffled into the draw pile.
+     * @param rng the random number generator
+     */
+    public void setShuffleRandom(SplittableRandom rng) {
+        this.shuffleRandom = rng;
+    }
+
+    /**
+     * Loads the current round of a game into this state.
+     * @param game the game to copy
+     * @return true if the game could be loaded, false if it contains cards outside the standard deck
+     */
+    public boolean loadFrom(Uno_Model game) {
+        List<Player_Model> participants = game.getParticipants();
+        if (participants.size() > hands.length || game.getActiveCard() == null) return false;
+        numPlayers = participants.size();
+        for (int p = 0; p < numPlayers; p++) {
+            handSizes[p] = copyFaces(participants.get(p).getHand(), hands[p]);
+            if (handSizes[p] < 0) return false;
+        }
+        drawCount = copyFaces(game.getDeck().getCards(), drawPile);
+        discardCount = copyFaces(game.getDeck().getDiscardPile(), discardPile);
+        if (drawCount < 0 || discardCount < 0) return false;
+
+        int activeFace = game.getActiveCard().getFaceId();
+        if (activeFace < 0) return false;
+        if (discardCount == 0 || discardPile[discardCount - 1] != activeFace) {
+            discardPile[discardCount++] = activeFace;
+        }
+        isDarkSide = game.isDarkSide();
+        matchColour = game.getMatchColour().ordinal();
+        matchValue = game.getMatchType().ordinal();
+        playDirection = game.getPlayDirection();
+        turnIdx = game.getCurrentTurnIndex();
+        winner = NO_WINNER;
+        return true;
+    }
+
+    /**
+     * Copies the face ids of a list of cards into an array.
+     * @return the number of cards copied, or -1 if a card is outside the standard deck
+     */
+    private static int copyFaces(List<Card_Model> cards, int[] target) {
+        int count = 0;
+        for (Card_Model card : cards) {
+            if (card == null) continue;
+            int face = card.getFaceId();
+            if (face < 0 || count == target.length) return -1;
+            target[count++] = face;
+        }
+        return count;
+    }
+
+    /**
+     * Copies another state into this one without allocating.
+     * @param other the state to copy
+     */
+    public void copyFrom(Uno_SimState other) {
+        numPlayers = other.numPlayers;
+        for (int p = 0; p < numPlayers; p++) {
+            handSizes[p] = other.handSizes[p];
+            System.arraycopy(other.hands[p], 0, hands[p], 0, handSizes[p]);
+        }
+        drawCount = other.drawCount;
+        System.arraycopy(other.drawPile, 0, drawPile, 0, drawCount);
+        discardCount = other.discardCount;
+        System.arraycopy(other.discardPile, 0, discardPile, 0, discardCount);
+        matchColour = other.matchColour;
+        matchValue = other.matchValue;
+        isDarkSide = other.isDarkSide;
+        playDirection = other.playDirection;
+        turnIdx = other.turnIdx;
+        winner = other.winner;
+    }
+
+    /**
+     * Replaces the cards the observer cannot see (other players' hands and the draw pile) with a
+     * random deal of the same cards. Hand sizes and the draw pile size are kept.
+     * Unlike Uno_Determinizer this pools the actual hidden cards, so it also works for decks that
+     * are not the standard deck.
+     * @param observer the player whose hand stays fixed
+     * @param rng the random number generator to deal with
+     */
+    public void determinize(int observer, SplittableRandom rng) {
+        int[] pool = scratch;
+        int size = 0;
+        for (int p = 0; p < numPlayers; p++) {
+            if (p == observer) continue;
+            System.arraycopy(hands[p], 0, pool, size, handSizes[p]);
+            size += handSizes[p];
+        }
+        System.arraycopy(drawPile, 0, pool, size, drawCount);
+        size += drawCount;
+        shuffle(pool, size, rng);
+
+        int next = 0;
+        for (int p = 0; p < numPlayers; p++) {
+            if (p == observer) continue;
+            System.arraycopy(pool, next, hands[p], 0, handSizes[p]);
+            next += handSizes[p];
+        }
+        System.arraycopy(pool, next, drawPile, 0, drawCount);
+    }
+
+    /**
+     * Replaces the cards in a player's hand, keeping the hand size.
+     * @param player the player index
+     * @param faces the source of the face ids
+     * @param offset the index of the first face to copy
+     */
+    public void fillHand(int player, int[] faces, int offset) {
+        System.arraycopy(faces, offset, hands[player], 0, handSizes[player]);
+    }
+
+    /**
+     * Replaces the cards in the draw pile, keeping its size.
+     * @param faces the source of the face ids
+     * @param offset the index of the first face to copy
+     */
+    public void fillDrawPile(int[] faces, int offset) {
+        System.arraycopy(faces, offset, drawPile, 0, drawCount);
+    }
+
+    /**
+     * Shuffles the first size elements of an array (Fisher-Yates).
+     */
+    private static void shuffle(int[] values, int size, SplittableRandom rng) {
+        for (int i = size - 1; i > 0; i--) {
+            int j = rng.nextInt(i + 1);
+            int tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+
+    // ======== MOVES ========
+
+    /**
+     * Writes the legal moves of the current player into a buffer.
+     * Copies of the same face produce one move. DRAW_MOVE is only legal when no card can be played,
+     * matching how AI players act in Uno_Model.
+     * @param moves buffer of at least MAX_MOVES entries
+     * @return the number of moves written
+     */
+    public int getLegalMoves(int[] moves) {
+        int count = 0;
+        int side = isDarkSide ? 1 : 0;
+        long seen = 0L;
+        int[] hand = hands[turnIdx];
+        for (int i = 0; i < handSizes[turnIdx]; i++) {
+            int face = hand[i];
+            long bit = 1L << face;
+            if ((seen & bit) != 0) continue;
+            seen |= bit;
+            if (FACE_WILD[side][face]) {
+                for (int c = 0; c < 4; c++) moves[count++] = face * 4 + c;
+            } else if (FACE_COLOUR[side][face] == matchColour || FACE_VALUE[side][face] == matchValue) {
+                moves[count++] = face * 4;
+            }
+        }
+        if (count == 0) moves[count++] = DRAW_MOVE;
+        return count;
+    }
+
+    /**
+     * Applies a move for the current player.
+     * @param move the encoded move, must be legal
+     */
+    public void applyMove(int move) {
+        if (move == DRAW_MOVE) {
+            drawCards(turnIdx, 1);
+            advance();
+            return;
+        }
+        int face = move >> 2;
+        int side = isDarkSide ? 1 : 0;
+        removeFromHand(turnIdx, face);
+        discardPile[discardCount++] = face;
+        int value = FACE_VALUE[side][face];
+        matchValue = value;
+        if (FACE_COLOUR[side][face] != WILD_COLOUR) matchColour = FACE_COLOUR[side][face];
+
+        if (handSizes[turnIdx] == 0) {
+            winner = turnIdx;
+            return;
+        }
+
+        if (FACE_WILD[side][face]) {
+            matchColour = SIDE_COLOUR_ORDINALS[side][move & 3];
+            if (value == WILD_DRAW_TWO) {
+                drawCards(nextPlayer(), 2);
+                advance();
+                advance();
+            } else if (value == WILD_DRAW_COLOUR) {
+                drawUntilColour(nextPlayer(), matchColour);
+                advance();
+                advance();
+            } else {
+                advance();
+            }
+        } else if (value == REVERSE) {
+            // Mirrors Uno_Model: the direction changes, the same player keeps the turn
+            if (numPlayers > 2) playDirection = -playDirection;
+        } else if (value == SKIP) {
+            advance();
+            advance();
+        } else if (value == DRAW_ONE) {
+            drawCards(nextPlayer(), 1);
+            advance();
+            advance();
+        } else if (value == FLIP) {
+            isDarkSide = !isDarkSide;
+            int newSide = isDarkSide ? 1 : 0;
+            matchColour = FACE_COLOUR[newSide][face];
+            matchValue = FACE_VALUE[newSide][face];
+            advance();
+        } else if (value == DRAW_FIVE) {
+            drawCards(nextPlayer(), 5);
+            advance();
+            advance();
+        } else if (value != SKIP_EVERYONE) {
+            advance();
+        }
+    }
+
+    /**
+     * Plays random legal moves until the round ends or maxTurns moves have been made.
+     * @param rng the random number generator used to pick moves
+     * @param maxTurns safety limit on the rollout length
+     */
+    public void rollout(SplittableRandom rng, int maxTurns) {
+        for (int t = 0; t < maxTurns && winner == NO_WINNER; t++) {
+            int count = getLegalMoves(moveBuffer);
+            applyMove(moveBuffer[rng.nextInt(count)]);
+        }
+    }
+
+    /**
+     * Gets the result of the round for a player.
+     * @param player the player index
+     * @return 1 if the player won, 0 if another player won; for unfinished rounds the players with the
+     *         fewest cards share the win
+     */
+    public double getReward(int player) {
+        if (winner != NO_WINNER) return winner == player ? 1.0 : 0.0;
+        int min = Integer.MAX_VALUE;
+        int tied = 0;
+        for (int p = 0; p < numPlayers; p++) {
+            if (handSizes[p] < min) {
+                min = handSizes[p];
+                tied = 1;
+            } else if (handSizes[p] == min) {
+                tied++;
+            }
+        }
+        return handSizes[player] == min ? 1.0 / tied : 0.0;
+    }
+
+    private int nextPlayer() {
+        return (turnIdx + playDirection + numPlayers) % numPlayers;
+    }
+
+    private void advance() {
+        turnIdx = nextPlayer();
+    }
+
+    private void removeFromHand(int player, int face) {
+        int[] hand = hands[player];
+        int last = handSizes[player] - 1;
+        for (int i = 0; i <= last; i++) {
+            if (hand[i] == face) {
+                hand[i] = hand[last];
+                handSizes[player] = last;
+                return;
+            }
+        }
+        throw new IllegalStateException("Face " + face + " is not in the hand of player " + player);
+    }
+
+    /**
+     * Draws a card from the draw pile, reshuffling the discard pile (except the top card) if needed.
+     * @return the face drawn, or -1 if no cards are left
+     */
+    private int drawOne() {
+        if (drawCount == 0) {
+            if (discardCount <= 1) return -1;
+            int top = discardPile[discardCount - 1];
+            System.arraycopy(discardPile, 0, drawPile, 0, discardCount - 1);
+            drawCount = discardCount - 1;
+            discardPile[0] = top;
+            discardCount = 1;
+            shuffle(drawPile, drawCount, shuffleRandom);
+        }
+        return drawPile[--drawCount];
+    }
+
+    private void drawCards(int player, int n) {
+        for (int i = 0; i < n; i++) {
+            int face = drawOne();
+            if (face < 0) return;
+            hands[player][handSizes[player]++] = face;
+        }
+    }
+
+    private void drawUntilColour(int player, int colour) {
+        int side = isDarkSide ? 1 : 0;
+        while (true) {
+            int face = drawOne();
+            if (face < 0) return;
+            hands[player][handSizes[player]++] = face;
+            if (FACE_COLOUR[side][face] == colour || FACE_COLOUR[side][face] == WILD_COLOUR) return;
+        }
+    }
+
+    // ======== GETTERS ========
+
+    /**
+     * Checks if a player has emptied their hand.
+     * @return true if the round is over
+     */
+    public boolean isRoundOver() {
+        return winner != NO_WINNER;
+    }
+
+    /**
+     * Gets the player who won the round.
+     * @return the winner's index, or NO_WINNER
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    /**
+     * Gets the player whose turn it is.
+     * @return the current player's index
+     */
+    public int getCurrentPlayer() {
+        return turnIdx;
+    }
+
+    /**
+     * Gets the number of players in the round.
+     * @return the number of players
+     */
+    public int getNumPlayers() {
+        return numPlayers;
+    }
+
+    /**
+     * Gets the number of cards in a player's hand.
+     * @param player the player index
+     * @return the hand size
+     */
+    public int getHandSize(int player) {
+        return handSizes[player];
+    }
+
+    /**
+     * Gets a card in a player's hand.
+     * @param player the player index
+     * @param index the position in the hand
+     * @return the face id of the card
+     */
+    public int getHandCard(int player, int index) {
+        return hands[player][index];
+    }
+
+    /**
+     * Gets the number of cards in the discard pile, including the active card.
+     * @return the discard pile size
+     */
+    public int getDiscardCount() {
+        return discardCount;
+    }
+
+    /**
+     * Gets a card in the discard pile, the last one is the active card.
+     * @param index the position in the discard pile
+     * @return the face id of the card
+     */
+    public int getDiscardCard(int index) {
+        return discardPile[index];
+    }
+
+    /**
+     * Gets the number of cards in the draw pile.
+     * @return the draw pile size
+     */
+    public int getDrawCount() {
+        return drawCount;
+    }
+
+    /**
+     * Checks which side of the cards is being played.
+     * @return true if on the dark side
+     */
+    public boolean isDarkSide() {
+        return isDarkSide;
+    }
+
+    /**
+     * Gets the colour that must be matched.
+     * @return the ordinal of the match colour
+     */
+    public int getMatchColour() {
+        return matchColour;
+    }
+
+    /**
+     * Gets the direction of play.
+     * @return 1 for clockwise, -1 for counter-clockwise
+     */
+    public int getPlayDirection() {
+        return playDirection;
+    }
+
+    /**
+     * Gets the colours a wild card can choose from on a side, indexed by the move's colour index.
+     * @param isDarkSide true for the dark side
+     * @return the four colours of that side
+     */
+    public static Card_Model.CardColour[] getSideColours(boolean isDarkSide) {
+        return SIDE_COLOURS[isDarkSide ? 1 : 0].clone();
+    }
+
+    /**
+     * Gets the colour chosen by a move.
+     * @param move the encoded move
+     * @param isDarkSide the side the move is played on
+     * @return the chosen colour
+     */
+    public static Card_Model.CardColour getMoveColour(int move, boolean isDarkSide) {
+        return SIDE_COLOURS[isDarkSide ? 1 : 0][move & 3];
+    }
+
+    /**
+     * Gets the face played by a move.
+     * @param move the encoded move
+     * @return the face id, or -1 for DRAW_MOVE
+     */
+    public static int getMoveFace(int move) {
+        return move == DRAW_MOVE ? -1 : move >> 2;
+    }
+}
@@ -0,0 +1,148 @@
+/**
+ * AI strategy that weighs the game state: it plays action cards when its hand is small,
+ * saves wild cards for when they are needed and flips the deck while it still holds many cards.
+ * Otherwise the card worth the most points is played.
+ *
+ * The bonuses and thresholds are parameters (see PARAM_NAMES) so Uno_StrategyTuner can search
+ * for better values. The default parameters are the original hand-picked constants.
+ *
+ * Data Structures:
+ *   - int[] params: One value per entry of PARAM_NAMES, copied on construction
+ *
+ * @author Lucas Baker
+ * @version 5.0
+ */
+public class Uno_StrategicStrategy implements Uno_AIStrategy {
+    public static final String NAME = "STRATEGIC";
+
+    public static final int SMALL_HAND = 0;
+    public static final int SKIP_BONUS = 1;
+    public static final int REVERSE_BONUS = 2;
+    public static final int DRAW_BONUS = 3;
+    public static final int WILD_PENALTY = 4;
+    public static final int FLIP_BONUS = 5;
+    public static final int FLIP_MIN_CARDS = 6;
+    public static final int COLOUR_COUNT_WEIGHT = 7;
+    public static final int COLOUR_ACTION_WEIGHT = 8;
+    public static final String[] PARAM_NAMES = {
+        "SMALL_HAND", "SKIP_BONUS", "REVERSE_BONUS", "DRAW_BONUS", "WILD_PENALTY",
+        "FLIP_BONUS", "FLIP_MIN_CARDS", "COLOUR_COUNT_WEIGHT", "COLOUR_ACTION_WEIGHT"
+    };
+
+    private static final int[] DEFAULT_PARAMS = {3, 25, 20, 30, 40, 15, 4, 1, 0};
+
+    private final int[] params;
+
+    /**
+     * Constructs the strategy with the default parameters.
+     */
+    public Uno_StrategicStrategy() {
+        this(DEFAULT_PARAMS);
+    }
+
+    /**
+     * Constructs the strategy with the given parameters.
+     * @param params one value per entry of PARAM_NAMES
+     */
+    public Uno_StrategicStrategy(int[] params) {
+        if (params.length != PARAM_NAMES.length) {
+            throw new IllegalArgumentException("Expected " + PARAM_NAMES.length + " parameters, got " + params.length);
+        }
+        this.params = params.clone();
+    }
+
+    /**
+     * Gets the default parameters.
+     * @return a copy of the default parameters
+     */
+    public static int[] getDefaultParams() {
+        return DEFAULT_PARAMS.clone();
+    }
+
+    /**
+     * Gets a copy of the parameters.
+     * @return one value per entry of PARAM_NAMES
+     */
+    public int[] getParams() {
+        return params.clone();
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int selectCard(Uno_GameView view) {
+        int numCards = view.getCardCount(view.getSelfIndex());
+        int bestIdx = -1;
+        int bestPriority = Integer.MIN_VALUE;
+        for (int i = 0; i < view.getHandSize(); i++) {
+            if (!view.isPlayable(i)) continue;
+            if (bestIdx < 0) bestIdx = i;
+            int priority = getCardPriority(view.getHandCard(i), numCards, view.isDarkSide());
+            if (priority > bestPriority) {
+                bestPriority = priority;
+                bestIdx = i;
+            }
+        }
+        return bestIdx;
+    }
+
+    /**
+     * Selects the colour scoring best on the cards held in it: COLOUR_COUNT_WEIGHT per card
+     * plus COLOUR_ACTION_WEIGHT per action card. With the default parameters this is the colour
+     * the AI holds the most cards of.
+     * @param view the AI player's view of the game
+     * @return the chosen colour of the current side
+     */
+    @Override
+    public Card_Model.CardColour selectWildColour(Uno_GameView view) {
+        int bestIdx = 0;
+        int bestScore = Integer.MIN_VALUE;
+        for (int i = 0; i < 4; i++) {
+            Card_Model.CardColour colour = Uno_GameView.getSideColour(view.isDarkSide(), i);
+            int score = 0;
+            for (int c = 0; c < view.getHandSize(); c++) {
+                Card_Model card = view.getHandCard(c);
+                if (card == null || card.getColour() != colour) continue;
+                score += params[COLOUR_COUNT_WEIGHT];
+                if (card.isActionCard()) score += params[COLOUR_ACTION_WEIGHT];
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                bestIdx = i;
+            }
+        }
+        return Uno_GameView.getSideColour(view.isDarkSide(), bestIdx);
+    }
+
+    /**
+     * Computes the priority of a card.
+     * @param card the card to evaluate
+     * @param numCards the number of cards the AI holds
+     * @param isDarkSide whether dark side scoring applies
+     * @return the priority, higher is played first
+     */
+    protected int getCardPriority(Card_Model card, int numCards, boolean isDarkSide) {
+        int priority = card.getCardScore(isDarkSide);
+        Card_Model.CardValue val = card.getCardValue();
+
+        // Prioritize action cards when hand is small
+        if (numCards <= params[SMALL_HAND]) {
+            if (val == Card_Model.CardValue.SKIP ||
+                val == Card_Model.CardValue.SKIP_EVERYONE) priority += params[SKIP_BONUS];
+            if (val == Card_Model.CardValue.REVERSE) priority += params[REVERSE_BONUS];
+            if (val == Card_Model.CardValue.DRAW_ONE ||
+                val == Card_Model.CardValue.DRAW_FIVE) priority += params[DRAW_BONUS];
+        }
+
+        // Save wild cards unless necessary
+        if (card.isWildCard() && numCards > 1) priority -= params[WILD_PENALTY];
+
+        // Prefer flip cards in strategic situations
+        if (val == Card_Model.CardValue.FLIP && numCards > params[FLIP_MIN_CARDS]) priority += params[FLIP_BONUS];
+
+        return priority;
+    }
+}
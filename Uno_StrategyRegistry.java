@@ -0,0 +1,99 @@
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Creates AI strategies by name.
+ * A name is resolved in this order:
+ *   1. Strategies registered with register(), the built-in strategies are registered by default
+ *   2. Strategies on the class path that are listed as a Uno_AIStrategy service
+ *      (META-INF/services/Uno_AIStrategy), matched by getName()
+ *   3. A fully qualified class name of a Uno_AIStrategy with a public no-argument constructor
+ *
+ * Data Structures:
+ *   - Map<String, Supplier<Uno_AIStrategy>> factories: registered strategies by name
+ *       * LinkedHashMap keeps the registration order for getNames()
+ *
+ * @author Lucas Baker
+ * @version 5.0
+ */
+public final class Uno_StrategyRegistry {
+    private static final Map<String, Supplier<Uno_AIStrategy>> factories = new LinkedHashMap<>();
+
+    static {
+        register(Uno_FirstValidStrategy.NAME, Uno_FirstValidStrategy::new);
+        register(Uno_HighestScoreStrategy.NAME, Uno_HighestScoreStrategy::new);
+        register(Uno_StrategicStrategy.NAME, Uno_StrategicStrategy::new);
+        register(Uno_MCTSStrategy.NAME, Uno_MCTSStrategy::new);
+        register(Uno_ParallelMCTSStrategy.NAME, Uno_ParallelMCTSStrategy::new);
+        register(Uno_ExpectimaxStrategy.NAME, Uno_ExpectimaxStrategy::new);
+        register(Uno_LinearStrategy.NAME, Uno_LinearStrategy::new);
+        register(Uno_LearnedStrategy.NAME, Uno_LearnedStrategy::fromConfiguredFile);
+        register(Uno_TunedStrategy.NAME, Uno_TunedStrategy::new);
+    }
+
+    private Uno_StrategyRegistry() {}
+
+    /**
+     * Registers a strategy, replacing any strategy registered under the same name.
+     * @param name the name to load the strategy by
+     * @param factory creates a new instance of the strategy
+     */
+    public static synchronized void register(String name, Supplier<Uno_AIStrategy> factory) {
+        factories.put(name, factory);
+    }
+
+    /**
+     * Gets the names of all registered strategies.
+     * @return the names in registration order
+     */
+    public static synchronized Set<String> getNames() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(factories.keySet()));
+    }
+
+    /**
+     * Checks if a strategy can be created by name.
+     * @param name the strategy name
+     * @return true if create(name) would succeed
+     */
+    public static boolean isAvailable(String name) {
+        try {
+            create(name);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Creates a new instance of a strategy.
+     * @param name the registered name, service name or class name of the strategy
+     * @return the new strategy
+     * @throws IllegalArgumentException if no strategy with that name can be found
+     */
+    public static Uno_AIStrategy create(String name) {
+        Supplier<Uno_AIStrategy> factory;
+        synchronized (Uno_StrategyRegistry.class) {
+            factory = factories.get(name);
+        }
+        if (factory != null) return factory.get();
+
+        for (Uno_AIStrategy strategy : ServiceLoader.load(Uno_AIStrategy.class)) {
+            if (strategy.getName().equals(name)) return strategy;
+        }
+
+        try {
+            Class<?> type = Class.forName(name);
+            if (Uno_AIStrategy.class.isAssignableFrom(type)) {
+                return (Uno_AIStrategy) type.getDeclaredConstructor().newInstance();
+            }
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // Not a loadable class, reported below
+        }
+        throw new IllegalArgumentException("Unknown AI strategy: " + name);
+    }
+}
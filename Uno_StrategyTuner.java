@@ -0,0 +1,333 @@
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Tunes the parameters of Uno_StrategicStrategy with a genetic algorithm over headless self-play.
+ *
+ * Every generation, each candidate parameter set plays mirrored pairs of rounds against the
+ * default STRATEGIC baseline (see Uno_MatchEvaluator), so the luck of the deal cancels out.
+ * All candidates of a generation play the same seeds. Rounds are played in batches on a fixed
+ * thread pool with one task per chunk of pairs, so all cores stay busy while there are
+ * candidates left to evaluate.
+ *
+ * Early stopping: after every batch, a candidate whose win rate is significantly above or below
+ * 50% (the 99% confidence interval excludes 0.5, after at least minPairs pairs) stops playing.
+ * Clearly bad candidates are dropped after a few hundred rounds, and only close calls use the
+ * full maxPairs budget. The wide interval allows for looking at the result after every batch.
+ *
+ * Next generation: the ELITE best candidates are kept, the rest are children of two parents
+ * picked by tournament, with uniform crossover and Gaussian mutation clamped to PARAM_MIN/PARAM_MAX.
+ *
+ * Usage: java Uno_StrategyTuner <params file> [generations] [population] [maxPairs] [seed]
+ * The best parameters are saved after every generation, so an overnight run can be stopped at
+ * any time. Uno_TunedStrategy plays with the saved parameters.
+ *
+ * Data Structures:
+ *   - List<int[]> population: parameter sets of the current generation
+ *   - Uno_MatchEvaluator.PairStats[] stats: running mirrored pair results per candidate
+ *
+ * @author Lucas Baker
+ * @version 5.0
+ */
+public class Uno_StrategyTuner {
+    public static final int DEFAULT_POPULATION = 24;
+    public static final int DEFAULT_GENERATIONS = 30;
+    public static final int DEFAULT_MAX_PAIRS = 2000;
+    public static final int DEFAULT_MIN_PAIRS = 200;
+    public static final int DEFAULT_BATCH_PAIRS = 100;
+    public static final double Z_99 = 2.576;
+
+    public static final int[] PARAM_MIN = {1, 0, 0, 0, 0, 0, 1, 0, 0};
+    public static final int[] PARAM_MAX = {7, 100, 100, 100, 100, 100, 15, 10, 10};
+
+    private static final int ELITE = 4;
+    private static final int TOURNAMENT = 3;
+    private static final double MUTATION_RATE = 0.3;
+    private static final double MUTATION_SCALE = 0.15;
+    private static final int PAIRS_PER_TASK = 25;
+
+    private final ExecutorService executor;
+    private final int population;
+    private final int maxPairs;
+    private final int minPairs;
+    private final int batchPairs;
+    private final SplittableRandom rng;
+    private long roundsPlayed;
+    private boolean verbose;
+
+    /**
+     * Constructs a tuner with the default budgets and one thread per core.
+     * @param seed the seed of the search and of the deals
+     */
+    public Uno_StrategyTuner(long seed) {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_POPULATION, DEFAULT_MAX_PAIRS,
+                DEFAULT_MIN_PAIRS, DEFAULT_BATCH_PAIRS, seed);
+    }
+
+    /**
+     * Constructs a tuner.
+     * @param threads the number of rounds played at the same time
+     * @param population the number of candidates per generation
+     * @param maxPairs the most mirrored pairs played per candidate and generation
+     * @param minPairs the fewest pairs played before a candidate can stop early
+     * @param batchPairs the pairs played per candidate between early stopping checks
+     * @param seed the seed of the search and of the deals
+     */
+    public Uno_StrategyTuner(int threads, int population, int maxPairs, int minPairs, int batchPairs, long seed) {
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "uno-tuner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.population = Math.max(ELITE + 1, population);
+        this.maxPairs = Math.max(1, maxPairs);
+        this.minPairs = Math.max(1, minPairs);
+        this.batchPairs = Math.max(1, batchPairs);
+        this.rng = new SplittableRandom(seed);
+    }
+
+    /**
+     * Runs the search.
+     * @param generations the number of generations
+     * @param output file the best parameters are saved to after every generation, or null
+     * @return the best parameters of the last generation
+     * @throws IOException if the parameters cannot be saved
+     */
+    public int[] tune(int generations, File output) throws IOException {
+        List<int[]> candidates = new ArrayList<>(population);
+        candidates.add(Uno_StrategicStrategy.getDefaultParams());
+        while (candidates.size() < population) candidates.add(mutate(Uno_StrategicStrategy.getDefaultParams(), 1.0));
+
+        int[] best = candidates.get(0);
+        for (int generation = 0; generation < generations; generation++) {
+            double[] fitness = evaluate(candidates, rng.nextLong());
+            Integer[] order = new Integer[candidates.size()];
+            for (int i = 0; i < order.length; i++) order[i] = i;
+            Arrays.sort(order, (a, b) -> Double.compare(fitness[b], fitness[a]));
+            best = candidates.get(order[0]);
+            if (verbose) System.out.printf("Generation %d: best %.3f %s%n", generation, fitness[order[0]], Arrays.toString(best));
+            if (output != null) saveParams(best, output);
+
+            List<int[]> next = new ArrayList<>(population);
+            for (int i = 0; i < ELITE; i++) next.add(candidates.get(order[i]));
+            while (next.size() < population) {
+                int[] mother = candidates.get(tournament(order, fitness));
+                int[] father = candidates.get(tournament(order, fitness));
+                next.add(mutate(crossover(mother, father), MUTATION_RATE));
+            }
+            candidates = next;
+        }
+        return best.clone();
+    }
+
+    /**
+     * Plays every candidate against the baseline with early stopping.
+     * @param candidates the parameter sets to evaluate
+     * @param dealSeed the seed of the first pair, shared by all candidates
+     * @return the win rate of every candidate against the baseline
+     */
+    public double[] evaluate(List<int[]> candidates, long dealSeed) {
+        int n = candidates.size();
+        Uno_MatchEvaluator.PairStats[] stats = new Uno_MatchEvaluator.PairStats[n];
+        for (int c = 0; c < n; c++) stats[c] = new Uno_MatchEvaluator.PairStats();
+        boolean[] stopped = new boolean[n];
+
+        for (int from = 0; from < maxPairs; from += batchPairs) {
+            int to = Math.min(maxPairs, from + batchPairs);
+            List<Callable<Uno_MatchEvaluator.PairStats>> tasks = new ArrayList<>();
+            List<Integer> owners = new ArrayList<>();
+            for (int c = 0; c < n; c++) {
+                if (stopped[c]) continue;
+                int[] params = candidates.get(c);
+                for (int start = from; start < to; start += PAIRS_PER_TASK) {
+                    int end = Math.min(to, start + PAIRS_PER_TASK);
+                    int first = start;
+                    tasks.add(() -> playPairs(params, dealSeed, first, end));
+                    owners.add(c);
+                }
+            }
+            if (tasks.isEmpty()) break;
+
+            List<Uno_MatchEvaluator.PairStats> results = runAll(tasks);
+            for (int t = 0; t < results.size(); t++) stats[owners.get(t)].add(results.get(t));
+            for (int c = 0; c < n; c++) {
+                if (!stopped[c] && stats[c].getPairs() >= minPairs && isSignificant(stats[c])) {
+                    stopped[c] = true;
+                }
+            }
+        }
+
+        double[] fitness = new double[n];
+        for (int c = 0; c < n; c++) fitness[c] = stats[c].getMean();
+        return fitness;
+    }
+
+    /**
+     * Sets whether the best candidate of every generation is printed.
+     * @param verbose true to print progress
+     */
+    public void setVerbose(boolean verbose) {
+        this.verbose = verbose;
+    }
+
+    /**
+     * Gets the number of rounds played by this tuner so far.
+     * @return the round count
+     */
+    public synchronized long getRoundsPlayed() {
+        return roundsPlayed;
+    }
+
+    /**
+     * Stops the worker threads.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Plays mirrored pairs [from, to) of a candidate against the baseline.
+     */
+    private Uno_MatchEvaluator.PairStats playPairs(int[] params, long dealSeed, int from, int to) {
+        Uno_MatchEvaluator.PairStats stats = Uno_MatchEvaluator.playPairs(() -> new Uno_StrategicStrategy(params),
+                Uno_StrategicStrategy::new, dealSeed, from, to);
+        synchronized (this) {
+            roundsPlayed += 2 * stats.getPairs();
+        }
+        return stats;
+    }
+
+    /**
+     * Checks if the 99% confidence interval of the mean pair score excludes 0.5.
+     */
+    private static boolean isSignificant(Uno_MatchEvaluator.PairStats stats) {
+        double error = stats.getStandardError();
+        return error > 0 && Math.abs(stats.getMean() - 0.5) > Z_99 * error;
+    }
+
+    private List<Uno_MatchEvaluator.PairStats> runAll(List<Callable<Uno_MatchEvaluator.PairStats>> tasks) {
+        try {
+            List<Uno_MatchEvaluator.PairStats> results = new ArrayList<>(tasks.size());
+            for (Future<Uno_MatchEvaluator.PairStats> future : executor.invokeAll(tasks)) results.add(future.get());
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Tuning was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Tuning round failed", e.getCause());
+        }
+    }
+
+    private int tournament(Integer[] order, double[] fitness) {
+        int best = order[rng.nextInt(order.length)];
+        for (int i = 1; i < TOURNAMENT; i++) {
+            int other = order[rng.nextInt(order.length)];
+            if (fitness[other] > fitness[best]) best = other;
+        }
+        return best;
+    }
+
+    private int[] crossover(int[] mother, int[] father) {
+        int[] child = new int[mother.length];
+        for (int i = 0; i < child.length; i++) child[i] = rng.nextBoolean() ? mother[i] : father[i];
+        return child;
+    }
+
+    private int[] mutate(int[] params, double rate) {
+        int[] child = params.clone();
+        for (int i = 0; i < child.length; i++) {
+            if (rng.nextDouble() >= rate) continue;
+            double range = PARAM_MAX[i] - PARAM_MIN[i];
+            int step = (int) Math.round(gaussian() * MUTATION_SCALE * range);
+            if (step == 0) step = rng.nextBoolean() ? 1 : -1;
+            child[i] = Math.max(PARAM_MIN[i], Math.min(PARAM_MAX[i], child[i] + step));
+        }
+        return child;
+    }
+
+    private double gaussian() {
+        double u = 1 - rng.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * rng.nextDouble());
+    }
+
+    /**
+     * Saves parameters as a properties file with one entry per parameter name.
+     * @param params one value per entry of Uno_StrategicStrategy.PARAM_NAMES
+     * @param file the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void saveParams(int[] params, File file) throws IOException {
+        Properties properties = new Properties();
+        for (int i = 0; i < params.length; i++) {
+            properties.setProperty(Uno_StrategicStrategy.PARAM_NAMES[i], Integer.toString(params[i]));
+        }
+        try (OutputStream out = new FileOutputStream(file)) {
+            properties.store(out, "Uno_StrategicStrategy parameters");
+        }
+    }
+
+    /**
+     * Loads parameters saved by saveParams().
+     * @param file the file to read
+     * @return one value per entry of Uno_StrategicStrategy.PARAM_NAMES
+     * @throws IOException if the file cannot be read or misses a parameter
+     */
+    public static int[] loadParams(File file) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(file)) {
+            properties.load(in);
+        }
+        int[] params = new int[Uno_StrategicStrategy.PARAM_NAMES.length];
+        for (int i = 0; i < params.length; i++) {
+            String name = Uno_StrategicStrategy.PARAM_NAMES[i];
+            String value = properties.getProperty(name);
+            if (value == null) throw new IOException("Missing parameter " + name + " in " + file);
+            try {
+                params[i] = Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                throw new IOException("Bad parameter " + name + " in " + file, e);
+            }
+        }
+        return params;
+    }
+
+    /**
+     * Command line entry point, see the class comment for the arguments.
+     * @param args the output file, then optional generations, population, max pairs and seed
+     * @throws IOException if the parameters cannot be saved
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: java Uno_StrategyTuner <params file> [generations] [population] [maxPairs] [seed]");
+            return;
+        }
+        int generations = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_GENERATIONS;
+        int population = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_POPULATION;
+        int maxPairs = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_MAX_PAIRS;
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : System.nanoTime();
+
+        Uno_StrategyTuner tuner = new Uno_StrategyTuner(Runtime.getRuntime().availableProcessors(), population,
+                maxPairs, DEFAULT_MIN_PAIRS, DEFAULT_BATCH_PAIRS, seed);
+        tuner.setVerbose(true);
+        try {
+            int[] best = tuner.tune(generations, new File(args[0]));
+            System.out.println("Best parameters " + Arrays.toString(best) + " after " + tuner.getRoundsPlayed() + " rounds");
+        } finally {
+            tuner.shutdown();
+        }
+    }
+}
@@ -0,0 +1,422 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * One game hosted by Uno_TableManager. A table owns its own Uno_Model and Uno_Controller, so
+ * it has its own undo history and turn timer, and is pinned to one event loop of the manager.
+ * Every change to the game runs as a task on that loop, one at a time, so the model and
+ * controller are never touched by two threads at once and need no locks.
+ *
+ * The public methods can be called from any thread. They hand the action to the loop and
+ * return a CompletableFuture that completes once it has been applied. Seats are filled in join
+ * order and the game starts as soon as the last human seat is taken. AI turns are played one
+ * task per move so busy tables share the loop fairly, and a human who leaves a running game is
+ * replaced by a STRATEGIC AI. The table closes itself when its last human leaves.
+ *
+ * With a Uno_BatchDecisionService, an AI turn submits the model to the service and the move
+ * is applied on the loop once the batch it joined is decided. Nothing is armed while a decision
+ * is out, so the model does not change under the service; a move that arrives after the game
+ * has moved on is dropped and the turn is scheduled again.
+ *
+ * Memory per table is predictable: one model with its 112 cards, the players, and at most
+ * undoLimit saved game states.
+ *
+ * Data Structures:
+ *   - List<String> humans: Names of the seated humans in join order
+ *         * The first humans take seats 0.., the AI seats follow
+ *         * At most 4 players, so linear lookups are cheap
+ *   - ScheduledExecutorService loop: Single threaded event loop this table runs on
+ *         * Shared with other tables, which is what lets thousands of tables run on a few threads
+ *   - Uno_TurnDriver turns: Arms and plays the AI moves and turn timeouts on the loop
+ *         * Re-armed after every action so only one is ever pending
+ *   - long decidingVersion: The controller's state version an outstanding batched decision was
+ *     asked for, -1 if none is out
+ *
+ * @author Saan John
+ * @version 5.0
+ */
+public class Uno_Table {
+    public enum State {
+        WAITING,    // Waiting for humans to fill the seats
+        PLAYING,    // A round is in progress
+        ROUND_OVER, // The round ended, waiting for startNextRound
+        GAME_OVER,  // A player reached the winning score
+        CLOSED      // The table was closed and no longer accepts actions
+    }
+
+    public static final int DEFAULT_AI_DELAY_MILLIS = 0;
+
+    private final int id;
+    private final int numSeats;
+    private final int numAI;
+    private final ScheduledExecutorService loop;
+    private final Uno_Model model;
+    private final Uno_Controller controller;
+    private final List<String> humans;
+    private final Runnable onClose;
+    private final Uno_BatchDecisionService decisions;
+    private final Uno_TurnDriver turns;
+    private final CompletableFuture<Void> closed;
+    private volatile State state;
+    private long decidingVersion = -1;
+    private int aiDelayMillis;
+
+    /**
+     * Constructs a table. Tables are created through Uno_TableManager.createTable.
+     * @param id the table id
+     * @param numSeats the number of players, 2 to 4
+     * @param numAI the number of AI seats, fewer than numSeats
+     * @param turnSeconds the turn time limit in seconds, 0 for no turn timer
+     * @param undoLimit the number of game states kept for undo
+     * @param loop the event loop the table runs on
+     * @param decisions the service AI moves are batched on, or null to decide them on the loop
+     * @param onClose called on the loop once the table has closed
+     */
+    Uno_Table(int id, int numSeats, int numAI, int turnSeconds, int undoLimit,
+              ScheduledExecutorService loop, Uno_BatchDecisionService decisions, Runnable onClose) {
+        if (numSeats < 2 || numSeats > 4) {
+            throw new IllegalArgumentException("A table needs 2 to 4 seats, got " + numSeats);
+        }
+        if (numAI < 0 || numAI >= numSeats) {
+            throw new IllegalArgumentException("A table needs at least one human seat, got " + numAI + " AI of " + numSeats);
+        }
+        this.id = id;
+        this.numSeats = numSeats;
+        this.numAI = numAI;
+        this.loop = loop;
+        this.decisions = decisions;
+        this.onClose = onClose;
+        this.model = new Uno_Model();
+        this.controller = new Uno_Controller(model);
+        controller.setAIPacing(Uno_Controller.AIPacing.INSTANT);
+        controller.setUndoLimit(undoLimit);
+        if (turnSeconds > 0) {
+            if (!model.setTurnTimeLimit(turnSeconds)) {
+                throw new IllegalArgumentException("Invalid turn time limit " + turnSeconds);
+            }
+            model.setTimedModeEnabled(true);
+        }
+        this.turns = new Uno_TurnDriver(controller, loop);
+        this.closed = new CompletableFuture<>();
+        this.humans = new ArrayList<>(numSeats);
+        this.state = State.WAITING;
+        this.aiDelayMillis = DEFAULT_AI_DELAY_MILLIS;
+    }
+
+    /* Lifecycle, called by Uno_TableManager */
+
+    /**
+     * Seats a human. The game starts once every human seat is taken.
+     * @param name the player's name, unique at this table
+     * @return the seat index of the player
+     */
+    CompletableFuture<Integer> join(String name) {
+        return call(() -> {
+            if (state != State.WAITING) throw new IllegalStateException("Table " + id + " is not waiting for players");
+            if (humans.contains(name)) throw new IllegalArgumentException(name + " is already seated at table " + id);
+            humans.add(name);
+            if (humans.size() == numSeats - numAI) {
+                startGame();
+            }
+            return humans.size() - 1;
+        });
+    }
+
+    /**
+     * Removes a human. Before the game starts the seat is freed, afterwards an AI takes it over.
+     * The table closes when no human is left.
+     * @param name the player's name
+     * @return true if the player was seated
+     */
+    CompletableFuture<Boolean> leave(String name) {
+        return call(() -> {
+            int seat = humans.indexOf(name);
+            if (seat < 0 || state == State.CLOSED) return false;
+            if (state == State.WAITING) {
+                humans.remove(seat);
+            } else {
+                humans.set(seat, null);
+                Player_Model player = model.getParticipants().get(seat);
+                player.setAI(true);
+                player.setAIStrategy(Player_Model.AIStrategy.STRATEGIC);
+            }
+            if (humans.stream().allMatch(h -> h == null)) {
+                closeOnLoop();
+            } else {
+                schedule();
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Closes the table, cancelling its timer.
+     * @return completes once the table is closed
+     */
+    CompletableFuture<Void> close() {
+        return call(() -> {
+            closeOnLoop();
+            return null;
+        });
+    }
+
+    /* Player actions */
+
+    /**
+     * Plays a card for the player in the given seat.
+     * @param seat the seat of the player
+     * @param cardIndex the index of the card in the player's hand
+     * @return true if the card was played
+     */
+    public CompletableFuture<Boolean> playCard(int seat, int cardIndex) {
+        return act(seat, () -> controller.playCard(cardIndex));
+    }
+
+    /**
+     * Chooses the colour of a wild card played by the player in the given seat.
+     * @param seat the seat of the player
+     * @param colour the colour of the current side
+     * @return true if the colour was set
+     */
+    public CompletableFuture<Boolean> setWildCardColour(int seat, Card_Model.CardColour colour) {
+        return act(seat, () -> controller.setWildCardColour(colour));
+    }
+
+    /**
+     * Draws a card for the player in the given seat, leaving the turn with the player.
+     * @param seat the seat of the player
+     * @return true if it was the player's turn
+     */
+    public CompletableFuture<Boolean> handleDrawCard(int seat) {
+        return act(seat, () -> {
+            controller.handleDrawCard();
+            return true;
+        });
+    }
+
+    /**
+     * Passes the turn of the player in the given seat.
+     * @param seat the seat of the player
+     * @return true if it was the player's turn
+     */
+    public CompletableFuture<Boolean> handleNextPlayer(int seat) {
+        return act(seat, () -> {
+            controller.handleNextPlayer();
+            return true;
+        });
+    }
+
+    /**
+     * Undoes the last action at the table.
+     * @param seat the seat of the player asking
+     * @return true if an action was undone
+     */
+    public CompletableFuture<Boolean> undo(int seat) {
+        return act(seat, controller::undoGameState);
+    }
+
+    /**
+     * Redoes the last undone action at the table.
+     * @param seat the seat of the player asking
+     * @return true if an action was redone
+     */
+    public CompletableFuture<Boolean> redo(int seat) {
+        return act(seat, controller::redoGameState);
+    }
+
+    /**
+     * Starts the next round once a round is over.
+     * @return true if a new round was started
+     */
+    public CompletableFuture<Boolean> startNextRound() {
+        return call(() -> {
+            if (state != State.ROUND_OVER) return false;
+            controller.startNewRound();
+            state = State.PLAYING;
+            schedule();
+            return true;
+        });
+    }
+
+    /**
+     * Runs a task on the table's event loop. Use it to read the model consistently.
+     * @param task the task to run
+     * @return completes with the task's result, or exceptionally if it threw
+     */
+    public <T> CompletableFuture<T> call(Supplier<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            loop.execute(() -> {
+                try {
+                    result.complete(task.get());
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    /* Getters */
+
+    /**
+     * Gets a future that completes on the loop once the table has closed, whether a manager
+     * closed it or its last human left. Use it to drop anything registered on the table.
+     * @return the future, already complete for a closed table
+     */
+    public CompletableFuture<Void> whenClosed() {
+        return closed;
+    }
+
+    /**
+     * Gets the table id
+     * @return the id
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Gets the number of seats
+     * @return 2 to 4
+     */
+    public int getNumSeats() {
+        return numSeats;
+    }
+
+    /**
+     * Gets the lifecycle state. Safe to read from any thread.
+     * @return the state
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Gets the model. Only read it from a task passed to call.
+     * @return the model
+     */
+    public Uno_Model getModel() {
+        return model;
+    }
+
+    /**
+     * Gets the controller. Only use it from a task passed to call.
+     * @return the controller
+     */
+    public Uno_Controller getController() {
+        return controller;
+    }
+
+    /**
+     * Sets the delay before each AI move, 0 to play them straight away.
+     * @param millis the delay in milliseconds
+     */
+    public void setAIDelayMillis(int millis) {
+        call(() -> {
+            aiDelayMillis = Math.max(0, millis);
+            return null;
+        });
+    }
+
+    /* Loop-only helpers */
+
+    private CompletableFuture<Boolean> act(int seat, Supplier<Boolean> action) {
+        return call(() -> {
+            if (state != State.PLAYING || model.getCurrentTurnIndex() != seat || model.isCurrentPlayerAI()) {
+                return false;
+            }
+            boolean done = action.get();
+            afterAction();
+            return done;
+        });
+    }
+
+    private void startGame() {
+        List<Boolean> isAI = new ArrayList<>(numSeats);
+        List<String> names = new ArrayList<>(humans);
+        for (int i = 0; i < numSeats; i++) {
+            isAI.add(i >= humans.size());
+            if (i >= humans.size()) names.add("AI" + (i - humans.size()));
+        }
+        controller.createPlayersWithConfig(isAI, names);
+        controller.initializeGame();
+        state = State.PLAYING;
+        schedule();
+    }
+
+    private void afterAction() {
+        if (controller.isGameOver()) {
+            state = State.GAME_OVER;
+        } else if (controller.isRoundOver()) {
+            state = State.ROUND_OVER;
+        }
+        schedule();
+    }
+
+    /**
+     * Arms the next AI move or the turn timeout, replacing whatever was pending.
+     */
+    private void schedule() {
+        if (state != State.PLAYING || decidingVersion >= 0) {
+            turns.cancel();
+            return;
+        }
+        turns.arm(aiDelayMillis, this::playAITurn, this::checkTimeout);
+    }
+
+    private void playAITurn() {
+        if (state != State.PLAYING) return;
+        if (decisions != null) {
+            long version = controller.getStateVersion();
+            decidingVersion = version;
+            decisions.submit(model).whenComplete((move, error) -> call(() -> {
+                applyDecision(version, error == null ? move : null);
+                return null;
+            }));
+            return;
+        }
+        turns.playAITurn();
+        afterAction();
+    }
+
+    /**
+     * Applies a batched decision, unless the game changed since it was asked for. A failed
+     * decision is made on the loop instead.
+     */
+    private void applyDecision(long version, Uno_AIMove move) {
+        if (decidingVersion != version) return;
+        decidingVersion = -1;
+        if (state != State.PLAYING || controller.getStateVersion() != version) {
+            schedule();
+            return;
+        }
+        if (move == null) {
+            turns.playAITurn();
+        } else if (!controller.applyAIMove(move)) {
+            // The AI had nothing to do, so pass rather than spin on the same state
+            controller.handleNextPlayer();
+        }
+        afterAction();
+    }
+
+    private void checkTimeout() {
+        if (state != State.PLAYING) return;
+        turns.handleTimeout();
+        afterAction();
+    }
+
+    private void closeOnLoop() {
+        if (state == State.CLOSED) return;
+        state = State.CLOSED;
+        decidingVersion = -1;
+        turns.cancel();
+        onClose.run();
+        closed.complete(null);
+    }
+}
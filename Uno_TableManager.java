@@ -0,0 +1,196 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hosts many independent games in one JVM. Each game is a Uno_Table with its own model,
+ * controller, undo history and turn timer. Tables are spread round-robin over a small fixed pool
+ * of single threaded event loops, so thousands of tables share a handful of threads and a
+ * table's game is only ever touched by its own loop.
+ *
+ * AI moves are decided on the table's loop, or batched across tables when the manager is given
+ * a Uno_BatchDecisionService. The service is shared by every table and is not closed with the
+ * manager.
+ *
+ * The lifecycle API is create, join, leave and close. Join, leave and close run on the table's
+ * loop and return a CompletableFuture; an unknown table id completes exceptionally with an
+ * IllegalArgumentException.
+ *
+ * Data Structures:
+ *   - ScheduledExecutorService[] loops: The event loops, one thread each
+ *         * Scheduled so turn timers and paced AI moves are timed tasks instead of sleeping threads
+ *         * Cancelled timers are removed from the queue straight away, so idle tables hold nothing
+ *   - ConcurrentHashMap<Integer, Uno_Table> tables: Open tables by id
+ *         * Looked up from any thread without blocking the loops
+ *   - AtomicInteger nextId: Source of table ids, also used to pick a table's loop
+ *
+ * @author Saan John
+ * @version 5.0
+ */
+public class Uno_TableManager implements AutoCloseable {
+    public static final int DEFAULT_UNDO_LIMIT = 10;
+
+    private final ScheduledExecutorService[] loops;
+    private final ConcurrentHashMap<Integer, Uno_Table> tables;
+    private final AtomicInteger nextId;
+    private final int undoLimit;
+    private final Uno_BatchDecisionService decisions;
+
+    /**
+     * Constructs a manager with one event loop per processor.
+     */
+    public Uno_TableManager() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_UNDO_LIMIT);
+    }
+
+    /**
+     * Constructs a manager that decides AI moves on the tables' loops.
+     * @param numLoops the number of event loop threads
+     * @param undoLimit the number of game states each table keeps for undo
+     */
+    public Uno_TableManager(int numLoops, int undoLimit) {
+        this(numLoops, undoLimit, null);
+    }
+
+    /**
+     * Constructs a manager.
+     * @param numLoops the number of event loop threads
+     * @param undoLimit the number of game states each table keeps for undo
+     * @param decisions the service AI moves of all tables are batched on, or null to decide
+     * them on the tables' loops
+     */
+    public Uno_TableManager(int numLoops, int undoLimit, Uno_BatchDecisionService decisions) {
+        if (numLoops < 1) throw new IllegalArgumentException("Need at least one event loop");
+        this.loops = new ScheduledExecutorService[numLoops];
+        for (int i = 0; i < numLoops; i++) {
+            final int index = i;
+            ScheduledThreadPoolExecutor loop = new ScheduledThreadPoolExecutor(1, r -> {
+                Thread t = new Thread(r, "uno-table-loop-" + index);
+                t.setDaemon(true);
+                return t;
+            });
+            loop.setRemoveOnCancelPolicy(true);
+            loops[i] = loop;
+        }
+        this.tables = new ConcurrentHashMap<>();
+        this.nextId = new AtomicInteger(1);
+        this.undoLimit = undoLimit;
+        this.decisions = decisions;
+    }
+
+    /**
+     * Creates a table that starts once its human seats are taken.
+     * @param numSeats the number of players, 2 to 4
+     * @param numAI the number of AI seats, fewer than numSeats
+     * @param turnSeconds the turn time limit in seconds (10 to 60), 0 for no turn timer
+     * @return the new table
+     */
+    public Uno_Table createTable(int numSeats, int numAI, int turnSeconds) {
+        int id = nextId.getAndIncrement();
+        ScheduledExecutorService loop = loops[Math.floorMod(id, loops.length)];
+        Uno_Table table = new Uno_Table(id, numSeats, numAI, turnSeconds, undoLimit, loop, decisions,
+            () -> tables.remove(id));
+        tables.put(id, table);
+        return table;
+    }
+
+    /**
+     * Seats a human at a table.
+     * @param tableId the table id
+     * @param name the player's name
+     * @return completes with the player's seat index
+     */
+    public CompletableFuture<Integer> joinTable(int tableId, String name) {
+        Uno_Table table = tables.get(tableId);
+        return table != null ? table.join(name) : unknown(tableId);
+    }
+
+    /**
+     * Removes a human from a table. An AI takes over the seat of a running game, and the
+     * table closes once no human is left.
+     * @param tableId the table id
+     * @param name the player's name
+     * @return completes with true if the player was seated
+     */
+    public CompletableFuture<Boolean> leaveTable(int tableId, String name) {
+        Uno_Table table = tables.get(tableId);
+        return table != null ? table.leave(name) : unknown(tableId);
+    }
+
+    /**
+     * Closes a table.
+     * @param tableId the table id
+     * @return completes once the table is closed
+     */
+    public CompletableFuture<Void> closeTable(int tableId) {
+        Uno_Table table = tables.get(tableId);
+        return table != null ? table.close() : unknown(tableId);
+    }
+
+    /**
+     * Gets an open table.
+     * @param tableId the table id
+     * @return the table, or null if there is no open table with that id
+     */
+    public Uno_Table getTable(int tableId) {
+        return tables.get(tableId);
+    }
+
+    /**
+     * Gets the open tables.
+     * @return an unmodifiable view of the open tables
+     */
+    public Collection<Uno_Table> getTables() {
+        return Collections.unmodifiableCollection(tables.values());
+    }
+
+    /**
+     * Gets the number of open tables.
+     * @return the table count
+     */
+    public int getTableCount() {
+        return tables.size();
+    }
+
+    /**
+     * Gets the number of event loops.
+     * @return the loop count
+     */
+    public int getLoopCount() {
+        return loops.length;
+    }
+
+    /**
+     * Closes every table and stops the event loops.
+     */
+    @Override
+    public void close() {
+        List<CompletableFuture<Void>> closing = new ArrayList<>();
+        for (Uno_Table table : tables.values()) {
+            closing.add(table.close());
+        }
+        CompletableFuture.allOf(closing.toArray(new CompletableFuture<?>[0])).exceptionally(e -> null).join();
+        for (ScheduledExecutorService loop : loops) {
+            loop.shutdown();
+        }
+        try {
+            for (ScheduledExecutorService loop : loops) {
+                loop.awaitTermination(5, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static <T> CompletableFuture<T> unknown(int tableId) {
+        return CompletableFuture.failedFuture(new IllegalArgumentException("No open table " + tableId));
+    }
+}
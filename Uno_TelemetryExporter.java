@@ -0,0 +1,323 @@
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes one row per turn of headless or live games to a columnar telemetry file. Analytics
+ * scan a few columns of billions of turns, so each column is stored on its own, run-length
+ * encoded, and a reader skips the columns it does not need without decoding them.
+ *
+ * Turns are buffered into blocks of BLOCK_ROWS rows. A block is written as:
+ *   int row count,
+ *   per dictionary column: int count of new entries and the entries as UTF strings,
+ *   per column: int length of its chunk in bytes,
+ *   the chunks in column order
+ * A chunk is a list of runs, each a zigzag varint value and a varint run length. DELTA columns
+ * store the difference to the previous row of the block, so game ids and turn numbers become
+ * long runs of 0 and 1. Dictionary columns store the code of a string; codes are assigned in
+ * order of first use and stay valid for the rest of the file.
+ *
+ * The file starts with MAGIC, VERSION and the number of columns. An exporter is not thread
+ * safe; give each thread its own file.
+ *
+ * Data Structures:
+ *   - long[][] values: The rows of the open block, one array per column
+ *   - Map<String, Integer>[] codes: The dictionary of each dictionary column
+ *   - List<String>[] newEntries: Dictionary entries added since the last block was written
+ *   - ByteArrayOutputStream[] chunks: The encoded chunk of every column, reused by each block
+ *
+ * @author Lucas Baker
+ * @version 5.0
+ */
+public class Uno_TelemetryExporter implements AutoCloseable {
+    public static final int MAGIC = 0x554E4F54;
+    public static final int VERSION = 1;
+    public static final int BLOCK_ROWS = 1 << 16;
+    public static final String NONE = "NONE";
+
+    /**
+     * The columns of a telemetry file, in file order.
+     */
+    public enum Column {
+        GAME_ID(true, false),
+        TURN(true, false),
+        SEAT(false, false),
+        STRATEGY(false, true),
+        HAND_SIZE(false, false),
+        CARD(false, false),
+        COLOUR(false, true),
+        SIDE(false, false),
+        DIRECTION(false, false),
+        DRAWN(false, false);
+
+        private final boolean delta;
+        private final boolean dictionary;
+
+        Column(boolean delta, boolean dictionary) {
+            this.delta = delta;
+            this.dictionary = dictionary;
+        }
+
+        /**
+         * Checks if the column stores differences between rows.
+         * @return true for a delta column
+         */
+        public boolean isDelta() {
+            return delta;
+        }
+
+        /**
+         * Checks if the column stores dictionary codes.
+         * @return true for a dictionary column
+         */
+        public boolean isDictionary() {
+            return dictionary;
+        }
+    }
+
+    private static final Column[] COLUMNS = Column.values();
+
+    private final DataOutputStream out;
+    private final long[][] values;
+    private final Map<String, Integer>[] codes;
+    private final List<String>[] newEntries;
+    private final ByteArrayOutputStream[] chunks;
+    private final int[] handSizes;
+    private int rows;
+    private long totalRows;
+    private boolean closed;
+
+    /**
+     * Creates a telemetry file, replacing any file at the path.
+     * @param path the file
+     * @throws IOException if the file cannot be created
+     */
+    @SuppressWarnings("unchecked")
+    public Uno_TelemetryExporter(Path path) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16));
+        this.values = new long[COLUMNS.length][BLOCK_ROWS];
+        this.codes = (Map<String, Integer>[]) new Map<?, ?>[COLUMNS.length];
+        this.newEntries = (List<String>[]) new List<?>[COLUMNS.length];
+        this.chunks = new ByteArrayOutputStream[COLUMNS.length];
+        for (Column column : COLUMNS) {
+            if (column.isDictionary()) {
+                codes[column.ordinal()] = new HashMap<>();
+                newEntries[column.ordinal()] = new ArrayList<>();
+            }
+            chunks[column.ordinal()] = new ByteArrayOutputStream(1024);
+        }
+        this.handSizes = new int[4];
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(COLUMNS.length);
+    }
+
+    /**
+     * Adds one turn.
+     * @param gameId the game id
+     * @param turn the turn number within the game, from 0
+     * @param seat the seat of the player
+     * @param strategy the strategy name, HUMAN for a human player
+     * @param handSize the player's hand size after the turn
+     * @param faceId the face id of the card played, -1 if none
+     * @param colour the colour chosen for a wild card, null if none
+     * @param darkSide true if the dark side was up after the turn
+     * @param reversed true if play ran in reverse after the turn
+     * @param drawn the number of cards the player drew on the turn
+     * @throws IOException if a full block cannot be written
+     */
+    public void addTurn(long gameId, int turn, int seat, String strategy, int handSize, int faceId,
+                        Card_Model.CardColour colour, boolean darkSide, boolean reversed, int drawn) throws IOException {
+        if (closed) throw new IllegalStateException("The exporter is closed");
+        values[Column.GAME_ID.ordinal()][rows] = gameId;
+        values[Column.TURN.ordinal()][rows] = turn;
+        values[Column.SEAT.ordinal()][rows] = seat;
+        values[Column.STRATEGY.ordinal()][rows] = code(Column.STRATEGY, strategy);
+        values[Column.HAND_SIZE.ordinal()][rows] = handSize;
+        values[Column.CARD.ordinal()][rows] = faceId;
+        values[Column.COLOUR.ordinal()][rows] = code(Column.COLOUR, colour != null ? colour.name() : NONE);
+        values[Column.SIDE.ordinal()][rows] = darkSide ? 1 : 0;
+        values[Column.DIRECTION.ordinal()][rows] = reversed ? -1 : 1;
+        values[Column.DRAWN.ordinal()][rows] = drawn;
+        rows++;
+        totalRows++;
+        if (rows == BLOCK_ROWS) writeBlock();
+    }
+
+    /**
+     * Adds every turn of a recorded game. A turn is the moves of one player in a row: drawing,
+     * playing a card and choosing its colour. Hand sizes are followed from the deal through
+     * the recorded draws, penalties and plays; side and direction come from the state carried
+     * by each action.
+     * @param record the game
+     * @return the number of turns added
+     * @throws IOException if a full block cannot be written
+     */
+    public int exportGame(Uno_GameRecord record) throws IOException {
+        int turns = 0;
+        int seat = -1;
+        int card = -1;
+        Card_Model.CardColour colour = null;
+        int drawn = 0;
+        short last = 0;
+        Card_Model.CardColour[] colours = Card_Model.CardColour.values();
+        for (int i = 0; i < record.getActionCount(); i++) {
+            short action = record.getAction(i);
+            int type = Uno_GameRecord.actionType(action);
+            int actor = Uno_GameRecord.actionSeat(action);
+            int arg = Uno_GameRecord.actionArg(action);
+            boolean ownMove = type == Uno_GameRecord.ACTION_PLAY || type == Uno_GameRecord.ACTION_DRAW
+                || type == Uno_GameRecord.ACTION_COLOUR;
+            boolean newTurn = type == Uno_GameRecord.ACTION_ROUND_START || type == Uno_GameRecord.ACTION_ROUND_END
+                || (ownMove && actor != seat)
+                || (type == Uno_GameRecord.ACTION_PLAY && card >= 0)
+                || (type == Uno_GameRecord.ACTION_DRAW && (card >= 0 || drawn > 0));
+            if (newTurn && seat >= 0) {
+                addTurn(record.getId(), turns++, seat, record.getStrategy(seat), handSizes[seat], card, colour,
+                    Uno_GameRecord.isDarkSide(last), Uno_GameRecord.isReversed(last), drawn);
+                seat = -1;
+            }
+            if (ownMove && seat < 0) {
+                seat = actor;
+                card = -1;
+                colour = null;
+                drawn = 0;
+            }
+            switch (type) {
+                case Uno_GameRecord.ACTION_ROUND_START:
+                    Arrays.fill(handSizes, Uno_Model.CARDS_PER_PLAYER);
+                    break;
+                case Uno_GameRecord.ACTION_PLAY:
+                    card = arg;
+                    handSizes[actor]--;
+                    break;
+                case Uno_GameRecord.ACTION_DRAW:
+                    drawn += arg;
+                    handSizes[actor] += arg;
+                    break;
+                case Uno_GameRecord.ACTION_COLOUR:
+                    colour = arg < colours.length ? colours[arg] : null;
+                    break;
+                case Uno_GameRecord.ACTION_PENALTY:
+                    handSizes[actor] += arg;
+                    break;
+                default:
+                    break;
+            }
+            if (ownMove) last = action;
+        }
+        if (seat >= 0) {
+            addTurn(record.getId(), turns++, seat, record.getStrategy(seat), handSizes[seat], card, colour,
+                Uno_GameRecord.isDarkSide(last), Uno_GameRecord.isReversed(last), drawn);
+        }
+        return turns;
+    }
+
+    /**
+     * Writes the open block and flushes the file.
+     * @throws IOException if the block cannot be written
+     */
+    public void flush() throws IOException {
+        if (rows > 0) writeBlock();
+        out.flush();
+    }
+
+    /**
+     * Writes the open block and closes the file.
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        flush();
+        closed = true;
+        out.close();
+    }
+
+    /**
+     * Gets the number of turns added.
+     * @return the row count
+     */
+    public long getRowCount() {
+        return totalRows;
+    }
+
+    /* Encoding */
+
+    private int code(Column column, String value) {
+        Map<String, Integer> dictionary = codes[column.ordinal()];
+        Integer code = dictionary.get(value);
+        if (code == null) {
+            code = dictionary.size();
+            dictionary.put(value, code);
+            newEntries[column.ordinal()].add(value);
+        }
+        return code;
+    }
+
+    private void writeBlock() throws IOException {
+        out.writeInt(rows);
+        for (Column column : COLUMNS) {
+            if (!column.isDictionary()) continue;
+            List<String> entries = newEntries[column.ordinal()];
+            out.writeInt(entries.size());
+            for (String entry : entries) out.writeUTF(entry);
+            entries.clear();
+        }
+        for (Column column : COLUMNS) {
+            ByteArrayOutputStream chunk = chunks[column.ordinal()];
+            chunk.reset();
+            encodeRuns(values[column.ordinal()], rows, column.isDelta(), chunk);
+            out.writeInt(chunk.size());
+        }
+        for (ByteArrayOutputStream chunk : chunks) chunk.writeTo(out);
+        rows = 0;
+    }
+
+    /**
+     * Run-length encodes a column, as differences between rows for a delta column.
+     */
+    private static void encodeRuns(long[] column, int count, boolean delta, ByteArrayOutputStream chunk) {
+        long previous = 0;
+        long runValue = 0;
+        long runLength = 0;
+        for (int row = 0; row < count; row++) {
+            long value = delta ? column[row] - previous : column[row];
+            previous = column[row];
+            if (runLength > 0 && value == runValue) {
+                runLength++;
+                continue;
+            }
+            if (runLength > 0) {
+                writeVarLong(chunk, zigzag(runValue));
+                writeVarLong(chunk, runLength);
+            }
+            runValue = value;
+            runLength = 1;
+        }
+        if (runLength > 0) {
+            writeVarLong(chunk, zigzag(runValue));
+            writeVarLong(chunk, runLength);
+        }
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream chunk, long value) {
+        while ((value & ~0x7FL) != 0) {
+            chunk.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        chunk.write((int) value);
+    }
+}
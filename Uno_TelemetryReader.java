@@ -0,0 +1,168 @@
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * Reads telemetry files written by Uno_TelemetryExporter one column at a time. Opening a file
+ * reads only the block headers, to count the rows and collect the dictionaries; a scan then
+ * decodes the chunks of one column and skips over the others.
+ *
+ * Data Structures:
+ *   - List<String>[] dictionaries: The entries of each dictionary column, indexed by code
+ *
+ * @author Lucas Baker
+ * @version 5.0
+ */
+public class Uno_TelemetryReader {
+    private static final Uno_TelemetryExporter.Column[] COLUMNS = Uno_TelemetryExporter.Column.values();
+
+    private final Path path;
+    private final List<String>[] dictionaries;
+    private long rowCount;
+    private int blockCount;
+
+    /**
+     * Opens a telemetry file.
+     * @param path the file
+     * @throws IOException if the file cannot be read or is not a telemetry file
+     */
+    @SuppressWarnings("unchecked")
+    public Uno_TelemetryReader(Path path) throws IOException {
+        this.path = path;
+        this.dictionaries = (List<String>[]) new List<?>[COLUMNS.length];
+        for (Uno_TelemetryExporter.Column column : COLUMNS) {
+            if (column.isDictionary()) dictionaries[column.ordinal()] = new ArrayList<>();
+        }
+        try (DataInputStream in = open()) {
+            int[] lengths = new int[COLUMNS.length];
+            int rows;
+            while ((rows = readBlockHeader(in, lengths, true)) >= 0) {
+                rowCount += rows;
+                blockCount++;
+                for (int length : lengths) in.skipNBytes(length);
+            }
+        }
+    }
+
+    /**
+     * Visits the value of a column in every row, in row order. Dictionary columns give codes,
+     * see getDictionaryEntry; SIDE gives 1 for the dark side and DIRECTION gives -1 in reverse.
+     * @param column the column
+     * @param consumer receives the values
+     * @throws IOException if the file cannot be read
+     */
+    public void scanColumn(Uno_TelemetryExporter.Column column, LongConsumer consumer) throws IOException {
+        try (DataInputStream in = open()) {
+            int[] lengths = new int[COLUMNS.length];
+            int rows;
+            while ((rows = readBlockHeader(in, lengths, false)) >= 0) {
+                int index = column.ordinal();
+                for (int i = 0; i < index; i++) in.skipNBytes(lengths[i]);
+                decodeRuns(in, rows, column.isDelta(), consumer);
+                for (int i = index + 1; i < lengths.length; i++) in.skipNBytes(lengths[i]);
+            }
+        }
+    }
+
+    /**
+     * Gets the string of a dictionary code.
+     * @param column a dictionary column
+     * @param code the code
+     * @return the string
+     */
+    public String getDictionaryEntry(Uno_TelemetryExporter.Column column, long code) {
+        return getDictionary(column).get((int) code);
+    }
+
+    /**
+     * Gets the entries of a dictionary column.
+     * @param column a dictionary column
+     * @return the entries, indexed by code
+     */
+    public List<String> getDictionary(Uno_TelemetryExporter.Column column) {
+        if (!column.isDictionary()) throw new IllegalArgumentException(column + " is not a dictionary column");
+        return Collections.unmodifiableList(dictionaries[column.ordinal()]);
+    }
+
+    /**
+     * Gets the number of rows.
+     * @return the row count
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Gets the number of blocks.
+     * @return the block count
+     */
+    public int getBlockCount() {
+        return blockCount;
+    }
+
+    /* Helpers */
+
+    private DataInputStream open() throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16));
+        if (in.readInt() != Uno_TelemetryExporter.MAGIC || in.readInt() != Uno_TelemetryExporter.VERSION
+                || in.readInt() != COLUMNS.length) {
+            in.close();
+            throw new IOException(path + " is not a version " + Uno_TelemetryExporter.VERSION + " telemetry file");
+        }
+        return in;
+    }
+
+    /**
+     * Reads the header of the next block.
+     * @return the row count of the block, or -1 at the end of the file
+     */
+    private int readBlockHeader(DataInputStream in, int[] lengths, boolean keepEntries) throws IOException {
+        int rows;
+        try {
+            rows = in.readInt();
+        } catch (EOFException e) {
+            return -1;
+        }
+        for (Uno_TelemetryExporter.Column column : COLUMNS) {
+            if (!column.isDictionary()) continue;
+            int entries = in.readInt();
+            for (int i = 0; i < entries; i++) {
+                String entry = in.readUTF();
+                if (keepEntries) dictionaries[column.ordinal()].add(entry);
+            }
+        }
+        for (int i = 0; i < lengths.length; i++) lengths[i] = in.readInt();
+        return rows;
+    }
+
+    private static void decodeRuns(DataInputStream in, int rows, boolean delta, LongConsumer consumer) throws IOException {
+        long previous = 0;
+        int decoded = 0;
+        while (decoded < rows) {
+            long encoded = readVarLong(in);
+            long value = (encoded >>> 1) ^ -(encoded & 1);
+            long length = readVarLong(in);
+            for (long i = 0; i < length; i++) {
+                previous = delta ? previous + value : value;
+                consumer.accept(previous);
+            }
+            decoded += length;
+        }
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+    }
+}
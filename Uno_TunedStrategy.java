@@ -0,0 +1,52 @@
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * STRATEGIC strategy playing with parameters found by Uno_StrategyTuner.
+ * The parameters file is named by the system property PARAMS_PROPERTY and defaults to
+ * DEFAULT_PARAMS_FILE in the working directory. Without a readable parameters file the
+ * default STRATEGIC parameters are used, so the strategy is always available.
+ *
+ * @author Lucas Baker
+ * @version 5.0
+ */
+public class Uno_TunedStrategy extends Uno_StrategicStrategy {
+    public static final String NAME = "TUNED";
+    public static final String PARAMS_PROPERTY = "uno.tuned.params";
+    public static final String DEFAULT_PARAMS_FILE = "tuned_strategy.properties";
+
+    /**
+     * Constructs the strategy with the parameters from the configured parameters file.
+     */
+    public Uno_TunedStrategy() {
+        this(loadConfiguredParams());
+    }
+
+    /**
+     * Constructs the strategy with the given parameters.
+     * @param params one value per entry of PARAM_NAMES
+     */
+    public Uno_TunedStrategy(int[] params) {
+        super(params);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Reads the configured parameters file.
+     * @return the tuned parameters, or the default parameters if the file cannot be read
+     */
+    private static int[] loadConfiguredParams() {
+        File file = new File(System.getProperty(PARAMS_PROPERTY, DEFAULT_PARAMS_FILE));
+        if (!file.isFile()) return getDefaultParams();
+        try {
+            return Uno_StrategyTuner.loadParams(file);
+        } catch (IOException e) {
+            System.err.println("Error loading tuned parameters, using defaults: " + e.getMessage());
+            return getDefaultParams();
+        }
+    }
+}
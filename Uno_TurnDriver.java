@@ -0,0 +1,94 @@
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plays the timed part of a game hosted on an executor: the AI's turns and the turn timer.
+ * Uno_Table and Uno_GameActor both drive their games with it, and differ only in how an armed
+ * move gets back to the game: a table runs it straight on its loop, an actor posts it to its
+ * mailbox.
+ *
+ * A driver is not thread safe. Only the thread that currently owns the game may use it, the
+ * table's loop or the actor's drain task.
+ *
+ * Data Structures:
+ *   - ScheduledFuture<?> timer: The armed AI move or turn timeout, if any
+ *         * Cancelled and re-armed after every action so only one is ever pending
+ *
+ * @author Saan John
+ * @version 5.0
+ */
+final class Uno_TurnDriver {
+    private final Uno_Controller controller;
+    private final ScheduledExecutorService executor;
+    private ScheduledFuture<?> timer;
+
+    /**
+     * Constructs a driver for a game.
+     * @param controller the controller of the game
+     * @param executor the executor the timer runs on
+     */
+    Uno_TurnDriver(Uno_Controller controller, ScheduledExecutorService executor) {
+        this.controller = controller;
+        this.executor = executor;
+    }
+
+    /**
+     * Arms the next AI move or the turn timeout, replacing whatever was pending. Nothing is
+     * armed while no round is in progress.
+     * @param aiDelayMillis the delay before the AI move
+     * @param aiTurn run once the AI may move
+     * @param timeout run once the human's turn time is up
+     */
+    void arm(long aiDelayMillis, Runnable aiTurn, Runnable timeout) {
+        cancel();
+        if (controller.getGameStatus() != Uno_Model.GameStatus.IN_PROGRESS) return;
+        if (controller.isPlayerAI()) {
+            timer = executor.schedule(aiTurn, aiDelayMillis, TimeUnit.MILLISECONDS);
+        } else if (controller.isTimeModeEnabled()) {
+            long delay = Math.max(0, controller.getRemainingTurnTime()) * 1000L;
+            timer = executor.schedule(timeout, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Cancels the pending AI move or timeout, if any.
+     */
+    void cancel() {
+        if (timer != null) {
+            timer.cancel(false);
+            timer = null;
+        }
+    }
+
+    /**
+     * Plays the current AI's turn, or every AI turn up to the next human when fast forwarding.
+     * @return true if it was an AI's turn
+     */
+    boolean playAITurn() {
+        if (!controller.isPlayerAI() || controller.getGameStatus() != Uno_Model.GameStatus.IN_PROGRESS) return false;
+        if (controller.getAIPacing() == Uno_Controller.AIPacing.FAST_FORWARD) {
+            // Nothing waits between fast forwarded moves, so play them all and notify once
+            controller.processAITurnsUntilHuman();
+            return true;
+        }
+        if (!controller.processAITurn()) {
+            // The AI had nothing to do, so pass rather than spin on the same state
+            controller.handleNextPlayer();
+        }
+        return true;
+    }
+
+    /**
+     * Ends the current player's turn if their time is up.
+     * @return true if the turn timed out
+     */
+    boolean handleTimeout() {
+        if (controller.isPendingColourSelection() || controller.isPendingDrawColourSelection()) {
+            if (controller.getRemainingTurnTime() != 0) return false;
+            // A player who runs out of time choosing a colour gets the first colour of the side
+            return controller.setWildCardColour(Uno_GameView.getSideColour(controller.isDarkSide(), 0));
+        }
+        return controller.handleTurnTimeout();
+    }
+}
@@ -20,6 +20,10 @@ import java.awt.event.ActionListener;
  *       Chosen for:
  *         * Fixed size known at compile time
  *         * Simple indexed access for setup listeners
+ *   - Uno_ActionLog actionLog: Bounded ring buffer backing the action log JList.
+ *       Chosen for:
+ *         * Fixed memory use no matter how long the session runs
+ *         * JList only renders visible rows, so appends stay cheap as the log fills
  *   - Multiple JPanel components: Swing containers organizing GUI layout.
  *       Used for:
  *         * Hierarchical organization of UI components
@@ -45,8 +49,9 @@ public class Uno_View extends JFrame implements Uno_ViewHandler {
     private JButton startGameButton;
     private JComboBox<String>[] playerTypeBoxes;
     private JTextField[] playerNameFields;
-    private Timer aiTimer;
-    private JTextArea actionLogArea;
+    private Uno_AIPipeline aiPipeline;
+    private Uno_ActionLog actionLog;
+    private JList<String> actionLogList;
     private JButton undoButton;
     private JButton redoButton;
     private JButton saveButton;
@@ -56,6 +61,8 @@ public class Uno_View extends JFrame implements Uno_ViewHandler {
     private Timer uiUpdateTimer;
     private JCheckBox timedModeCheckBox;
     private JSpinner timeLimitSpinner;
+    private JComboBox<Uno_Controller.AIPacing> aiPacingBox;
+    private boolean fastForwarding;
 
     /**
      * Constructs the UNO view, initializes components, listeners, and displays the setup panel.
@@ -63,7 +70,20 @@ public class Uno_View extends JFrame implements Uno_ViewHandler {
      * the controller managing game logic and updates
      */
     public Uno_View(Uno_Controller controller) {
+        this(controller, Uno_ActionLog.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs the UNO view with a bounded action log of the given capacity.
+     * @param controller
+     * the controller managing game logic and updates
+     * @param logCapacity
+     * the maximum number of action log entries kept in memory
+     */
+    public Uno_View(Uno_Controller controller, int logCapacity) {
         this.controller = controller;
+        this.actionLog = new Uno_ActionLog(logCapacity);
+        this.aiPipeline = new Uno_AIPipeline(controller);
         controller.addViewHandler(this);
         setTitle("UNO Flip");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
@@ -230,13 +250,13 @@ public class Uno_View extends JFrame implements Uno_ViewHandler {
         stateScroll.setBorder(BorderFactory.createTitledBorder("Scores"));
         rightPanel.add(stateScroll);
 
-        // Add action log area
-        actionLogArea = new JTextArea(8, 20);
-        actionLogArea.setEditable(false);
-        actionLogArea.setBackground(new Color(255, 255, 240));
-        actionLogArea.setLineWrap(true);
-        actionLogArea.setWrapStyleWord(true);
-        JScrollPane logScroll = new JScrollPane(actionLogArea);
+        // Add action log list, only the visible rows are rendered
+        actionLogList = new JList<>(actionLog);
+        actionLogList.setVisibleRowCount(8);
+        actionLogList.setPrototypeCellValue("Player1 (AI) played PURPLE_SKIP_EVERYONE.");
+        actionLogList.setBackground(new Color(255, 255, 240));
+        actionLogList.setFocusable(false);
+        JScrollPane logScroll = new JScrollPane(actionLogList);
         logScroll.setBorder(BorderFactory.createTitledBorder("Action Log"));
         rightPanel.add(Box.createVerticalStrut(10));
         rightPanel.add(logScroll);
@@ -348,6 +368,19 @@ public class Uno_View extends JFrame implements Uno_ViewHandler {
         setupPanel.add(timedModeCheckBox);
         setupPanel.add(timePanel);
 
+        // AI speed selection
+        JLabel pacingLabel = new JLabel("AI Speed:");
+        pacingLabel.setForeground(Color.WHITE);
+        aiPacingBox = new JComboBox<>(Uno_Controller.AIPacing.values());
+        aiPacingBox.setSelectedItem(controller.getAIPacing());
+
+        JPanel pacingPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 5));
+        pacingPanel.setBackground(new Color(34, 139, 34));
+        pacingPanel.add(pacingLabel);
+        pacingPanel.add(aiPacingBox);
+        pacingPanel.setAlignmentX(Component.CENTER_ALIGNMENT);
+        setupPanel.add(pacingPanel);
+
 
         setupPanel.add(Box.createVerticalStrut(30));
         setupPanel.add(startGameButton);
@@ -391,11 +424,19 @@ public class Uno_View extends JFrame implements Uno_ViewHandler {
     }
 
     /**
-     * Logs an action to the action log area.
+     * Gets the bounded action log backing the log list, e.g. to enable spilling to disk.
+     * @return the action log
+     */
+    public Uno_ActionLog getActionLog() {
+        return actionLog;
+    }
+
+    /**
+     * Logs an action to the action log and scrolls to the newest entry.
      */
     private void logAction(String action) {
-        actionLogArea.append(action + "\n");
-        actionLogArea.setCaretPosition(actionLogArea.getDocument().getLength());
+        actionLog.append(action);
+        actionLogList.ensureIndexIsVisible(actionLog.getSize() - 1);
     }
 
     /**
@@ -420,7 +461,7 @@ public class Uno_View extends JFrame implements Uno_ViewHandler {
         }
 
         controller.createPlayersWithConfig(isAIList, names);
-
+        controller.setAIPacing((Uno_Controller.AIPacing) aiPacingBox.getSelectedItem());
 
         boolean timedMode = timedModeCheckBox.isSelected();
         int timeLimit = (int) timeLimitSpinner.getValue();
@@ -492,7 +533,7 @@ public class Uno_View extends JFrame implements Uno_ViewHandler {
         newRoundButton.setVisible(false);
         newGameButton.setVisible(false);
         nextTurnButton.setEnabled(false);
-        actionLogArea.setText("");
+        actionLog.clear();
         logAction("New round started!");
 
         // AI turn is now initiated by user clicking Next Turn.
@@ -502,9 +543,10 @@ public class Uno_View extends JFrame implements Uno_ViewHandler {
      * Handles new game action.
      */
     private void handleNewGame() {
-        if (aiTimer != null) aiTimer.stop();
+        aiPipeline.cancel();
+        stopFastForward();
         controller.resetGame();
-        actionLogArea.setText("");
+        actionLog.clear();
         showSetupPanel();
     }
 
@@ -631,7 +673,7 @@ public class Uno_View extends JFrame implements Uno_ViewHandler {
         if (result == JFileChooser.APPROVE_OPTION) {
             File file = fileChooser.getSelectedFile();
             if (controller.loadGame(file.getAbsolutePath())) {
-                actionLogArea.setText("");
+                actionLog.clear();
                 logAction("Game loaded from " + file.getName());
                 showGamePanel();
                 updateFullView();
@@ -655,9 +697,18 @@ public class Uno_View extends JFrame implements Uno_ViewHandler {
     }
 
 
+    /**
+     * Gets the pipeline that runs AI turns, e.g. to change the animation delay.
+     * @return the AI pipeline
+     */
+    public Uno_AIPipeline getAIPipeline() {
+        return aiPipeline;
+    }
+
     /**
      * Checks if the current player is an AI player and processes the AI turn
      * with appropriate delays and logging.
+     * The AI decision is computed off the EDT by the AI pipeline.
      */
     private void checkAndProcessAI() {
         if (controller.getGameStatus() != Uno_Model.GameStatus.IN_PROGRESS) {
@@ -667,81 +718,118 @@ public class Uno_View extends JFrame implements Uno_ViewHandler {
 
         if (controller.isPlayerAI()) {
             setControlsEnabled(false);
-            if (aiTimer != null) aiTimer.stop();
-
-            aiTimer = new Timer(1000, e -> {
-                try {
-                    Player_Model currentPlayer = controller.getCurrentPlayer();
-                    if (currentPlayer == null || !currentPlayer.isAI()) {
-                        setControlsEnabled(true);
-                        return;
-                    }
+            String aiName = controller.getCurrentPlayer().getName();
+
+            // Log what the AI is about to do
+            if (controller.isPendingColourSelection() || controller.isPendingDrawColourSelection()) {
+                logAction(aiName + " (AI) is choosing a color...");
+            } else {
+                logAction(aiName + " (AI) is taking their turn...");
+            }
+            if (controller.getAIPacing() == Uno_Controller.AIPacing.FAST_FORWARD && !fastForwarding) {
+                // Views are only refreshed once the AI chain is over
+                fastForwarding = true;
+                controller.suspendNotifications();
+            }
+            aiPipeline.requestMove(aiMoveListener);
+        } else {
+            setControlsEnabled(true);
+        }
+    }
+
+    /**
+     * Moves the game on after an AI move was refused, since the same state would give the same
+     * move again: a pending colour gets the first colour of the side, otherwise the AI draws
+     * and passes, as a table does for an AI that has nothing to do.
+     * @param player the AI whose move failed
+     * @return true if the game moved on
+     */
+    private boolean recoverFailedAIMove(Player_Model player) {
+        if (controller.getGameStatus() != Uno_Model.GameStatus.IN_PROGRESS
+                || controller.getCurrentPlayer() != player) {
+            return true;
+        }
+        long version = controller.getStateVersion();
+        if (controller.isPendingColourSelection() || controller.isPendingDrawColourSelection()) {
+            Card_Model.CardColour colour = Uno_GameView.getSideColour(controller.isDarkSide(), 0);
+            controller.setWildCardColour(colour);
+            logAction(player.getName() + " (AI) chose color: " + colour + ".");
+        } else {
+            controller.handleDrawCard();
+            controller.handleNextPlayer();
+            logAction(player.getName() + " (AI) drew a card and passed.");
+        }
+        return controller.getStateVersion() != version;
+    }
 
-                    String aiName = currentPlayer.getName();
+    /**
+     * Ends fast forwarding, which renders the final state of the AI chain.
+     */
+    private void stopFastForward() {
+        if (!fastForwarding) return;
+        fastForwarding = false;
+        controller.resumeNotifications();
+    }
 
-                    // Log what the AI is about to do
-                    if (controller.isPendingColourSelection() || controller.isPendingDrawColourSelection()) {
-                        logAction(aiName + " (AI) is choosing a color...");
-                        boolean processed = controller.processAITurn();
-                        if (processed) {
+    /**
+     * Logs and renders AI moves once the AI pipeline has applied them on the EDT.
+     */
+    private final Uno_AIPipeline.MoveListener aiMoveListener = new Uno_AIPipeline.MoveListener() {
+        @Override
+        public void moveApplied(Player_Model player, Uno_AIMove move, boolean success) {
+            String aiName = player.getName();
+            if (success) {
+                switch (move.getType()) {
+                    case CHOOSE_COLOUR -> logAction(aiName + " (AI) chose color: " + controller.getMatchColour() + ".");
+                    case PLAY_CARD -> {
+                        logAction(aiName + " (AI) played " + move.getCard() + ".");
+                        if (move.getCard().isWildCard() && !controller.isPendingColourSelection()
+                                && !controller.isPendingDrawColourSelection()) {
                             logAction(aiName + " (AI) chose color: " + controller.getMatchColour() + ".");
                         }
-                    } else {
-                        int numCardsBefore = currentPlayer.getNumCards();
-                        Card_Model activeCardBefore = controller.getActiveCard();
-
-                        logAction(aiName + " (AI) is taking their turn...");
-                        boolean processed = controller.processAITurn();
-
-                        if (processed) {
-                            // Check what happened after the turn
-                            Player_Model afterPlayer = controller.getCurrentPlayer();
-                            int numCardsAfter = currentPlayer.getNumCards();
-                            Card_Model activeCardAfter = controller.getActiveCard();
-
-                            // Determine what action was taken
-                            if (numCardsAfter > numCardsBefore) {
-                                logAction(aiName + " (AI) drew a card and passed.");
-                            } else if (activeCardAfter != activeCardBefore && numCardsAfter < numCardsBefore) {
-                                logAction(aiName + " (AI) played " + activeCardAfter + ".");
-                            }
-                        }
                     }
+                    case DRAW -> logAction(aiName + " (AI) drew a card and passed.");
+                }
+            }
 
-                    updateFullView();
-
-                    // Continue processing if still AI's turn
-                    // This internal recursive call is needed because AI might need multiple steps (e.g., color selection)
-                    if (controller.getGameStatus() == Uno_Model.GameStatus.IN_PROGRESS &&
-                            controller.isPlayerAI()) {
-                        checkAndProcessAI();
-                    } else {
-                        // AI turn is completely over, and it's either a Human's turn or the game ended.
-                        setControlsEnabled(true);
-                        if (controller.getGameStatus() == Uno_Model.GameStatus.IN_PROGRESS) {
-                            Player_Model nextPlayer = controller.getCurrentPlayer();
-                            if (nextPlayer != null && !nextPlayer.isAI()) {
-                                logAction("It's now " + nextPlayer.getName() + "'s turn!");
-                                nextTurnButton.setEnabled(false); // Start of human turn, pass button is disabled.
-                            } else if (nextPlayer != null && nextPlayer.isAI()) {
-                                // If the chain of AI moves unexpectedly stops on an AI, enable button for user to resume.
-                                nextTurnButton.setEnabled(true);
-                                logAction("It's now " + nextPlayer.getName() + " (AI)'s turn. Press 'Next Turn' to continue.");
-                            }
-                        }
+            if (!success && !recoverFailedAIMove(player)) {
+                // Nothing changed, asking the AI again would fail the same way
+                stopFastForward();
+                updateFullView();
+                setControlsEnabled(true);
+                showError(aiName + " (AI) could not make a move.");
+                return;
+            }
+
+            if (!fastForwarding) updateFullView();
+
+            // Continue processing if still AI's turn
+            // This is needed because AI might need multiple steps (e.g., color selection)
+            if (controller.getGameStatus() == Uno_Model.GameStatus.IN_PROGRESS &&
+                    controller.isPlayerAI()) {
+                checkAndProcessAI();
+            } else {
+                // AI turn is completely over, and it's either a Human's turn or the game ended.
+                stopFastForward();
+                setControlsEnabled(true);
+                if (controller.getGameStatus() == Uno_Model.GameStatus.IN_PROGRESS) {
+                    Player_Model nextPlayer = controller.getCurrentPlayer();
+                    if (nextPlayer != null && !nextPlayer.isAI()) {
+                        logAction("It's now " + nextPlayer.getName() + "'s turn!");
+                        nextTurnButton.setEnabled(false); // Start of human turn, pass button is disabled.
                     }
-                } catch (Exception ex) {
-                    ex.printStackTrace();
-                    setControlsEnabled(true);
-                    showError("Error during AI turn: " + ex.getMessage());
                 }
-            });
-            aiTimer.setRepeats(false);
-            aiTimer.start();
-        } else {
+            }
+        }
+
+        @Override
+        public void moveFailed(Exception error) {
+            error.printStackTrace();
+            stopFastForward();
             setControlsEnabled(true);
+            showError("Error during AI turn: " + error.getMessage());
         }
-    }
+    };
 
     /**
      * Enables or disables all interactive controls (used during AI turns).
@@ -801,34 +889,39 @@ public class Uno_View extends JFrame implements Uno_ViewHandler {
 
     /**
      * Updates the full view with current game state.
+     * Renders the published snapshot, so drawing never waits for a move being made.
      */
     private void updateFullView() {
-        boolean dark = controller.isDarkSide();
+        Uno_GameSnapshot game = controller.getSnapshot();
+        boolean dark = game.isDarkSide();
         sideLabel.setText("Side: " + (dark ? "DARK" : "LIGHT"));
         sideLabel.setForeground(dark ? Color.MAGENTA : Color.WHITE);
         mainPanel.setBackground(dark ? new Color(30, 30, 60) : new Color(34, 139, 34));
 
-        if (controller.getActiveCard() != null) {
-            activeCardLabel.setText("Active: " + controller.getActiveCard().toString());
-            updateTopCardDisplay(controller.getActiveCard());
+        int activeFace = game.getActiveFace();
+        if (activeFace >= 0) {
+            activeCardLabel.setText("Active: " + Card_Model.getFaceColour(activeFace, dark) + "_"
+                    + Card_Model.getFaceValue(activeFace, dark));
+            updateTopCardDisplay(activeFace, dark);
         }
-        matchColorLabel.setText("Match: " + controller.getMatchColour());
-        deckCountLabel.setText("Deck: " + controller.getRemainingDrawPileCards());
+        matchColorLabel.setText("Match: " + game.getMatchColour());
+        deckCountLabel.setText("Deck: " + game.getDrawPileSize());
 
-        Player_Model currentPlayer = controller.getCurrentPlayer();
-        if (currentPlayer != null) {
-            String aiTag = currentPlayer.isAI() ? " (AI)" : "";
-            currentPlayerLabel.setText("Current: " + currentPlayer.getName() + aiTag);
-            currentPlayerLabel.setForeground(currentPlayer.isAI() ? Color.CYAN : Color.YELLOW);
+        int current = game.getCurrentTurnIndex();
+        boolean currentAI = current >= 0 && current < game.getNumPlayers() && game.isAI(current);
+        if (current >= 0 && current < game.getNumPlayers()) {
+            String aiTag = currentAI ? " (AI)" : "";
+            currentPlayerLabel.setText("Current: " + game.getName(current) + aiTag);
+            currentPlayerLabel.setForeground(currentAI ? Color.CYAN : Color.YELLOW);
 
             // Only show current player's hand if they're human
-            if (!currentPlayer.isAI()) {
-                updatePlayerHand(currentPlayer.getHand());
+            if (!currentAI) {
+                updatePlayerHand(game, current);
             } else {
                 // Show placeholder for AI hand
                 playerHandPanel.removeAll();
                 cardButtons.clear();
-                JLabel aiHandLabel = new JLabel("AI Player - " + currentPlayer.getNumCards() + " cards (Waiting for click...)");
+                JLabel aiHandLabel = new JLabel("AI Player - " + game.getCardCount(current) + " cards (Waiting for click...)");
                 aiHandLabel.setForeground(Color.CYAN);
                 aiHandLabel.setFont(new Font("Arial", Font.BOLD, 16));
                 playerHandPanel.add(aiHandLabel);
@@ -837,11 +930,11 @@ public class Uno_View extends JFrame implements Uno_ViewHandler {
             }
         }
 
-        updateScores();
+        updateScores(game);
         updateColorButtons(dark);
 
         // Color panel visibility is now handled within setControlsEnabled to ensure it is hidden for AI
-        setControlsEnabled(!controller.isPlayerAI());
+        setControlsEnabled(!currentAI);
 
         updateUndoRedoButtons();
     }
@@ -864,26 +957,26 @@ public class Uno_View extends JFrame implements Uno_ViewHandler {
     /**
      * Updates the top card display.
      */
-    private void updateTopCardDisplay(Card_Model card) {
-        if (card == null) {
+    private void updateTopCardDisplay(int face, boolean dark) {
+        if (face < 0) {
             topCardDisplay.setText("<html><center>No Card</center></html>");
             topCardDisplay.setBackground(new Color(100, 100, 100));
             return;
         }
-        topCardDisplay.setText("<html><center><b>" + card.getColour() + "</b><br><br>" +
-                card.getCardValue() + "</center></html>");
-        topCardDisplay.setBackground(getColorForCard(card.getColour()));
+        Card_Model.CardColour colour = Card_Model.getFaceColour(face, dark);
+        topCardDisplay.setText("<html><center><b>" + colour + "</b><br><br>" +
+                Card_Model.getFaceValue(face, dark) + "</center></html>");
+        topCardDisplay.setBackground(getColorForCard(colour));
     }
 
     /**
      * Updates the player's hand display.
      */
-    private void updatePlayerHand(List<Card_Model> hand) {
+    private void updatePlayerHand(Uno_GameSnapshot game, int seat) {
         playerHandPanel.removeAll();
         cardButtons.clear();
-        for (int i = 0; i < hand.size(); i++) {
-            Card_Model card = hand.get(i);
-            JButton cardButton = createCardButton(card, i);
+        for (int i = 0; i < game.getHandSize(seat); i++) {
+            JButton cardButton = createCardButton(game.getHandFace(seat, i), game.isDarkSide());
             final int index = i;
             cardButton.addActionListener(e -> handleCardPlay(index));
             cardButtons.add(cardButton);
@@ -897,12 +990,14 @@ public class Uno_View extends JFrame implements Uno_ViewHandler {
      * Updates the timer display
      */
     private void updateTimerDisplay() {
-        boolean timedMode = controller.isTimeModeEnabled();
-        Uno_Model.GameStatus status = controller.getGameStatus();
+        // Read the published snapshot, so a tick never waits for a move being made
+        Uno_GameSnapshot game = controller.getSnapshot();
+        boolean timedMode = game.isTimedModeEnabled();
+        Uno_Model.GameStatus status = game.getGameStatus();
 
         // Only show and process the timer if the game is active and timed mode is enabled
         if (status == Uno_Model.GameStatus.IN_PROGRESS && timedMode) {
-            int remainingTime = controller.getRemainingTurnTime();
+            int remainingTime = game.getRemainingTurnTime();
             timerLabel.setVisible(true);
 
             if (remainingTime > 0) {
@@ -935,11 +1030,12 @@ public class Uno_View extends JFrame implements Uno_ViewHandler {
     /**
      * Creates a button representing a card.
      */
-    private JButton createCardButton(Card_Model card, int index) {
-        JButton button = new JButton("<html><center>" + card.getColour() + "<br>" +
-                card.getCardValue() + "</center></html>");
+    private JButton createCardButton(int face, boolean dark) {
+        Card_Model.CardColour colour = Card_Model.getFaceColour(face, dark);
+        JButton button = new JButton("<html><center>" + colour + "<br>" +
+                Card_Model.getFaceValue(face, dark) + "</center></html>");
         button.setPreferredSize(new Dimension(100, 140));
-        button.setBackground(getColorForCard(card.getColour()));
+        button.setBackground(getColorForCard(colour));
         button.setForeground(Color.WHITE);
         button.setOpaque(true);
         button.setBorderPainted(true);
@@ -967,26 +1063,26 @@ public class Uno_View extends JFrame implements Uno_ViewHandler {
     /**
      * Updates the scores display.
      */
-    private void updateScores() {
+    private void updateScores(Uno_GameSnapshot game) {
         StringBuilder sb = new StringBuilder();
         sb.append("=== SCORES ===\n\n");
-        for (Player_Model player : controller.getParticipants()) {
-            sb.append(player.getName()).append(player.isAI() ? " (AI)" : "")
-                    .append(": ").append(player.getScore()).append(" pts\n");
+        for (int seat = 0; seat < game.getNumPlayers(); seat++) {
+            sb.append(game.getName(seat)).append(game.isAI(seat) ? " (AI)" : "")
+                    .append(": ").append(game.getScore(seat)).append(" pts\n");
         }
         sb.append("\n=== CARDS IN HAND ===\n\n");
-        
-        Player_Model currentPlayer = controller.getCurrentPlayer();
-        if (currentPlayer != null) {
-            sb.append(currentPlayer.getName())
-                    .append(currentPlayer.isAI() ? " (AI)" : "")
-                    .append(": ").append(currentPlayer.getNumCards()).append(" cards\n");
+
+        int current = game.getCurrentTurnIndex();
+        if (current >= 0 && current < game.getNumPlayers()) {
+            sb.append(game.getName(current))
+                    .append(game.isAI(current) ? " (AI)" : "")
+                    .append(": ").append(game.getCardCount(current)).append(" cards\n");
         }
-        for (Player_Model player : controller.getParticipants()) {
-            if (player != currentPlayer) {
-                sb.append(player.getName())
-                        .append(player.isAI() ? " (AI)" : "")
-                        .append(": ").append(player.getNumCards()).append(" cards\n");
+        for (int seat = 0; seat < game.getNumPlayers(); seat++) {
+            if (seat != current) {
+                sb.append(game.getName(seat))
+                        .append(game.isAI(seat) ? " (AI)" : "")
+                        .append(": ").append(game.getCardCount(seat)).append(" cards\n");
             }
         }
         gameStateArea.setText(sb.toString());